@@ -0,0 +1,222 @@
+package com.sumion.usim.aidl;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import com.sumion.usim.util.LogUtil;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * 인증서 목록 일괄 전달 class<br>
+ * List&lt;UsimCertificate&gt; 는 인증서마다 Issuer/OID/종류/SD card 경로 문자열과 직렬화된 X.509 객체를 반복 전달하므로,
+ * 목록 전체를 다음과 같이 한 단위로 전달함
+ * <pre>
+ * int      version
+ * String[] 문자열 table(중복 제거, 경로는 디렉터리/파일명으로 분리)
+ * byte[]   DER block(모든 인증서의 DER 를 이어 붙임)
+ * int[]    인증서별 고정 크기 record(RECORD_WIDTH 개) - 문자열은 table index(-1 은 null), DER 는 block 내 offset/length(X.509 가 없으면 0)
+ * </pre>
+ * 버전이 다르거나 손상된 목록을 받은 경우 예외 대신 목록 없음(getCertList() 가 null)으로 복원하며, 이 경우 기존 목록 조회를 사용함
+ */
+public class UsimCertCatalog implements Parcelable {
+	private static final int VERSION = 1;
+	/** X.509 인증서가 없는 경우의 DER */
+	private static final byte[] EMPTY_DER = new byte[0];
+
+	////////////////////////////// record 구성 ///////////////////////////////////////
+	private static final int REC_CERT_IDX		= 0;
+	private static final int REC_DER_OFFSET		= 1;
+	private static final int REC_DER_LENGTH		= 2;
+	private static final int REC_ISSUER			= 3;
+	private static final int REC_OID			= 4;
+	private static final int REC_TYPE			= 5;
+	private static final int REC_CERT_DIR		= 6;
+	private static final int REC_CERT_NAME		= 7;
+	private static final int REC_PRIV_DIR		= 8;
+	private static final int REC_PRIV_NAME		= 9;
+	private static final int RECORD_WIDTH		= 10;
+
+	/** 인증서 목록 */
+	private List<UsimCertificate> m_certList;
+
+	/** 전달용 문자열 table(서비스에서 생성 시) */
+	private String[] m_arrString;
+	/** 전달용 DER block */
+	private byte[] m_arrDer;
+	/** 전달용 record */
+	private int[] m_arrRecord;
+
+	public UsimCertCatalog(Parcel In) {
+		readFromParcel(In);
+	}
+
+	/**
+	 * 전달할 인증서 목록으로 생성(서비스)
+	 * @param certList - 인증서 목록
+	 * @throws CertificateEncodingException - 인증서 DER 변환 실패
+	 */
+	public UsimCertCatalog(List<UsimCertificate> certList) throws CertificateEncodingException {
+		m_certList = certList != null ? certList : new ArrayList<UsimCertificate>();
+		encode();
+	}
+
+	/**
+	 * 인증서 목록 반환
+	 * @return List<UsimCertificate> - 인증서 목록(버전이 다르거나 손상된 목록을 받은 경우 null)
+	 */
+	public List<UsimCertificate> getCertList() {
+		return m_certList;
+	}
+
+	/**
+	 * 문자열 table, DER block, record 생성
+	 */
+	private void encode() throws CertificateEncodingException {
+		int nCount = m_certList.size();
+		ArrayList<String> stringList = new ArrayList<String>();
+		HashMap<String, Integer> stringIdx = new HashMap<String, Integer>();
+		byte[][] arrDer = new byte[nCount][];
+		int nDerSize = 0;
+
+		m_arrRecord = new int[nCount * RECORD_WIDTH];
+		for(int i = 0; i < nCount; i++) {
+			UsimCertificate cert = m_certList.get(i);
+			int nBase = i * RECORD_WIDTH;
+			X509Certificate x509 = cert.getCert();
+			arrDer[i] = x509 != null ? x509.getEncoded() : EMPTY_DER;
+			m_arrRecord[nBase + REC_CERT_IDX] = cert.getCertIdx();
+			m_arrRecord[nBase + REC_DER_OFFSET] = nDerSize;
+			m_arrRecord[nBase + REC_DER_LENGTH] = arrDer[i].length;
+			m_arrRecord[nBase + REC_ISSUER] = intern(cert.getIssuer(), stringList, stringIdx);
+			m_arrRecord[nBase + REC_OID] = intern(cert.getOID(), stringList, stringIdx);
+			m_arrRecord[nBase + REC_TYPE] = intern(cert.getType(), stringList, stringIdx);
+			internPath(cert.getCertPath(), m_arrRecord, nBase + REC_CERT_DIR, stringList, stringIdx);
+			internPath(cert.getPrivPath(), m_arrRecord, nBase + REC_PRIV_DIR, stringList, stringIdx);
+			nDerSize += arrDer[i].length;
+		}
+
+		m_arrDer = new byte[nDerSize];
+		for(int i = 0; i < nCount; i++) {
+			System.arraycopy(arrDer[i], 0, m_arrDer, m_arrRecord[i * RECORD_WIDTH + REC_DER_OFFSET], arrDer[i].length);
+		}
+		m_arrString = stringList.toArray(new String[stringList.size()]);
+	}
+
+	/**
+	 * 문자열 table 등록
+	 * @return int - table index(null 이면 -1)
+	 */
+	private static int intern(String str, ArrayList<String> stringList, HashMap<String, Integer> stringIdx) {
+		if(str == null) {
+			return -1;
+		}
+		Integer idx = stringIdx.get(str);
+		if(idx == null) {
+			idx = Integer.valueOf(stringList.size());
+			stringList.add(str);
+			stringIdx.put(str, idx);
+		}
+		return idx.intValue();
+	}
+
+	/**
+	 * 경로를 디렉터리(마지막 '/' 포함)와 파일명으로 나누어 문자열 table 에 등록
+	 */
+	private static void internPath(String strPath, int[] arrRecord, int nPos, ArrayList<String> stringList, HashMap<String, Integer> stringIdx) {
+		int nSlash = strPath != null ? strPath.lastIndexOf('/') + 1 : 0;
+		arrRecord[nPos] = strPath != null && nSlash > 0 ? intern(strPath.substring(0, nSlash), stringList, stringIdx) : -1;
+		arrRecord[nPos + 1] = intern(strPath != null ? strPath.substring(nSlash) : null, stringList, stringIdx);
+	}
+
+	private static String lookup(String[] arrString, int nIdx) {
+		return nIdx >= 0 ? arrString[nIdx] : null;
+	}
+
+	private static String lookupPath(String[] arrString, int[] arrRecord, int nPos) {
+		String strName = lookup(arrString, arrRecord[nPos + 1]);
+		if(strName == null) {
+			return null;
+		}
+		String strDir = lookup(arrString, arrRecord[nPos]);
+		return strDir != null ? strDir + strName : strName;
+	}
+
+	@Override
+	public int describeContents() {
+		return 0;
+	}
+
+	@Override
+	public void writeToParcel(Parcel dest, int flags) {
+		dest.writeInt(VERSION);
+		dest.writeStringArray(m_arrString);
+		dest.writeByteArray(m_arrDer);
+		dest.writeIntArray(m_arrRecord);
+	}
+
+	public void readFromParcel(Parcel in) {
+		m_certList = null;
+		int nVersion = in.readInt();
+		if(nVersion != VERSION) {  // 이후 내용은 해석할 수 없으므로 읽지 않음(목록은 응답의 마지막 값)
+			LogUtil.w("UsimCertCatalog", "unsupported catalog version : {}", nVersion);
+			return;
+		}
+		String[] arrString = in.createStringArray();
+		byte[] arrDer = in.createByteArray();
+		int[] arrRecord = in.createIntArray();
+		if(arrString == null || arrDer == null || arrRecord == null || arrRecord.length % RECORD_WIDTH != 0) {
+			LogUtil.w("UsimCertCatalog", "invalid catalog");
+			return;
+		}
+
+		int nCount = arrRecord.length / RECORD_WIDTH;
+		ArrayList<UsimCertificate> certList = new ArrayList<UsimCertificate>(nCount);
+		try {
+			CertificateFactory factory = CertificateFactory.getInstance("X.509");
+			for(int i = 0; i < nCount; i++) {
+				int nBase = i * RECORD_WIDTH;
+				int nOffset = arrRecord[nBase + REC_DER_OFFSET];
+				int nLength = arrRecord[nBase + REC_DER_LENGTH];
+				if(nOffset < 0 || nLength < 0 || nOffset > arrDer.length - nLength) {
+					LogUtil.w("UsimCertCatalog", "invalid certificate range : {}", i);
+					return;
+				}
+				X509Certificate x509 = nLength > 0 ? (X509Certificate) factory.generateCertificate(new ByteArrayInputStream(arrDer, nOffset, nLength)) : null;
+				certList.add(new UsimCertificate(x509, arrRecord[nBase + REC_CERT_IDX],
+						lookupPath(arrString, arrRecord, nBase + REC_CERT_DIR), lookupPath(arrString, arrRecord, nBase + REC_PRIV_DIR),
+						lookup(arrString, arrRecord[nBase + REC_OID]), lookup(arrString, arrRecord[nBase + REC_TYPE]),
+						lookup(arrString, arrRecord[nBase + REC_ISSUER])));
+			}
+		} catch(CertificateException e) {
+			LogUtil.w("UsimCertCatalog", "invalid certificate in catalog : {}", e.getMessage());
+			return;
+		} catch(ClassCastException e) {  // X.509 가 아닌 인증서
+			LogUtil.w("UsimCertCatalog", "invalid certificate in catalog : {}", e.getMessage());
+			return;
+		} catch(IndexOutOfBoundsException e) {  // 문자열 table 범위를 벗어난 index
+			LogUtil.w("UsimCertCatalog", "invalid string index in catalog : {}", e.getMessage());
+			return;
+		}
+		m_certList = certList;
+	}
+
+	public static final Parcelable.Creator<UsimCertCatalog> CREATOR = new Parcelable.Creator<UsimCertCatalog>() {
+		@Override
+		public UsimCertCatalog createFromParcel(Parcel source) {
+			return new UsimCertCatalog(source);
+		}
+
+		@Override
+		public UsimCertCatalog[] newArray(int size) {
+			return new UsimCertCatalog[size];
+		}
+	};
+}
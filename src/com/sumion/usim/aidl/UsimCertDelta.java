@@ -0,0 +1,114 @@
+package com.sumion.usim.aidl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * USIM 인증서 목록 변경 내역 class<br>
+ * 기준 세대 이후 삭제된 인증서 index 와 추가(변경 포함)된 인증서를 전달하며,
+ * 서비스가 기준 세대 이후의 내역을 보관하고 있지 않으면 전체 목록 재조회가 필요함(isFull)
+ */
+public class UsimCertDelta implements Parcelable {
+	/** 현재 세대 */
+	private long m_lGeneration;
+	/** 변경 내역 없음 - 전체 목록 재조회 필요 */
+	private boolean m_bFull;
+	/** 삭제(변경 포함)된 USIM 인증서 index */
+	private int[] m_arrRemovedIdx;
+	/** 추가(변경 포함)된 인증서 */
+	private List<UsimCertificate> m_addedList;
+
+	public UsimCertDelta(Parcel In) {
+		readFromParcel(In);
+	}
+
+	/**
+	 * 변경 내역 생성
+	 * @param lGeneration - 현재 세대
+	 * @param arrRemovedIdx - 삭제(변경 포함)된 USIM 인증서 index
+	 * @param addedList - 추가(변경 포함)된 인증서
+	 */
+	public UsimCertDelta(long lGeneration, int[] arrRemovedIdx, List<UsimCertificate> addedList) {
+		m_lGeneration = lGeneration;
+		m_arrRemovedIdx = arrRemovedIdx != null ? arrRemovedIdx : new int[0];
+		m_addedList = addedList != null ? addedList : new ArrayList<UsimCertificate>();
+	}
+
+	/**
+	 * 전체 목록 재조회 필요 응답 생성
+	 * @param lGeneration - 현재 세대
+	 * @return UsimCertDelta - 변경 내역
+	 */
+	public static UsimCertDelta full(long lGeneration) {
+		UsimCertDelta delta = new UsimCertDelta(lGeneration, null, null);
+		delta.m_bFull = true;
+		return delta;
+	}
+
+	/**
+	 * 현재 세대 반환
+	 * @return long - 현재 세대
+	 */
+	public long getGeneration() {
+		return m_lGeneration;
+	}
+
+	/**
+	 * 전체 목록 재조회 필요 여부 반환
+	 * @return boolean - true 이면 변경 내역 대신 getUsimCertList() 로 전체 목록을 조회해야 함
+	 */
+	public boolean isFull() {
+		return m_bFull;
+	}
+
+	/**
+	 * 삭제(변경 포함)된 USIM 인증서 index 반환
+	 * @return int[] - USIM 인증서 index
+	 */
+	public int[] getRemovedIdx() {
+		return m_arrRemovedIdx;
+	}
+
+	/**
+	 * 추가(변경 포함)된 인증서 반환
+	 * @return List<UsimCertificate> - 인증서 목록
+	 */
+	public List<UsimCertificate> getAddedList() {
+		return m_addedList;
+	}
+
+	@Override
+	public int describeContents() {
+		return 0;
+	}
+
+	@Override
+	public void writeToParcel(Parcel dest, int flags) {
+		dest.writeLong(m_lGeneration);
+		dest.writeInt(m_bFull ? 1 : 0);
+		dest.writeIntArray(m_arrRemovedIdx);
+		dest.writeTypedList(m_addedList);
+	}
+
+	public void readFromParcel(Parcel in) {
+		m_lGeneration = in.readLong();
+		m_bFull = in.readInt() != 0;
+		m_arrRemovedIdx = in.createIntArray();
+		m_addedList = in.createTypedArrayList(UsimCertificate.CREATOR);
+	}
+
+	public static final Parcelable.Creator<UsimCertDelta> CREATOR = new Parcelable.Creator<UsimCertDelta>() {
+		@Override
+		public UsimCertDelta createFromParcel(Parcel source) {
+			return new UsimCertDelta(source);
+		}
+
+		@Override
+		public UsimCertDelta[] newArray(int size) {
+			return new UsimCertDelta[size];
+		}
+	};
+}
@@ -0,0 +1,21 @@
+package com.sumion.usim.aidl;
+
+/**
+ * 스마트 USIM 인증서/토큰 변경 알림 종류 정의 class<br>
+ * UsimCertEventListener.onUsimCertEvent() 의 nEvent 값
+ */
+public final class UsimCertEvent {
+	/** 인증서 추가(발급/저장) */
+	public static final int CERT_ADDED			= 1;
+	/** 인증서 삭제 */
+	public static final int CERT_REMOVED		= 2;
+	/** 인증서 변경(갱신) */
+	public static final int CERT_UPDATED		= 3;
+	/** 스마트인증 비밀번호 잠금 상태 변경 */
+	public static final int PIN_LOCK_CHANGED	= 4;
+	/** 토큰 초기화(저장된 인증서 모두 삭제) */
+	public static final int TOKEN_REINITIALIZED	= 5;
+
+	private UsimCertEvent() {
+	}
+}
@@ -0,0 +1,17 @@
+package com.sumion.usim.aidl;
+
+/**
+ * 스마트 USIM 서비스 지원 기능 flag 정의 class<br>
+ * UsimCertMgr.getFeatures() 결과 값과 비교하며, 구 버전 서비스는 항상 0을 반환함
+ */
+public final class UsimCertFeature {
+	/** 대용량 서명 원문/결과를 파일 디스크립터(pipe)로 전달 */
+	public static final int SHARED_TRANSPORT	= 0x0001;
+	/** 인증서/토큰 변경 알림(UsimCertMgr.registerEventListener) */
+	public static final int CERT_EVENT			= 0x0002;
+	/** 인증서 목록 page 단위 조회(UsimCertMgr.getCertPage) */
+	public static final int PAGED_LIST			= 0x0004;
+
+	private UsimCertFeature() {
+	}
+}
@@ -0,0 +1,90 @@
+package com.sumion.usim.aidl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * 인증서 목록 page class<br>
+ * 목록을 한번에 전달하지 않고 page 단위로 나누어 전달하며, 다음 page 는 getNextCursor() 값으로 조회함
+ */
+public class UsimCertPage implements Parcelable {
+	////////////////////////////// 목록 구분 ///////////////////////////////////////
+	/** USIM 내 인증서 목록 */
+	public static final int SOURCE_USIM		= 1;
+	/** SD card 내 인증서 목록 */
+	public static final int SOURCE_SD_CARD	= 2;
+
+	/** 다음 page cursor - 0 이면 마지막 page */
+	private long m_lNextCursor;
+	/** page 내 인증서 */
+	private List<UsimCertificate> m_certList;
+
+	public UsimCertPage(Parcel In) {
+		readFromParcel(In);
+	}
+
+	/**
+	 * page 생성
+	 * @param lNextCursor - 다음 page cursor(마지막 page 는 0)
+	 * @param certList - page 내 인증서
+	 */
+	public UsimCertPage(long lNextCursor, List<UsimCertificate> certList) {
+		m_lNextCursor = lNextCursor;
+		m_certList = certList != null ? certList : new ArrayList<UsimCertificate>();
+	}
+
+	/**
+	 * 다음 page cursor 반환
+	 * @return long - 다음 page 조회 시 전달할 cursor(마지막 page 는 0)
+	 */
+	public long getNextCursor() {
+		return m_lNextCursor;
+	}
+
+	/**
+	 * 다음 page 존재 여부 반환
+	 * @return boolean - 다음 page 존재 여부
+	 */
+	public boolean hasMore() {
+		return m_lNextCursor != 0;
+	}
+
+	/**
+	 * page 내 인증서 반환
+	 * @return List<UsimCertificate> - 인증서 목록
+	 */
+	public List<UsimCertificate> getCertList() {
+		return m_certList;
+	}
+
+	@Override
+	public int describeContents() {
+		return 0;
+	}
+
+	@Override
+	public void writeToParcel(Parcel dest, int flags) {
+		dest.writeLong(m_lNextCursor);
+		dest.writeTypedList(m_certList);
+	}
+
+	public void readFromParcel(Parcel in) {
+		m_lNextCursor = in.readLong();
+		m_certList = in.createTypedArrayList(UsimCertificate.CREATOR);
+	}
+
+	public static final Parcelable.Creator<UsimCertPage> CREATOR = new Parcelable.Creator<UsimCertPage>() {
+		@Override
+		public UsimCertPage createFromParcel(Parcel source) {
+			return new UsimCertPage(source);
+		}
+
+		@Override
+		public UsimCertPage[] newArray(int size) {
+			return new UsimCertPage[size];
+		}
+	};
+}
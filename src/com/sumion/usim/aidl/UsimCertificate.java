@@ -46,6 +46,19 @@ public class UsimCertificate implements Parcelable {
 		m_strOID = oid;
 		m_strType = type;
 	}
+
+	/**
+	 * 전체 정보 설정 생성자(UsimCertCatalog 복원용)
+	 */
+	UsimCertificate(X509Certificate x509, int nIdx, String strCertPath, String strPrivPath, String oid, String type, String issuer) {
+		m_x509Certificate = x509;
+		m_nCertIdx = nIdx;
+		m_strCertPath = strCertPath;
+		m_strPrivPath = strPrivPath;
+		m_strOID = oid;
+		m_strType = type;
+		m_strIssuer = issuer;
+	}
 	
 	/**
 	 * X.509 인증서 반환
@@ -56,7 +56,7 @@ public class UsimTokenInfo implements Parcelable {
 	public void readFromParcel(Parcel in){
 		mUsimFreeMemory = in.readLong();
 		int size = in.readInt();
-		LogUtil.d("UsimTokenInfo", "readFromParcel byte size = ["+size+"]");
+		LogUtil.d("UsimTokenInfo", "readFromParcel byte size = [{}]", size);
 		byte[] data = new byte[size];
 		in.readByteArray(data);
 		mUsimSerialNumber = data;
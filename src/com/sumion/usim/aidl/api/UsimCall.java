@@ -0,0 +1,41 @@
+package com.sumion.usim.aidl.api;
+
+import com.sumion.usim.aidl.UsimCertError;
+
+/**
+ * 비동기 요청 handle(UsimCertService 의 ...Call() 비동기 API 가 반환)<br>
+ * 처리 기한이 지나거나 취소된 요청은 결과 처리 리스너에 실패 값과 함께
+ * GlobalError.code.REQUEST_TIMEOUT / REQUEST_CANCELLED 에러로 전달되며, 이후 도착한 서비스 응답은 무시됨
+ */
+public interface UsimCall {
+	/**
+	 * 요청 취소 - 대기 중이면 대기열에서 제거하고, 실행 중이면 점유 중인 자원을 즉시 반환함
+	 * @return boolean - 취소 여부(이미 완료된 경우 false)
+	 */
+	public boolean cancel();
+
+	/**
+	 * 처리 기한 설정(요청 시점 기준) - UsimCertService.setRequestTimeout() 의 기본 값을 이 요청에 한해 변경
+	 * @param lMillis - 처리 기한(ms), 0 이하이면 무제한
+	 * @return UsimCall - this
+	 */
+	public UsimCall setTimeout(long lMillis);
+
+	/**
+	 * 완료 여부 반환(정상 완료, 실패, 기한 초과, 취소 모두 포함)
+	 * @return boolean - 완료 여부
+	 */
+	public boolean isDone();
+
+	/**
+	 * 취소 여부 반환
+	 * @return boolean - 취소 여부
+	 */
+	public boolean isCancelled();
+
+	/**
+	 * 요청별 처리 결과 반환 - 다른 요청/thread 의 결과에 영향받지 않음
+	 * @return UsimCertError - 처리 결과(완료 전이면 null)
+	 */
+	public UsimCertError getError();
+}
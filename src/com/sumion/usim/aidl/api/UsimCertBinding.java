@@ -0,0 +1,201 @@
+package com.sumion.usim.aidl.api;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * 프로세스 전체에서 공유하는 스마트 USIM 서비스 연결 관리 class<br>
+ * Application context 로 생성한 UsimCertService 하나를 모든 화면이 공유하며(인증서 목록 cache, 작업 thread 공유),
+ * open() 으로 받은 Handle 이 하나라도 열려 있는 동안 연결을 유지함.
+ * 마지막 Handle 을 닫은 후에도 linger 시간 동안은 연결을 유지하여 화면 전환 시 재연결을 피함<br>
+ * <pre>
+ * onCreate()  : m_handle = UsimCertBinding.getInstance(this).open();
+ * onDestroy() : m_handle.close();
+ * </pre>
+ */
+public final class UsimCertBinding {
+	/** 마지막 Handle 을 닫은 후 연결 유지 기본 시간(ms) */
+	public static final long DEFAULT_LINGER = 10 * 1000L;
+
+	private static UsimCertBinding s_instance;
+
+	/** 공유 서비스 API 객체 */
+	private final UsimCertService m_service;
+	/** 공유 서비스 연결 listener */
+	private final UsimServiceConnection m_connection;
+	/** linger 처리 Handler(main thread) */
+	private final Handler m_handler;
+	/** 열린 Handle 수 */
+	private int m_nOpenCount;
+	/** 연결 유지 시간(ms) */
+	private long m_lLinger = DEFAULT_LINGER;
+	/** linger 후 연결 해제 예약 여부 */
+	private boolean m_bUnbindPending;
+
+	/** linger 경과 후 연결 해제 */
+	private final Runnable m_unbindTask = new Runnable() {
+
+		@Override
+		public void run() {
+			synchronized(UsimCertBinding.this) {
+				if(!m_bUnbindPending || m_nOpenCount > 0) {
+					return;
+				}
+				m_bUnbindPending = false;
+			}
+			LogUtil.d("UsimCertBinding", "linger expired, unbind");
+			m_service.unbind();
+		}
+	};
+
+	private UsimCertBinding(Context appContext) {
+		m_handler = new Handler(Looper.getMainLooper());
+		m_service = new UsimCertService(appContext);
+		m_connection = new UsimServiceConnection(m_service);
+		m_service.setBinding(this);
+	}
+
+	/**
+	 * 공유 연결 관리 객체 반환(최초 호출 시 생성, main thread 에서 호출)
+	 * @param context - Context(Application context 만 보관함)
+	 * @return UsimCertBinding
+	 */
+	public static synchronized UsimCertBinding getInstance(Context context) {
+		if(s_instance == null) {
+			Context appContext = context.getApplicationContext();
+			s_instance = new UsimCertBinding(appContext != null ? appContext : context);
+		}
+		return s_instance;
+	}
+
+	/**
+	 * 서비스 사용 Handle 반환 - 연결되어 있지 않으면 연결 요청하고, 연결 해제 예약은 취소함
+	 * @return Handle - 사용 후 close() 해야 함
+	 */
+	public synchronized Handle open() {
+		m_nOpenCount++;
+		if(m_bUnbindPending) {
+			m_bUnbindPending = false;
+			m_handler.removeCallbacks(m_unbindTask);
+		}
+		// launchApplication() 등으로 해제된 경우 포함(이미 연결/연결 중이면 무시됨)
+		if(m_service.getConnectionState() == UsimCertService.STATE_UNBOUND) {
+			m_service.bind(m_connection);
+		}
+		return new Handle();
+	}
+
+	/**
+	 * 마지막 Handle 을 닫은 후 연결 유지 시간 설정
+	 * @param lMillis - 유지 시간(ms), 0 이하이면 즉시 해제
+	 */
+	public synchronized void setLinger(long lMillis) {
+		m_lLinger = Math.max(0, lMillis);
+	}
+
+	/**
+	 * 열린 Handle 수 반환
+	 * @return int - Handle 수
+	 */
+	public synchronized int getOpenCount() {
+		return m_nOpenCount;
+	}
+
+	/**
+	 * 스마트 USIM 서비스 앱 실행 전 연결 해제(UsimCertService.launchApplication() 에서 호출)<br>
+	 * 실행하는 화면 외에 열린 Handle 이 있으면 다른 화면의 연결 및 cache 를 유지하기 위해 해제하지 않음.
+	 * 해제된 경우 다음 open() 또는 UsimCertService.onResume() 에서 다시 연결함
+	 */
+	void unbindForLaunch() {
+		synchronized(this) {
+			if(m_nOpenCount > 1) {
+				LogUtil.d("UsimCertBinding", "launch application, keep binding for {} handles", m_nOpenCount);
+				return;
+			}
+			if(m_bUnbindPending) {
+				m_bUnbindPending = false;
+				m_handler.removeCallbacks(m_unbindTask);
+			}
+		}
+		m_service.unbind();
+	}
+
+	/**
+	 * Handle 닫기 처리
+	 */
+	private void release() {
+		boolean bUnbindNow = false;
+		synchronized(this) {
+			if(--m_nOpenCount > 0) {
+				return;
+			}
+			if(m_lLinger > 0) {
+				m_bUnbindPending = true;
+				m_handler.postDelayed(m_unbindTask, m_lLinger);
+			} else {
+				bUnbindNow = true;
+			}
+		}
+		if(bUnbindNow) {
+			m_service.unbind();
+		}
+	}
+
+	/**
+	 * 서비스 사용 Handle - 화면(Activity) 별로 열고 종료 시 닫음
+	 */
+	public final class Handle {
+		private boolean m_bClosed;
+		/** 이 Handle 이 등록한 서비스 사용 가능 시점 처리 리스너 */
+		private UsimCertService.OnUsimServiceAvailable m_availableListener;
+
+		private Handle() {
+		}
+
+		/**
+		 * 공유 서비스 API 객체 반환
+		 * @return UsimCertService
+		 */
+		public UsimCertService getService() {
+			return m_service;
+		}
+
+		/**
+		 * 이 Handle 의 서비스 사용 가능 시점 처리 리스너 설정(이전 리스너는 해제, close() 시 자동 해제)<br>
+		 * 공유 객체에 UsimCertService.setOnAvailableListener 를 사용하면 다른 화면의 리스너를 덮어쓰므로 이 method 를 사용해야 함
+		 * @param listener - 리스너(null 이면 해제만 함)
+		 */
+		public void setOnAvailableListener(UsimCertService.OnUsimServiceAvailable listener) {
+			synchronized(UsimCertBinding.this) {
+				if(m_bClosed) {
+					return;
+				}
+				if(m_availableListener != null) {
+					m_service.removeOnAvailableListener(m_availableListener);
+				}
+				m_availableListener = listener;
+				m_service.addOnAvailableListener(listener);
+			}
+		}
+
+		/**
+		 * Handle 닫기(여러 번 호출해도 한 번만 처리) - 등록한 리스너 해제
+		 */
+		public void close() {
+			synchronized(UsimCertBinding.this) {
+				if(m_bClosed) {
+					return;
+				}
+				m_bClosed = true;
+				if(m_availableListener != null) {
+					m_service.removeOnAvailableListener(m_availableListener);
+					m_availableListener = null;
+				}
+			}
+			release();
+		}
+	}
+}
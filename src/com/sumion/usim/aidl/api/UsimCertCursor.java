@@ -0,0 +1,134 @@
+package com.sumion.usim.aidl.api;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import android.os.RemoteException;
+
+import com.sumion.usim.aidl.UsimCertMgr;
+import com.sumion.usim.aidl.UsimCertPage;
+import com.sumion.usim.aidl.UsimCertificate;
+import com.sumion.usim.util.GlobalError;
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * 인증서 목록 page 단위 조회 iterator<br>
+ * 현재 page 를 모두 읽은 경우에만 다음 page 를 서비스에 요청하므로, 첫 page 만으로 화면 표시를 시작할 수 있고
+ * 필요한 만큼 읽은 후 close() 하면 나머지 page 는 전송되지 않음.
+ * page 조회를 지원하지 않는 서비스는 전체 목록을 한 page 로 조회함<br>
+ * 서비스 호출이 발생하므로 main thread 에서 사용하지 않아야 하며, 조회 실패 시 목록이 끝난 것으로 처리하고 getErrorCode() 로 확인 가능
+ */
+public final class UsimCertCursor implements Iterator<UsimCertificate> {
+	/** 기본 page 최대 인증서 수 */
+	public static final int DEFAULT_PAGE_SIZE = 16;
+
+	private final UsimCertMgr m_usimCertMgr;
+	/** 목록 구분(UsimCertPage.SOURCE_XXX) */
+	private final int m_nSource;
+	private final int m_nPageSize;
+	private final int m_nMaxBytes;
+	/** page 조회 사용 여부 - false 이면 전체 목록 조회 */
+	private boolean m_bPaged;
+
+	/** 현재 page */
+	private List<UsimCertificate> m_page;
+	/** 현재 page 내 위치 */
+	private int m_nPos;
+	/** 다음 page cursor */
+	private long m_lNextCursor;
+	/** 남은 page 없음(마지막 page 조회, close, 조회 실패) */
+	private boolean m_bLast;
+	/** 조회 실패 에러 코드 */
+	private String m_strErrCode;
+
+	UsimCertCursor(UsimCertMgr usimCertMgr, int nSource, boolean bPaged, int nPageSize, int nMaxBytes) {
+		m_usimCertMgr = usimCertMgr;
+		m_nSource = nSource;
+		m_bPaged = bPaged;
+		m_nPageSize = nPageSize > 0 ? nPageSize : DEFAULT_PAGE_SIZE;
+		m_nMaxBytes = Math.max(0, nMaxBytes);
+	}
+
+	@Override
+	public boolean hasNext() {
+		while(m_page == null || m_nPos >= m_page.size()) {
+			if(m_bLast) {
+				m_page = null;
+				return false;
+			}
+			fetch();
+		}
+		return true;
+	}
+
+	@Override
+	public UsimCertificate next() {
+		if(!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		return m_page.get(m_nPos++);
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * 조회 중단 - 이후 hasNext() 는 false 를 반환하며 남은 page 는 요청하지 않음
+	 */
+	public void close() {
+		m_bLast = true;
+		m_page = null;
+	}
+
+	/**
+	 * 조회 실패 에러 코드 반환
+	 * @return String - 에러 코드(GlobalError.code), 실패하지 않았으면 null
+	 */
+	public String getErrorCode() {
+		return m_strErrCode;
+	}
+
+	/**
+	 * 다음 page 조회
+	 */
+	private void fetch() {
+		m_nPos = 0;
+		try {
+			if(m_bPaged) {
+				try {
+					UsimCertPage page = m_usimCertMgr.getCertPage(m_nSource, m_lNextCursor, m_nPageSize, m_nMaxBytes);
+					if(page != null) {
+						m_page = page.getCertList();
+						m_lNextCursor = page.getNextCursor();
+						m_bLast = !page.hasMore();
+						return;
+					}
+				} catch(RuntimeException e) {  // 구 버전 서비스 - 전체 목록 조회
+					LogUtil.w("UsimCertCursor", "getCertPage not supported : {}", e.getMessage());
+				}
+				if(m_lNextCursor != 0) {  // 중간 page 실패 - 이미 전달한 목록과 중복되지 않도록 중단
+					fail(GlobalError.code.NO_RESULT);
+					return;
+				}
+				m_bPaged = false;
+			}
+
+			m_page = UsimCertStore.loadCertList(m_usimCertMgr, m_nSource);
+			m_bLast = true;
+			if(m_page == null) {
+				fail(GlobalError.code.NO_RESULT);
+			}
+		} catch(RemoteException e) {
+			fail(GlobalError.code.SERVICE_CONNECT);
+		}
+	}
+
+	private void fail(String strErrCode) {
+		m_strErrCode = strErrCode;
+		m_page = null;
+		m_bLast = true;
+	}
+}
@@ -0,0 +1,296 @@
+package com.sumion.usim.aidl.api;
+
+/**
+ * 인증서 목록 조회 필터 class<br>
+ * 한번 생성된 필터는 변경되지 않으며, with 계열 메소드는 값을 변경한 새 필터를 반환함<br>
+ * 서비스 조건 : OID, Serial, 전체 일치 DN(생성자, legacy)과 조회 시점 기준 만료 조건은 기존 API 와 결과가 같도록
+ * 서비스(getOIDFilteredUsimCertList, getFilteredUsimCertList)에서 비교함. 결과는 인증서 목록이 바뀌거나 목록 내
+ * 다음 인증서 만료 시각이 될 때까지 UsimCertStore 에 cache 되므로, 같은 조건의 반복 조회는 서비스를 호출하지 않음<br>
+ * 로컬 조건 : 앞부분 일치 DN(withSubjectPrefix, withIssuerPrefix), 만료 기준 시각, CA, 종류는 cache 된 목록에서 비교함.
+ * 앞부분 일치 DN 은 X509Certificate.getSubjectDN()/getIssuerDN().getName() 문자열과 그대로 비교함(대소문자, 공백, RDN 순서를 정규화하지 않음)<br>
+ * 빈 문자열 조건은 조건 없음(null)과 구분하여 그대로 비교함(OID 는 기존 API 와 같이 빈 문자열이면 조건 없음)
+ */
+public final class UsimCertFilter {
+	/** 필터 사용 안함(USIM 내 전체 인증서) */
+	public static final UsimCertFilter ALL = new UsimCertFilter(null, null, false, null, false, null, true, 0, 0, null);
+
+	/** 인증서 정책 OID */
+	private final String m_strOID;
+	/** Subject DN */
+	private final String m_strSubjectDN;
+	/** Subject DN 앞부분 일치 여부 */
+	private final boolean m_bSubjectPrefix;
+	/** Issuer DN */
+	private final String m_strIssuerDN;
+	/** Issuer DN 앞부분 일치 여부 */
+	private final boolean m_bIssuerPrefix;
+	/** Serial Number(10진수 또는 16진수) */
+	private final String m_strSerialNumber;
+	/** 만료된 인증서 포함 여부 */
+	private final boolean m_bShowExpired;
+	/** 만료 기준 시각(ms) - 0 이면 조회 시점 */
+	private final long m_lExpiryCutOff;
+	/** 발급 CA index(IDX_CA_XXX) - 0 이면 전체 */
+	private final int m_nCaIdx;
+	/** 인증서 종류 */
+	private final String m_strType;
+
+	/**
+	 * 생성자
+	 * @param strOID - OID
+	 * @param strSubjectDN - Subject DN
+	 * @param strIssuerDN - Issuer DN
+	 * @param strSerialNumber - Serial Number
+	 * @param bShowExpired - 만료된 인증서 포함 여부
+	 */
+	public UsimCertFilter(String strOID, String strSubjectDN, String strIssuerDN, String strSerialNumber, boolean bShowExpired) {
+		this(strOID, strSubjectDN, false, strIssuerDN, false, strSerialNumber, bShowExpired, 0, 0, null);
+	}
+
+	private UsimCertFilter(String strOID, String strSubjectDN, boolean bSubjectPrefix, String strIssuerDN, boolean bIssuerPrefix,
+			String strSerialNumber, boolean bShowExpired, long lExpiryCutOff, int nCaIdx, String strType) {
+		m_strOID = emptyToNull(strOID);
+		m_strSubjectDN = strSubjectDN;
+		m_bSubjectPrefix = bSubjectPrefix;
+		m_strIssuerDN = strIssuerDN;
+		m_bIssuerPrefix = bIssuerPrefix;
+		m_strSerialNumber = strSerialNumber;
+		m_bShowExpired = bShowExpired;
+		m_lExpiryCutOff = lExpiryCutOff;
+		m_nCaIdx = nCaIdx;
+		m_strType = strType;
+	}
+
+	/**
+	 * 기존 API(getCertificate 등 getFilterCertCnt 이후 목록 조회)의 필터 조건 생성<br>
+	 * OID 가 있으면 OID/만료 조건만 적용하고, Subject/Issuer/Serial 이 모두 없으면 전체 목록(만료 포함)을 조회함
+	 * @param strOID - OID
+	 * @param strSerialNumber - Serial Number
+	 * @param strSubjectDN - Subject DN
+	 * @param strIssuerDN - Issuer DN
+	 * @param bExpired - 만료된 인증서 포함 여부
+	 * @return UsimCertFilter - 필터
+	 */
+	public static UsimCertFilter legacy(String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN, boolean bExpired) {
+		if(strOID != null && strOID.length() > 0) {
+			return new UsimCertFilter(strOID, null, null, null, bExpired);
+		}
+		if(strSubjectDN == null && strIssuerDN == null && strSerialNumber == null) {
+			return ALL;
+		}
+		return new UsimCertFilter(null, strSubjectDN, strIssuerDN, strSerialNumber, bExpired);
+	}
+
+	/**
+	 * 기존 getFilterCertCnt 의 개수 조회 필터 조건 생성<br>
+	 * legacy 와 달리 Subject/Issuer/Serial 이 모두 없어도 만료 조건을 적용함(기존 API 결과와 동일)
+	 * @param strOID - OID
+	 * @param strSerialNumber - Serial Number
+	 * @param strSubjectDN - Subject DN
+	 * @param strIssuerDN - Issuer DN
+	 * @param bExpired - 만료된 인증서 포함 여부
+	 * @return UsimCertFilter - 필터
+	 */
+	public static UsimCertFilter legacyCount(String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN, boolean bExpired) {
+		if(strOID != null && strOID.length() > 0) {
+			return new UsimCertFilter(strOID, null, null, null, bExpired);
+		}
+		return new UsimCertFilter(null, strSubjectDN, strIssuerDN, strSerialNumber, bExpired);
+	}
+
+	/**
+	 * Subject DN 앞부분 일치 조건 적용
+	 * @param strPrefix - Subject DN 시작 문자열
+	 * @return UsimCertFilter - 조건이 적용된 필터
+	 */
+	public UsimCertFilter withSubjectPrefix(String strPrefix) {
+		return new UsimCertFilter(m_strOID, strPrefix, true, m_strIssuerDN, m_bIssuerPrefix, m_strSerialNumber, m_bShowExpired, m_lExpiryCutOff, m_nCaIdx, m_strType);
+	}
+
+	/**
+	 * Issuer DN 앞부분 일치 조건 적용
+	 * @param strPrefix - Issuer DN 시작 문자열
+	 * @return UsimCertFilter - 조건이 적용된 필터
+	 */
+	public UsimCertFilter withIssuerPrefix(String strPrefix) {
+		return new UsimCertFilter(m_strOID, m_strSubjectDN, m_bSubjectPrefix, strPrefix, true, m_strSerialNumber, m_bShowExpired, m_lExpiryCutOff, m_nCaIdx, m_strType);
+	}
+
+	/**
+	 * 만료 기준 시각 적용(기준 시각 이전에 만료되는 인증서 제외)
+	 * @param lCutOffMillis - 만료 기준 시각(ms)
+	 * @return UsimCertFilter - 조건이 적용된 필터
+	 */
+	public UsimCertFilter withExpiryCutOff(long lCutOffMillis) {
+		return new UsimCertFilter(m_strOID, m_strSubjectDN, m_bSubjectPrefix, m_strIssuerDN, m_bIssuerPrefix, m_strSerialNumber, false, lCutOffMillis, m_nCaIdx, m_strType);
+	}
+
+	/**
+	 * 발급 CA 조건 적용
+	 * @param nCaIdx - 발급 CA index(IDX_CA_XXX)
+	 * @return UsimCertFilter - 조건이 적용된 필터
+	 */
+	public UsimCertFilter withCaIdx(int nCaIdx) {
+		return new UsimCertFilter(m_strOID, m_strSubjectDN, m_bSubjectPrefix, m_strIssuerDN, m_bIssuerPrefix, m_strSerialNumber, m_bShowExpired, m_lExpiryCutOff, nCaIdx, m_strType);
+	}
+
+	/**
+	 * 인증서 종류 조건 적용
+	 * @param strType - 인증서 종류
+	 * @return UsimCertFilter - 조건이 적용된 필터
+	 */
+	public UsimCertFilter withType(String strType) {
+		return new UsimCertFilter(m_strOID, m_strSubjectDN, m_bSubjectPrefix, m_strIssuerDN, m_bIssuerPrefix, m_strSerialNumber, m_bShowExpired, m_lExpiryCutOff, m_nCaIdx, strType);
+	}
+
+	public String getOID() {
+		return m_strOID;
+	}
+
+	public String getSubjectDN() {
+		return m_strSubjectDN;
+	}
+
+	public boolean isSubjectPrefix() {
+		return m_bSubjectPrefix;
+	}
+
+	public String getIssuerDN() {
+		return m_strIssuerDN;
+	}
+
+	public boolean isIssuerPrefix() {
+		return m_bIssuerPrefix;
+	}
+
+	public String getSerialNumber() {
+		return m_strSerialNumber;
+	}
+
+	public boolean isShowExpired() {
+		return m_bShowExpired;
+	}
+
+	public long getExpiryCutOff() {
+		return m_lExpiryCutOff;
+	}
+
+	public int getCaIdx() {
+		return m_nCaIdx;
+	}
+
+	public String getType() {
+		return m_strType;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if(this == o) {
+			return true;
+		}
+		if(!(o instanceof UsimCertFilter)) {
+			return false;
+		}
+		UsimCertFilter other = (UsimCertFilter) o;
+		return eq(m_strOID, other.m_strOID)
+				&& eq(m_strSubjectDN, other.m_strSubjectDN) && m_bSubjectPrefix == other.m_bSubjectPrefix
+				&& eq(m_strIssuerDN, other.m_strIssuerDN) && m_bIssuerPrefix == other.m_bIssuerPrefix
+				&& eq(m_strSerialNumber, other.m_strSerialNumber)
+				&& m_bShowExpired == other.m_bShowExpired && m_lExpiryCutOff == other.m_lExpiryCutOff
+				&& m_nCaIdx == other.m_nCaIdx && eq(m_strType, other.m_strType);
+	}
+
+	@Override
+	public int hashCode() {
+		int h = hash(m_strOID);
+		h = h * 31 + hash(m_strSubjectDN) + (m_bSubjectPrefix ? 1 : 0);
+		h = h * 31 + hash(m_strIssuerDN) + (m_bIssuerPrefix ? 1 : 0);
+		h = h * 31 + hash(m_strSerialNumber);
+		h = h * 31 + (m_bShowExpired ? 1 : 0);
+		h = h * 31 + (int) (m_lExpiryCutOff ^ (m_lExpiryCutOff >>> 32));
+		h = h * 31 + m_nCaIdx;
+		return h * 31 + hash(m_strType);
+	}
+
+	/**
+	 * 전체 일치 Subject DN 조건 반환(서비스에서 비교)
+	 * @return String - Subject DN(없거나 앞부분 일치 조건이면 null)
+	 */
+	String getExactSubjectDN() {
+		return m_bSubjectPrefix ? null : m_strSubjectDN;
+	}
+
+	/**
+	 * 전체 일치 Issuer DN 조건 반환(서비스에서 비교)
+	 * @return String - Issuer DN(없거나 앞부분 일치 조건이면 null)
+	 */
+	String getExactIssuerDN() {
+		return m_bIssuerPrefix ? null : m_strIssuerDN;
+	}
+
+	/**
+	 * 서비스 조회 시 만료된 인증서 포함 여부 - 만료 기준 시각 조건은 로컬에서 비교하므로 서비스에서는 만료된 인증서도 조회
+	 * @return boolean - 만료된 인증서 포함 여부
+	 */
+	boolean isServiceShowExpired() {
+		return m_bShowExpired || m_lExpiryCutOff != 0;
+	}
+
+	/**
+	 * 서비스에서 비교할 조건 여부
+	 * @return boolean - OID, Serial, 전체 일치 DN 또는 조회 시점 기준 만료 조건이 있으면 true
+	 */
+	boolean hasServiceCondition() {
+		return m_strOID != null || m_strSerialNumber != null || getExactSubjectDN() != null || getExactIssuerDN() != null
+				|| !isServiceShowExpired();
+	}
+
+	/**
+	 * 서비스 조건 cache key
+	 * @return String - 서비스 조건(OID, Subject, Issuer, Serial, 만료 포함 여부) 문자열
+	 */
+	String getServiceKey() {
+		StringBuilder sb = new StringBuilder();
+		appendKey(sb, m_strOID);
+		appendKey(sb, getExactSubjectDN());
+		appendKey(sb, getExactIssuerDN());
+		appendKey(sb, m_strSerialNumber);
+		return sb.append(isServiceShowExpired() ? 'Y' : 'N').toString();
+	}
+
+	/**
+	 * 서비스 조건을 제외한 필터 반환(로컬에서 비교할 조건)
+	 * @return UsimCertFilter - 필터(서비스 조건이 없으면 this)
+	 */
+	UsimCertFilter getLocalFilter() {
+		if(!hasServiceCondition()) {
+			return this;
+		}
+		// 조회 시점 기준 만료 조건은 서비스에서 비교하고, 만료 기준 시각 조건만 로컬에서 비교
+		return new UsimCertFilter(null, m_bSubjectPrefix ? m_strSubjectDN : null, m_bSubjectPrefix, m_bIssuerPrefix ? m_strIssuerDN : null, m_bIssuerPrefix,
+				null, m_lExpiryCutOff == 0, m_lExpiryCutOff, m_nCaIdx, m_strType);
+	}
+
+	/**
+	 * cache key 에 조건 추가 - 조건 없음(null)과 빈 문자열을 구분함
+	 */
+	private static void appendKey(StringBuilder sb, String str) {
+		if(str == null) {
+			sb.append('-');
+		} else {
+			sb.append('+').append(str.length()).append(':').append(str);
+		}
+	}
+
+	private static String emptyToNull(String str) {
+		return (str != null && str.length() > 0) ? str : null;
+	}
+
+	private static boolean eq(String a, String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	private static int hash(String str) {
+		return str == null ? 0 : str.hashCode();
+	}
+}
@@ -1,28 +1,41 @@
 package com.sumion.usim.aidl.api;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.security.cert.CertificateEncodingException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.security.cert.X509Certificate;
 
+import android.app.Activity;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.content.pm.PackageManager.NameNotFoundException;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Handler;
 import android.os.Message;
+import android.os.ParcelFileDescriptor;
 import android.os.RemoteException;
 import android.util.Log;
 
 import com.sumion.usim.aidl.UsimCertError;
+import com.sumion.usim.aidl.UsimCertEvent;
+import com.sumion.usim.aidl.UsimCertEventListener;
+import com.sumion.usim.aidl.UsimCertFeature;
 import com.sumion.usim.aidl.UsimCertMgr;
+import com.sumion.usim.aidl.UsimCertPage;
 import com.sumion.usim.aidl.UsimCertificate;
 import com.sumion.usim.aidl.UsimTokenInfo;
 import com.sumion.usim.util.AppClient;
@@ -30,9 +43,6 @@ import com.sumion.usim.util.GlobalError;
 import com.sumion.usim.util.LogUtil;
 import com.sumion.usim.util.SmartUsimResultCode;
 import com.sumion.usim.util.SumionMessage;
-import com.sumion.usim.util.Utils;
-
-import android.telephony.TelephonyManager;
 
 /**
  * 스마트 USIM 서비스 제공 API class
@@ -54,6 +64,113 @@ public class UsimCertService {
 	/** 연결 실패 */
 	public static final int SERVICE_CONNECT_REQUEST_FAIL	= 2;
 
+	////////////////////////////// 서비스 연결 상태 /////////////////////////////////////////
+	/** 연결 요청 전 또는 unbind 후 */
+	public static final int STATE_UNBOUND		= 0;
+	/** bind 요청 후 연결 대기 중 */
+	public static final int STATE_BINDING		= 1;
+	/** 연결됨(실행 중인 요청 없음) */
+	public static final int STATE_CONNECTED		= 2;
+	/** 연결됨(실행 중인 요청 있음) */
+	public static final int STATE_BUSY			= 3;
+	/** 서비스 프로세스 종료 등으로 연결 끊김(bind 유지 중이며 재연결되면 STATE_CONNECTED) */
+	public static final int STATE_DISCONNECTED	= 4;
+
+	/** 서명 원문/결과를 파일 디스크립터로 전달하는 기본 기준 크기(byte) */
+	public static final int DEFAULT_SHARED_TRANSPORT_THRESHOLD	= 128 * 1024;
+
+	/** 비동기 요청 대기 기본 기한(ms) - 실행 중인 요청이 있어 대기하는 경우 이 시간이 지나면 IN_USE 로 실패 처리 */
+	public static final long DEFAULT_QUEUE_TIMEOUT	= 30 * 1000L;
+	/** 비동기 요청 기본 처리 기한(ms) - 요청 시점부터 이 시간이 지나면 REQUEST_TIMEOUT 으로 실패 처리 */
+	public static final long DEFAULT_REQUEST_TIMEOUT	= 120 * 1000L;
+	/** 동기 API 기본 대기 기한(ms) - 같은 자원을 사용하는 요청이 실행 중이면 이 시간까지 대기한 후 IN_USE 로 실패 처리 */
+	public static final long DEFAULT_SYNC_WAIT_TIMEOUT	= 3 * 1000L;
+
+	////////////////////////////// 결과 처리 리스너 호출 thread ///////////////////////////////////////
+	/** 서비스 생성 thread(main thread)의 Handler 로 호출 - 기본 값 */
+	public static final Executor MAIN_THREAD_EXECUTOR = new Executor() {
+
+		@Override
+		public void execute(Runnable command) {
+			throw new RejectedExecutionException("dispatched by UsimCertService handler");
+		}
+	};
+	/** 요청을 완료한 thread(작업/binder/timer thread)에서 바로 호출 - thread 전환 없음 */
+	public static final Executor DIRECT_EXECUTOR = new Executor() {
+
+		@Override
+		public void execute(Runnable command) {
+			command.run();
+		}
+	};
+
+	////////////////////////////// 요청 우선순위 ///////////////////////////////////////
+	/** 목록/개수/토큰 정보 조회 등 background 갱신 */
+	private static final int PRIORITY_BACKGROUND	= 0;
+	/** 발급/갱신/저장/삭제 등 일반 요청 */
+	private static final int PRIORITY_NORMAL		= 1;
+	/** 서명/VID 등 사용자 대기 중인 요청 */
+	private static final int PRIORITY_INTERACTIVE	= 2;
+	/** 동기 API 의 USIM 카드 요청 - 대기 중인 비동기 요청보다 먼저 실행 */
+	private static final int PRIORITY_CARD			= 3;
+
+	////////////////////////////// 비동기 요청 완료 상태 ///////////////////////////////////////
+	private static final int CALL_PENDING		= 0;
+	private static final int CALL_COMPLETED		= 1;
+	private static final int CALL_CANCELLED		= 2;
+	private static final int CALL_TIMED_OUT		= 3;
+
+	/**
+	 * 요청 시점에 이미 완료된(실행되지 않은) 요청 handle
+	 */
+	private static final class CompletedCall implements UsimCall {
+		private final UsimCertError m_error;
+
+		CompletedCall(UsimCertError error) {
+			m_error = error;
+		}
+
+		@Override
+		public boolean cancel() {
+			return false;
+		}
+
+		@Override
+		public UsimCall setTimeout(long lMillis) {
+			return this;
+		}
+
+		@Override
+		public boolean isDone() {
+			return true;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public UsimCertError getError() {
+			return m_error;
+		}
+	}
+
+	/**
+	 * thread 별 처리 상태 - 동기 API 의 필터 조건과 처리 결과를 호출 thread 별로 보관하여
+	 * 여러 thread 에서 동시에 호출해도 서로의 필터/에러를 덮어쓰지 않음
+	 */
+	private static final class CallState {
+		/** getUsimCertCnt()/getFilterCertCnt() 로 설정된 필터 조건 */
+		UsimCertFilter m_filter = UsimCertFilter.ALL;
+		/** 처리 결과 error code */
+		String m_strErrCode;
+		/** 처리 결과 error message */
+		String m_strErrMsg;
+		/** 비동기 결과 처리 리스너 호출 executor(null 이면 서비스 기본 값) */
+		Executor m_executor;
+	}
+
 	////////////////////////////// 결과 처리 handler 구분 값 ///////////////////////////////////////
 	/** USIM 내 인증서 조회 결과 처리 */
 	private static final int USIM_RESULT_CERT			= 0;
@@ -221,36 +338,66 @@ public class UsimCertService {
 		public void onCheckJoinResult(String strResultCode);
 	}
 
-	/** 서비스 사용 가능 시점(bind 후 부가서비스 조회 결과가 OK인 시점) 처리 리스너 */
-	private OnUsimServiceAvailable m_availableListener;
+	/** 서비스 연결 상태 변경 처리 리스너 */
+	public interface OnConnectionStateChanged {
+		/**
+		 * 서비스 연결 상태 변경 처리(main thread 에서 호출)
+		 * @param nOldState - 이전 상태(STATE_XXX)
+		 * @param nNewState - 변경된 상태(STATE_XXX)
+		 */
+		public void onConnectionStateChanged(int nOldState, int nNewState);
+	}
 
-	/** 현재 수행 중인 background 처리에 등록된 결과 처리 리스너 */
-	private Object m_resultListener;
+	/** USIM 인증서/토큰 변경 알림 처리 리스너 */
+	public interface OnUsimCertEvent {
+		/**
+		 * USIM 인증서/토큰 변경 알림 처리(main thread 에서 호출)<br>
+		 * 호출 전에 인증서 목록 및 토큰 정보 cache 는 이미 초기화되어 있음
+		 * @param nEvent - 변경 종류(UsimCertEvent 참고)
+		 * @param nCertIdx - 변경된 USIM 인증서 index(인증서 변경이 아니면 -1)
+		 */
+		public void onUsimCertEvent(int nEvent, int nCertIdx);
+	}
+
+	/** 서비스 사용 가능 시점(bind 후 부가서비스 조회 결과가 OK인 시점) 처리 리스너(setOnAvailableListener 로 설정) */
+	private OnUsimServiceAvailable m_availableListener;
+	/** 서비스 사용 가능 시점 처리 리스너 목록(addOnAvailableListener 로 등록) */
+	private final CopyOnWriteArrayList<OnUsimServiceAvailable> m_availableListeners = new CopyOnWriteArrayList<OnUsimServiceAvailable>();
+	/** 인증서/토큰 변경 알림 처리 리스너 목록 */
+	private final CopyOnWriteArrayList<OnUsimCertEvent> m_eventListeners = new CopyOnWriteArrayList<OnUsimCertEvent>();
+	/** 서비스 변경 알림 등록 여부 */
+	private volatile boolean m_bEventRegistered;
 
 	/** Context */
 	private Context m_context;
 	/** 결과 처리 Handler */
 	private Handler m_handler;
 	/** 서비스 연결/해제 결과 처리 listener */
-	private UsimServiceConnection m_connection;
-	/** 서비스 연결 요청 요청 수행 판단 flag - bind/unbind 를 직접 호출 할 경우 설정 */
-	private boolean m_bConnectRequest;
+	private volatile UsimServiceConnection m_connection;
+	/** 서비스 연결 상태(STATE_XXX) - compareAndSet 으로만 변경 */
+	private final AtomicInteger m_nState = new AtomicInteger(STATE_UNBOUND);
+	/** 공유 연결 관리 객체(UsimCertBinding 이 생성한 공유 객체인 경우에만 설정) */
+	private volatile UsimCertBinding m_binding;
+	/** 서비스 연결 상태 변경 처리 리스너 목록 */
+	private final CopyOnWriteArrayList<OnConnectionStateChanged> m_stateListeners = new CopyOnWriteArrayList<OnConnectionStateChanged>();
 	/** 서비스 명 */
 	private static final String SERVICE_NAME = "com.sumion.usim.intent.CERT_SERVICE";
 	/** 스마트 USIM 서비스 패키지 명 */
 	private static final String PACKAGE_NAME = "com.sumion.usim";
 	/** SEIO Agent 패키지 명 */
-	private static final String PACKAGE_NAME_SEIO = "com.skp.seio";
-	/** KT Agent 패키지 명*/
-	private static final String PACKAGE_NAME_OLLEH = "com.kt.ollehusimmanager";
+	private static final String PACKAGE_NAME_SEIO = UsimIdentity.PACKAGE_NAME_SEIO;
 	/** LGT TSM Proxy 패키지 명*/
 	public static final String LGT_PKG_NAME = "com.lguplus.tsmproxy";		
 	/** 서비스 제공 stub */
-	private UsimCertMgr m_usimCertMgr;
-	/** 처리 결과 error code */
-	private String m_strErrCode;
-	/** 처리 결과 error message */
-	private String m_strErrMsg;
+	private volatile UsimCertMgr m_usimCertMgr;
+	/** 호출 thread 별 필터 조건 및 처리 결과 */
+	private final ThreadLocal<CallState> m_callState = new ThreadLocal<CallState>() {
+
+		@Override
+		protected CallState initialValue() {
+			return new CallState();
+		}
+	};
 
 	public String certPath = null;
 	public String privKeyPath = null;
@@ -258,18 +405,67 @@ public class UsimCertService {
 	/** 가입여부 체크 결과 변수 */
 	private int m_iSubscriberCheck = -1;
 	
-	/** 통합 API 처리 진행 상태 */
-	private boolean m_bProgressStatus = false;
-	
-	/* 인증서 필터링 정보*/
-	/*
-String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN, boolean bExpired 
+	/** USIM 인증서 목록 cache */
+	private final UsimCertStore m_certStore;
+	/** 인증서 목록 저장 파일 명(앱 전용 디렉터리) */
+	private static final String WARM_CATALOG_FILE = "usim_cert_catalog.dat";
+
+	/** 파일 디스크립터 전달 기준 크기(byte) - 0 이하이면 사용 안함 */
+	private volatile int m_nSharedThreshold = DEFAULT_SHARED_TRANSPORT_THRESHOLD;
+	/** 서비스 지원 기능(UsimCertFeature) - -1 이면 미조회 */
+	private volatile int m_nFeatures = -1;
+
+	/** 자원 종류별 요청 실행 관리 */
+	private final UsimRequestScheduler m_scheduler = new UsimRequestScheduler();
+	/** 요청 대기 기한(ms) - 0 이면 무제한 */
+	private volatile long m_lQueueTimeout = DEFAULT_QUEUE_TIMEOUT;
+	/** 비동기 요청 처리 기한(ms) - 0 이면 무제한 */
+	private volatile long m_lRequestTimeout = DEFAULT_REQUEST_TIMEOUT;
+	/** 동기 API 대기 기한(ms) - 0 이면 대기하지 않음 */
+	private volatile long m_lSyncWaitTimeout = DEFAULT_SYNC_WAIT_TIMEOUT;
+	/** 비동기 결과 처리 리스너 기본 호출 executor */
+	private volatile Executor m_callbackExecutor = MAIN_THREAD_EXECUTOR;
+	/** 서비스 연결 순번 - 연결/해제 시 증가하며, 이전 연결에서 시작된 요청의 결과는 무시함 */
+	private final AtomicInteger m_nConnectSeq = new AtomicInteger();
+
+	/**
+	 * 서비스 변경 알림 수신 callback(binder thread 에서 호출)<br>
+	 * cache 는 수신 즉시 초기화하고 리스너는 main thread 에서 호출함
 	 */
-	private String m_strOID = null;
-	private String m_strSerialNumber = null;
-	private String m_strSubjectDN = null;
-	private String m_strIssuerDN = null;
-	private boolean m_bExpired = false;
+	private final UsimCertEventListener.Stub m_eventCallback = new UsimCertEventListener.Stub() {
+
+		@Override
+		public void onUsimCertEvent(final int nEvent, final int nCertIdx, long lGeneration) {
+			LogUtil.d("UsimCertService", "onUsimCertEvent event[{}] idx[{}] generation[{}]", nEvent, nCertIdx, lGeneration);
+			switch(nEvent) {
+			case UsimCertEvent.CERT_ADDED:
+			case UsimCertEvent.CERT_REMOVED:
+			case UsimCertEvent.CERT_UPDATED:
+			case UsimCertEvent.TOKEN_REINITIALIZED:
+				onCardChanged();
+				break;
+			case UsimCertEvent.PIN_LOCK_CHANGED:
+				UsimIdentity.invalidateTokenInfo();
+				break;
+			default:  // 알 수 없는 알림 - 모두 초기화
+				onCardChanged();
+				break;
+			}
+
+			if(m_eventListeners.isEmpty()) {
+				return;
+			}
+			m_handler.post(new Runnable() {
+
+				@Override
+				public void run() {
+					for(OnUsimCertEvent listener : m_eventListeners) {
+						listener.onUsimCertEvent(nEvent, nCertIdx);
+					}
+				}
+			});
+		}
+	};
 	
 //	private byte[] mPKCS7Sign;
 //	private byte[] mPKCS7SignAdd;
@@ -280,125 +476,33 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 //	private static final String LOGIN_URL = "https://demo.initech.com:8343/initech/mobilianNet/login.jsp";
 
 	/**
-	 * 생성자
+	 * 생성자<br>
+	 * 여러 화면에서 사용하는 경우 화면별로 생성하지 않고 UsimCertBinding 으로 공유하는 것을 권장
 	 * @param context - Context
 	 */
 	public UsimCertService(Context context) {
 		m_context = context;
+		m_certStore = new UsimCertStore(new File(context.getFilesDir(), WARM_CATALOG_FILE));
 		m_handler = new Handler() {
 
 			@Override
 			public void handleMessage(Message msg) {
 				super.handleMessage(msg);
 
-				// 처리 중 연결 해제 등으로 초기화 된 경우 무시
-				if(m_resultListener == null) {
-					return;
-				}
+				((UsimTask) msg.obj).deliverResult();
+			}
+		};
+		m_scheduler.setActivityListener(new UsimRequestScheduler.ActivityListener() {
 
-				switch(msg.what) {
-					/* USIM 내 인증서 조회 결과 처리 */
-					case USIM_RESULT_CERT: {
-						OnGetCertResult resultListener = (OnGetCertResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onGetCertResult((UsimCertificate) msg.obj);
-						break;
-					}
-					/* USIM 내 인증서 개수 조회 결과 처리 */
-					case USIM_RESULT_CERT_CNT: {
-						OnCertCntResult resultListener = (OnCertCntResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onCertCntResult((Integer) msg.obj);
-						break;
-					}
-					/* USIM 내 현재 저장 가능한 인증서 개수 조회 결과 처리 */
-					case USIM_RESULT_FREE_CNT: {
-						OnFreeCntResult resultListener = (OnFreeCntResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onFreeCntResult((Integer) msg.obj);
-						break;
-					}
-					/* USIM/SD card 내 인증서 목록 조회 결과 처리 */
-					case USIM_RESULT_CERT_LIST:
-					case USIM_RESULT_SD_CERT_LIST: {
-						OnCertListResult resultListener = (OnCertListResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onCertListResult((ArrayList<UsimCertificate>) msg.obj);
-						break;
-					}
-					/* USIM 내 인증서로 원문을 전자서명 (PKCS#1 서명) 결과 처리 */
-					case USIM_RESULT_SIGN: {
-						OnSignResult resultListener = (OnSignResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onSignResult((byte[]) msg.obj);
-						break;
-					}
-					/* USIM 내 인증서로 원문을 전자서명 (PKCS#7 서명) 결과 처리 */
-					case USIM_RESULT_SEVEN_SIGN: {
-						OnSevenSignResult resultListener = (OnSevenSignResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onSevenSignResult((byte[]) msg.obj);
-						break;
-					}
-					/* PKCS#7 서명 데이터에 특정 속성 추가 결과 처리 */
-					case USIM_RESULT_ADD_ATTR: {
-						OnAddAttrResult resultListener = (OnAddAttrResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onAddAttrResult((byte[]) msg.obj);
-						break;
-					}
-					/* 인증서의 개인키 R값 조회 결과 처리 */
-					case USIM_RESULT_VID_RANDOM: {
-						OnVIDRandomResult resultListener = (OnVIDRandomResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onVIDRandomResult((byte[]) msg.obj);
-						break;
-					}
-					/* 토큰 정보 조회(여유 공간 및 USIM Serial(ICCID) 조회) 결과 처리 */
-					case USIM_RESULT_TOKEN_INFO: {
-						OnTokenInfoResult resultListener = (OnTokenInfoResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onTokenInfoResult((UsimTokenInfo) msg.obj);
-						break;
-					}
-					/* USIM 내 인증서 발급 결과 처리 */
-					case USIM_RESULT_ISSUE: {
-						OnIssueResult resultListener = (OnIssueResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onIssueResult((Boolean) msg.obj);
-						break;
-					}
-					/* USIM 내 인증서 갱신 결과 처리 */
-					case USIM_RESULT_UPDATE: {
-						OnUpdateResult resultListener = (OnUpdateResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onUpdateResult((Boolean) msg.obj);
-						break;
-					}
-					/* 인증서 저장 결과 처리 */
-					case USIM_RESULT_SAVE: {
-						OnSaveResult resultListener = (OnSaveResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onSaveResult((Boolean) msg.obj);
-						break;
-					}
-					/* USIM 내 인증서 삭제 결과 처리 */
-					case USIM_RESULT_DEL: {
-						OnDelResult resultListener = (OnDelResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onDelResult((Boolean) msg.obj);
-						break;
-					}
-					/* 서비스 가입 여부 조회 결과 처리 */
-					case USIM_RESULT_JOIN: {
-						OnCheckJoinResult resultListener = (OnCheckJoinResult)m_resultListener;
-						m_resultListener = null;
-						resultListener.onCheckJoinResult((String) msg.obj);
-						break;
-					}
+			@Override
+			public void onActivityChanged(boolean bActive) {
+				if(bActive) {
+					transition(STATE_CONNECTED, STATE_BUSY);
+				} else {
+					transition(STATE_BUSY, STATE_CONNECTED);
 				}
 			}
-		};
+		});
 	}
 
 	/**
@@ -410,8 +514,9 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * 연결 실패 : SERVICE_CONNECT_FAIL
 	 */
 	public int bind(UsimServiceConnection conn) {
-		LogUtil.d("UsimCertService", "bind m_bConnectRequest[" + m_bConnectRequest + "]");
-		if (m_bConnectRequest) {
+		LogUtil.d("UsimCertService", "bind state[{}]", m_nState.get());
+		// 동시에 여러 번 호출되어도 UNBOUND 에서 BINDING 으로 바꾼 호출만 bind 수행
+		if (!transition(STATE_UNBOUND, STATE_BINDING)) {
 			return SERVICE_ALREADY_CONNECTED;
 		}
 
@@ -419,27 +524,36 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		intent.setPackage(PACKAGE_NAME);
 		
 		//if(m_context.bindService(new Intent(SERVICE_NAME), conn, Context.BIND_AUTO_CREATE)) {
+		m_connection = conn;
 		if(m_context.bindService(intent, conn, Context.BIND_AUTO_CREATE)) {
-			m_connection = conn;
-			m_bConnectRequest = true;
 			return SERVICE_CONNECT_REQUEST_OK;
 		}
 
+		transition(STATE_BINDING, STATE_UNBOUND);
 		setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
 
 		return SERVICE_CONNECT_REQUEST_FAIL;
 	}
 
 	/**
-	 * USIM 인증 서비스 연결 해제 요청
+	 * 공유 연결 관리 객체 설정(UsimCertBinding 에서만 호출)
+	 * @param binding - 공유 연결 관리 객체
+	 */
+	void setBinding(UsimCertBinding binding) {
+		m_binding = binding;
+	}
+
+	/**
+	 * USIM 인증 서비스 연결 해제 요청(연결 대기 중인 경우 포함)
 	 */
 	public void unbind() {
-		LogUtil.d("UsimCertService", "unbind m_usimCertMgr[" + m_usimCertMgr + "]");
-		if (m_usimCertMgr == null) {
+		int nOldState = m_nState.getAndSet(STATE_UNBOUND);
+		LogUtil.d("UsimCertService", "unbind state[{}]", nOldState);
+		if (nOldState == STATE_UNBOUND) {
 			return;
 		}
+		notifyStateChanged(nOldState, STATE_UNBOUND);
 
-		m_bConnectRequest = false;
 		clearStub();
 		m_context.unbindService(m_connection);
 	}
@@ -448,11 +562,69 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * 연결 해제 상태에서 resume 될 경우 재 연결 처리를 위해 Activity의 onResume에서 호출
 	 */
 	public void onResume() {
-		if(m_connection != null) {
-			if(!m_bConnectRequest) {  // 한번 연결 시도 된 상태에서 해제 시도 후 resume 된 상태
-				bind(m_connection);
-			}
+		UsimServiceConnection connection = m_connection;
+		// 한번 연결 시도 된 상태에서 해제 시도 후 resume 된 상태(bind 에서 다시 상태를 확인하므로 중복 bind 되지 않음)
+		if(connection != null && m_nState.get() == STATE_UNBOUND) {
+			bind(connection);
+		}
+	}
+
+	/**
+	 * 서비스 연결 상태 반환(대기 없이 즉시 반환)
+	 * @return int - STATE_UNBOUND / STATE_BINDING / STATE_CONNECTED / STATE_BUSY / STATE_DISCONNECTED
+	 */
+	public int getConnectionState() {
+		return m_nState.get();
+	}
+
+	/**
+	 * 서비스 연결 상태 변경 처리 리스너 등록<br>
+	 * 더이상 사용하지 않을 경우 removeConnectionStateListener 로 해제해 주어야 함
+	 * @param listener - 리스너
+	 */
+	public void addConnectionStateListener(OnConnectionStateChanged listener) {
+		if(listener != null) {
+			m_stateListeners.addIfAbsent(listener);
+		}
+	}
+
+	/**
+	 * 서비스 연결 상태 변경 처리 리스너 해제
+	 * @param listener - addConnectionStateListener 로 등록한 리스너
+	 */
+	public void removeConnectionStateListener(OnConnectionStateChanged listener) {
+		m_stateListeners.remove(listener);
+	}
+
+	/**
+	 * 연결 상태 변경(현재 상태가 nFrom 인 경우에만)
+	 * @return boolean - 변경 여부
+	 */
+	private boolean transition(int nFrom, int nTo) {
+		if(!m_nState.compareAndSet(nFrom, nTo)) {
+			return false;
+		}
+		notifyStateChanged(nFrom, nTo);
+		return true;
+	}
+
+	/**
+	 * 연결 상태 변경 리스너 호출(main thread)
+	 */
+	private void notifyStateChanged(final int nOldState, final int nNewState) {
+		LogUtil.d("UsimCertService", "connection state {} -> {}", nOldState, nNewState);
+		if(m_stateListeners.isEmpty()) {
+			return;
 		}
+		m_handler.post(new Runnable() {
+
+			@Override
+			public void run() {
+				for(OnConnectionStateChanged listener : m_stateListeners) {
+					listener.onConnectionStateChanged(nOldState, nNewState);
+				}
+			}
+		});
 	}
 
 	/**
@@ -465,19 +637,43 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 
 	/**
 	 * 서비스 사용 가능 시점(bind 후 부가서비스 조회 결과가 OK인 시점) 처리 리스너 등록<br>
-	 * 더이상 사용하지 않을 경우 null로 clear 해 주어야 함
+	 * 더이상 사용하지 않을 경우 null로 clear 해 주어야 함<br>
+	 * 하나만 설정되므로 UsimCertBinding 의 공유 객체는 Handle.setOnAvailableListener 를 사용해야 함
 	 * @param availableListener
 	 */
 	public void setOnAvailableListener(OnUsimServiceAvailable availableListener) {
 		m_availableListener = availableListener;
 	}
 
+	/**
+	 * 서비스 사용 가능 시점 처리 리스너 추가 등록<br>
+	 * 더이상 사용하지 않을 경우 removeOnAvailableListener 로 해제해 주어야 함
+	 * @param listener - 리스너
+	 */
+	public void addOnAvailableListener(OnUsimServiceAvailable listener) {
+		if(listener != null) {
+			m_availableListeners.addIfAbsent(listener);
+		}
+	}
+
+	/**
+	 * 서비스 사용 가능 시점 처리 리스너 해제
+	 * @param listener - addOnAvailableListener 로 등록한 리스너
+	 */
+	public void removeOnAvailableListener(OnUsimServiceAvailable listener) {
+		m_availableListeners.remove(listener);
+	}
+
 	/**
 	 * 서비스 사용 가능 시점에서 등록된 초기화 처리 수행
 	 */
 	public void doInitJob() {
-		if(m_availableListener != null) {
-			m_availableListener.onUsimServiceAvailable();
+		OnUsimServiceAvailable availableListener = m_availableListener;
+		if(availableListener != null) {
+			availableListener.onUsimServiceAvailable();
+		}
+		for(OnUsimServiceAvailable listener : m_availableListeners) {
+			listener.onUsimServiceAvailable();
 		}
 	}
 	
@@ -487,7 +683,25 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 */
 	public void setStub(UsimCertMgr usimCertMgr) {
 		m_usimCertMgr = usimCertMgr;
-		m_resultListener = null;
+		final int nConnectSeq = m_nConnectSeq.incrementAndGet();
+		m_nFeatures = -1;
+		m_certStore.clear();
+		// ICCID 조회(TelephonyManager)는 연결 callback(main thread)을 지연시키지 않도록 작업 thread 에서 처리
+		m_scheduler.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				String strIccid = UsimIdentity.get(m_context).getIccid();
+				if(nConnectSeq == m_nConnectSeq.get()) {
+					m_certStore.setIccid(strIccid);
+				}
+			}
+		});
+		registerEventCallback();
+		// stub 설정 후 상태를 변경하여 isReady() 가 true 이면 stub 이 항상 설정되어 있도록 함
+		if(!transition(STATE_BINDING, STATE_CONNECTED)) {
+			transition(STATE_DISCONNECTED, STATE_CONNECTED);
+		}
 	}
 
 	/**
@@ -495,64 +709,89 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * @param usimCertMgr
 	 */
 	public void clearStub() {
+		// 연결 상태를 먼저 변경하여 이후 isReady() 호출은 해제된 stub 을 사용하지 않도록 함(unbind 에서 호출된 경우는 이미 UNBOUND)
+		if(!transition(STATE_CONNECTED, STATE_DISCONNECTED)) {
+			transition(STATE_BUSY, STATE_DISCONNECTED);
+		}
+		unregisterEventCallback();
 		m_usimCertMgr = null;
-		m_resultListener = null;
+		m_nConnectSeq.incrementAndGet();
+		m_nFeatures = -1;
+		m_certStore.clear();
+		// 대기 중이거나 실행 권한을 받은 요청은 연결 오류로 종료
+		m_scheduler.abortAll(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
 	}
 
 	/**
-	 * 처리 결과 코드 반환
+	 * 현재 thread 에서 마지막으로 호출한 API 의 처리 결과 코드 반환<br>
+	 * 비동기 API 의 결과는 결과 처리 리스너 호출 중(리스너 호출 thread)에 조회하거나 UsimCall.getError() 사용
 	 * @return String - 처리 결과 코드
 	 */
 	public String getErrorCode() {
-		return m_strErrCode;
+		return m_callState.get().m_strErrCode;
 	}
 
 	/**
-	 * 처리 결과 메시지 반환
+	 * 현재 thread 에서 마지막으로 호출한 API 의 처리 결과 메시지 반환
 	 * @return String - 처리 결과 메시지
 	 */
 	public String getErrorMessage() {
-		return m_strErrMsg;
+		return m_callState.get().m_strErrMsg;
+	}
+
+	/**
+	 * 현재 thread 에서 마지막으로 호출한 API 의 처리 결과 반환
+	 * @return UsimCertError - 처리 결과(이후 호출에 영향받지 않는 복사본)
+	 */
+	public UsimCertError getLastError() {
+		CallState state = m_callState.get();
+		return newError(state.m_strErrCode, state.m_strErrMsg);
 	}
 
 	/**
-	 * 처리 결과 에러 메시지 설정
+	 * 처리 결과 에러 메시지 설정(현재 thread)
 	 * @param strErrCode - error code
 	 * @param strErrMsg - error message
 	 */
 	private void setErrorMessage(String strErrCode, String strErrMsg) {
-		m_strErrCode = strErrCode;
-		m_strErrMsg = strErrMsg;
+		CallState state = m_callState.get();
+		state.m_strErrCode = strErrCode;
+		state.m_strErrMsg = strErrMsg;
 	}
 
 	/**
-	 * 처리 결과 에러 메시지 설정
+	 * 처리 결과 에러 메시지 설정(현재 thread)
 	 * @param error - UsimCertError 결과 객체
 	 */
 	private void setErrorMessage(UsimCertError error) {
-		m_strErrCode = error.getErrorCode();
-		m_strErrMsg = error.getErrorMessage();
+		setErrorMessage(error.getErrorCode(), error.getErrorMessage());
+	}
+
+	/**
+	 * 처리 결과 객체 생성
+	 */
+	private static UsimCertError newError(String strErrCode, String strErrMsg) {
+		UsimCertError error = new UsimCertError();
+		error.setError(strErrCode, strErrMsg);
+		return error;
+	}
+
+	/**
+	 * 현재 thread 의 처리 결과를 가진 완료된 요청 handle 반환(요청을 실행하지 않은 경우)
+	 */
+	private UsimCall completedCall() {
+		return new CompletedCall(getLastError());
 	}
 
 	/**
-	 * 서비스 사용 가능 상태 여부 반환
+	 * 서비스 사용 가능 상태 여부 반환(연결 상태만 확인하며 대기하지 않음)
 	 * @return boolean - 서비스 사용 가능 여부
 	 */
 	public boolean isReady() {
-		if(m_bConnectRequest && m_usimCertMgr != null) {
-			if(m_resultListener != null) {
-				setErrorMessage(GlobalError.code.IN_USE, GlobalError.msg.IN_USE);
-				return false;
-			}
-			else {
-				if(m_bProgressStatus == true) {
-					setErrorMessage(GlobalError.code.IN_USE, GlobalError.msg.IN_USE);
-					return false;
-				} else {
-					setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
-					return true;
-				}
-			}
+		int nState = m_nState.get();
+		if(nState == STATE_CONNECTED || nState == STATE_BUSY) {
+			setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
+			return true;
 		}
 		else {
 			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
@@ -560,22 +799,46 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		}
 	}
 
+	/**
+	 * 서비스 stub 반환 - 연결이 해제된 경우 SERVICE_CONNECT 설정 후 null<br>
+	 * 호출 중 clearStub() 이 실행되어도 같은 stub 을 사용하도록 API 별로 한 번만 조회하여 지역 변수로 사용해야 함
+	 * (해제된 stub 호출은 RemoteException 으로 SERVICE_CONNECT 처리됨)
+	 * @return UsimCertMgr - 서비스 stub, 연결 해제 시 null
+	 */
+	private UsimCertMgr getStub() {
+		UsimCertMgr usimCertMgr = m_usimCertMgr;
+		if(usimCertMgr == null) {
+			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+		}
+		return usimCertMgr;
+	}
+
 	/**
 	 * 스마트 USIM 서비스 앱 설치 여부 확인
 	 * @return boolean - 스마트 USIM 서비스 앱 설치 여부
 	 */
 	public boolean isInstalled() {
-		PackageManager pm = m_context.getPackageManager();
-		
-		try {
-			pm.getPackageInfo(PACKAGE_NAME, PackageManager.GET_ACTIVITIES);
-		}
-		catch (NameNotFoundException e) {
-			e.printStackTrace();
-			return false;
-		}
+		return UsimPackageState.isInstalled(m_context, PACKAGE_NAME);
+	}
 
-		return true;
+	/**
+	 * 통신사별 Agent 설치 여부 확인
+	 * @return boolean - Agent 설치 여부(Agent 를 지원하지 않는 통신사는 false)
+	 */
+	public boolean isTelecomAgentInstalled() {
+		String strAgentPackage = UsimIdentity.get(m_context).getAgentPackage();
+		return strAgentPackage != null && UsimPackageState.isInstalled(m_context, strAgentPackage);
+	}
+
+	/**
+	 * 화면 호출 - Activity 가 아닌 Context(UsimCertBinding 의 Application context)인 경우 새 task 로 호출
+	 * @param intent - 호출할 화면 Intent
+	 */
+	private void startActivity(Intent intent) {
+		if(!(m_context instanceof Activity)) {
+			intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+		}
+		m_context.startActivity(intent);
 	}
 
 	/**
@@ -583,7 +846,7 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 */
 	public void installSmartUsimApplication() {
 		Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("market://details?id=" + PACKAGE_NAME));  
-		m_context.startActivity(intent);
+		startActivity(intent);
 	}
 
 	/**
@@ -591,33 +854,19 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 */
 	public void installSEIOAgent() {
 		Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("market://details?id=" + PACKAGE_NAME_SEIO));
-		m_context.startActivity(intent);
+		startActivity(intent);
 	}
 	
 	/**
 	 * 통신사별  Agent 설치
 	 */
 	public void installTelecomAgent() {
-		String MCC_MNC_SKT = "45005";
-		String MCC_MNC_KT = "45008";
-		String MCC_MNC_LGT = "45006";
-		TelephonyManager telephonyManager = (TelephonyManager)m_context.getSystemService(m_context.TELEPHONY_SERVICE);
-		String strMCCMNC = telephonyManager.getSimOperator();
-		if(MCC_MNC_SKT.equals(strMCCMNC)) {
-			Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("market://details?id=" + PACKAGE_NAME_SEIO));
-			m_context.startActivity(intent);
-		} else if(MCC_MNC_KT.equals(strMCCMNC)) {
-			Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("market://details?id=" + PACKAGE_NAME_OLLEH));
-			m_context.startActivity(intent);
-		} else if(MCC_MNC_LGT.equals(strMCCMNC)) {
-			Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("market://details?id=" + LGT_PKG_NAME));
-			m_context.startActivity(intent);
-		} /*
-		else {
-			//SKT, KT 이외의 통신사는 추가 적용 필요.
-			Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("market://details?id=" + PACKAGE_NAME_SEIO));
-			m_context.startActivity(intent);
-		}*/
+		//SKT, KT, LGT 이외의 통신사는 추가 적용 필요.
+		String strAgentPackage = UsimIdentity.get(m_context).getAgentPackage();
+		if(strAgentPackage != null) {
+			Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("market://details?id=" + strAgentPackage));
+			startActivity(intent);
+		}
 	}	
 	
 	/*
@@ -625,35 +874,28 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * return value : 1 - sumion 가입자, 2- 라온 가입자, 3- 드림시큐리티 가입자, 0 - 미 가입자, 
 	 */
 	public int checkSmartCert() {
-		String MCC_MNC_SKT = "45005";
-		String MCC_MNC_KT = "45008";
-		String MCC_MNC_LGT = "45006";
 		//1. 핸드폰 번호, 통신사 정보 획득
-		TelephonyManager telephonyManager = (TelephonyManager)m_context.getSystemService(m_context.TELEPHONY_SERVICE);
-		String strMCCMNC = telephonyManager.getSimOperator();
-		String phoneOperator = "";
-		if(MCC_MNC_SKT.equals(strMCCMNC)) {
-			phoneOperator = "SKT";
-		} else if(MCC_MNC_KT.equals(strMCCMNC)) {
-			phoneOperator = "KT";
-		} else if(MCC_MNC_LGT.equals(strMCCMNC)) {
-			phoneOperator = "LGU";
-		} else {
-			phoneOperator = "UNKNOWN";
-		}
-		telephonyManager = (TelephonyManager)m_context.getSystemService("phone");
-		String phoneNumber = telephonyManager.getLine1Number();
-		if(phoneNumber != null && phoneNumber.length()> 0) {
-			phoneNumber = phoneNumber.replace("+82", "0");
-		} else {
-			phoneNumber = "010" + telephonyManager.getDeviceId().substring(0, 8);
+		UsimIdentity identity = UsimIdentity.get(m_context);
+		if(identity.getLineNumber() == null) {
+			return -1;
 		}
-		String phoneInfo = phoneNumber + phoneOperator;
+		String phoneInfo = identity.getLineNumber() + identity.getOperator();
 		//2. 중계서버로의 가입여부 확인
 //		for(int i = 0;i < 10;i++) {
-			AppClient httpClient = new AppClient(m_context, phoneInfo);
-			SumionMessage msg = httpClient.sendSyncRequest("100", null);
-			m_iSubscriberCheck = isRegister(msg, m_context.getPackageName());
+			UsimRequestScheduler.Ticket ticket = acquire(UsimRequestScheduler.RESOURCE_RELAY, PRIORITY_NORMAL);
+			if(ticket == null) {
+				return -1;
+			}
+			try {
+				AppClient httpClient = new AppClient(m_context, phoneInfo);
+				SumionMessage msg = httpClient.sendSyncRequest("100", null);
+				m_iSubscriberCheck = isRegister(msg, m_context.getPackageName());
+				if(msg != null) {
+					msg.recycle();
+				}
+			} finally {
+				m_scheduler.release(ticket);
+			}
 //		}
 /*
 			LogUtil.d(TAG, "서비스 가입여부 조회 시작..");
@@ -705,9 +947,9 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		if(message.getResponseCode() == HttpURLConnection.HTTP_OK && message.getErrorCode().equals(GlobalError.code.NORMAL)) {
 			boolean bRegPkg = false;
 			String[] arrStrRegPkgName = message.getBody().split("\\|");
-			LogUtil.d("UsimCertService", "is Register message body = ["+message.getBody()+"]");
+			LogUtil.d("UsimCertService", "is Register message body = [{}]", message.getBody());
 			for(String strRegPkgName : arrStrRegPkgName) {
-				LogUtil.d("UsimCertService", "isRegister Registered PackageName(strRegPkgName) = ["+strRegPkgName+"], current package name = ["+strPkgName+"]");
+				LogUtil.d("UsimCertService", "isRegister Registered PackageName(strRegPkgName) = [{}], current package name = [{}]", strRegPkgName, strPkgName);
 				if(strRegPkgName.equals(strPkgName)) {
 					bRegPkg = true;
 					break;
@@ -730,8 +972,8 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		}
 		else {
 			LogUtil.d("UsimCertService", "--ERROR--ERROR---------------ERROR--ERROR--");
-			LogUtil.d("UsimCertService", "message2.getErrorCode : " + message.getErrorCode()); 
-			LogUtil.d("UsimCertService", "message2.getBody() : " + message.getBody());
+			LogUtil.d("UsimCertService", "message2.getErrorCode : {}", message.getErrorCode());
+			LogUtil.d("UsimCertService", "message2.getBody() : {}", message.getBody());
 			LogUtil.d("UsimCertService", "--ERROR--ERROR---------------ERROR--ERROR--");
 			
 			//bRegister = false;
@@ -761,7 +1003,7 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 				}
 			} else {
 				//m_usimCertError.setError(message.getErrorCode(), message.getBody());
-				LogUtil.d("UsimCertService", "isRegister function received unknown result = ["+message.getErrorCode()+"], message =["+message.getBody()+"]");
+				LogUtil.d("UsimCertService", "isRegister function received unknown result = [{}], message =[{}]", message.getErrorCode(), message.getBody());
 				iResult = -3;
 			}
 		}
@@ -772,93 +1014,108 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	
 	/**
-	 * 스마트 USIM 서비스 앱 실행
+	 * 스마트 USIM 서비스 앱 실행<br>
+	 * UsimCertBinding 의 공유 객체인 경우 연결 해제는 UsimCertBinding 이 판단함(다른 Handle 이 열려 있으면 연결 유지)
 	 */
 	public void launchApplication() {
 		// App을 사용하기 위해서는 bind를 해제 해야 함(Resume 시 bind 수행 필요)
-		unbind();
+		UsimCertBinding binding = m_binding;
+		if(binding != null) {
+			binding.unbindForLaunch();
+		} else {
+			unbind();
+		}
 
 		PackageManager pm = m_context.getPackageManager();
 		Intent intent = pm.getLaunchIntentForPackage(PACKAGE_NAME);
 		intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_SINGLE_TOP | Intent.FLAG_ACTIVITY_CLEAR_TOP);
 		
-		m_context.startActivity(intent);
+		startActivity(intent);
 	}
 
 	/**
 	 * 서비스 API 호출
+	 * @param usimCertMgr - 서비스 stub
 	 * @param nResultCode - 처리 결과 코드
 	 * @param arg - 요청 argument
 	 * @throws RemoteException 
 	 */
-	private Object request(final int nResultCode, final Argument arg) throws RemoteException {
+	private Object request(UsimCertMgr usimCertMgr, final int nResultCode, final Argument arg) throws RemoteException {
 		Object result = null;
 
 		switch(nResultCode) {
 		/* USIM 내 인증서 조회 처리 */
 		case USIM_RESULT_CERT:
-			result = m_usimCertMgr.getUsimCert(arg.m_nVal1);
+			result = usimCertMgr.getUsimCert(arg.m_nVal1);
 			break;
 		/* USIM 내 인증서 개수 조회 처리 */
 		case USIM_RESULT_CERT_CNT:
-			result = m_usimCertMgr.getUsimCertCnt();
+			result = usimCertMgr.getUsimCertCnt();
 			break;
 		/* USIM 내 현재 저장 가능한 인증서 개수 조회 처리 */
 		case USIM_RESULT_FREE_CNT:
-			result = m_usimCertMgr.getFreeCertCnt();
+			result = usimCertMgr.getFreeCertCnt();
 			break;
 		/* USIM 내 인증서 목록 조회 처리 */
 		case USIM_RESULT_CERT_LIST:
 			if(arg == null) {  // 필터 사용 안함
-				result = (ArrayList<UsimCertificate>) m_usimCertMgr.getUsimCertList();
+				result = m_certStore.query(usimCertMgr, UsimCertFilter.ALL);
 			}
 			else {
-				result = (ArrayList<UsimCertificate>) m_usimCertMgr.getFilteredUsimCertList(arg.m_strVal1, arg.m_strVal2, arg.m_strVal3, arg.m_bVal1);
+				result = m_certStore.query(usimCertMgr, new UsimCertFilter(null, arg.m_strVal1, arg.m_strVal2, arg.m_strVal3, arg.m_bVal1));
 			}
 			break;
 		/* SD card 내 인증서 목록 조회 처리 */
 		case USIM_RESULT_SD_CERT_LIST:
-			result = (ArrayList<UsimCertificate>) m_usimCertMgr.getSDCardCertList();
+			result = UsimCertStore.loadCertList(usimCertMgr, UsimCertPage.SOURCE_SD_CARD);
 			break;
 		/* USIM 내 인증서로 원문을 전자서명 (PKCS#1 서명) 처리 */
 		case USIM_RESULT_SIGN:
-			result = m_usimCertMgr.getUsimSign(arg.m_arrByte1, arg.m_nVal1, arg.m_arrByte2, arg.m_strVal1);
+			result = usimCertMgr.getUsimSign(arg.m_arrByte1, arg.m_nVal1, arg.m_arrByte2, arg.m_strVal1);
 			break;
 		/* USIM 내 인증서로 원문을 전자서명 (PKCS#7 서명) 처리 */
 		case USIM_RESULT_SEVEN_SIGN:
-			result = m_usimCertMgr.getUsimSevenSign(arg.m_arrByte1, arg.m_nVal1, arg.m_arrByte2, arg.m_strVal1);
+			result = sevenSign(usimCertMgr, arg.m_arrByte1, arg.m_nVal1, arg.m_arrByte2, arg.m_strVal1);
 			break;
 		/* PKCS#7 서명 데이터에 특정 속성 추가 처리 */
 		case USIM_RESULT_ADD_ATTR:
-			result = m_usimCertMgr.addUnauthAttr(arg.m_arrByte1, arg.m_strVal1, arg.m_arrByte2);
+			result = addAttr(usimCertMgr, arg.m_arrByte1, arg.m_strVal1, arg.m_arrByte2);
 			break;
 		/* 인증서의 개인키 R값 조회 처리 */
 		case USIM_RESULT_VID_RANDOM:
-			result = m_usimCertMgr.getVIDRandom(arg.m_nVal1, arg.m_arrByte1);
+			result = usimCertMgr.getVIDRandom(arg.m_nVal1, arg.m_arrByte1);
 			break;
 		/* 토큰 정보 조회(여유 공간 및 USIM Serial(ICCID) 조회) 처리 */
-		case USIM_RESULT_TOKEN_INFO:
-			result = m_usimCertMgr.getTokenInfo();
+		case USIM_RESULT_TOKEN_INFO: {
+			int nEpoch = UsimIdentity.getTokenEpoch();
+			UsimTokenInfo tokenInfo = usimCertMgr.getTokenInfo();
+			UsimIdentity.putTokenInfo(nEpoch, tokenInfo);
+			result = tokenInfo;
 			break;
+		}
 		/* USIM 내 인증서 발급 처리 */
 		case USIM_RESULT_ISSUE:
-			result = m_usimCertMgr.issueUsimCert(arg.m_nVal1, arg.m_strVal1, arg.m_strVal2, arg.m_arrByte1);
+			result = usimCertMgr.issueUsimCert(arg.m_nVal1, arg.m_strVal1, arg.m_strVal2, arg.m_arrByte1);
+			onCardChanged();
 			break;
 		/* USIM 내 인증서 갱신 처리 */
 		case USIM_RESULT_UPDATE:
-			result = m_usimCertMgr.updateUsimCert(arg.m_nVal1, arg.m_nVal2, arg.m_arrByte1);
+			result = usimCertMgr.updateUsimCert(arg.m_nVal1, arg.m_nVal2, arg.m_arrByte1);
+			onCardChanged();
 			break;
 		/* 인증서 저장 처리 */
 		case USIM_RESULT_SAVE:
-			result = m_usimCertMgr.saveUsimCert(arg.m_strVal1, arg.m_strVal2, arg.m_arrByte1, arg.m_arrByte2);
+			result = usimCertMgr.saveUsimCert(arg.m_strVal1, arg.m_strVal2, arg.m_arrByte1, arg.m_arrByte2);
+			onCardChanged();
 			break;
 		/* USIM 내 인증서 삭제 처리 */
 		case USIM_RESULT_DEL:
-			result = m_usimCertMgr.deleteUsimCert(arg.m_nVal1, arg.m_arrByte1);
+			result = usimCertMgr.deleteUsimCert(arg.m_nVal1, arg.m_arrByte1);
+			onCardChanged();
 			break;
 		/* 서비스 가입 여부 조회 처리 */
 		case USIM_RESULT_JOIN:
-			result = m_usimCertMgr.checkJoin(arg.m_strVal1);
+			result = usimCertMgr.checkJoin(arg.m_strVal1);
 			break;
 		}
 
@@ -866,86 +1123,458 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	}
 
 	/**
-	 * Background 작업 수행
+	 * Background 작업 수행 요청<br>
+	 * 같은 자원을 사용하는 요청이 실행 중이면 우선순위 순으로 대기하며, 대기열이 가득 찬 경우 IN_USE 로 즉시 실패 처리
 	 * @param nResultCode - 처리 결과 코드
 	 * @param arg - 요청 argument
 	 * @param resultListener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle
 	 */
-	private void runBackground(final int nResultCode, final Argument arg, Object resultListener) {
-		m_resultListener = resultListener;
+	private UsimCall runBackground(final int nResultCode, final Argument arg, Object resultListener) {
+		UsimTask task = new UsimTask(nResultCode, arg, resultListener);
+		if(!m_scheduler.submit(task)) {
+			setErrorMessage(GlobalError.code.IN_USE, GlobalError.msg.IN_USE);
+			deliver(nResultCode, resultListener, null);
+			return completedCall();
+		}
+		return task.setTimeout(m_lRequestTimeout);
+	}
 
-		new Thread(new Runnable() {
-			
-			@Override
-			public void run() {
-				Object result = null;
-				try {
-					result = request(nResultCode, arg);
-					setErrorMessage(m_usimCertMgr.getErrorMessage());
-				}
-				catch (RemoteException e) {
-					e.printStackTrace();
-					setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
-				}
+	/**
+	 * 처리 결과 코드별 사용 자원 반환
+	 * @param nResultCode - 처리 결과 코드
+	 * @return int - 자원 종류(UsimRequestScheduler.RESOURCE_*)
+	 */
+	private static int getResource(int nResultCode) {
+		switch(nResultCode) {
+		case USIM_RESULT_SIGN:
+		case USIM_RESULT_SEVEN_SIGN:
+		case USIM_RESULT_ADD_ATTR:
+		case USIM_RESULT_VID_RANDOM:
+		case USIM_RESULT_ISSUE:
+		case USIM_RESULT_UPDATE:
+		case USIM_RESULT_SAVE:
+		case USIM_RESULT_DEL:
+			return UsimRequestScheduler.RESOURCE_CARD;
+		default:
+			return UsimRequestScheduler.RESOURCE_META;
+		}
+	}
 
-				Message msg = m_handler.obtainMessage(nResultCode, result);
-				m_handler.sendMessage(msg);
-			}
-		}).start();
+	/**
+	 * 처리 결과 코드별 우선순위 반환
+	 * @param nResultCode - 처리 결과 코드
+	 * @return int - 우선순위(PRIORITY_*)
+	 */
+	private static int getPriority(int nResultCode) {
+		switch(nResultCode) {
+		case USIM_RESULT_SIGN:
+		case USIM_RESULT_SEVEN_SIGN:
+		case USIM_RESULT_ADD_ATTR:
+		case USIM_RESULT_VID_RANDOM:
+			return PRIORITY_INTERACTIVE;
+		case USIM_RESULT_ISSUE:
+		case USIM_RESULT_UPDATE:
+		case USIM_RESULT_SAVE:
+		case USIM_RESULT_DEL:
+			return PRIORITY_NORMAL;
+		default:
+			return PRIORITY_BACKGROUND;
+		}
 	}
-	
-	/*
-	 * 부가서비스 가입 여부 및 앱 연동 가능 상태 조회
+
+	/**
+	 * 동기 API 실행 권한 획득 - 같은 자원을 사용하는 요청이 실행 중이면 setSyncWaitTimeout 값까지 우선순위 순으로 대기하고,
+	 * 그 안에 실행되지 못하면 IN_USE, 대기 중 서비스 연결이 해제되면 SERVICE_CONNECT 로 실패
+	 * @param nResource - 자원 종류(UsimRequestScheduler.RESOURCE_*)
+	 * @param nPriority - 우선순위(PRIORITY_*, USIM 카드 요청은 PRIORITY_CARD)
+	 * @return UsimRequestScheduler.Ticket - 획득한 권한(release 로 반환해야 함), 실패 시 null
 	 */
-	public int checkAppStatus() {
-		int result = -100;
-		String status_result = "";
-		if(!isReady()) {
-			result = -10;
-		} else {
-			m_bProgressStatus = true;
-			//m_usimCertMgr.checkJoin(arg.m_strVal1);
-			try {
-				status_result = m_usimCertMgr.checkJoin(m_context.getPackageName());
-			} catch(RemoteException e) {
-				setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
-				status_result = GlobalError.code.SERVICE_CONNECT;
-			}
-			//-88 - 앱 연결 실패, -99 - 상태조회 실패, -10 - 사용불가, -2 - 통신사 에이전트 미설치, -1 - 미가입, 0 - 보통, 1 - 비밀번호 초기화 상태, 2 - 앱 Major 업데이트, 3 - 앱 마이너 업데이트, 
-			if(GlobalError.code.NORMAL.equals(status_result)) {
-				setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
-				result = 0;
-			} else if(GlobalError.code.JOIN_NOT.equals(status_result)) {
-				setErrorMessage(GlobalError.code.JOIN_NOT, GlobalError.msg.JOIN_NOT);
-				result = -10;
-			} else if(GlobalError.code.TOKEN_STATUS.equals(status_result)) {
-				setErrorMessage(GlobalError.code.TOKEN_STATUS, GlobalError.msg.TOKEN_STATUS);
-				result = 1;
-			} else if(GlobalError.code.APP_MAJOR_UPDATE.equals(status_result)) {
-				setErrorMessage(GlobalError.code.APP_MAJOR_UPDATE, GlobalError.msg.APP_MAJOR_UPDATE);
-				result = 2;
-			} else if(GlobalError.code.APP_MINOR_UPDATE.equals(status_result)) {
-				setErrorMessage(GlobalError.code.APP_MINOR_UPDATE, GlobalError.msg.APP_MINOR_UPDATE);
-				result = 3;
-			} else if(GlobalError.code.AGENT_NOT_INSTALLED.equals(status_result)) {
-				setErrorMessage(GlobalError.code.AGENT_NOT_INSTALLED, GlobalError.msg.AGENT_NOT_INSTALLED);
-				result = -2;
-			} else if(GlobalError.code.SERVICE_CONNECT.equals(status_result)) {
-				setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
-				result = -88;
-			}else {
-				setErrorMessage(getErrorCode(), getErrorMessage());
-				result = -99;
-			}
-			m_bProgressStatus = false;
+	private UsimRequestScheduler.Ticket acquire(int nResource, int nPriority) {
+		UsimRequestScheduler.SyncTicket ticket = m_scheduler.acquire(nResource, nPriority, m_lSyncWaitTimeout);
+		if(ticket.getErrorCode() != null) {
+			setErrorMessage(ticket.getErrorCode(), ticket.getErrorMessage());
+			return null;
 		}
-		return result;
+		return ticket;
 	}
-	
-	public String readTokenInfo() {
-		String strCCID = null;
-		if(isReady()) {
-			/*
+
+	/**
+	 * 결과 처리 리스너 호출
+	 * @param nResultCode - 처리 결과 코드
+	 * @param resultListener - 결과 처리 리스너
+	 * @param result - 처리 결과(실패 시 null)
+	 */
+	@SuppressWarnings("unchecked")
+	private void deliver(int nResultCode, Object resultListener, Object result) {
+		switch(nResultCode) {
+			/* USIM 내 인증서 조회 결과 처리 */
+			case USIM_RESULT_CERT:
+				((OnGetCertResult) resultListener).onGetCertResult((UsimCertificate) result);
+				break;
+			/* USIM 내 인증서 개수 조회 결과 처리 */
+			case USIM_RESULT_CERT_CNT:
+				((OnCertCntResult) resultListener).onCertCntResult(result != null ? (Integer) result : -1);
+				break;
+			/* USIM 내 현재 저장 가능한 인증서 개수 조회 결과 처리 */
+			case USIM_RESULT_FREE_CNT:
+				((OnFreeCntResult) resultListener).onFreeCntResult(result != null ? (Integer) result : -1);
+				break;
+			/* USIM/SD card 내 인증서 목록 조회 결과 처리 */
+			case USIM_RESULT_CERT_LIST:
+			case USIM_RESULT_SD_CERT_LIST:
+				((OnCertListResult) resultListener).onCertListResult((ArrayList<UsimCertificate>) result);
+				break;
+			/* USIM 내 인증서로 원문을 전자서명 (PKCS#1 서명) 결과 처리 */
+			case USIM_RESULT_SIGN:
+				((OnSignResult) resultListener).onSignResult((byte[]) result);
+				break;
+			/* USIM 내 인증서로 원문을 전자서명 (PKCS#7 서명) 결과 처리 */
+			case USIM_RESULT_SEVEN_SIGN:
+				((OnSevenSignResult) resultListener).onSevenSignResult((byte[]) result);
+				break;
+			/* PKCS#7 서명 데이터에 특정 속성 추가 결과 처리 */
+			case USIM_RESULT_ADD_ATTR:
+				((OnAddAttrResult) resultListener).onAddAttrResult((byte[]) result);
+				break;
+			/* 인증서의 개인키 R값 조회 결과 처리 */
+			case USIM_RESULT_VID_RANDOM:
+				((OnVIDRandomResult) resultListener).onVIDRandomResult((byte[]) result);
+				break;
+			/* 토큰 정보 조회(여유 공간 및 USIM Serial(ICCID) 조회) 결과 처리 */
+			case USIM_RESULT_TOKEN_INFO:
+				((OnTokenInfoResult) resultListener).onTokenInfoResult((UsimTokenInfo) result);
+				break;
+			/* USIM 내 인증서 발급 결과 처리 */
+			case USIM_RESULT_ISSUE:
+				((OnIssueResult) resultListener).onIssueResult(result != null && (Boolean) result);
+				break;
+			/* USIM 내 인증서 갱신 결과 처리 */
+			case USIM_RESULT_UPDATE:
+				((OnUpdateResult) resultListener).onUpdateResult(result != null && (Boolean) result);
+				break;
+			/* 인증서 저장 결과 처리 */
+			case USIM_RESULT_SAVE:
+				((OnSaveResult) resultListener).onSaveResult(result != null && (Boolean) result);
+				break;
+			/* USIM 내 인증서 삭제 결과 처리 */
+			case USIM_RESULT_DEL:
+				((OnDelResult) resultListener).onDelResult(result != null && (Boolean) result);
+				break;
+			/* 서비스 가입 여부 조회 결과 처리 */
+			case USIM_RESULT_JOIN:
+				((OnCheckJoinResult) resultListener).onCheckJoinResult(result != null ? (String) result : getErrorCode());
+				break;
+		}
+	}
+
+	/**
+	 * Background 요청 단위 - 결과 처리 리스너와 처리 결과/에러를 요청별로 보관<br>
+	 * 정상 완료/대기 거절/기한 초과/취소 중 먼저 일어난 하나만 결과로 전달되며 나머지는 무시됨
+	 */
+	private final class UsimTask extends UsimRequestScheduler.Ticket implements Runnable, UsimCall {
+		final int m_nResultCode;
+		final Argument m_arg;
+		final Object m_listener;
+		/** 요청 시점의 서비스 연결 순번 */
+		final int m_nConnectSeq;
+		/** 요청 시각(ms) - 처리 기한 기준 */
+		final long m_lStartTime;
+		/** 완료 상태(CALL_*) */
+		final AtomicInteger m_nCallState = new AtomicInteger(CALL_PENDING);
+		/** 처리 기한 예약 */
+		private ScheduledFuture<?> m_timeout;
+		/** 결과 처리 리스너 호출 executor(요청 thread 에서 결정) */
+		final Executor m_executor;
+		Object m_result;
+		volatile String m_strResultErrCode;
+		volatile String m_strResultErrMsg;
+
+		UsimTask(int nResultCode, Argument arg, Object listener) {
+			super(getResource(nResultCode), getPriority(nResultCode), m_lQueueTimeout);
+			m_nResultCode = nResultCode;
+			m_arg = arg;
+			m_listener = listener;
+			m_nConnectSeq = UsimCertService.this.m_nConnectSeq.get();
+			m_lStartTime = UsimRequestScheduler.now();
+			Executor executor = m_callState.get().m_executor;
+			m_executor = executor != null ? executor : m_callbackExecutor;
+		}
+
+		@Override
+		void onGranted() {
+			m_scheduler.execute(this);
+		}
+
+		@Override
+		void onRejected(String strErrCode, String strErrMsg) {
+			finish(CALL_COMPLETED, null, strErrCode, strErrMsg);
+		}
+
+		@Override
+		public void run() {
+			if(isDone()) {  // 실행 전 기한 초과 또는 취소
+				m_scheduler.release(this);
+				return;
+			}
+
+			// 대기 중 연결이 해제될 수 있으므로 stub 을 한 번만 읽어 사용
+			UsimCertMgr usimCertMgr = m_usimCertMgr;
+			if(usimCertMgr == null) {
+				m_scheduler.release(this);
+				finish(CALL_COMPLETED, null, GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+				return;
+			}
+
+			Object result = null;
+			String strErrCode;
+			String strErrMsg;
+			try {
+				result = request(usimCertMgr, m_nResultCode, m_arg);
+				UsimCertError error = usimCertMgr.getErrorMessage();
+				strErrCode = error.getErrorCode();
+				strErrMsg = error.getErrorMessage();
+			}
+			catch (RemoteException e) {
+				e.printStackTrace();
+				strErrCode = GlobalError.code.SERVICE_CONNECT;
+				strErrMsg = GlobalError.msg.SERVICE_CONNECT;
+			}
+			catch (RuntimeException e) {  // worker thread 에서 예외가 전파되지 않도록 결과로 전달
+				LogUtil.w("UsimCertService", "request {} failed : {}", m_nResultCode, e);
+				result = null;
+				strErrCode = GlobalError.code.SYSTEM;
+				strErrMsg = GlobalError.msg.SYSTEM;
+			}
+			finally {
+				// 결과 전달 전에 자원을 반환하여 대기 중인 다음 요청이 바로 실행되도록 함
+				m_scheduler.release(this);
+			}
+
+			if(!finish(CALL_COMPLETED, result, strErrCode, strErrMsg)) {
+				LogUtil.d("UsimCertService", "late reply dropped : {}", m_nResultCode);
+			}
+		}
+
+		@Override
+		public boolean cancel() {
+			return abort(CALL_CANCELLED, GlobalError.code.REQUEST_CANCELLED, GlobalError.msg.REQUEST_CANCELLED);
+		}
+
+		@Override
+		public synchronized UsimCall setTimeout(long lMillis) {
+			if(m_timeout != null) {
+				m_timeout.cancel(false);
+				m_timeout = null;
+			}
+			if(lMillis > 0 && !isDone()) {
+				m_timeout = m_scheduler.schedule(new Runnable() {
+
+					@Override
+					public void run() {
+						abort(CALL_TIMED_OUT, GlobalError.code.REQUEST_TIMEOUT, GlobalError.msg.REQUEST_TIMEOUT);
+					}
+				}, m_lStartTime + lMillis - UsimRequestScheduler.now());
+			}
+			return this;
+		}
+
+		@Override
+		public boolean isDone() {
+			return m_nCallState.get() != CALL_PENDING;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return m_nCallState.get() == CALL_CANCELLED;
+		}
+
+		@Override
+		public UsimCertError getError() {
+			String strErrMsg = m_strResultErrMsg;
+			String strErrCode = m_strResultErrCode;
+			return strErrCode != null ? newError(strErrCode, strErrMsg) : null;
+		}
+
+		/**
+		 * 기한 초과/취소 처리 - 결과를 전달하고 점유 중인 자원을 즉시 반환
+		 */
+		private boolean abort(int nState, String strErrCode, String strErrMsg) {
+			if(!finish(nState, null, strErrCode, strErrMsg)) {
+				return false;
+			}
+			if(!m_scheduler.cancel(this)) {
+				m_scheduler.release(this);
+			}
+			return true;
+		}
+
+		/**
+		 * 완료 처리 - 처음 완료된 경우에만 결과를 handler 로 전달
+		 * @return boolean - 결과 전달 여부(이미 완료된 경우 false)
+		 */
+		private boolean finish(int nState, Object result, String strErrCode, String strErrMsg) {
+			if(!m_nCallState.compareAndSet(CALL_PENDING, nState)) {
+				return false;
+			}
+			synchronized(this) {
+				if(m_timeout != null) {
+					m_timeout.cancel(false);
+					m_timeout = null;
+				}
+			}
+			m_result = result;
+			m_strResultErrMsg = strErrMsg;
+			m_strResultErrCode = strErrCode;  // getError() 는 code 설정 여부로 완료 판단
+
+			if(m_executor != MAIN_THREAD_EXECUTOR) {
+				try {
+					m_executor.execute(new Runnable() {
+
+						@Override
+						public void run() {
+							deliverResult();
+						}
+					});
+					return true;
+				} catch(RejectedExecutionException e) {  // executor 종료 - main thread 로 전달
+					LogUtil.w("UsimCertService", "callback executor rejected : {}", e.getMessage());
+				}
+			}
+			m_handler.sendMessage(m_handler.obtainMessage(m_nResultCode, this));
+			return true;
+		}
+
+		/**
+		 * 결과 처리 리스너 호출(executor thread)
+		 */
+		void deliverResult() {
+			// 처리 중 연결 해제 등으로 초기화 된 경우 결과 대신 연결 오류 전달(리스너는 항상 한 번 호출)
+			if(m_nConnectSeq != UsimCertService.this.m_nConnectSeq.get()) {
+				m_result = null;
+				m_strResultErrMsg = GlobalError.msg.SERVICE_CONNECT;
+				m_strResultErrCode = GlobalError.code.SERVICE_CONNECT;
+			}
+
+			setErrorMessage(m_strResultErrCode, m_strResultErrMsg);
+			deliver(m_nResultCode, m_listener, m_result);
+		}
+	}
+
+	/**
+	 * 비동기 요청 기본 처리 기한 설정(이후 요청부터 적용)<br>
+	 * 기한이 지나면 결과 처리 리스너에 실패 값과 REQUEST_TIMEOUT 에러가 전달되고 점유 중인 자원은 즉시 반환됨
+	 * @param lMillis - 처리 기한(ms), 0 이하이면 무제한
+	 */
+	public void setRequestTimeout(long lMillis) {
+		m_lRequestTimeout = Math.max(0, lMillis);
+	}
+
+	/**
+	 * 비동기 결과 처리 리스너 기본 호출 executor 설정(이후 요청부터 적용)<br>
+	 * main thread 외의 thread 에서 요청하는 경우 DIRECT_EXECUTOR 또는 별도 executor 를 지정하면 main thread 를 거치지 않고 결과를 받음
+	 * @param executor - MAIN_THREAD_EXECUTOR(기본 값) / DIRECT_EXECUTOR / 임의 executor, null 이면 MAIN_THREAD_EXECUTOR
+	 */
+	public void setCallbackExecutor(Executor executor) {
+		m_callbackExecutor = executor != null ? executor : MAIN_THREAD_EXECUTOR;
+	}
+
+	/**
+	 * 현재 thread 에서 요청하는 비동기 결과 처리 리스너 호출 executor 설정(setCallbackExecutor 값보다 우선 적용)
+	 * @param executor - 호출 executor, null 이면 setCallbackExecutor 값 사용
+	 */
+	public void setThreadCallbackExecutor(Executor executor) {
+		m_callState.get().m_executor = executor;
+	}
+
+	/**
+	 * 비동기 요청 대기 기한 설정<br>
+	 * 같은 자원(USIM 카드, 인증서 목록 조회, 중계 서버)을 사용하는 요청이 실행 중이면 우선순위 순으로 대기하며,
+	 * 이 시간 내에 실행되지 못한 요청은 IN_USE 로 실패 처리됨(동기 API 는 setSyncWaitTimeout 값 적용)
+	 * @param lMillis - 대기 기한(ms), 0 이하이면 무제한
+	 */
+	public void setQueueTimeout(long lMillis) {
+		m_lQueueTimeout = Math.max(0, lMillis);
+	}
+
+	/**
+	 * 동기 API 대기 기한 설정<br>
+	 * 같은 자원을 사용하는 요청이 실행 중이면 대기 중인 비동기 요청보다 먼저 실행되도록 대기하며,
+	 * 이 시간 내에 실행되지 못하면 IN_USE 로 실패 처리됨(UI thread 에서 호출하는 경우 짧게 설정)
+	 * @param lMillis - 대기 기한(ms), 0 이하이면 대기하지 않고 즉시 IN_USE
+	 */
+	public void setSyncWaitTimeout(long lMillis) {
+		m_lSyncWaitTimeout = Math.max(0, lMillis);
+	}
+
+	/**
+	 * 자원 종류별 최대 대기 요청 수 설정<br>
+	 * 대기열이 가득 찬 경우 우선순위가 더 낮은 대기 요청을 밀어내거나, 없으면 새 요청을 IN_USE 로 실패 처리함
+	 * @param nCapacity - 최대 대기 요청 수
+	 */
+	public void setQueueCapacity(int nCapacity) {
+		m_scheduler.setQueueCapacity(nCapacity);
+	}
+
+	/*
+	 * 부가서비스 가입 여부 및 앱 연동 가능 상태 조회
+	 */
+	public int checkAppStatus() {
+		int result = -100;
+		String status_result = "";
+		UsimRequestScheduler.Ticket ticket = null;
+		if(!isReady() || (ticket = acquire(UsimRequestScheduler.RESOURCE_META, PRIORITY_NORMAL)) == null) {
+			result = -10;
+		} else {
+			try {
+				//m_usimCertMgr.checkJoin(arg.m_strVal1);
+				try {
+					UsimCertMgr usimCertMgr = getStub();
+					if(usimCertMgr == null) {
+						throw new RemoteException();
+					}
+					status_result = usimCertMgr.checkJoin(m_context.getPackageName());
+				} catch(RemoteException e) {
+					setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+					status_result = GlobalError.code.SERVICE_CONNECT;
+				}
+				//-88 - 앱 연결 실패, -99 - 상태조회 실패, -10 - 사용불가, -2 - 통신사 에이전트 미설치, -1 - 미가입, 0 - 보통, 1 - 비밀번호 초기화 상태, 2 - 앱 Major 업데이트, 3 - 앱 마이너 업데이트, 
+				if(GlobalError.code.NORMAL.equals(status_result)) {
+					setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
+					result = 0;
+				} else if(GlobalError.code.JOIN_NOT.equals(status_result)) {
+					setErrorMessage(GlobalError.code.JOIN_NOT, GlobalError.msg.JOIN_NOT);
+					result = -10;
+				} else if(GlobalError.code.TOKEN_STATUS.equals(status_result)) {
+					setErrorMessage(GlobalError.code.TOKEN_STATUS, GlobalError.msg.TOKEN_STATUS);
+					result = 1;
+				} else if(GlobalError.code.APP_MAJOR_UPDATE.equals(status_result)) {
+					setErrorMessage(GlobalError.code.APP_MAJOR_UPDATE, GlobalError.msg.APP_MAJOR_UPDATE);
+					result = 2;
+				} else if(GlobalError.code.APP_MINOR_UPDATE.equals(status_result)) {
+					setErrorMessage(GlobalError.code.APP_MINOR_UPDATE, GlobalError.msg.APP_MINOR_UPDATE);
+					result = 3;
+				} else if(GlobalError.code.AGENT_NOT_INSTALLED.equals(status_result)) {
+					setErrorMessage(GlobalError.code.AGENT_NOT_INSTALLED, GlobalError.msg.AGENT_NOT_INSTALLED);
+					result = -2;
+				} else if(GlobalError.code.SERVICE_CONNECT.equals(status_result)) {
+					setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+					result = -88;
+				}else {
+					setErrorMessage(getErrorCode(), getErrorMessage());
+					result = -99;
+				}
+			} finally {
+				m_scheduler.release(ticket);
+			}
+		}
+		return result;
+	}
+	
+	public String readTokenInfo() {
+		String strCCID = null;
+		if(isReady()) {
+			/*
 			try {
 				//UsimTokenInfo tokenInfo = null;
 				//strCCID = Utils.toHexString(m_usimCertMgr.getTokenInfo().getUismSerialNumber());
@@ -953,21 +1582,18 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 			} catch(RemoteException e) {
 				setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
 			}*/
-			strCCID = Utils.getUSIMSerialNumber(m_context);
+			strCCID = UsimIdentity.get(m_context).getIccid();
 		} 
 		return strCCID;
 	}	
 	
 	public int getUsimCertCnt() {
 		int result = 0;
-		m_strOID = null;
-		m_strSerialNumber = null;
-		m_strSubjectDN = null;
-		m_strIssuerDN = null;
-		m_bExpired = false;		
-		if(isReady()) {
+		m_callState.get().m_filter = UsimCertFilter.ALL;
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {
-				result = m_usimCertMgr.getUsimCertCnt();
+				result = Math.max(m_certStore.count(usimCertMgr, UsimCertFilter.ALL), 0);
 			} catch(RemoteException e) {
 				setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
 			}
@@ -977,22 +1603,12 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	public int getFilterCertCnt(String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN, boolean bExpired) {
 		int result = 0;
-		m_strOID = strOID;
-		m_strSerialNumber = strSerialNumber;
-		m_strSubjectDN = strSubjectDN;
-		m_strIssuerDN = strIssuerDN;
-		m_bExpired = bExpired;
-		if(isReady()) {
+		m_callState.get().m_filter = UsimCertFilter.legacy(strOID, strSerialNumber, strSubjectDN, strIssuerDN, bExpired);
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {
-				List<UsimCertificate> certlist = null;
-				if(strOID != null && strOID.length() > 0) {
-					certlist = m_usimCertMgr.getOIDFilteredUsimCertList(strOID, bExpired);
-				} else {
-					certlist = m_usimCertMgr.getFilteredUsimCertList(strSubjectDN, strIssuerDN, strSerialNumber, bExpired);
-				}
-				if(certlist != null) {
-					result = certlist.size();
-				}
+				// 개수는 조건이 없어도 만료 조건 적용(기존 결과와 동일), 이후 목록 조회는 legacy 필터 사용
+				result = Math.max(m_certStore.count(usimCertMgr, UsimCertFilter.legacyCount(strOID, strSerialNumber, strSubjectDN, strIssuerDN, bExpired)), 0);
 			} catch(RemoteException e) {
 				setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
 			}
@@ -1002,20 +1618,12 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	public byte[] getCertificate(int idx) {
 		byte [] result = null;
-		if(isReady()) {
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {			
 				
 				//List<UsimCertificate> certlist = m_usimCertMgr.getUsimCertList();
-				List<UsimCertificate> certlist = null;
-				if(m_strOID != null && m_strOID.length() > 0) {
-					certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-				} else {
-					if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-						certlist = m_usimCertMgr.getUsimCertList();
-					} else {
-						certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-					}
-				}				
+				List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 				if(certlist != null) {
 					try {
 						for(int i = 0; i < certlist.size();i++) {
@@ -1047,19 +1655,11 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	public String getSerialNumber(int idx) {
 		String result = null;
-		if(isReady()) {
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {
 				//List<UsimCertificate> certlist = m_usimCertMgr.getUsimCertList();
-				List<UsimCertificate> certlist = null;
-				if(m_strOID != null && m_strOID.length() > 0) {
-					certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-				} else {
-					if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-						certlist = m_usimCertMgr.getUsimCertList();
-					} else {
-						certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-					}
-				}			
+				List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 				
 				if(certlist != null) {
 					for(int i = 0; i < certlist.size();i++) {
@@ -1086,19 +1686,11 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	public String getIssuerDN(int idx) {
 		String result = null;
-		if(isReady()) {
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {
 				//List<UsimCertificate> certlist = m_usimCertMgr.getUsimCertList();
-				List<UsimCertificate> certlist = null;
-				if(m_strOID != null && m_strOID.length() > 0) {
-					certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-				} else {
-					if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-						certlist = m_usimCertMgr.getUsimCertList();
-					} else {
-						certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-					}
-				}			
+				List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 				
 				if(certlist != null) {
 					for(int i = 0; i < certlist.size();i++) {
@@ -1125,19 +1717,11 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	public String getValidFrom(int idx) {
 		String result = null;
-		if(isReady()) {
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {
 				//List<UsimCertificate> certlist = m_usimCertMgr.getUsimCertList();
-				List<UsimCertificate> certlist = null;
-				if(m_strOID != null && m_strOID.length() > 0) {				
-					certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-				} else {
-					if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-						certlist = m_usimCertMgr.getUsimCertList();						
-					} else {
-						certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-					}
-				}			
+				List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 				
 				if(certlist != null) {
 					for(int i = 0; i < certlist.size();i++) {
@@ -1166,19 +1750,11 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	public String getValidTo(int idx) {
 		String result = null;
-		if(isReady()) {
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {
 				//List<UsimCertificate> certlist = m_usimCertMgr.getUsimCertList();
-				List<UsimCertificate> certlist = null;
-				if(m_strOID != null && m_strOID.length() > 0) {
-					certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-				} else {
-					if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-						certlist = m_usimCertMgr.getUsimCertList();
-					} else {
-						certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-					}
-				}							
+				List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 				
 				if(certlist != null) {
 					for(int i = 0; i < certlist.size();i++) {
@@ -1206,26 +1782,18 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	public String getSubjectDN(int idx) {
 		String result = null;
-		if(isReady()) {
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {
 				//List<UsimCertificate> certlist = m_usimCertMgr.getUsimCertList();
-				List<UsimCertificate> certlist = null;
-				if(m_strOID != null && m_strOID.length() > 0) {
-					certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-				} else {
-					if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-						certlist = m_usimCertMgr.getUsimCertList();
-					} else {
-						certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-					}
-				}			
+				List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 				
 				if(certlist != null) {
 					for(int i = 0; i < certlist.size();i++) {
 						//if(certlist.get(i).getCertIdx() == idx) {
 						if(idx == i) {
 							result = certlist.get(i).getCert().getSubjectDN().getName();
-							LogUtil.d("UsimCertServiceAIDL", "cert result subjectdn = ["+result+"]");
+							LogUtil.d("UsimCertServiceAIDL", "cert result subjectdn = [{}]", result);
 							break;
 						}
 					}
@@ -1246,19 +1814,11 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	
 	public String getPolicy(int idx, boolean name) { 
 		String result = null;
-		if(isReady()) {
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
 			try {
 				//List<UsimCertificate> certlist = m_usimCertMgr.getUsimCertList();
-				List<UsimCertificate> certlist = null;
-				if(m_strOID != null && m_strOID.length() > 0) {
-					certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-				} else {
-					if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-						certlist = m_usimCertMgr.getUsimCertList();
-					} else {
-						certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-					}
-				}							
+				List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 				
 				if(certlist != null) {
 					for(int i = 0; i < certlist.size();i++) {
@@ -1290,17 +1850,16 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	//int index, byte[] pin, int signType,	byte[] tobeSignData, String signTime
 	public byte [] getUsimSign(int type, int index, byte[] pin, byte [] plainData, String strTime) {
 		byte [] result = null;
+		UsimRequestScheduler.Ticket ticket = acquire(UsimRequestScheduler.RESOURCE_CARD, PRIORITY_CARD);
+		if(ticket == null) {
+			return result;
+		}
 		try {
-			List<UsimCertificate> certlist = null;
-			if(m_strOID != null && m_strOID.length() > 0) {
-				certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-			} else {
-				if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-					certlist = m_usimCertMgr.getUsimCertList();
-				} else {
-					certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-				}
-			}							
+			UsimCertMgr usimCertMgr = getStub();
+			if(usimCertMgr == null) {
+				return result;
+			}
+			List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 			
 			int cert_idx = -1;
 			if(certlist != null) {
@@ -1317,25 +1876,25 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 			
 				switch(type) {
 				case 1: //P7 Sign(not included time)
-					result = m_usimCertMgr.getUsimSevenSign(plainData, cert_idx, pin, null);
+					result = sevenSign(usimCertMgr, plainData, cert_idx, pin, null);
 					break;
 				case 2: //P7 Sign(include time)
-					result = m_usimCertMgr.getUsimSevenSign(plainData, cert_idx, pin, strTime);
+					result = sevenSign(usimCertMgr, plainData, cert_idx, pin, strTime);
 					break;
 				case 3: //P7 Koscom (not include time)
-					result = m_usimCertMgr.getUsimSevenSign(plainData, cert_idx, pin, null);
+					result = sevenSign(usimCertMgr, plainData, cert_idx, pin, null);
 					break;
 				case 4: //P1 Sign
-					result = m_usimCertMgr.getUsimSign(plainData, cert_idx, pin, strTime);
+					result = usimCertMgr.getUsimSign(plainData, cert_idx, pin, strTime);
 					break;
 				case 5: //P1 Koscom
-					result = m_usimCertMgr.getUsimSign(plainData, cert_idx, pin, strTime);
+					result = usimCertMgr.getUsimSign(plainData, cert_idx, pin, strTime);
 					break;
 				case 6: //P7 Koscom(not include time)
-					result = m_usimCertMgr.getUsimSign(plainData, cert_idx, pin, null);
+					result = usimCertMgr.getUsimSign(plainData, cert_idx, pin, null);
 					break;
 				default: //P7 Sign(include time)
-					result = m_usimCertMgr.getUsimSevenSign(plainData, cert_idx, pin, strTime);
+					result = sevenSign(usimCertMgr, plainData, cert_idx, pin, strTime);
 					break;
 				}
 				setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
@@ -1345,14 +1904,20 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 			
 		} catch(RemoteException e) {
 			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+		} finally {
+			m_scheduler.release(ticket);
 		}
 		return result;
 	}
 	
 	public byte [] addUnauthAttr(byte[] signedData, String strOid, byte[] oidVal) {
 		byte[] result = null;
+		UsimCertMgr usimCertMgr = getStub();
+		if(usimCertMgr == null) {
+			return result;
+		}
 		try {
-			result = m_usimCertMgr.addUnauthAttr(signedData, strOid, oidVal);
+			result = addAttr(usimCertMgr, signedData, strOid, oidVal);
 			setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
 		} catch(RemoteException e) {
 			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
@@ -1361,18 +1926,28 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	}
 	
 	public byte[] getVIDRandom(int index, byte[] pin){
+		return loadVIDRandom(index, pin, null);
+	}
+
+	/**
+	 * 개인키 랜덤 값(R) 조회 - R 은 BIT STRING 의 내용(unused bits octet 제외)
+	 * @param index - 선택 인증서 index
+	 * @param pin - 스마트 인증 비밀번호
+	 * @param arrCert - R 을 조회한 인증서를 받을 배열(같은 목록에서 선택), 필요 없으면 null
+	 * @return byte[] - R, 실패 시 null
+	 */
+	private byte[] loadVIDRandom(int index, byte[] pin, java.security.cert.X509Certificate[] arrCert) {
 		byte[] result = null;
+		UsimRequestScheduler.Ticket ticket = acquire(UsimRequestScheduler.RESOURCE_CARD, PRIORITY_CARD);
+		if(ticket == null) {
+			return result;
+		}
 		try {
-			List<UsimCertificate> certlist = null;
-			if(m_strOID != null && m_strOID.length() > 0) {
-				certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-			} else {
-				if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-					certlist = m_usimCertMgr.getUsimCertList();
-				} else {
-					certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-				}
-			}							
+			UsimCertMgr usimCertMgr = getStub();
+			if(usimCertMgr == null) {
+				return result;
+			}
+			List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 			
 			int cert_idx = -1;
 			if(certlist != null) {
@@ -1385,7 +1960,10 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 				}
 			}
 			if(cert_idx >= 0) {
-				result = m_usimCertMgr.getVIDRandom(cert_idx, pin);
+				result = usimCertMgr.getVIDRandom(cert_idx, pin);
+				if(arrCert != null) {
+					arrCert[0] = certlist.get(index).getCert();
+				}
 				setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
 			} else {
 				setErrorMessage(GlobalError.code.NO_RESULT, GlobalError.msg.NO_CERTLIST);
@@ -1393,23 +1971,24 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 			//setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
 		} catch(RemoteException e) {
 			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+		} finally {
+			m_scheduler.release(ticket);
 		}
 		return result;
 	}
 	
 	public boolean getVerifyVID(int index, byte[] pin, byte[] ssn) {
 		boolean result = false;
+		UsimRequestScheduler.Ticket ticket = acquire(UsimRequestScheduler.RESOURCE_CARD, PRIORITY_CARD);
+		if(ticket == null) {
+			return result;
+		}
 		try {
-			List<UsimCertificate> certlist = null;
-			if(m_strOID != null && m_strOID.length() > 0) {
-				certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-			} else {
-				if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-					certlist = m_usimCertMgr.getUsimCertList();
-				} else {
-					certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-				}
-			}							
+			UsimCertMgr usimCertMgr = getStub();
+			if(usimCertMgr == null) {
+				return result;
+			}
+			List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 			
 			int cert_idx = -1;
 			if(certlist != null) {
@@ -1423,52 +2002,84 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 			}			
 			
 			if(cert_idx >= 0) {
-				result = m_usimCertMgr.getVerifyVID(cert_idx, pin, ssn);
+				result = usimCertMgr.getVerifyVID(cert_idx, pin, ssn);
 				setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
 			} else {
 				setErrorMessage(GlobalError.code.NO_RESULT, GlobalError.msg.NO_CERTLIST);
 			}			
 			//result = m_usimCertMgr.getVerifyVID(index, ssn);
-			setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
 		} catch(RemoteException e) {
 			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+		} finally {
+			m_scheduler.release(ticket);
 		}
 		return result;
 	}
 	
+	/**
+	 * 로컬 본인확인 session 생성 - 개인키 랜덤 값(R)을 한 번 조회하여 이후 본인확인은 카드 접근 없이 처리
+	 * @param index - 선택 인증서 index
+	 * @param pin - 스마트 인증 비밀번호
+	 * @return UsimVidSession - 본인확인 session(사용 후 close() 해야 함), 실패 시 null
+	 */
+	public UsimVidSession openVidSession(int index, byte[] pin) {
+		// 인증서와 R 은 한 번의 카드 점유에서 같은 목록으로 조회
+		java.security.cert.X509Certificate[] arrCert = new java.security.cert.X509Certificate[1];
+		byte[] random = loadVIDRandom(index, pin, arrCert);
+		if(random == null) {
+			return null;
+		}
+		if(arrCert[0] == null) {
+			setErrorMessage(GlobalError.code.NO_RESULT, GlobalError.msg.NO_CERTLIST);
+			Arrays.fill(random, (byte) 0);
+			return null;
+		}
+		return new UsimVidSession(arrCert[0], random);
+	}
+	
 	public boolean writeUsimCert(byte[] pin, byte[] cert, byte[] prikey, byte[] passwd) {
 		boolean result = false;
+		UsimRequestScheduler.Ticket ticket = acquire(UsimRequestScheduler.RESOURCE_CARD, PRIORITY_CARD);
+		if(ticket == null) {
+			return result;
+		}
 		try {
-			result = m_usimCertMgr.writeUsimCert(pin, cert, prikey, passwd);
+			UsimCertMgr usimCertMgr = getStub();
+			if(usimCertMgr == null) {
+				return result;
+			}
+			result = usimCertMgr.writeUsimCert(pin, cert, prikey, passwd);
+			onCardChanged();
 			if(result == true) {
 				setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
 			} else {
-				if(m_usimCertMgr.getFreeCertCnt() == 0) {
+				if(usimCertMgr.getFreeCertCnt() == 0) {
 					setErrorMessage(GlobalError.code.STORAGE_FULL, GlobalError.msg.STORAGE_FULL);
 				} else {
-					setErrorMessage(m_usimCertMgr.getErrorMessage().getErrorCode(), m_usimCertMgr.getErrorMessage().getErrorMessage());
+					setErrorMessage(usimCertMgr.getErrorMessage().getErrorCode(), usimCertMgr.getErrorMessage().getErrorMessage());
 				}
 				
 			}
 		} catch(RemoteException e) {
 			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+		} finally {
+			m_scheduler.release(ticket);
 		}
 		return result;
 	}
 	
 	public boolean delUsimCert(int index, byte[] pin) {
 		boolean result = false;
+		UsimRequestScheduler.Ticket ticket = acquire(UsimRequestScheduler.RESOURCE_CARD, PRIORITY_CARD);
+		if(ticket == null) {
+			return result;
+		}
 		try {
-			List<UsimCertificate> certlist = null;
-			if(m_strOID != null && m_strOID.length() > 0) {
-				certlist = m_usimCertMgr.getOIDFilteredUsimCertList(m_strOID, m_bExpired);
-			} else {
-				if(m_strSubjectDN == null && m_strIssuerDN == null && m_strSerialNumber == null) {
-					certlist = m_usimCertMgr.getUsimCertList();
-				} else {
-					certlist = m_usimCertMgr.getFilteredUsimCertList(m_strSubjectDN, m_strIssuerDN, m_strSerialNumber, m_bExpired);
-				}
-			}							
+			UsimCertMgr usimCertMgr = getStub();
+			if(usimCertMgr == null) {
+				return result;
+			}
+			List<UsimCertificate> certlist = getFilteredCertList(usimCertMgr);
 			
 			int cert_idx = -1;
 			if(certlist != null) {
@@ -1482,7 +2093,8 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 			}	
 
 			if(cert_idx >= 0) {
-				result = m_usimCertMgr.deleteUsimCert(cert_idx, pin);
+				result = usimCertMgr.deleteUsimCert(cert_idx, pin);
+				onCardChanged();
 				setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
 			} else {
 				setErrorMessage(GlobalError.code.NO_RESULT, GlobalError.msg.NO_CERTLIST);
@@ -1491,94 +2103,173 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 			//setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
 		} catch(RemoteException e) {
 			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+		} finally {
+			m_scheduler.release(ticket);
 		}
 		return result;
 	}
 	
 	public boolean checkPIN(byte[] pin) {
 		boolean result = false;
+		UsimRequestScheduler.Ticket ticket = acquire(UsimRequestScheduler.RESOURCE_CARD, PRIORITY_CARD);
+		if(ticket == null) {
+			return result;
+		}
 		try {
-			result = m_usimCertMgr.getCheckPIN(pin);
+			UsimCertMgr usimCertMgr = getStub();
+			if(usimCertMgr == null) {
+				return result;
+			}
+			result = usimCertMgr.getCheckPIN(pin);
 			setErrorMessage(GlobalError.code.NORMAL, GlobalError.msg.NORMAL);			
 		} catch(RemoteException e) {
 			setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+		} finally {
+			m_scheduler.release(ticket);
 		}
 		return result;
 	}
 	/**
-	 * 부가서비스 가입 여부 및 연동 가능 상태 조회 요청
+	 * 부가서비스 가입 여부 및 연동 가능 상태 조회 요청<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 checkJoinCall() 사용
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void checkJoin(OnCheckJoinResult listener) {
+		checkJoinCall(listener);
+	}
+
+	/**
+	 * 부가서비스 가입 여부 및 연동 가능 상태 조회 요청<br>
+	 * checkJoin() 와 같으며 요청 handle 을 반환함
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall checkJoinCall(OnCheckJoinResult listener) {
 		if(!isReady()) {
 			listener.onCheckJoinResult(getErrorCode());
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
 		arg.m_strVal1 = m_context.getPackageName();
 
-		runBackground(USIM_RESULT_JOIN, arg, listener);
+		return runBackground(USIM_RESULT_JOIN, arg, listener);
 	}
 
 	/**
-	 * USIM 내 인증서 개수 조회
+	 * USIM 내 인증서 개수 조회<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getUsimCertCntCall() 사용
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getUsimCertCnt(OnCertCntResult listener) {
+		getUsimCertCntCall(listener);
+	}
+
+	/**
+	 * USIM 내 인증서 개수 조회<br>
+	 * getUsimCertCnt() 와 같으며 요청 handle 을 반환함
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getUsimCertCntCall(OnCertCntResult listener) {
 		if(!isReady()) {
 			listener.onCertCntResult(-1);
-			return;
+			return completedCall();
 		}
 
-		runBackground(USIM_RESULT_CERT_CNT, null, listener);
+		return runBackground(USIM_RESULT_CERT_CNT, null, listener);
 	}
 
 	/**
-	 * USIM 내 현재 저장 가능한 인증서 개수 조회
+	 * USIM 내 현재 저장 가능한 인증서 개수 조회<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getFreeCertCntCall() 사용
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getFreeCertCnt(OnFreeCntResult listener) {
+		getFreeCertCntCall(listener);
+	}
+
+	/**
+	 * USIM 내 현재 저장 가능한 인증서 개수 조회<br>
+	 * getFreeCertCnt() 와 같으며 요청 handle 을 반환함
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getFreeCertCntCall(OnFreeCntResult listener) {
 		if(!isReady()) {
 			listener.onFreeCntResult(-1);
-			return;
+			return completedCall();
 		}
 
-		runBackground(USIM_RESULT_FREE_CNT, null, listener);
+		return runBackground(USIM_RESULT_FREE_CNT, null, listener);
 	}
 
 	/**
-	 * USIM 내 인증서 조회
+	 * USIM 내 인증서 조회<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getUsimCertCall() 사용
 	 * @param nIdx - 조회할 인덱스
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getUsimCert(int nIdx, OnGetCertResult listener) {
+		getUsimCertCall(nIdx, listener);
+	}
+
+	/**
+	 * USIM 내 인증서 조회<br>
+	 * getUsimCert() 와 같으며 요청 handle 을 반환함
+	 * @param nIdx - 조회할 인덱스
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getUsimCertCall(int nIdx, OnGetCertResult listener) {
 		if(!isReady()) {
 			listener.onGetCertResult(null);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
 		arg.m_nVal1 = nIdx;
 
-		runBackground(USIM_RESULT_CERT, arg, listener);
+		return runBackground(USIM_RESULT_CERT, arg, listener);
 	}
 
 	/**
-	 * USIM 내 인증서 목록 조회
+	 * 마지막으로 조회한 USIM 인증서 목록 반환(서비스 연결 불필요)<br>
+	 * 프로세스 재시작 직후 목록 화면을 바로 표시하기 위한 것으로, 서비스 연결 후 getUsimCertList() 결과로 교체해야 함
+	 * @return List<UsimCertSummary> - 저장된 목록(USIM 저장 순서), 저장된 목록이 없거나 SIM 이 변경된 경우 null
+	 */
+	public List<UsimCertSummary> getWarmCertList() {
+		m_certStore.setIccid(UsimIdentity.get(m_context).getIccid());
+		return m_certStore.getWarmList();
+	}
+
+	/**
+	 * USIM 내 인증서 목록 조회<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getUsimCertListCall() 사용
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getUsimCertList(OnCertListResult listener)  {
+		getUsimCertListCall(listener);
+	}
+
+	/**
+	 * USIM 내 인증서 목록 조회<br>
+	 * getUsimCertList() 와 같으며 요청 handle 을 반환함
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getUsimCertListCall(OnCertListResult listener)  {
 		if(!isReady()) {
 			listener.onCertListResult(null);
-			return;
+			return completedCall();
 		}
 
-		runBackground(USIM_RESULT_CERT_LIST, null, listener);
+		return runBackground(USIM_RESULT_CERT_LIST, null, listener);
 	}
 
 	/**
-	 * USIM 내 인증서 목록 조회(필터 적용)
+	 * USIM 내 인증서 목록 조회(필터 적용)<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getFilteredUsimCertListCall() 사용
 	 * @param strSubjectDN - Subject DN
 	 * @param strIssuerDN - Issuer DN
 	 * @param strSerialNo - Serial Number
@@ -1586,9 +2277,23 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getFilteredUsimCertList(String strSubjectDN, String strIssuerDN, String strSerialNo, boolean bShowExpired, OnCertListResult listener)  {
+		getFilteredUsimCertListCall(strSubjectDN, strIssuerDN, strSerialNo, bShowExpired, listener);
+	}
+
+	/**
+	 * USIM 내 인증서 목록 조회(필터 적용)<br>
+	 * getFilteredUsimCertList() 와 같으며 요청 handle 을 반환함
+	 * @param strSubjectDN - Subject DN
+	 * @param strIssuerDN - Issuer DN
+	 * @param strSerialNo - Serial Number
+	 * @param bShowExpired - 만료된 인증서 포함 여부
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getFilteredUsimCertListCall(String strSubjectDN, String strIssuerDN, String strSerialNo, boolean bShowExpired, OnCertListResult listener)  {
 		if(!isReady()) {
 			listener.onCertListResult(null);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
@@ -1597,24 +2302,36 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		arg.m_strVal3 = strSerialNo;
 		arg.m_bVal1 = bShowExpired;
 
-		runBackground(USIM_RESULT_CERT_LIST, arg, listener);
+		return runBackground(USIM_RESULT_CERT_LIST, arg, listener);
 	}
 
 	/**
-	 * SD card 내 인증서 목록 조회
+	 * SD card 내 인증서 목록 조회<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getSDCardCertListCall() 사용
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getSDCardCertList(OnCertListResult listener)  {
+		getSDCardCertListCall(listener);
+	}
+
+	/**
+	 * SD card 내 인증서 목록 조회<br>
+	 * getSDCardCertList() 와 같으며 요청 handle 을 반환함
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getSDCardCertListCall(OnCertListResult listener)  {
 		if(!isReady()) {
 			listener.onCertListResult(null);
-			return;
+			return completedCall();
 		}
 
-		runBackground(USIM_RESULT_SD_CERT_LIST, null, listener);
+		return runBackground(USIM_RESULT_SD_CERT_LIST, null, listener);
 	}
 
 	/**
-	 * USIM 내 인증서로 원문을 전자서명 (PKCS#1 서명)
+	 * USIM 내 인증서로 원문을 전자서명 (PKCS#1 서명)<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getUsimSignCall() 사용
 	 * @param plainData - 서명할 원문
 	 * @param nIdx - 선택 인증서 index
 	 * @param passwd - 스마트 인증 비밀번호
@@ -1622,9 +2339,23 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getUsimSign(byte[] plainData, int nIdx, byte[] passwd, String strTime, OnSignResult listener) {
+		getUsimSignCall(plainData, nIdx, passwd, strTime, listener);
+	}
+
+	/**
+	 * USIM 내 인증서로 원문을 전자서명 (PKCS#1 서명)<br>
+	 * getUsimSign() 와 같으며 요청 handle 을 반환함
+	 * @param plainData - 서명할 원문
+	 * @param nIdx - 선택 인증서 index
+	 * @param passwd - 스마트 인증 비밀번호
+	 * @param strTime - 서명 시간
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getUsimSignCall(byte[] plainData, int nIdx, byte[] passwd, String strTime, OnSignResult listener) {
 		if (!isReady()) {
 			listener.onSignResult(null);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
@@ -1633,11 +2364,12 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		arg.m_arrByte2 = passwd;
 		arg.m_strVal1 = strTime;
 
-		runBackground(USIM_RESULT_SIGN, arg, listener);
+		return runBackground(USIM_RESULT_SIGN, arg, listener);
 	}
 
 	/**
-	 * USIM 내 인증서로 원문을 전자서명 (PKCS#7 서명)
+	 * USIM 내 인증서로 원문을 전자서명 (PKCS#7 서명)<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getUsimSevenSignCall() 사용
 	 * @param plainData - 서명할 원문
 	 * @param nIdx - 선택 인증서 index
 	 * @param passwd - 스마트 인증 비밀번호
@@ -1645,9 +2377,23 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getUsimSevenSign(byte[] plainData, int nIdx, byte[] passwd, String strTime, OnSevenSignResult listener) {
+		getUsimSevenSignCall(plainData, nIdx, passwd, strTime, listener);
+	}
+
+	/**
+	 * USIM 내 인증서로 원문을 전자서명 (PKCS#7 서명)<br>
+	 * getUsimSevenSign() 와 같으며 요청 handle 을 반환함
+	 * @param plainData - 서명할 원문
+	 * @param nIdx - 선택 인증서 index
+	 * @param passwd - 스마트 인증 비밀번호
+	 * @param strTime - 서명 시간
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getUsimSevenSignCall(byte[] plainData, int nIdx, byte[] passwd, String strTime, OnSevenSignResult listener) {
 		if (!isReady()) {
 			listener.onSevenSignResult(null);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
@@ -1656,20 +2402,36 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		arg.m_arrByte2 = passwd;
 		arg.m_strVal1 = strTime;
 
-		runBackground(USIM_RESULT_SEVEN_SIGN, arg, listener);
+		return runBackground(USIM_RESULT_SEVEN_SIGN, arg, listener);
 	}
 
 	/**
-	 * PKCS#7 서명 데이터에 특정 속성 추가
+	 * PKCS#7 서명 데이터에 특정 속성 추가<br><br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 addUnauthAttrCall() 사용
+	 * 속성 값을 DER 로 인코딩할 수 있으면 Pkcs7Util.addUnauthAttr() 로 서비스 호출 없이 처리 가능
 	 * @param signedData - PKCS#7 서명 데이터
 	 * @param strOid - PKCS#7에 추가할 OID
 	 * @param oidVal - PKCS#7에 추가할 OID 정보
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void addUnauthAttr(byte[] signedData, String strOid, byte[] oidVal, OnAddAttrResult listener) {
+		addUnauthAttrCall(signedData, strOid, oidVal, listener);
+	}
+
+	/**
+	 * PKCS#7 서명 데이터에 특정 속성 추가<br><br>
+	 * addUnauthAttr() 와 같으며 요청 handle 을 반환함
+	 * 속성 값을 DER 로 인코딩할 수 있으면 Pkcs7Util.addUnauthAttr() 로 서비스 호출 없이 처리 가능
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @param strOid - PKCS#7에 추가할 OID
+	 * @param oidVal - PKCS#7에 추가할 OID 정보
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall addUnauthAttrCall(byte[] signedData, String strOid, byte[] oidVal, OnAddAttrResult listener) {
 		if (!isReady()) {
 			listener.onAddAttrResult(null);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
@@ -1677,43 +2439,76 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		arg.m_strVal1 = strOid;
 		arg.m_arrByte2 = oidVal;
 
-		runBackground(USIM_RESULT_ADD_ATTR, arg, listener);
+		return runBackground(USIM_RESULT_ADD_ATTR, arg, listener);
 	}
 
 	/**
-	 * 인증서의 개인키 R값 조회
+	 * 인증서의 개인키 R값 조회<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getVIDRandomCall() 사용
 	 * @param nIdx - 선택 인증서 index
 	 * @param passwd - 스마트 인증 비밀번호
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getVIDRandom(int nIdx, byte[] passwd, OnVIDRandomResult listener) {
+		getVIDRandomCall(nIdx, passwd, listener);
+	}
+
+	/**
+	 * 인증서의 개인키 R값 조회<br>
+	 * getVIDRandom() 와 같으며 요청 handle 을 반환함
+	 * @param nIdx - 선택 인증서 index
+	 * @param passwd - 스마트 인증 비밀번호
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getVIDRandomCall(int nIdx, byte[] passwd, OnVIDRandomResult listener) {
 		if (!isReady()) {
 			listener.onVIDRandomResult(null);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
 		arg.m_nVal1 = nIdx;
 		arg.m_arrByte1 = passwd;
 
-		runBackground(USIM_RESULT_VID_RANDOM, arg, listener);
+		return runBackground(USIM_RESULT_VID_RANDOM, arg, listener);
 	}
 	
 	/**
-	 * 토큰 정보 조회(여유 공간 및 USIM Serial(ICCID) 조회)
+	 * 토큰 정보 조회(여유 공간 및 USIM Serial(ICCID) 조회)<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 getTokenInfoCall() 사용
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void getTokenInfo(OnTokenInfoResult listener) {
+		getTokenInfoCall(listener);
+	}
+
+	/**
+	 * 토큰 정보 조회(여유 공간 및 USIM Serial(ICCID) 조회)<br>
+	 * getTokenInfo() 와 같으며 요청 handle 을 반환함
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall getTokenInfoCall(OnTokenInfoResult listener) {
 		if (!isReady()) {
 			listener.onTokenInfoResult(null);
-			return;
+			return completedCall();
+		}
+
+		// 저장된 토큰 정보가 있으면 서비스 조회 없이 전달
+		UsimTokenInfo tokenInfo = UsimIdentity.getTokenInfo();
+		if(tokenInfo != null) {
+			UsimTask task = new UsimTask(USIM_RESULT_TOKEN_INFO, null, listener);
+			task.finish(CALL_COMPLETED, tokenInfo, GlobalError.code.NORMAL, GlobalError.msg.NORMAL);
+			return task;
 		}
 
-		runBackground(USIM_RESULT_TOKEN_INFO, null, listener);
+		return runBackground(USIM_RESULT_TOKEN_INFO, null, listener);
 	}
 
 	/**
-	 * USIM 내 인증서 발급
+	 * USIM 내 인증서 발급<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 issueUsimCertCall() 사용
 	 * @param nCa - 발급 요청 CA index
 	 * @param strRefNum - 참조번호
 	 * @param strAuthCode - 인가코드
@@ -1721,9 +2516,23 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void issueUsimCert(int nCa, String strRefNum, String strAuthCode, byte[] passwd, OnIssueResult listener) {
+		issueUsimCertCall(nCa, strRefNum, strAuthCode, passwd, listener);
+	}
+
+	/**
+	 * USIM 내 인증서 발급<br>
+	 * issueUsimCert() 와 같으며 요청 handle 을 반환함
+	 * @param nCa - 발급 요청 CA index
+	 * @param strRefNum - 참조번호
+	 * @param strAuthCode - 인가코드
+	 * @param passwd - 스마트 인증 비밀번호
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall issueUsimCertCall(int nCa, String strRefNum, String strAuthCode, byte[] passwd, OnIssueResult listener) {
 		if (!isReady()) {
 			listener.onIssueResult(false);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
@@ -1732,20 +2541,34 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		arg.m_strVal2 = strAuthCode;
 		arg.m_arrByte1 = passwd;
 
-		runBackground(USIM_RESULT_ISSUE, arg, listener);
+		return runBackground(USIM_RESULT_ISSUE, arg, listener);
 	}
 
 	/**
-	 * USIM 내 인증서 갱신
+	 * USIM 내 인증서 갱신<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 updateUsimCertCall() 사용
 	 * @param nIdx - 선택 인증서 index
 	 * @param nCa - 발급 요청 CA index
 	 * @param passwd - 스마트 인증 비밀번호
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void updateUsimCert(int nIdx, int nCa, byte[] passwd, OnUpdateResult listener) {
+		updateUsimCertCall(nIdx, nCa, passwd, listener);
+	}
+
+	/**
+	 * USIM 내 인증서 갱신<br>
+	 * updateUsimCert() 와 같으며 요청 handle 을 반환함
+	 * @param nIdx - 선택 인증서 index
+	 * @param nCa - 발급 요청 CA index
+	 * @param passwd - 스마트 인증 비밀번호
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall updateUsimCertCall(int nIdx, int nCa, byte[] passwd, OnUpdateResult listener) {
 		if (!isReady()) {
 			listener.onUpdateResult(false);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
@@ -1753,11 +2576,12 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		arg.m_nVal2 = nCa;
 		arg.m_arrByte1 = passwd;
 
-		runBackground(USIM_RESULT_UPDATE, arg, listener);
+		return runBackground(USIM_RESULT_UPDATE, arg, listener);
 	}
 
 	/**
-	 * SD card 의 인증서를 USIM 에 저장
+	 * SD card 의 인증서를 USIM 에 저장<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 saveUsimCertCall() 사용
 	 * @param strCertPath - SD card 의 인증서 경로
 	 * @param strPrivPath - SD card 의 개인키 경로
 	 * @param certPasswd - SD card 의 인증서 비밀번호
@@ -1765,9 +2589,23 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void saveUsimCert(String strCertPath, String strPrivPath, byte[] certPasswd, byte[] passwd, OnSaveResult listener) {
+		saveUsimCertCall(strCertPath, strPrivPath, certPasswd, passwd, listener);
+	}
+
+	/**
+	 * SD card 의 인증서를 USIM 에 저장<br>
+	 * saveUsimCert() 와 같으며 요청 handle 을 반환함
+	 * @param strCertPath - SD card 의 인증서 경로
+	 * @param strPrivPath - SD card 의 개인키 경로
+	 * @param certPasswd - SD card 의 인증서 비밀번호
+	 * @param passwd - 스마트 인증 비밀번호
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall saveUsimCertCall(String strCertPath, String strPrivPath, byte[] certPasswd, byte[] passwd, OnSaveResult listener) {
 		if (!isReady()) {
 			listener.onSaveResult(false);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
@@ -1776,26 +2614,359 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 		arg.m_arrByte1 = certPasswd;
 		arg.m_arrByte2 = passwd;
 
-		runBackground(USIM_RESULT_SAVE, arg, listener);
+		return runBackground(USIM_RESULT_SAVE, arg, listener);
 	}
 
 	/**
-	 * USIM 내 인증서 삭제
+	 * USIM 내 인증서 삭제<br>
+	 * 요청 handle(취소/처리 기한 설정)이 필요하면 deleteUsimCertCall() 사용
 	 * @param nIdx - 선택 인증서 index
 	 * @param passwd - 스마트 인증 비밀번호
 	 * @param listener - 결과 처리 리스너
 	 */
 	public void deleteUsimCert(int nIdx, byte[] passwd, OnDelResult listener) {
+		deleteUsimCertCall(nIdx, passwd, listener);
+	}
+
+	/**
+	 * USIM 내 인증서 삭제<br>
+	 * deleteUsimCert() 와 같으며 요청 handle 을 반환함
+	 * @param nIdx - 선택 인증서 index
+	 * @param passwd - 스마트 인증 비밀번호
+	 * @param listener - 결과 처리 리스너
+	 * @return UsimCall - 요청 handle(취소/처리 기한 설정)
+	 */
+	public UsimCall deleteUsimCertCall(int nIdx, byte[] passwd, OnDelResult listener) {
 		if (!isReady()) {
 			listener.onDelResult(false);
-			return;
+			return completedCall();
 		}
 
 		Argument arg = new Argument();
 		arg.m_nVal1 = nIdx;
 		arg.m_arrByte1 = passwd;
 
-		runBackground(USIM_RESULT_DEL, arg, listener);
+		return runBackground(USIM_RESULT_DEL, arg, listener);
+	}
+
+	/**
+	 * 서명 원문/결과를 파일 디스크립터로 전달하는 기준 크기 설정<br>
+	 * 서비스가 지원하지 않는 경우 자동으로 byte[] 전달 방식을 사용함
+	 * @param nBytes - 기준 크기(byte), 0 이하이면 사용 안함
+	 */
+	public void setSharedTransportThreshold(int nBytes) {
+		m_nSharedThreshold = nBytes;
+	}
+
+	/**
+	 * 서비스 지원 기능 여부 반환(최초 1회만 서비스에 조회)
+	 * @param nFeature - 기능 flag(UsimCertFeature)
+	 * @return boolean - 지원 여부
+	 */
+	private boolean isSupported(int nFeature) {
+		int nFeatures = m_nFeatures;
+		if(nFeatures < 0) {
+			UsimCertMgr usimCertMgr = m_usimCertMgr;
+			if(usimCertMgr == null) {
+				return false;
+			}
+			try {
+				nFeatures = usimCertMgr.getFeatures();
+			} catch(RemoteException e) {
+				return false;
+			} catch(RuntimeException e) {  // 구 버전 서비스
+				nFeatures = 0;
+			}
+			m_nFeatures = nFeatures;
+		}
+		return (nFeatures & nFeature) != 0;
+	}
+
+	/**
+	 * 파일 디스크립터 전달 사용 여부 판단
+	 * @param data - 전달할 데이터
+	 * @return boolean - 사용 여부
+	 */
+	private boolean useSharedTransport(byte[] data) {
+		int nThreshold = m_nSharedThreshold;
+		return nThreshold > 0 && data != null && data.length >= nThreshold && isSupported(UsimCertFeature.SHARED_TRANSPORT);
+	}
+
+	/**
+	 * PKCS#7 서명 요청(기준 크기 이상은 파일 디스크립터 전달)
+	 * @param usimCertMgr - 서비스 stub
+	 * @param plainData - 서명할 원문
+	 * @param nIdx - 선택 인증서 index
+	 * @param passwd - 스마트 인증 비밀번호
+	 * @param strTime - 서명 시간
+	 * @return byte[] - PKCS#7 서명 데이터
+	 * @throws RemoteException
+	 */
+	private byte[] sevenSign(UsimCertMgr usimCertMgr, byte[] plainData, int nIdx, byte[] passwd, String strTime) throws RemoteException {
+		ParcelFileDescriptor fd = share(plainData);
+		if(fd == null) {
+			return usimCertMgr.getUsimSevenSign(plainData, nIdx, passwd, strTime);
+		}
+		try {
+			return UsimSharedTransport.receive(usimCertMgr.getUsimSevenSignFd(fd, plainData.length, nIdx, passwd, strTime), 0);
+		} catch(IOException e) {
+			throw sharedTransportFailed("sevenSign", e, false);
+		} catch(RuntimeException e) {
+			throw sharedTransportFailed("sevenSign", e, true);
+		} finally {
+			UsimSharedTransport.closeQuietly(fd);
+		}
+	}
+
+	/**
+	 * PKCS#7 속성 추가 요청(기준 크기 이상은 파일 디스크립터 전달)
+	 * @param usimCertMgr - 서비스 stub
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @param strOid - PKCS#7에 추가할 OID
+	 * @param oidVal - PKCS#7에 추가할 OID 정보
+	 * @return byte[] - 속성 추가된 PKCS#7 서명 데이터
+	 * @throws RemoteException
+	 */
+	private byte[] addAttr(UsimCertMgr usimCertMgr, byte[] signedData, String strOid, byte[] oidVal) throws RemoteException {
+		ParcelFileDescriptor fd = share(signedData);
+		if(fd == null) {
+			return usimCertMgr.addUnauthAttr(signedData, strOid, oidVal);
+		}
+		try {
+			return UsimSharedTransport.receive(usimCertMgr.addUnauthAttrFd(fd, signedData.length, strOid, oidVal), signedData.length + (oidVal != null ? oidVal.length : 0) + 64);
+		} catch(IOException e) {
+			throw sharedTransportFailed("addAttr", e, false);
+		} catch(RuntimeException e) {
+			throw sharedTransportFailed("addAttr", e, true);
+		} finally {
+			UsimSharedTransport.closeQuietly(fd);
+		}
+	}
+
+	/**
+	 * 파일 디스크립터 전달 준비
+	 * @param data - 전달할 데이터
+	 * @return ParcelFileDescriptor - 읽기용 파일 디스크립터(사용하지 않거나 pipe 생성에 실패하면 null - 서비스 호출 전이므로 byte[] 전달)
+	 */
+	private ParcelFileDescriptor share(byte[] data) {
+		if(!useSharedTransport(data)) {
+			return null;
+		}
+		try {
+			return UsimSharedTransport.share(data);
+		} catch(IOException e) {
+			LogUtil.w("UsimCertService", "shared transport pipe failed : {}", e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * 파일 디스크립터 전달 요청 실패 처리<br>
+	 * 서비스에서 이미 처리(서명 등)되었을 수 있으므로 byte[] 전달로 다시 요청하지 않고 연결 오류로 처리함
+	 * @param strName - 요청 명
+	 * @param e - 발생한 예외
+	 * @param bDisable - true 이면 이후 요청은 byte[] 전달(SHARED_TRANSPORT 기능만 해제)
+	 * @return RemoteException - 호출한 곳에서 throw
+	 */
+	private RemoteException sharedTransportFailed(String strName, Exception e, boolean bDisable) {
+		LogUtil.w("UsimCertService", "{} shared transport failed : {}", strName, e);
+		if(bDisable) {
+			int nFeatures = m_nFeatures;
+			if(nFeatures >= 0) {
+				m_nFeatures = nFeatures & ~UsimCertFeature.SHARED_TRANSPORT;
+			}
+		}
+		return new RemoteException();
+	}
+
+	/**
+	 * 필터 조건에 맞는 인증서 목록 조회(로컬 cache 사용)
+	 * @param filter - 필터(UsimCertFilter.ALL 이면 전체 목록)
+	 * @return ArrayList<UsimCertificate> - 인증서 목록, 실패 시 null
+	 */
+	public ArrayList<UsimCertificate> getCertList(UsimCertFilter filter) {
+		ArrayList<UsimCertificate> result = null;
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
+			try {
+				result = m_certStore.query(usimCertMgr, filter);
+				if(result == null) {
+					setErrorMessage(GlobalError.code.NO_RESULT, GlobalError.msg.NO_CERTLIST);
+				}
+			} catch(RemoteException e) {
+				setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 필터 조건에 맞는 인증서 목록을 만료일 순으로 조회(로컬 cache 사용)
+	 * @param filter - 필터
+	 * @param bAscending - true(만료일 빠른 순)/false(만료일 늦은 순)
+	 * @return ArrayList<UsimCertificate> - 인증서 목록, 실패 시 null
+	 */
+	public ArrayList<UsimCertificate> getCertListByExpiry(UsimCertFilter filter, boolean bAscending) {
+		ArrayList<UsimCertificate> result = null;
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
+			try {
+				result = m_certStore.queryByExpiry(usimCertMgr, filter, bAscending);
+				if(result == null) {
+					setErrorMessage(GlobalError.code.NO_RESULT, GlobalError.msg.NO_CERTLIST);
+				}
+			} catch(RemoteException e) {
+				setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 필터 조건에 맞는 인증서 개수 조회(로컬 cache 사용)
+	 * @param filter - 필터
+	 * @return int - 인증서 개수, 실패 시 0
+	 */
+	public int getCertCount(UsimCertFilter filter) {
+		int result = 0;
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr != null) {
+			try {
+				result = Math.max(m_certStore.count(usimCertMgr, filter), 0);
+			} catch(RemoteException e) {
+				setErrorMessage(GlobalError.code.SERVICE_CONNECT, GlobalError.msg.SERVICE_CONNECT);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * USIM 내 인증서 목록 page 단위 조회(main thread 외의 thread 에서 사용)
+	 * @param nPageSize - page 최대 인증서 수(0 이하이면 UsimCertCursor.DEFAULT_PAGE_SIZE)
+	 * @param nMaxBytes - page 최대 크기(byte), 0 이면 제한 없음
+	 * @return UsimCertCursor - 인증서 iterator, 서비스 미연결 시 null
+	 */
+	public UsimCertCursor openUsimCertCursor(int nPageSize, int nMaxBytes) {
+		return openCursor(UsimCertPage.SOURCE_USIM, nPageSize, nMaxBytes);
+	}
+
+	/**
+	 * SD card 내 인증서 목록 page 단위 조회(main thread 외의 thread 에서 사용)
+	 * @param nPageSize - page 최대 인증서 수(0 이하이면 UsimCertCursor.DEFAULT_PAGE_SIZE)
+	 * @param nMaxBytes - page 최대 크기(byte), 0 이면 제한 없음
+	 * @return UsimCertCursor - 인증서 iterator, 서비스 미연결 시 null
+	 */
+	public UsimCertCursor openSDCardCertCursor(int nPageSize, int nMaxBytes) {
+		return openCursor(UsimCertPage.SOURCE_SD_CARD, nPageSize, nMaxBytes);
+	}
+
+	private UsimCertCursor openCursor(int nSource, int nPageSize, int nMaxBytes) {
+		UsimCertMgr usimCertMgr = isReady() ? getStub() : null;
+		if(usimCertMgr == null) {
+			return null;
+		}
+		return new UsimCertCursor(usimCertMgr, nSource, isSupported(UsimCertFeature.PAGED_LIST), nPageSize, nMaxBytes);
+	}
+
+	/**
+	 * 인증서 목록 cache 재확인 요청 - 다음 조회 시 서비스의 목록 세대를 비교하여 변경된 내역만 반영함<br>
+	 * 스마트 USIM 앱 등 외부에서 인증서가 변경된 경우 호출
+	 */
+	public void refreshCertList() {
+		m_certStore.invalidate();
+	}
+
+	/**
+	 * USIM 쓰기 작업(발급/갱신/저장/삭제) 후 또는 서비스 변경 알림 수신 시 인증서 목록 및 토큰 정보(여유 공간) cache 삭제
+	 */
+	private void onCardChanged() {
+		m_certStore.invalidate();
+		UsimIdentity.invalidateTokenInfo();
+	}
+
+	/**
+	 * 인증서/토큰 변경 알림 처리 리스너 등록<br>
+	 * 더이상 사용하지 않을 경우 removeCertEventListener 로 해제해 주어야 함
+	 * @param listener - 리스너
+	 */
+	public void addCertEventListener(OnUsimCertEvent listener) {
+		if(listener != null) {
+			m_eventListeners.addIfAbsent(listener);
+		}
+	}
+
+	/**
+	 * 인증서/토큰 변경 알림 처리 리스너 해제
+	 * @param listener - addCertEventListener 로 등록한 리스너
+	 */
+	public void removeCertEventListener(OnUsimCertEvent listener) {
+		m_eventListeners.remove(listener);
+	}
+
+	/**
+	 * 서비스 변경 알림 사용 여부 반환<br>
+	 * false 이면 서비스가 알림을 지원하지 않으므로 필요 시 refreshCertList() 후 다시 조회해야 함
+	 * @return boolean - 알림 사용 여부
+	 */
+	public boolean isCertEventSupported() {
+		return m_bEventRegistered;
+	}
+
+	/**
+	 * 서비스에 변경 알림 callback 등록(지원 서비스만)
+	 */
+	private void registerEventCallback() {
+		UsimCertMgr usimCertMgr = m_usimCertMgr;
+		if(usimCertMgr == null || !isSupported(UsimCertFeature.CERT_EVENT)) {
+			return;
+		}
+		try {
+			usimCertMgr.registerEventListener(m_eventCallback);
+			m_bEventRegistered = true;
+		} catch(RemoteException e) {
+			LogUtil.w("UsimCertService", "registerEventListener failed : {}", e.getMessage());
+		} catch(RuntimeException e) {  // 구 버전 서비스
+			LogUtil.w("UsimCertService", "registerEventListener not supported : {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 서비스에 등록한 변경 알림 callback 해제
+	 */
+	private void unregisterEventCallback() {
+		if(!m_bEventRegistered) {
+			return;
+		}
+		m_bEventRegistered = false;
+		UsimCertMgr usimCertMgr = m_usimCertMgr;
+		if(usimCertMgr == null) {
+			return;
+		}
+		try {
+			usimCertMgr.unregisterEventListener(m_eventCallback);
+		} catch(RemoteException e) {  // 서비스 종료 - 서비스 측에서 자동 해제됨
+			LogUtil.d("UsimCertService", "unregisterEventListener failed : {}", e.getMessage());
+		} catch(RuntimeException e) {
+			LogUtil.w("UsimCertService", "unregisterEventListener failed : {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * 현재 thread 에서 getUsimCertCnt()/getFilterCertCnt() 로 설정한 필터 조건 반환
+	 * @return UsimCertFilter - 필터
+	 */
+	private UsimCertFilter getFilter() {
+		return m_callState.get().m_filter;
+	}
+
+	/**
+	 * 설정된 필터 조건의 인증서 목록 조회(로컬 cache 사용)
+	 * @param usimCertMgr - 서비스 stub(getStub() 으로 조회한 값)
+	 * @return List<UsimCertificate> - 인증서 목록
+	 * @throws RemoteException
+	 */
+	private List<UsimCertificate> getFilteredCertList(UsimCertMgr usimCertMgr) throws RemoteException {
+		return m_certStore.query(usimCertMgr, getFilter());
 	}
 
 	/**
@@ -1818,35 +2989,36 @@ String strOID, String strSerialNumber, String strSubjectDN, String strIssuerDN,
 	 */
 	public int getSmartUsimError() {
 		int result = -1;
-		if(m_strErrCode.equals(GlobalError.code.NORMAL)) {
+		String strErrCode = getErrorCode();
+		if(strErrCode.equals(GlobalError.code.NORMAL)) {
 			result = SmartUsimResultCode.RESULT_OK;
-		} else if(m_strErrCode.equals(GlobalError.code.CERT_FAIL)) {
+		} else if(strErrCode.equals(GlobalError.code.CERT_FAIL)) {
 			result = SmartUsimResultCode.RESULT_PW_PIN_LOCK;
-		} else if(m_strErrCode.equals(GlobalError.code.PASS_INITED)) {
+		} else if(strErrCode.equals(GlobalError.code.PASS_INITED)) {
 			result = SmartUsimResultCode.RESULT_PW_PIN_LOCK;
-		} else if(m_strErrCode.equals(GlobalError.code.USIM_CONNECT_FAIL)) {
+		} else if(strErrCode.equals(GlobalError.code.USIM_CONNECT_FAIL)) {
 			result = SmartUsimResultCode.RESULT_CORE_INIT_FAIL;
-		} else if(m_strErrCode.equals(GlobalError.code.USIM_PKCS11)) {
+		} else if(strErrCode.equals(GlobalError.code.USIM_PKCS11)) {
 			result = SmartUsimResultCode.RESULT_CORE_INIT_FAIL;
-		} else if(m_strErrCode.equals(GlobalError.code.NO_CERTLIST)) {
+		} else if(strErrCode.equals(GlobalError.code.NO_CERTLIST)) {
 			result = SmartUsimResultCode.RESULT_NOT_EXIST_FILTER_CERT;
-		} else if(m_strErrCode.equals(GlobalError.code.USIM_ETC)) {
+		} else if(strErrCode.equals(GlobalError.code.USIM_ETC)) {
 			result = SmartUsimResultCode.RESULT_CORE_INIT_FAIL;
-		} else if(m_strErrCode.equals(GlobalError.code.USIM_UNKNOWN)) {
+		} else if(strErrCode.equals(GlobalError.code.USIM_UNKNOWN)) {
 			result = SmartUsimResultCode.RESULT_CORE_INIT_FAIL;
-		} else if(m_strErrCode.equals(GlobalError.code.WRONG_PASS)) {
+		} else if(strErrCode.equals(GlobalError.code.WRONG_PASS)) {
 			result = SmartUsimResultCode.RESULT_PW_PIN_INCORRECT;
-		} else if(m_strErrCode.equals(GlobalError.code.TOKEN_STATUS)) {
+		} else if(strErrCode.equals(GlobalError.code.TOKEN_STATUS)) {
 			result = SmartUsimResultCode.RESULT_PW_PIN_INIT_STATE;
-		} else if(m_strErrCode.equals(GlobalError.code.WRONG_PRIV_PASS)) {
+		} else if(strErrCode.equals(GlobalError.code.WRONG_PRIV_PASS)) {
 			result = SmartUsimResultCode.RESULT_PW_CERT_INCORRECT;
-		} else if(m_strErrCode.equals(GlobalError.code.ALREADY_EXIST)) {
+		} else if(strErrCode.equals(GlobalError.code.ALREADY_EXIST)) {
 			result = SmartUsimResultCode.RESULT_SAME_CERT_EXIST;
-		} else if(m_strErrCode.equals(GlobalError.code.STORAGE_FULL)) {
+		} else if(strErrCode.equals(GlobalError.code.STORAGE_FULL)) {
 			result = SmartUsimResultCode.RESULT_NOT_ENOUGH_CERT_STORAGE;
-		} else if(m_strErrCode.equals(GlobalError.code.JOIN_NOT)) {
+		} else if(strErrCode.equals(GlobalError.code.JOIN_NOT)) {
 			result = SmartUsimResultCode.RESULT_USER_NO_MEMBER;
-		} else if(m_strErrCode.equals(GlobalError.code.JOIN_OTHER_CP)) {
+		} else if(strErrCode.equals(GlobalError.code.JOIN_OTHER_CP)) {
 			result = SmartUsimResultCode.RESULT_USER_SIMILAR_MEMBER;
 		}
 			
@@ -0,0 +1,808 @@
+package com.sumion.usim.aidl.api;
+
+import java.io.File;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+
+import android.os.RemoteException;
+
+import com.sumion.usim.aidl.UsimCertCatalog;
+import com.sumion.usim.aidl.UsimCertDelta;
+import com.sumion.usim.aidl.UsimCertMgr;
+import com.sumion.usim.aidl.UsimCertPage;
+import com.sumion.usim.aidl.UsimCertificate;
+
+/**
+ * USIM 인증서 목록 cache 및 조회 class<br>
+ * 전체 인증서 목록을 한번만 조회한 후 DN/만료일/CA/종류 index 를 구성하여 필터 조회를 로컬에서 처리함<br>
+ * 서비스 조건(OID, Serial, 전체 일치 DN, 조회 시점 기준 만료 - UsimCertFilter 참고)은 기존 API 와 결과가 같도록 서비스에서 비교하며,
+ * 조건별 결과를 카탈로그에 cache 하여 카탈로그가 바뀌거나 다음 인증서 만료 시각이 될 때까지 서비스를 다시 호출하지 않음<br>
+ * 무효화 이후에는 서비스의 목록 세대를 비교하여 변경이 없으면 그대로 사용하고, 변경된 경우 변경 내역만 받아 반영함
+ * (최초 조회, 세대 차이가 보관 범위를 넘는 경우, 구 버전 서비스는 전체 목록 조회)<br>
+ * 조회한 목록이 저장 파일(UsimWarmCatalog)과 다르면 파일을 갱신하여, 프로세스 재시작 후 서비스 연결 전에도 목록을 표시할 수 있도록 함
+ */
+final class UsimCertStore {
+	/** 목록 저장 파일(null 이면 저장 안함) */
+	private final File m_warmFile;
+	/** 저장 파일 기준 ICCID(알 수 없으면 저장 안함) */
+	private String m_strIccid;
+	/** 열린 저장 파일(열지 않았거나 갱신된 경우 null) */
+	private UsimWarmCatalog m_warm;
+	/** 현재 cache 된 카탈로그 */
+	private volatile Catalog m_catalog;
+	/** 카탈로그 재확인 필요 여부 - 다음 조회 시 서비스의 세대와 비교 */
+	private volatile boolean m_bStale;
+	/** 서비스의 세대 조회 미지원 여부(구 버전 서비스) */
+	private boolean m_bNoGeneration;
+	/** 서비스의 목록 일괄 조회(UsimCertCatalog) 미지원 여부(구 버전 서비스) */
+	private boolean m_bNoCatalog;
+	/** cache 무효화 횟수 - 무효화 이전에 시작된 조회 결과는 저장하지 않음 */
+	private int m_nEpoch;
+
+	/**
+	 * @param warmFile - 목록 저장 파일(null 이면 저장 안함)
+	 */
+	UsimCertStore(File warmFile) {
+		m_warmFile = warmFile;
+	}
+
+	/**
+	 * 현재 SIM 의 ICCID 설정 - 저장 파일의 ICCID 와 다르면 저장 파일은 사용하지 않고 삭제됨
+	 * @param strIccid - ICCID(알 수 없으면 null)
+	 */
+	synchronized void setIccid(String strIccid) {
+		if(strIccid == null ? m_strIccid != null : !strIccid.equals(m_strIccid)) {
+			m_strIccid = strIccid;
+			m_warm = null;
+		}
+	}
+
+	/**
+	 * 저장된 인증서 목록 반환(USIM 저장 순서)
+	 * @return List<UsimCertSummary> - 저장된 목록(저장 파일이 없거나 ICCID 가 다르면 null)
+	 */
+	synchronized List<UsimCertSummary> getWarmList() {
+		if(m_warm == null && m_warmFile != null) {
+			m_warm = UsimWarmCatalog.open(m_warmFile, m_strIccid);
+		}
+		if(m_warm == null) {
+			return null;
+		}
+		ArrayList<UsimCertSummary> result = new ArrayList<UsimCertSummary>(m_warm.size());
+		for(int i = 0; i < m_warm.size(); i++) {
+			result.add(new UsimCertSummary(m_warm, i));
+		}
+		return result;
+	}
+
+	/**
+	 * 조회한 카탈로그를 저장 파일에 반영(저장된 목록과 같으면 기록하지 않음)
+	 */
+	private synchronized void persist(Catalog catalog) {
+		if(m_warmFile == null || m_strIccid == null) {
+			return;
+		}
+		if(m_warm == null) {
+			m_warm = UsimWarmCatalog.open(m_warmFile, m_strIccid);
+		}
+		if(m_warm != null && m_warm.sameAs(catalog)) {
+			return;
+		}
+		// 기존 map 은 교체된 파일과 무관하게 유지되므로 다음 조회 시 다시 열기만 함
+		m_warm = null;
+		UsimWarmCatalog.write(m_warmFile, m_strIccid, catalog);
+	}
+
+	/**
+	 * cache 재확인 요청(인증서 발급/갱신/저장/삭제, 외부 변경 시 호출)<br>
+	 * 현재 카탈로그는 변경 내역 반영의 기준으로 유지됨
+	 */
+	synchronized void invalidate() {
+		m_nEpoch++;
+		m_bStale = true;
+	}
+
+	/**
+	 * cache 삭제(서비스 재연결 시 호출) - 다음 조회 시 전체 목록 조회
+	 */
+	synchronized void clear() {
+		m_nEpoch++;
+		m_catalog = null;
+		m_bStale = false;
+		m_bNoGeneration = false;
+		m_bNoCatalog = false;
+	}
+
+	/**
+	 * 카탈로그 반환(cache 가 없거나 재확인이 필요하면 서비스와 동기화)
+	 * @param usimCertMgr - 서비스 제공 stub
+	 * @return Catalog - 카탈로그(서비스 조회 결과가 없으면 null)
+	 * @throws RemoteException
+	 */
+	Catalog getCatalog(UsimCertMgr usimCertMgr) throws RemoteException {
+		Catalog catalog = m_catalog;
+		if(catalog != null && !m_bStale) {
+			return catalog;
+		}
+
+		int nEpoch;
+		boolean bNoGeneration;
+		boolean bNoCatalog;
+		synchronized(this) {
+			nEpoch = m_nEpoch;
+			catalog = m_catalog;
+			bNoGeneration = m_bNoGeneration;
+			bNoCatalog = m_bNoCatalog;
+		}
+		Catalog base = catalog;
+		catalog = sync(usimCertMgr, base, nEpoch, bNoGeneration, bNoCatalog);
+		if(catalog == null) {
+			return null;
+		}
+		boolean bStored = false;
+		synchronized(this) {
+			if(nEpoch == m_nEpoch) {
+				m_catalog = catalog;
+				m_bStale = false;
+				bStored = true;
+			}
+		}
+		if(bStored && catalog != base) {
+			persist(catalog);
+		}
+		return catalog;
+	}
+
+	/**
+	 * 서비스와 카탈로그 동기화
+	 * @param usimCertMgr - 서비스 제공 stub
+	 * @param base - 현재 카탈로그(없으면 null)
+	 * @param nEpoch - 동기화 시작 시점의 무효화 횟수
+	 * @param bNoGeneration - 세대 조회 미지원 여부
+	 * @param bNoCatalog - 목록 일괄 조회 미지원 여부
+	 * @return Catalog - 동기화된 카탈로그(서비스 조회 결과가 없으면 null)
+	 * @throws RemoteException
+	 */
+	private Catalog sync(UsimCertMgr usimCertMgr, Catalog base, int nEpoch, boolean bNoGeneration, boolean bNoCatalog) throws RemoteException {
+		// 목록 조회 전에 세대를 먼저 조회 - 그 사이의 변경은 다음 변경 내역에 포함됨
+		long lGeneration = 0;
+		if(!bNoGeneration) {
+			lGeneration = usimCertMgr.getCatalogGeneration();
+			if(lGeneration <= 0) {
+				setUnsupported(nEpoch, true, false);
+			}
+		}
+
+		if(base != null && lGeneration > 0 && base.m_lGeneration > 0) {
+			if(lGeneration == base.m_lGeneration) {
+				return base;
+			}
+			UsimCertDelta delta = usimCertMgr.getCertDelta(base.m_lGeneration);
+			if(delta != null && !delta.isFull()) {
+				return base.apply(delta);
+			}
+		}
+
+		List<UsimCertificate> certList = null;
+		if(!bNoCatalog) {
+			UsimCertCatalog certCatalog = usimCertMgr.getUsimCertCatalog();
+			if(certCatalog != null) {
+				certList = certCatalog.getCertList();
+			}
+			// 미지원 서비스이거나 복원할 수 없는 목록(버전 불일치/손상)이면 이후 기존 목록 조회 사용
+			if(certList == null) {
+				setUnsupported(nEpoch, false, true);
+			}
+		}
+		if(certList == null) {
+			certList = usimCertMgr.getUsimCertList();
+		}
+		if(certList == null) {
+			return null;
+		}
+		return new Catalog(certList, lGeneration);
+	}
+
+	/**
+	 * 서비스 미지원 기능 기록 - 동기화 중 cache 가 삭제(서비스 재연결)되었으면 이전 서비스의 결과이므로 기록하지 않음
+	 */
+	private synchronized void setUnsupported(int nEpoch, boolean bNoGeneration, boolean bNoCatalog) {
+		if(nEpoch != m_nEpoch) {
+			return;
+		}
+		m_bNoGeneration |= bNoGeneration;
+		m_bNoCatalog |= bNoCatalog;
+	}
+
+	/**
+	 * 인증서 목록 전체 조회(cache 사용 안함) - 일괄 조회(UsimCertCatalog) 미지원 서비스이거나 복원할 수 없는 목록이면 기존 목록 조회
+	 * @param usimCertMgr - 서비스 제공 stub
+	 * @param nSource - 목록 구분(UsimCertPage.SOURCE_XXX)
+	 * @return List<UsimCertificate> - 인증서 목록(서비스 조회 결과가 없으면 null)
+	 * @throws RemoteException
+	 */
+	static List<UsimCertificate> loadCertList(UsimCertMgr usimCertMgr, int nSource) throws RemoteException {
+		boolean bSDCard = nSource == UsimCertPage.SOURCE_SD_CARD;
+		UsimCertCatalog certCatalog = bSDCard ? usimCertMgr.getSDCardCertCatalog() : usimCertMgr.getUsimCertCatalog();
+		List<UsimCertificate> certList = certCatalog != null ? certCatalog.getCertList() : null;
+		if(certList != null) {
+			return certList;
+		}
+		return bSDCard ? usimCertMgr.getSDCardCertList() : usimCertMgr.getUsimCertList();
+	}
+
+	/**
+	 * 필터 조건에 맞는 인증서 목록 조회(USIM 저장 순서 유지)
+	 * @param usimCertMgr - 서비스 제공 stub
+	 * @param filter - 필터
+	 * @return ArrayList<UsimCertificate> - 인증서 목록(서비스 조회 결과가 없으면 null)
+	 * @throws RemoteException
+	 */
+	ArrayList<UsimCertificate> query(UsimCertMgr usimCertMgr, UsimCertFilter filter) throws RemoteException {
+		Catalog catalog = getCatalog(usimCertMgr);
+		boolean[] arrMatch = catalog == null ? null : match(usimCertMgr, catalog, filter);
+		return arrMatch == null ? null : catalog.query(arrMatch);
+	}
+
+	/**
+	 * 필터 조건에 맞는 인증서 개수 조회
+	 * @param usimCertMgr - 서비스 제공 stub
+	 * @param filter - 필터
+	 * @return int - 인증서 개수(서비스 조회 결과가 없으면 -1)
+	 * @throws RemoteException
+	 */
+	int count(UsimCertMgr usimCertMgr, UsimCertFilter filter) throws RemoteException {
+		Catalog catalog = getCatalog(usimCertMgr);
+		boolean[] arrMatch = catalog == null ? null : match(usimCertMgr, catalog, filter);
+		return arrMatch == null ? -1 : Catalog.count(arrMatch);
+	}
+
+	/**
+	 * 필터 조건에 맞는 인증서 목록을 만료일 순으로 조회
+	 * @param usimCertMgr - 서비스 제공 stub
+	 * @param filter - 필터
+	 * @param bAscending - true(만료일 빠른 순)/false(만료일 늦은 순)
+	 * @return ArrayList<UsimCertificate> - 인증서 목록(서비스 조회 결과가 없으면 null)
+	 * @throws RemoteException
+	 */
+	ArrayList<UsimCertificate> queryByExpiry(UsimCertMgr usimCertMgr, UsimCertFilter filter, boolean bAscending) throws RemoteException {
+		Catalog catalog = getCatalog(usimCertMgr);
+		boolean[] arrMatch = catalog == null ? null : match(usimCertMgr, catalog, filter);
+		return arrMatch == null ? null : catalog.queryByExpiry(arrMatch, bAscending);
+	}
+
+	/**
+	 * 필터 조건 일치 여부 계산<br>
+	 * 서비스 조건은 서비스 조회 결과(카탈로그 cache)에 포함된 인증서로 제한하고, 나머지 조건은 카탈로그 index 로 비교함
+	 * @return boolean[] - USIM 저장 순서 기준 일치 여부(서비스 조회 결과가 없으면 null)
+	 */
+	private static boolean[] match(UsimCertMgr usimCertMgr, Catalog catalog, UsimCertFilter filter) throws RemoteException {
+		boolean[] arrMatch = catalog.match(filter.getLocalFilter());
+		if(!filter.hasServiceCondition()) {
+			return arrMatch;
+		}
+		HashSet<Integer> certIdx = catalog.serviceMatch(usimCertMgr, filter);
+		if(certIdx == null) {
+			return null;
+		}
+		for(int i = 0; i < arrMatch.length; i++) {
+			arrMatch[i] = arrMatch[i] && certIdx.contains(catalog.m_arrCert[i].getCertIdx());
+		}
+		return arrMatch;
+	}
+
+	/**
+	 * 서비스 조회 결과의 인증서 index 목록
+	 * @return HashSet&lt;Integer&gt; - 인증서 index(조회 결과가 없으면 null)
+	 */
+	private static HashSet<Integer> toCertIdx(List<UsimCertificate> certList) {
+		if(certList == null) {
+			return null;
+		}
+		HashSet<Integer> certIdx = new HashSet<Integer>();
+		for(UsimCertificate usimCert : certList) {
+			certIdx.add(usimCert.getCertIdx());
+		}
+		return certIdx;
+	}
+
+	/**
+	 * 인증서 발급 CA index 판단
+	 * @param strIssuerDN - Issuer DN
+	 * @return int - CA index(IDX_CA_XXX), 알 수 없는 경우 0
+	 */
+	static int getCaIdx(String strIssuerDN) {
+		if(strIssuerDN == null) {
+			return 0;
+		}
+		String strIssuer = strIssuerDN.toLowerCase(Locale.US);
+		if(strIssuer.indexOf("yessign") >= 0) {
+			return UsimCertService.IDX_CA_YESSIGN;
+		} else if(strIssuer.indexOf("crosscert") >= 0) {
+			return UsimCertService.IDX_CA_CROSSCERT;
+		} else if(strIssuer.indexOf("signkorea") >= 0) {
+			return UsimCertService.IDX_CA_SIGNKOREA;
+		} else if(strIssuer.indexOf("initech") >= 0) {
+			return UsimCertService.IDX_CA_INITECH;
+		} else if(strIssuer.indexOf("signgate") >= 0 || strIssuer.indexOf("kica") >= 0) {
+			return UsimCertService.IDX_CA_SIGNGATE;
+		}
+		return 0;
+	}
+
+	/**
+	 * 서비스 조건 조회 결과(cache)
+	 */
+	private static final class ServiceMatch {
+		/** 조건에 맞는 인증서 index */
+		final HashSet<Integer> m_certIdx;
+		/** 유효 시각(ms) - 조회 이후 처음 만료되는 인증서의 만료 시각 */
+		final long m_lValidUntil;
+
+		ServiceMatch(HashSet<Integer> certIdx, long lValidUntil) {
+			m_certIdx = certIdx;
+			m_lValidUntil = lValidUntil;
+		}
+	}
+
+	/**
+	 * 인증서 목록 snapshot 및 index<br>
+	 * 목록과 index 는 생성 이후 변경되지 않으므로 여러 thread 에서 동시에 조회 가능(서비스 조건 cache 는 lock 사용)
+	 */
+	static final class Catalog {
+		/** 서비스 조건 cache 최대 개수(초과 시 모두 삭제) */
+		private static final int MAX_SERVICE_MATCH = 32;
+
+		/** 서비스 목록 세대(알 수 없으면 0) */
+		final long m_lGeneration;
+		/** USIM 저장 순서의 인증서 목록 */
+		final UsimCertificate[] m_arrCert;
+		final String[] m_arrOID;
+		final String[] m_arrSubject;
+		final String[] m_arrIssuer;
+		final String[] m_arrSerialHex;
+		final String[] m_arrType;
+		final int[] m_arrCaIdx;
+		final long[] m_arrNotAfter;
+
+		/** 서비스 조건(UsimCertFilter.getServiceKey()) 별 조회 결과 */
+		private final HashMap<String, ServiceMatch> m_serviceMatch = new HashMap<String, ServiceMatch>();
+		/** 인증서 종류 index */
+		final HashMap<String, int[]> m_typeIndex;
+		/** CA index 별 목록 */
+		final int[][] m_caIndex;
+		/** Subject DN 정렬 순서 */
+		final int[] m_subjectOrder;
+		final String[] m_sortedSubject;
+		/** Issuer DN 정렬 순서 */
+		final int[] m_issuerOrder;
+		final String[] m_sortedIssuer;
+		/** 만료일 정렬 순서 */
+		final int[] m_expiryOrder;
+		final long[] m_sortedNotAfter;
+
+		Catalog(List<UsimCertificate> certList, long lGeneration) {
+			m_lGeneration = lGeneration;
+			int nSize = certList.size();
+			m_arrCert = certList.toArray(new UsimCertificate[nSize]);
+			m_arrOID = new String[nSize];
+			m_arrSubject = new String[nSize];
+			m_arrIssuer = new String[nSize];
+			m_arrSerialHex = new String[nSize];
+			m_arrType = new String[nSize];
+			m_arrCaIdx = new int[nSize];
+			m_arrNotAfter = new long[nSize];
+
+			HashMap<String, ArrayList<Integer>> typeIndex = new HashMap<String, ArrayList<Integer>>();
+			ArrayList<ArrayList<Integer>> caIndex = new ArrayList<ArrayList<Integer>>();
+			for(int i = 0; i <= UsimCertService.IDX_CA_SIGNGATE; i++) {
+				caIndex.add(new ArrayList<Integer>());
+			}
+
+			for(int i = 0; i < nSize; i++) {
+				UsimCertificate usimCert = m_arrCert[i];
+				X509Certificate x509 = usimCert.getCert();
+				m_arrOID[i] = usimCert.getOID();
+				m_arrType[i] = usimCert.getType();
+				if(x509 != null) {
+					m_arrSubject[i] = x509.getSubjectDN().getName();
+					m_arrIssuer[i] = x509.getIssuerDN().getName();
+					m_arrSerialHex[i] = x509.getSerialNumber().toString(16);
+					m_arrNotAfter[i] = x509.getNotAfter().getTime();
+				}
+				else {
+					m_arrSubject[i] = "";
+					m_arrIssuer[i] = usimCert.getIssuer() != null ? usimCert.getIssuer() : "";
+				}
+				m_arrCaIdx[i] = getCaIdx(m_arrIssuer[i]);
+
+				addPosting(typeIndex, m_arrType[i], i);
+				caIndex.get(m_arrCaIdx[i]).add(i);
+			}
+
+			m_typeIndex = toIntIndex(typeIndex);
+			m_caIndex = new int[caIndex.size()][];
+			for(int i = 0; i < m_caIndex.length; i++) {
+				m_caIndex[i] = toIntArray(caIndex.get(i));
+			}
+
+			m_subjectOrder = sortOrder(m_arrSubject);
+			m_sortedSubject = new String[nSize];
+			m_issuerOrder = sortOrder(m_arrIssuer);
+			m_sortedIssuer = new String[nSize];
+			m_expiryOrder = sortOrder(m_arrNotAfter);
+			m_sortedNotAfter = new long[nSize];
+			for(int i = 0; i < nSize; i++) {
+				m_sortedSubject[i] = m_arrSubject[m_subjectOrder[i]];
+				m_sortedIssuer[i] = m_arrIssuer[m_issuerOrder[i]];
+				m_sortedNotAfter[i] = m_arrNotAfter[m_expiryOrder[i]];
+			}
+		}
+
+		/**
+		 * 변경 내역을 반영한 새 카탈로그 생성<br>
+		 * 변경된 인증서는 기존 위치를 유지하고, 추가된 인증서는 USIM 인증서 index 순서에 맞는 위치에 삽입함
+		 * @param delta - 변경 내역
+		 * @return Catalog - 새 카탈로그
+		 */
+		Catalog apply(UsimCertDelta delta) {
+			HashMap<Integer, UsimCertificate> added = new HashMap<Integer, UsimCertificate>();
+			for(UsimCertificate usimCert : delta.getAddedList()) {
+				added.put(usimCert.getCertIdx(), usimCert);
+			}
+			HashSet<Integer> removed = new HashSet<Integer>();
+			for(int nIdx : delta.getRemovedIdx()) {
+				removed.add(nIdx);
+			}
+
+			ArrayList<UsimCertificate> certList = new ArrayList<UsimCertificate>(m_arrCert.length + added.size());
+			for(UsimCertificate usimCert : m_arrCert) {
+				UsimCertificate replaced = added.remove(usimCert.getCertIdx());
+				if(replaced != null) {
+					certList.add(replaced);
+				}
+				else if(!removed.contains(usimCert.getCertIdx())) {
+					certList.add(usimCert);
+				}
+			}
+			for(UsimCertificate usimCert : added.values()) {
+				int nPos = certList.size();
+				for(int i = 0; i < certList.size(); i++) {
+					if(certList.get(i).getCertIdx() > usimCert.getCertIdx()) {
+						nPos = i;
+						break;
+					}
+				}
+				certList.add(nPos, usimCert);
+			}
+			return new Catalog(certList, delta.getGeneration());
+		}
+
+		/**
+		 * 전체 인증서 개수 반환
+		 * @return int - 인증서 개수
+		 */
+		int size() {
+			return m_arrCert.length;
+		}
+
+		ArrayList<UsimCertificate> query(boolean[] arrMatch) {
+			ArrayList<UsimCertificate> result = new ArrayList<UsimCertificate>();
+			for(int i = 0; i < arrMatch.length; i++) {
+				if(arrMatch[i]) {
+					result.add(m_arrCert[i]);
+				}
+			}
+			return result;
+		}
+
+		static int count(boolean[] arrMatch) {
+			int nCnt = 0;
+			for(int i = 0; i < arrMatch.length; i++) {
+				if(arrMatch[i]) {
+					nCnt++;
+				}
+			}
+			return nCnt;
+		}
+
+		ArrayList<UsimCertificate> queryByExpiry(boolean[] arrMatch, boolean bAscending) {
+			ArrayList<UsimCertificate> result = new ArrayList<UsimCertificate>();
+			for(int i = 0; i < m_expiryOrder.length; i++) {
+				int nPos = m_expiryOrder[bAscending ? i : m_expiryOrder.length - 1 - i];
+				if(arrMatch[nPos]) {
+					result.add(m_arrCert[nPos]);
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * 서비스 조건 조회 - 같은 조건의 이전 조회 결과가 유효하면 서비스를 호출하지 않음<br>
+		 * OID 조건은 getOIDFilteredUsimCertList, 그 외 조건은 getFilteredUsimCertList 로 조회하며(기존 API 와 같은 인자),
+		 * OID 와 다른 서비스 조건이 함께 있으면 두 결과에 모두 포함된 인증서
+		 * @param usimCertMgr - 서비스 제공 stub
+		 * @param filter - 필터
+		 * @return HashSet&lt;Integer&gt; - 조건에 맞는 인증서 index(서비스 조회 결과가 없으면 null)
+		 * @throws RemoteException
+		 */
+		HashSet<Integer> serviceMatch(UsimCertMgr usimCertMgr, UsimCertFilter filter) throws RemoteException {
+			String strKey = filter.getServiceKey();
+			long lNow = System.currentTimeMillis();
+			synchronized(m_serviceMatch) {
+				ServiceMatch cached = m_serviceMatch.get(strKey);
+				if(cached != null && lNow < cached.m_lValidUntil) {
+					return cached.m_certIdx;
+				}
+			}
+
+			boolean bShowExpired = filter.isServiceShowExpired();
+			HashSet<Integer> certIdx = null;
+			if(filter.getOID() != null) {
+				certIdx = toCertIdx(usimCertMgr.getOIDFilteredUsimCertList(filter.getOID(), bShowExpired));
+				if(certIdx == null) {
+					return null;
+				}
+			}
+			if(filter.getOID() == null || filter.getSerialNumber() != null || filter.getExactSubjectDN() != null || filter.getExactIssuerDN() != null) {
+				HashSet<Integer> dnIdx = toCertIdx(usimCertMgr.getFilteredUsimCertList(filter.getExactSubjectDN(), filter.getExactIssuerDN(),
+						filter.getSerialNumber(), bShowExpired));
+				if(dnIdx == null) {
+					return null;
+				}
+				if(certIdx == null) {
+					certIdx = dnIdx;
+				} else {
+					certIdx.retainAll(dnIdx);
+				}
+			}
+
+			// 만료된 인증서를 제외한 결과는 목록 내 다음 인증서 만료 시각까지 유효
+			long lValidUntil = Long.MAX_VALUE;
+			if(!bShowExpired) {
+				int nNext = upperBound(m_sortedNotAfter, lNow);
+				if(nNext < m_sortedNotAfter.length) {
+					lValidUntil = m_sortedNotAfter[nNext];
+				}
+			}
+			synchronized(m_serviceMatch) {
+				if(m_serviceMatch.size() >= MAX_SERVICE_MATCH) {
+					m_serviceMatch.clear();
+				}
+				m_serviceMatch.put(strKey, new ServiceMatch(certIdx, lValidUntil));
+			}
+			return certIdx;
+		}
+
+		/**
+		 * 로컬 조건 일치 여부 계산<br>
+		 * 가장 범위가 좁은 index 의 후보만 전체 조건으로 검사함. 서비스 조건(OID, Serial)은 비교하지 않으므로
+		 * UsimCertFilter.getLocalFilter() 를 전달해야 함
+		 * @param filter - 필터
+		 * @return boolean[] - USIM 저장 순서 기준 일치 여부
+		 */
+		boolean[] match(UsimCertFilter filter) {
+			boolean[] arrMatch = new boolean[m_arrCert.length];
+			long lCutOff = getCutOff(filter);
+
+			// 후보 목록 : 지정된 index 중 가장 작은 목록을 사용
+			int[] candidate = null;
+			int nFrom = 0;
+			int nTo = m_arrCert.length;
+			if(filter.getType() != null) {
+				candidate = smaller(candidate, posting(m_typeIndex, filter.getType()));
+			}
+			if(filter.getCaIdx() > 0) {
+				candidate = smaller(candidate, filter.getCaIdx() < m_caIndex.length ? m_caIndex[filter.getCaIdx()] : new int[0]);
+			}
+
+			int[] order = null;
+			if(filter.getSubjectDN() != null) {
+				int nLow = lowerBound(m_sortedSubject, filter.getSubjectDN());
+				int nHigh = filter.isSubjectPrefix() ? lowerBound(m_sortedSubject, filter.getSubjectDN() + '\uffff') : upperBound(m_sortedSubject, filter.getSubjectDN());
+				if(candidate == null || nHigh - nLow < candidate.length) {
+					order = m_subjectOrder;
+					nFrom = nLow;
+					nTo = nHigh;
+				}
+			}
+			if(filter.getIssuerDN() != null) {
+				int nLow = lowerBound(m_sortedIssuer, filter.getIssuerDN());
+				int nHigh = filter.isIssuerPrefix() ? lowerBound(m_sortedIssuer, filter.getIssuerDN() + '\uffff') : upperBound(m_sortedIssuer, filter.getIssuerDN());
+				if((candidate == null || nHigh - nLow < candidate.length) && (order == null || nHigh - nLow < nTo - nFrom)) {
+					order = m_issuerOrder;
+					nFrom = nLow;
+					nTo = nHigh;
+				}
+			}
+			if(lCutOff > 0) {
+				int nLow = lowerBound(m_sortedNotAfter, lCutOff);
+				int nHigh = m_sortedNotAfter.length;
+				if((candidate == null || nHigh - nLow < candidate.length) && (order == null || nHigh - nLow < nTo - nFrom)) {
+					order = m_expiryOrder;
+					nFrom = nLow;
+					nTo = nHigh;
+				}
+			}
+
+			if(order != null) {
+				for(int i = nFrom; i < nTo; i++) {
+					int nPos = order[i];
+					arrMatch[nPos] = matches(nPos, filter, lCutOff);
+				}
+			}
+			else if(candidate != null) {
+				for(int nPos : candidate) {
+					arrMatch[nPos] = matches(nPos, filter, lCutOff);
+				}
+			}
+			else {
+				for(int nPos = 0; nPos < arrMatch.length; nPos++) {
+					arrMatch[nPos] = matches(nPos, filter, lCutOff);
+				}
+			}
+			return arrMatch;
+		}
+
+		private boolean matches(int nPos, UsimCertFilter filter, long lCutOff) {
+			if(filter.getType() != null && !filter.getType().equals(m_arrType[nPos])) {
+				return false;
+			}
+			if(filter.getCaIdx() > 0 && filter.getCaIdx() != m_arrCaIdx[nPos]) {
+				return false;
+			}
+			if(filter.getSubjectDN() != null && !matchDN(m_arrSubject[nPos], filter.getSubjectDN(), filter.isSubjectPrefix())) {
+				return false;
+			}
+			if(filter.getIssuerDN() != null && !matchDN(m_arrIssuer[nPos], filter.getIssuerDN(), filter.isIssuerPrefix())) {
+				return false;
+			}
+			if(lCutOff > 0 && m_arrNotAfter[nPos] < lCutOff) {
+				return false;
+			}
+			return true;
+		}
+
+		/**
+		 * DN 비교 - getName() 문자열 그대로 비교(정규화 없음). 전체 일치 조건은 서비스에서 비교하므로
+		 * UsimCertStore 에서는 앞부분 일치 조건만 전달됨
+		 */
+		private static boolean matchDN(String strDN, String strFilter, boolean bPrefix) {
+			return bPrefix ? strDN.startsWith(strFilter) : strDN.equals(strFilter);
+		}
+
+		private static long getCutOff(UsimCertFilter filter) {
+			if(filter.isShowExpired()) {
+				return 0;
+			}
+			return filter.getExpiryCutOff() != 0 ? filter.getExpiryCutOff() : System.currentTimeMillis();
+		}
+
+		private static int[] posting(HashMap<String, int[]> index, String strKey) {
+			int[] posting = index.get(strKey);
+			return posting != null ? posting : new int[0];
+		}
+
+		private static int[] smaller(int[] a, int[] b) {
+			return (a == null || b.length < a.length) ? b : a;
+		}
+
+		private static void addPosting(HashMap<String, ArrayList<Integer>> index, String strKey, int nPos) {
+			if(strKey == null) {
+				return;
+			}
+			ArrayList<Integer> posting = index.get(strKey);
+			if(posting == null) {
+				posting = new ArrayList<Integer>();
+				index.put(strKey, posting);
+			}
+			posting.add(nPos);
+		}
+
+		private static HashMap<String, int[]> toIntIndex(HashMap<String, ArrayList<Integer>> index) {
+			HashMap<String, int[]> result = new HashMap<String, int[]>();
+			for(String strKey : index.keySet()) {
+				result.put(strKey, toIntArray(index.get(strKey)));
+			}
+			return result;
+		}
+
+		private static int[] toIntArray(List<Integer> list) {
+			int[] result = new int[list.size()];
+			for(int i = 0; i < result.length; i++) {
+				result[i] = list.get(i);
+			}
+			return result;
+		}
+
+		private static int[] sortOrder(final String[] arrKey) {
+			Integer[] order = new Integer[arrKey.length];
+			for(int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					return arrKey[a].compareTo(arrKey[b]);
+				}
+			});
+			return toIntArray(Arrays.asList(order));
+		}
+
+		private static int[] sortOrder(final long[] arrKey) {
+			Integer[] order = new Integer[arrKey.length];
+			for(int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, new Comparator<Integer>() {
+				@Override
+				public int compare(Integer a, Integer b) {
+					return arrKey[a] < arrKey[b] ? -1 : (arrKey[a] == arrKey[b] ? 0 : 1);
+				}
+			});
+			return toIntArray(Arrays.asList(order));
+		}
+
+		private static int lowerBound(String[] arrSorted, String strKey) {
+			int nLow = 0;
+			int nHigh = arrSorted.length;
+			while(nLow < nHigh) {
+				int nMid = (nLow + nHigh) >>> 1;
+				if(arrSorted[nMid].compareTo(strKey) < 0) {
+					nLow = nMid + 1;
+				} else {
+					nHigh = nMid;
+				}
+			}
+			return nLow;
+		}
+
+		private static int upperBound(String[] arrSorted, String strKey) {
+			int nLow = 0;
+			int nHigh = arrSorted.length;
+			while(nLow < nHigh) {
+				int nMid = (nLow + nHigh) >>> 1;
+				if(arrSorted[nMid].compareTo(strKey) <= 0) {
+					nLow = nMid + 1;
+				} else {
+					nHigh = nMid;
+				}
+			}
+			return nLow;
+		}
+
+		private static int upperBound(long[] arrSorted, long lKey) {
+			int nLow = 0;
+			int nHigh = arrSorted.length;
+			while(nLow < nHigh) {
+				int nMid = (nLow + nHigh) >>> 1;
+				if(arrSorted[nMid] <= lKey) {
+					nLow = nMid + 1;
+				} else {
+					nHigh = nMid;
+				}
+			}
+			return nLow;
+		}
+
+		private static int lowerBound(long[] arrSorted, long lKey) {
+			int nLow = 0;
+			int nHigh = arrSorted.length;
+			while(nLow < nHigh) {
+				int nMid = (nLow + nHigh) >>> 1;
+				if(arrSorted[nMid] < lKey) {
+					nLow = nMid + 1;
+				} else {
+					nHigh = nMid;
+				}
+			}
+			return nLow;
+		}
+	}
+}
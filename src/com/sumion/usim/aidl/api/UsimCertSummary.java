@@ -0,0 +1,75 @@
+package com.sumion.usim.aidl.api;
+
+import java.security.cert.X509Certificate;
+
+/**
+ * 저장된(warm start) 인증서 목록 항목<br>
+ * 서비스 연결 전 목록 표시용으로, 표시 항목은 저장 파일에서 필요할 때 읽으며 인증서 객체는 getCert() 호출 시에만 생성함.
+ * 서비스 연결 후에는 getUsimCertList() 결과로 교체해야 함
+ */
+public final class UsimCertSummary {
+	private final UsimWarmCatalog m_warm;
+	/** 저장 목록 내 위치(USIM 저장 순서) */
+	private final int m_nPos;
+
+	UsimCertSummary(UsimWarmCatalog warm, int nPos) {
+		m_warm = warm;
+		m_nPos = nPos;
+	}
+
+	/**
+	 * USIM 인증서 index 반환
+	 * @return int - 인증서 index
+	 */
+	public int getCertIdx() {
+		return m_warm.getCertIdx(m_nPos);
+	}
+
+	/**
+	 * Subject DN 반환
+	 * @return String - Subject DN
+	 */
+	public String getSubjectDN() {
+		return m_warm.getSubjectDN(m_nPos);
+	}
+
+	/**
+	 * Issuer DN 반환
+	 * @return String - Issuer DN
+	 */
+	public String getIssuerDN() {
+		return m_warm.getIssuerDN(m_nPos);
+	}
+
+	/**
+	 * Serial Number 반환
+	 * @return String - Serial Number(16진수)
+	 */
+	public String getSerialNumber() {
+		return m_warm.getSerialNumber(m_nPos);
+	}
+
+	/**
+	 * 만료일 반환
+	 * @return long - 만료일(ms)
+	 */
+	public long getNotAfter() {
+		return m_warm.getNotAfter(m_nPos);
+	}
+
+	public String getOID() {
+		return m_warm.getOID(m_nPos);
+	}
+
+	public String getType() {
+		return m_warm.getType(m_nPos);
+	}
+
+	/**
+	 * 인증서 반환(호출 시 DER 변환)
+	 * @return X509Certificate - 인증서
+	 */
+	public X509Certificate getCert() {
+		return m_warm.getCert(m_nPos);
+	}
+}
@@ -0,0 +1,199 @@
+package com.sumion.usim.aidl.api;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.telephony.TelephonyManager;
+
+import com.sumion.usim.aidl.UsimTokenInfo;
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * SIM 식별 정보(ICCID, MCC/MNC, 전화번호, 통신사 Agent 패키지) 및 토큰 정보 snapshot class<br>
+ * 최초 조회 시 한 번만 TelephonyManager/서비스에 조회하여 프로세스 전체에서 공유하며,
+ * SIM 상태 변경 broadcast 수신 시 모두 초기화하고 토큰 정보는 USIM 쓰기 작업 후에도 초기화함
+ */
+final class UsimIdentity {
+	/** SIM 상태 변경 broadcast(TelephonyIntents.ACTION_SIM_STATE_CHANGED) */
+	private static final String ACTION_SIM_STATE_CHANGED = "android.intent.action.SIM_STATE_CHANGED";
+
+	////////////////////////////// 통신사 MCC/MNC ///////////////////////////////////////
+	private static final String MCC_MNC_SKT = "45005";
+	private static final String MCC_MNC_KT = "45008";
+	private static final String MCC_MNC_LGT = "45006";
+
+	/** SEIO Agent 패키지 명 */
+	static final String PACKAGE_NAME_SEIO = "com.skp.seio";
+	/** KT Agent 패키지 명*/
+	static final String PACKAGE_NAME_OLLEH = "com.kt.ollehusimmanager";
+	/** LGT TSM Proxy 패키지 명*/
+	static final String PACKAGE_NAME_LGT = UsimCertService.LGT_PKG_NAME;
+
+	/** 현재 snapshot(초기화된 경우 null) */
+	private static volatile UsimIdentity s_snapshot;
+	/** 현재 토큰 정보(초기화된 경우 null) */
+	private static volatile UsimTokenInfo s_tokenInfo;
+	/** SIM 식별 정보 초기화 순번 */
+	private static int s_nSimEpoch;
+	/** 토큰 정보 초기화 순번 */
+	private static int s_nTokenEpoch;
+	/** SIM 상태 변경 수신기 */
+	private static BroadcastReceiver s_receiver;
+
+	/** USIM Serial(ICCID, 조회 불가 시 null) */
+	private final String m_strIccid;
+	/** MCC/MNC */
+	private final String m_strMccMnc;
+	/** 통신사 구분(SKT/KT/LGU/UNKNOWN) */
+	private final String m_strOperator;
+	/** 전화번호(국내 형식, 조회 불가 시 null) */
+	private final String m_strLineNumber;
+	/** 통신사 Agent 패키지 명(지원하지 않는 통신사는 null) */
+	private final String m_strAgentPackage;
+
+	private UsimIdentity(String strIccid, String strMccMnc, String strLineNumber) {
+		m_strIccid = strIccid;
+		m_strMccMnc = strMccMnc;
+		m_strLineNumber = strLineNumber;
+		if(MCC_MNC_SKT.equals(strMccMnc)) {
+			m_strOperator = "SKT";
+			m_strAgentPackage = PACKAGE_NAME_SEIO;
+		} else if(MCC_MNC_KT.equals(strMccMnc)) {
+			m_strOperator = "KT";
+			m_strAgentPackage = PACKAGE_NAME_OLLEH;
+		} else if(MCC_MNC_LGT.equals(strMccMnc)) {
+			m_strOperator = "LGU";
+			m_strAgentPackage = PACKAGE_NAME_LGT;
+		} else {
+			m_strOperator = "UNKNOWN";
+			m_strAgentPackage = null;
+		}
+	}
+
+	/**
+	 * SIM 식별 정보 snapshot 반환(없으면 TelephonyManager 에서 조회)
+	 * @param context - Context
+	 * @return UsimIdentity - SIM 식별 정보
+	 */
+	static UsimIdentity get(Context context) {
+		UsimIdentity snapshot = s_snapshot;
+		if(snapshot != null) {
+			return snapshot;
+		}
+
+		int nEpoch;
+		synchronized(UsimIdentity.class) {
+			register(context);
+			nEpoch = s_nSimEpoch;
+		}
+
+		TelephonyManager telephonyManager = (TelephonyManager) context.getSystemService(Context.TELEPHONY_SERVICE);
+		String strIccid = null;
+		String strLineNumber = null;
+		try {
+			strIccid = telephonyManager.getSimSerialNumber();
+			strLineNumber = telephonyManager.getLine1Number();
+			if(strLineNumber != null && strLineNumber.length() > 0) {
+				strLineNumber = strLineNumber.replace("+82", "0");
+			} else {
+				String strDeviceId = telephonyManager.getDeviceId();
+				strLineNumber = strDeviceId != null && strDeviceId.length() >= 8 ? "010" + strDeviceId.substring(0, 8) : null;
+			}
+		} catch(SecurityException e) {  // READ_PHONE_STATE 권한 없음
+			LogUtil.w("UsimIdentity", "phone state not readable : {}", e.getMessage());
+		}
+		snapshot = new UsimIdentity(strIccid, telephonyManager.getSimOperator(), strLineNumber);
+
+		synchronized(UsimIdentity.class) {
+			// 조회 중 SIM 이 변경된 경우 저장하지 않음
+			if(nEpoch == s_nSimEpoch) {
+				s_snapshot = snapshot;
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * 저장된 토큰 정보 반환
+	 * @return UsimTokenInfo - 토큰 정보(없으면 null)
+	 */
+	static UsimTokenInfo getTokenInfo() {
+		return s_tokenInfo;
+	}
+
+	/**
+	 * 토큰 정보 조회 시작 시점의 초기화 순번 반환(putTokenInfo 에 전달)
+	 * @return int - 초기화 순번
+	 */
+	static synchronized int getTokenEpoch() {
+		return s_nTokenEpoch;
+	}
+
+	/**
+	 * 조회한 토큰 정보 저장(조회 중 초기화된 경우 무시)
+	 * @param nEpoch - 조회 시작 시점의 초기화 순번
+	 * @param tokenInfo - 토큰 정보
+	 */
+	static synchronized void putTokenInfo(int nEpoch, UsimTokenInfo tokenInfo) {
+		if(nEpoch == s_nTokenEpoch && tokenInfo != null) {
+			s_tokenInfo = tokenInfo;
+		}
+	}
+
+	/**
+	 * 토큰 정보 초기화 - USIM 쓰기 작업(발급/갱신/저장/삭제) 후 호출
+	 */
+	static synchronized void invalidateTokenInfo() {
+		s_nTokenEpoch++;
+		s_tokenInfo = null;
+	}
+
+	/**
+	 * SIM 식별 정보 및 토큰 정보 초기화
+	 */
+	static synchronized void invalidate() {
+		s_nSimEpoch++;
+		s_snapshot = null;
+		invalidateTokenInfo();
+	}
+
+	/**
+	 * SIM 상태 변경 수신기 등록(최초 1회, application context 사용)
+	 */
+	private static void register(Context context) {
+		if(s_receiver != null) {
+			return;
+		}
+		s_receiver = new BroadcastReceiver() {
+
+			@Override
+			public void onReceive(Context context, Intent intent) {
+				LogUtil.d("UsimIdentity", "sim state changed : {}", intent.getStringExtra("ss"));
+				invalidate();
+			}
+		};
+		Context appContext = context.getApplicationContext();
+		(appContext != null ? appContext : context).registerReceiver(s_receiver, new IntentFilter(ACTION_SIM_STATE_CHANGED));
+	}
+
+	String getIccid() {
+		return m_strIccid;
+	}
+
+	String getMccMnc() {
+		return m_strMccMnc;
+	}
+
+	String getOperator() {
+		return m_strOperator;
+	}
+
+	String getLineNumber() {
+		return m_strLineNumber;
+	}
+
+	String getAgentPackage() {
+		return m_strAgentPackage;
+	}
+}
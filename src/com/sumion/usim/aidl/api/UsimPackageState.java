@@ -0,0 +1,103 @@
+package com.sumion.usim.aidl.api;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.PackageManager.NameNotFoundException;
+import android.net.Uri;
+
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * 스마트 USIM 서비스 앱 및 통신사 Agent 설치 상태 class<br>
+ * 패키지별로 최초 조회 시 한 번만 PackageManager 에 조회(flag 없음)하여 프로세스 전체에서 공유하며,
+ * 패키지 설치/삭제/갱신 broadcast 수신 시 해당 패키지 상태를 갱신함
+ */
+final class UsimPackageState {
+	/** 패키지별 설치 여부 */
+	private static final ConcurrentHashMap<String, Boolean> s_installed = new ConcurrentHashMap<String, Boolean>();
+	/** 조회 대상 패키지(broadcast 수신 시 갱신 대상) */
+	private static final Set<String> s_tracked = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	/** 패키지 변경 수신기 */
+	private static BroadcastReceiver s_receiver;
+
+	private UsimPackageState() {
+	}
+
+	/**
+	 * 패키지 설치 여부 반환(저장된 상태가 없으면 PackageManager 에서 조회)
+	 * @param context - Context
+	 * @param strPackage - 패키지 명
+	 * @return boolean - 설치 여부
+	 */
+	static boolean isInstalled(Context context, String strPackage) {
+		Boolean installed = s_installed.get(strPackage);
+		if(installed != null) {
+			return installed.booleanValue();
+		}
+
+		synchronized(UsimPackageState.class) {
+			register(context);
+		}
+		s_tracked.add(strPackage);
+		boolean bInstalled = query(context, strPackage);
+		// 조회 중 broadcast 로 갱신된 상태가 있으면 유지
+		installed = s_installed.putIfAbsent(strPackage, Boolean.valueOf(bInstalled));
+		return installed != null ? installed.booleanValue() : bInstalled;
+	}
+
+	/**
+	 * PackageManager 조회
+	 */
+	private static boolean query(Context context, String strPackage) {
+		try {
+			context.getPackageManager().getApplicationInfo(strPackage, 0);
+			return true;
+		} catch(NameNotFoundException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 패키지 변경 수신기 등록(최초 1회, application context 사용)
+	 */
+	private static void register(Context context) {
+		if(s_receiver != null) {
+			return;
+		}
+		s_receiver = new BroadcastReceiver() {
+
+			@Override
+			public void onReceive(Context context, Intent intent) {
+				Uri data = intent.getData();
+				String strPackage = data != null ? data.getSchemeSpecificPart() : null;
+				// 조회한 적 없는 패키지는 무시
+				if(strPackage == null || !s_tracked.contains(strPackage)) {
+					return;
+				}
+				String strAction = intent.getAction();
+				if(Intent.ACTION_PACKAGE_REMOVED.equals(strAction)) {
+					// 갱신 중 삭제는 무시(ACTION_PACKAGE_REPLACED 수신)
+					if(!intent.getBooleanExtra(Intent.EXTRA_REPLACING, false)) {
+						s_installed.put(strPackage, Boolean.FALSE);
+					}
+				} else {
+					s_installed.put(strPackage, Boolean.TRUE);
+				}
+				LogUtil.d("UsimPackageState", "package {} : {}", strAction, strPackage);
+			}
+		};
+		IntentFilter filter = new IntentFilter();
+		filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+		filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+		filter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+		filter.addDataScheme("package");
+		Context appContext = context.getApplicationContext();
+		(appContext != null ? appContext : context).registerReceiver(s_receiver, filter);
+	}
+}
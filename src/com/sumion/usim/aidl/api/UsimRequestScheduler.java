@@ -0,0 +1,501 @@
+package com.sumion.usim.aidl.api;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.sumion.usim.util.GlobalError;
+
+/**
+ * 자원 종류별 요청 실행 관리 class<br>
+ * USIM 카드 I/O, 메타데이터 조회, 중계 서버 HTTP 요청을 구분하여 종류별 동시 실행 수를 제한하고,
+ * 제한을 초과한 요청은 우선순위 순으로 대기시킴(대기 기한이 지나거나 대기열이 가득 차면 IN_USE 로 거절)
+ */
+final class UsimRequestScheduler {
+	/** USIM 카드 I/O(서명, VID, 발급, 삭제 등) */
+	static final int RESOURCE_CARD	= 0;
+	/** 메타데이터 조회(목록, 개수, 토큰 정보 등) */
+	static final int RESOURCE_META	= 1;
+	/** 중계 서버 HTTP 요청 */
+	static final int RESOURCE_RELAY	= 2;
+	private static final int RESOURCE_CNT = 3;
+
+	/** 종류별 기본 동시 실행 수 */
+	private static final int[] DEFAULT_LIMIT = { 1, 2, 2 };
+	/** 종류별 기본 대기열 크기 */
+	private static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+	////////////////////////////// 요청 상태 ///////////////////////////////////////
+	private static final int STATE_NEW		= 0;
+	private static final int STATE_WAITING	= 1;
+	private static final int STATE_GRANTED	= 2;
+	private static final int STATE_DONE		= 3;
+
+	/**
+	 * 실행 요청 단위
+	 */
+	abstract static class Ticket {
+		/** 자원 종류 */
+		final int m_nResource;
+		/** 우선순위(클수록 먼저 실행) */
+		final int m_nPriority;
+		/** 대기 기한(ms, System.nanoTime 기준) - 0 이면 무제한 */
+		final long m_lDeadline;
+		/** 요청 순서 */
+		long m_lSeq;
+		/** 상태 - scheduler lock 으로 보호 */
+		int m_nState = STATE_NEW;
+		/** 대기 기한 처리 예약 */
+		ScheduledFuture<?> m_expiry;
+
+		Ticket(int nResource, int nPriority, long lTimeoutMillis) {
+			m_nResource = nResource;
+			m_nPriority = nPriority;
+			m_lDeadline = lTimeoutMillis > 0 ? now() + lTimeoutMillis : 0;
+		}
+
+		/**
+		 * 실행 권한 획득 시 호출(scheduler lock 밖에서 호출됨)
+		 */
+		abstract void onGranted();
+
+		/**
+		 * 대기 중 거절된 경우 호출(scheduler lock 밖에서 호출됨)
+		 * @param strErrCode - 에러 코드
+		 * @param strErrMsg - 에러 메시지
+		 */
+		abstract void onRejected(String strErrCode, String strErrMsg);
+	}
+
+	/**
+	 * 동기 API 실행 요청 - 호출 thread 가 실행 권한 획득 또는 거절까지 대기
+	 */
+	static final class SyncTicket extends Ticket {
+		/** 거절 사유(실행 권한을 받았거나 대기 중이면 null) - ticket lock 으로 보호 */
+		private String m_strErrCode;
+		private String m_strErrMsg;
+		/** 실행 권한 획득 여부 - ticket lock 으로 보호 */
+		private boolean m_bGranted;
+
+		SyncTicket(int nResource, int nPriority) {
+			super(nResource, nPriority, 0);
+		}
+
+		@Override
+		synchronized void onGranted() {
+			if(m_strErrCode == null) {
+				m_bGranted = true;
+				notifyAll();
+			}
+		}
+
+		@Override
+		synchronized void onRejected(String strErrCode, String strErrMsg) {
+			// 실행 권한을 받은 후의 거절(서비스 연결 해제)은 호출 thread 가 release 하므로 무시
+			if(!m_bGranted && m_strErrCode == null) {
+				m_strErrCode = strErrCode;
+				m_strErrMsg = strErrMsg;
+				notifyAll();
+			}
+		}
+
+		/**
+		 * 거절 에러 코드 반환
+		 * @return String - 에러 코드, 실행 권한을 받았으면 null
+		 */
+		synchronized String getErrorCode() {
+			return m_strErrCode;
+		}
+
+		/**
+		 * 거절 에러 메시지 반환
+		 * @return String - 에러 메시지, 실행 권한을 받았으면 null
+		 */
+		synchronized String getErrorMessage() {
+			return m_strErrMsg;
+		}
+
+		/**
+		 * 실행 권한 획득 또는 거절까지 대기
+		 * @param lTimeoutMillis - 최대 대기 시간(ms)
+		 * @return boolean - 획득 또는 거절되었으면 true, 대기 시간이 지났거나 interrupt 되었으면 false
+		 */
+		private synchronized boolean await(long lTimeoutMillis) {
+			long lDeadline = now() + lTimeoutMillis;
+			while(!m_bGranted && m_strErrCode == null) {
+				long lRemain = lDeadline - now();
+				if(lRemain <= 0) {
+					return false;
+				}
+				try {
+					wait(lRemain);
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * 대기열에서 취소되지 않은 요청(실행 권한을 받았거나 거절 중)의 통지 완료까지 대기
+		 */
+		private synchronized void awaitResult() {
+			boolean bInterrupted = false;
+			while(!m_bGranted && m_strErrCode == null) {
+				try {
+					wait();
+				} catch(InterruptedException e) {
+					bInterrupted = true;
+				}
+			}
+			if(bInterrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * 실행 중인 요청 유무 변경 리스너
+	 */
+	interface ActivityListener {
+		/**
+		 * 실행 중인 요청 유무 변경 시 호출(scheduler lock 안에서 호출되므로 짧게 처리해야 함)
+		 * @param bActive - 실행 중인 요청이 있으면 true
+		 */
+		void onActivityChanged(boolean bActive);
+	}
+
+	/** 우선순위 높은 순, 같으면 먼저 요청된 순 */
+	private static final Comparator<Ticket> ORDER = new Comparator<Ticket>() {
+		@Override
+		public int compare(Ticket a, Ticket b) {
+			if(a.m_nPriority != b.m_nPriority) {
+				return a.m_nPriority > b.m_nPriority ? -1 : 1;
+			}
+			return a.m_lSeq < b.m_lSeq ? -1 : (a.m_lSeq == b.m_lSeq ? 0 : 1);
+		}
+	};
+
+	private final int[] m_arrLimit = DEFAULT_LIMIT.clone();
+	private final int[] m_arrRunning = new int[RESOURCE_CNT];
+	private final ArrayList<PriorityQueue<Ticket>> m_queues = new ArrayList<PriorityQueue<Ticket>>();
+	/** 실행 권한을 받은 요청(release 전) */
+	private final HashSet<Ticket> m_granted = new HashSet<Ticket>();
+	private int m_nQueueCapacity = DEFAULT_QUEUE_CAPACITY;
+	private long m_lSeq;
+	/** 전체 자원의 실행 중인 요청 수 */
+	private int m_nRunningTotal;
+	private ActivityListener m_activityListener;
+
+	/** background 작업 thread pool(프로세스 공통, 유휴 thread 는 60초 후 종료) */
+	private static final ExecutorService s_workers = Executors.newCachedThreadPool(new NamedThreadFactory("UsimCertService-worker"));
+	/** 대기/처리 기한 timer(프로세스 공통, 예약된 작업이 없으면 thread 종료) */
+	private static final ScheduledThreadPoolExecutor s_timer = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("UsimCertService-timer"));
+	static {
+		s_timer.setKeepAliveTime(60, TimeUnit.SECONDS);
+		s_timer.allowCoreThreadTimeOut(true);
+	}
+
+	UsimRequestScheduler() {
+		for(int i = 0; i < RESOURCE_CNT; i++) {
+			m_queues.add(new PriorityQueue<Ticket>(DEFAULT_QUEUE_CAPACITY, ORDER));
+		}
+	}
+
+	/**
+	 * 자원 종류별 동시 실행 수 설정
+	 * @param nResource - 자원 종류
+	 * @param nLimit - 동시 실행 수(1 이상)
+	 */
+	void setLimit(int nResource, int nLimit) {
+		Ticket[] granted;
+		synchronized(this) {
+			m_arrLimit[nResource] = Math.max(1, nLimit);
+			granted = grantLocked(nResource);
+		}
+		notifyGranted(granted);
+	}
+
+	/**
+	 * 실행 중인 요청 유무 변경 리스너 설정
+	 * @param listener - 리스너(null 이면 해제)
+	 */
+	synchronized void setActivityListener(ActivityListener listener) {
+		m_activityListener = listener;
+	}
+
+	/**
+	 * 자원 종류별 대기열 크기 설정
+	 * @param nCapacity - 대기열 크기
+	 */
+	synchronized void setQueueCapacity(int nCapacity) {
+		m_nQueueCapacity = Math.max(0, nCapacity);
+	}
+
+	/**
+	 * background thread 에서 작업 수행
+	 * @param runnable - 작업
+	 */
+	void execute(Runnable runnable) {
+		s_workers.execute(runnable);
+	}
+
+	/**
+	 * 지정 시간 후 작업 수행 예약
+	 * @param runnable - 작업
+	 * @param lDelayMillis - 지연 시간(ms)
+	 * @return ScheduledFuture<?> - 예약 취소용 handle
+	 */
+	ScheduledFuture<?> schedule(Runnable runnable, long lDelayMillis) {
+		return s_timer.schedule(runnable, Math.max(0, lDelayMillis), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 실행 요청 - 실행 가능하면 즉시 onGranted 가 호출되고, 아니면 대기열에 추가됨
+	 * @param ticket - 요청
+	 * @return boolean - false 이면 대기열이 가득 차 거절됨(onRejected 는 호출되지 않음)
+	 */
+	boolean submit(final Ticket ticket) {
+		Ticket evicted = null;
+		synchronized(this) {
+			ticket.m_lSeq = m_lSeq++;
+			PriorityQueue<Ticket> queue = m_queues.get(ticket.m_nResource);
+			if(m_arrRunning[ticket.m_nResource] < m_arrLimit[ticket.m_nResource] && queue.isEmpty()) {
+				runLocked(ticket.m_nResource, 1);
+				ticket.m_nState = STATE_GRANTED;
+				m_granted.add(ticket);
+			}
+			else {
+				if(queue.size() >= m_nQueueCapacity) {
+					evicted = lowest(queue);
+					if(evicted == null || evicted.m_nPriority >= ticket.m_nPriority) {
+						return false;
+					}
+					removeLocked(evicted);
+				}
+				ticket.m_nState = STATE_WAITING;
+				queue.add(ticket);
+				if(ticket.m_lDeadline > 0) {
+					ticket.m_expiry = s_timer.schedule(new Runnable() {
+
+						@Override
+						public void run() {
+							expire(ticket);
+						}
+					}, Math.max(0, ticket.m_lDeadline - now()), TimeUnit.MILLISECONDS);
+				}
+			}
+		}
+
+		if(evicted != null) {
+			evicted.onRejected(GlobalError.code.IN_USE, GlobalError.msg.IN_USE);
+		}
+		if(ticket.m_nState == STATE_GRANTED) {
+			ticket.onGranted();
+		}
+		return true;
+	}
+
+	/**
+	 * 실행 완료 처리 - 자원을 반환하고 대기 중인 다음 요청을 실행
+	 * @param ticket - 요청
+	 */
+	void release(Ticket ticket) {
+		Ticket[] granted;
+		synchronized(this) {
+			if(ticket.m_nState != STATE_GRANTED) {
+				return;
+			}
+			ticket.m_nState = STATE_DONE;
+			m_granted.remove(ticket);
+			runLocked(ticket.m_nResource, -1);
+			granted = grantLocked(ticket.m_nResource);
+		}
+		notifyGranted(granted);
+	}
+
+	/**
+	 * 대기 중인 요청 취소(대기열에서 제거)
+	 * @param ticket - 요청
+	 * @return boolean - 대기 중이던 요청이 제거되었는지 여부
+	 */
+	synchronized boolean cancel(Ticket ticket) {
+		if(ticket.m_nState != STATE_WAITING) {
+			return false;
+		}
+		removeLocked(ticket);
+		return true;
+	}
+
+	/**
+	 * 실행 권한 획득(동기 API 용) - 실행 자리가 없으면 최대 lTimeoutMillis 동안 대기<br>
+	 * 대기 중에는 우선순위 순으로 실행되므로 우선순위가 더 낮은 대기 요청보다 먼저 실행되며,
+	 * 대기열이 가득 찬 경우 우선순위가 더 낮은 대기 요청을 밀어냄
+	 * @param nResource - 자원 종류
+	 * @param nPriority - 우선순위
+	 * @param lTimeoutMillis - 최대 대기 시간(ms), 0 이하이면 대기하지 않음
+	 * @return SyncTicket - 요청(getErrorCode() 가 null 이면 획득한 권한으로 release 로 반환해야 함)
+	 */
+	SyncTicket acquire(int nResource, int nPriority, long lTimeoutMillis) {
+		SyncTicket ticket = new SyncTicket(nResource, nPriority);
+		if(lTimeoutMillis <= 0) {
+			synchronized(this) {
+				if(m_arrRunning[nResource] < m_arrLimit[nResource] && m_queues.get(nResource).isEmpty()) {
+					ticket.m_lSeq = m_lSeq++;
+					ticket.m_nState = STATE_GRANTED;
+					m_granted.add(ticket);
+					runLocked(nResource, 1);
+				}
+			}
+			if(ticket.m_nState == STATE_GRANTED) {
+				ticket.onGranted();
+			} else {
+				ticket.onRejected(GlobalError.code.IN_USE, GlobalError.msg.IN_USE);
+			}
+			return ticket;
+		}
+		if(!submit(ticket)) {
+			ticket.onRejected(GlobalError.code.IN_USE, GlobalError.msg.IN_USE);
+			return ticket;
+		}
+		if(!ticket.await(lTimeoutMillis)) {
+			if(cancel(ticket)) {
+				ticket.onRejected(GlobalError.code.IN_USE, GlobalError.msg.IN_USE);
+			} else {
+				// 취소 직전에 실행 권한을 받았거나 거절됨 - 통지 완료까지 대기
+				ticket.awaitResult();
+			}
+		}
+		return ticket;
+	}
+
+	/**
+	 * 대기 중인 요청과 실행 권한을 받은 요청 모두 거절 처리(서비스 연결 해제 시)<br>
+	 * 대기 중인 요청은 대기열에서 제거되며, 실행 중인 요청은 onRejected 후 release 될 때 자원이 반환됨
+	 * @param strErrCode - 에러 코드
+	 * @param strErrMsg - 에러 메시지
+	 */
+	void abortAll(String strErrCode, String strErrMsg) {
+		ArrayList<Ticket> aborted = new ArrayList<Ticket>();
+		synchronized(this) {
+			for(PriorityQueue<Ticket> queue : m_queues) {
+				while(!queue.isEmpty()) {
+					Ticket ticket = queue.peek();
+					removeLocked(ticket);
+					aborted.add(ticket);
+				}
+			}
+			aborted.addAll(m_granted);
+		}
+		for(Ticket ticket : aborted) {
+			ticket.onRejected(strErrCode, strErrMsg);
+		}
+	}
+
+	/**
+	 * 대기 기한 경과 처리
+	 */
+	private void expire(Ticket ticket) {
+		synchronized(this) {
+			if(ticket.m_nState != STATE_WAITING) {
+				return;
+			}
+			removeLocked(ticket);
+		}
+		ticket.onRejected(GlobalError.code.IN_USE, GlobalError.msg.IN_USE);
+	}
+
+	private void removeLocked(Ticket ticket) {
+		m_queues.get(ticket.m_nResource).remove(ticket);
+		ticket.m_nState = STATE_DONE;
+		if(ticket.m_expiry != null) {
+			ticket.m_expiry.cancel(false);
+			ticket.m_expiry = null;
+		}
+	}
+
+	/**
+	 * 빈 실행 자리만큼 대기 중인 요청에 실행 권한 부여
+	 * @return Ticket[] - 실행 권한을 받은 요청(없으면 null)
+	 */
+	private Ticket[] grantLocked(int nResource) {
+		PriorityQueue<Ticket> queue = m_queues.get(nResource);
+		ArrayList<Ticket> granted = null;
+		while(m_arrRunning[nResource] < m_arrLimit[nResource] && !queue.isEmpty()) {
+			Ticket next = queue.poll();
+			if(next.m_expiry != null) {
+				next.m_expiry.cancel(false);
+				next.m_expiry = null;
+			}
+			next.m_nState = STATE_GRANTED;
+			m_granted.add(next);
+			runLocked(nResource, 1);
+			if(granted == null) {
+				granted = new ArrayList<Ticket>(1);
+			}
+			granted.add(next);
+		}
+		return granted == null ? null : granted.toArray(new Ticket[granted.size()]);
+	}
+
+	/**
+	 * 실행 중인 요청 수 변경 - 전체 실행 수가 0 이 되거나 0 에서 벗어나면 리스너 호출
+	 */
+	private void runLocked(int nResource, int nDelta) {
+		m_arrRunning[nResource] += nDelta;
+		int nPrevTotal = m_nRunningTotal;
+		m_nRunningTotal += nDelta;
+		if(m_activityListener != null && (nPrevTotal == 0) != (m_nRunningTotal == 0)) {
+			m_activityListener.onActivityChanged(m_nRunningTotal > 0);
+		}
+	}
+
+	private static void notifyGranted(Ticket[] granted) {
+		if(granted != null) {
+			for(Ticket ticket : granted) {
+				ticket.onGranted();
+			}
+		}
+	}
+
+	private static Ticket lowest(PriorityQueue<Ticket> queue) {
+		Ticket lowest = null;
+		for(Ticket ticket : queue) {
+			if(lowest == null || ORDER.compare(ticket, lowest) > 0) {
+				lowest = ticket;
+			}
+		}
+		return lowest;
+	}
+
+	static long now() {
+		return System.nanoTime() / 1000000L;
+	}
+
+	/**
+	 * 이름이 지정된 daemon thread 생성
+	 */
+	private static final class NamedThreadFactory implements ThreadFactory {
+		private final String m_strName;
+		private int m_nCount;
+
+		NamedThreadFactory(String strName) {
+			m_strName = strName;
+		}
+
+		@Override
+		public synchronized Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, m_strName + "-" + (++m_nCount));
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package com.sumion.usim.aidl.api;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import android.os.ParcelFileDescriptor;
+
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * 대용량 서명 원문/결과 전달 처리 class<br>
+ * binder parcel 에 byte[] 를 복사하지 않고 pipe 파일 디스크립터만 전달하여 transaction buffer 한도와 이중 복사를 피함
+ */
+final class UsimSharedTransport {
+	/** 읽기 buffer 크기 */
+	private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+	private UsimSharedTransport() {
+	}
+
+	/**
+	 * 데이터를 기록할 pipe 생성 후 읽기용 파일 디스크립터 반환<br>
+	 * 기록은 별도 thread 에서 수행되며 상대편이 읽는 만큼 진행됨
+	 * @param data - 전달할 데이터
+	 * @return ParcelFileDescriptor - 읽기용 파일 디스크립터
+	 * @throws IOException
+	 */
+	static ParcelFileDescriptor share(final byte[] data) throws IOException {
+		ParcelFileDescriptor[] pipe = ParcelFileDescriptor.createPipe();
+		final ParcelFileDescriptor writeFd = pipe[1];
+
+		new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				OutputStream out = new ParcelFileDescriptor.AutoCloseOutputStream(writeFd);
+				try {
+					out.write(data);
+				}
+				catch (IOException e) {
+					// 상대편이 읽기를 중단한 경우
+					LogUtil.w("UsimSharedTransport", "share write failed : {}", e.getMessage());
+				}
+				finally {
+					closeQuietly(out);
+				}
+			}
+		}, "UsimSharedTransport").start();
+
+		return pipe[0];
+	}
+
+	/**
+	 * 파일 디스크립터의 데이터를 모두 읽고 닫음
+	 * @param fd - 읽기용 파일 디스크립터
+	 * @param nSizeHint - 예상 데이터 크기(모르는 경우 0)
+	 * @return byte[] - 읽은 데이터(fd 가 null 이면 null)
+	 * @throws IOException
+	 */
+	static byte[] receive(ParcelFileDescriptor fd, int nSizeHint) throws IOException {
+		if(fd == null) {
+			return null;
+		}
+
+		InputStream in = new ParcelFileDescriptor.AutoCloseInputStream(fd);
+		try {
+			byte[] buf = new byte[nSizeHint > 0 ? nSizeHint : READ_BUFFER_SIZE];
+			int nLen = 0;
+			int nRead;
+			while((nRead = in.read(buf, nLen, buf.length - nLen)) != -1) {
+				nLen += nRead;
+				if(nLen == buf.length) {
+					byte[] grow = new byte[buf.length * 2];
+					System.arraycopy(buf, 0, grow, 0, nLen);
+					buf = grow;
+				}
+			}
+			if(nLen == buf.length) {
+				return buf;
+			}
+			byte[] result = new byte[nLen];
+			System.arraycopy(buf, 0, result, 0, nLen);
+			return result;
+		}
+		finally {
+			closeQuietly(in);
+		}
+	}
+
+	/**
+	 * 파일 디스크립터 닫기(오류 무시)
+	 * @param fd - 파일 디스크립터
+	 */
+	static void closeQuietly(ParcelFileDescriptor fd) {
+		if(fd != null) {
+			try {
+				fd.close();
+			}
+			catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		try {
+			closeable.close();
+		}
+		catch (IOException e) {
+			// ignore
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package com.sumion.usim.aidl.api;
+
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+
+import com.sumion.usim.util.VidUtil;
+
+/**
+ * 인증서 하나에 대한 로컬 본인확인 session<br>
+ * 개인키 랜덤 값(R)을 session 생성 시 한 번만 USIM 에서 조회하여 보관하므로, 이후 verify() 는 카드 접근 및 PIN 입력 없이
+ * 프로세스 내에서 처리됨. 사용 후 close() 하면 보관한 R 값을 0 으로 채움
+ */
+public final class UsimVidSession {
+	/** 인증서 VID 정보 */
+	private final VidUtil.VirtualId m_virtualId;
+	/** 개인키 랜덤 값(R), close() 후 null */
+	private byte[] m_random;
+
+	UsimVidSession(X509Certificate cert, byte[] random) {
+		m_virtualId = VidUtil.getVirtualId(cert);
+		m_random = random;
+	}
+
+	/**
+	 * 인증서에 VID 정보가 포함되어 있는지 여부
+	 * @return boolean - VID 포함 여부(없으면 verify() 는 항상 false)
+	 */
+	public boolean hasVirtualId() {
+		return m_virtualId != null;
+	}
+
+	/**
+	 * 본인확인
+	 * @param ssn - 주민등록번호
+	 * @return boolean - 일치 여부(session 이 닫힌 경우 false)
+	 */
+	public synchronized boolean verify(byte[] ssn) {
+		if(m_random == null || m_virtualId == null || ssn == null) {
+			return false;
+		}
+		return m_virtualId.verify(ssn, m_random);
+	}
+
+	/**
+	 * session 종료 - 보관한 R 값을 0 으로 채움(여러 번 호출 가능)
+	 */
+	public synchronized void close() {
+		if(m_random != null) {
+			Arrays.fill(m_random, (byte) 0);
+			m_random = null;
+		}
+	}
+
+	/**
+	 * session 종료 여부
+	 * @return boolean - 종료 여부
+	 */
+	public synchronized boolean isClosed() {
+		return m_random == null;
+	}
+}
@@ -0,0 +1,361 @@
+package com.sumion.usim.aidl.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.sumion.usim.aidl.UsimCertificate;
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * 마지막으로 조회한 USIM 인증서 목록 저장 파일(warm start)<br>
+ * 프로세스 재시작 후 서비스 연결 전에도 목록을 표시할 수 있도록 앱 전용 파일에 저장하며,
+ * 읽을 때는 파일을 memory map 하여 필요한 항목만 바로 읽음(전체 parse 없음).
+ * 저장 당시의 ICCID 와 현재 ICCID 가 다르거나, 열 때 문자열/DER 위치 검사에 실패하면(손상된 파일) 파일을 삭제함<br>
+ * <pre>
+ * int    MAGIC, VERSION
+ * int    인증서 수, 문자열 수, 문자열 영역 크기, DER 영역 크기, ICCID 문자열 index
+ * int[]  문자열 시작 위치(문자열 수 + 1)
+ * int[]  인증서별 record(RECORD_WIDTH 개) - 문자열은 index(-1 은 null)
+ * byte[] 문자열 영역(UTF-8)
+ * byte[] DER 영역
+ * </pre>
+ */
+final class UsimWarmCatalog {
+	private static final int MAGIC = 0x55435743;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 7 * 4;
+
+	////////////////////////////// record 구성 ///////////////////////////////////////
+	private static final int REC_CERT_IDX		= 0;
+	private static final int REC_DER_OFFSET		= 1;
+	private static final int REC_DER_LENGTH		= 2;
+	private static final int REC_OID			= 3;
+	private static final int REC_TYPE			= 4;
+	private static final int REC_SUBJECT		= 5;
+	private static final int REC_ISSUER			= 6;
+	private static final int REC_SERIAL			= 7;
+	private static final int REC_NOT_AFTER_HI	= 8;
+	private static final int REC_NOT_AFTER_LO	= 9;
+	private static final int RECORD_WIDTH		= 10;
+
+	/** 파일 내용 */
+	private final ByteBuffer m_buffer;
+	private final int m_nCount;
+	private final int m_nStringCount;
+	private final int m_nRecordPos;
+	private final int m_nStringPos;
+	private final int m_nDerPos;
+
+	private UsimWarmCatalog(ByteBuffer buffer) {
+		m_buffer = buffer;
+		if(buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IllegalStateException("unsupported warm catalog");
+		}
+		m_nCount = buffer.getInt(8);
+		m_nStringCount = buffer.getInt(12);
+		int nStringBytes = buffer.getInt(16);
+		int nDerBytes = buffer.getInt(20);
+		if(m_nCount < 0 || m_nStringCount < 0 || nStringBytes < 0 || nDerBytes < 0
+				|| HEADER_SIZE + (m_nStringCount + 1L) * 4 + (long) m_nCount * RECORD_WIDTH * 4 + nStringBytes + nDerBytes != buffer.capacity()) {
+			throw new IllegalStateException("truncated warm catalog");
+		}
+		m_nRecordPos = HEADER_SIZE + (m_nStringCount + 1) * 4;
+		m_nStringPos = m_nRecordPos + m_nCount * RECORD_WIDTH * 4;
+		m_nDerPos = m_nStringPos + nStringBytes;
+
+		// 문자열 시작 위치는 0 부터 증가하며 마지막 값은 문자열 영역 크기
+		int nPrev = 0;
+		for(int i = 0; i <= m_nStringCount; i++) {
+			int nOffset = buffer.getInt(HEADER_SIZE + i * 4);
+			if(nOffset < nPrev || nOffset > nStringBytes || (i == 0 && nOffset != 0) || (i == m_nStringCount && nOffset != nStringBytes)) {
+				throw new IllegalStateException("invalid string offset : " + i);
+			}
+			nPrev = nOffset;
+		}
+		// record 의 문자열 index 와 DER 위치는 각 영역 안에 있어야 함
+		checkStringIdx(buffer.getInt(24));
+		for(int i = 0; i < m_nCount; i++) {
+			int nDerOffset = record(i, REC_DER_OFFSET);
+			int nDerLength = record(i, REC_DER_LENGTH);
+			if(nDerOffset < 0 || nDerLength < 0 || nDerOffset > nDerBytes - nDerLength) {
+				throw new IllegalStateException("invalid certificate offset : " + i);
+			}
+			checkStringIdx(record(i, REC_OID));
+			checkStringIdx(record(i, REC_TYPE));
+			checkStringIdx(record(i, REC_SUBJECT));
+			checkStringIdx(record(i, REC_ISSUER));
+			checkStringIdx(record(i, REC_SERIAL));
+		}
+	}
+
+	private void checkStringIdx(int nIdx) {
+		if(nIdx < -1 || nIdx >= m_nStringCount) {
+			throw new IllegalStateException("invalid string index : " + nIdx);
+		}
+	}
+
+	/**
+	 * 저장 파일 열기
+	 * @param file - 저장 파일
+	 * @param strIccid - 현재 ICCID
+	 * @return UsimWarmCatalog - 저장된 목록(파일이 없거나 ICCID 가 다르거나 손상된 경우 null)
+	 */
+	static UsimWarmCatalog open(File file, String strIccid) {
+		if(strIccid == null || !file.exists()) {
+			return null;
+		}
+		FileInputStream in = null;
+		try {
+			in = new FileInputStream(file);
+			FileChannel channel = in.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			UsimWarmCatalog warm = new UsimWarmCatalog(buffer);
+			if(strIccid.equals(warm.getString(buffer.getInt(24)))) {
+				return warm;
+			}
+			LogUtil.d("UsimWarmCatalog", "iccid changed, delete warm catalog");
+		} catch(IOException e) {
+			LogUtil.w("UsimWarmCatalog", "warm catalog not readable : {}", e.getMessage());
+			return null;
+		} catch(RuntimeException e) {  // 손상된 파일
+			LogUtil.w("UsimWarmCatalog", "invalid warm catalog : {}", e.getMessage());
+		} finally {
+			close(in);
+		}
+		file.delete();
+		return null;
+	}
+
+	/**
+	 * 인증서 목록 저장(임시 파일에 기록 후 교체)
+	 * @param file - 저장 파일
+	 * @param strIccid - 현재 ICCID
+	 * @param catalog - 저장할 카탈로그
+	 */
+	static void write(File file, String strIccid, UsimCertStore.Catalog catalog) {
+		int nCount = catalog.size();
+		ArrayList<String> stringList = new ArrayList<String>();
+		HashMap<String, Integer> stringIdx = new HashMap<String, Integer>();
+		int[] arrRecord = new int[nCount * RECORD_WIDTH];
+		byte[][] arrDer = new byte[nCount][];
+		int nDerSize = 0;
+		try {
+			for(int i = 0; i < nCount; i++) {
+				UsimCertificate usimCert = catalog.m_arrCert[i];
+				int nBase = i * RECORD_WIDTH;
+				arrDer[i] = usimCert.getCert() != null ? usimCert.getCert().getEncoded() : new byte[0];
+				arrRecord[nBase + REC_CERT_IDX] = usimCert.getCertIdx();
+				arrRecord[nBase + REC_DER_OFFSET] = nDerSize;
+				arrRecord[nBase + REC_DER_LENGTH] = arrDer[i].length;
+				arrRecord[nBase + REC_OID] = intern(catalog.m_arrOID[i], stringList, stringIdx);
+				arrRecord[nBase + REC_TYPE] = intern(catalog.m_arrType[i], stringList, stringIdx);
+				arrRecord[nBase + REC_SUBJECT] = intern(catalog.m_arrSubject[i], stringList, stringIdx);
+				arrRecord[nBase + REC_ISSUER] = intern(catalog.m_arrIssuer[i], stringList, stringIdx);
+				arrRecord[nBase + REC_SERIAL] = intern(catalog.m_arrSerialHex[i], stringList, stringIdx);
+				arrRecord[nBase + REC_NOT_AFTER_HI] = (int) (catalog.m_arrNotAfter[i] >>> 32);
+				arrRecord[nBase + REC_NOT_AFTER_LO] = (int) catalog.m_arrNotAfter[i];
+				nDerSize += arrDer[i].length;
+			}
+		} catch(CertificateEncodingException e) {
+			LogUtil.w("UsimWarmCatalog", "certificate encoding failed : {}", e.getMessage());
+			return;
+		}
+		int nIccid = intern(strIccid, stringList, stringIdx);
+
+		File tmpFile = new File(file.getPath() + ".tmp");
+		DataOutputStream out = null;
+		try {
+			byte[][] arrString = new byte[stringList.size()][];
+			int nStringBytes = 0;
+			for(int i = 0; i < arrString.length; i++) {
+				arrString[i] = stringList.get(i).getBytes("UTF-8");
+				nStringBytes += arrString[i].length;
+			}
+
+			out = new DataOutputStream(new FileOutputStream(tmpFile));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(nCount);
+			out.writeInt(arrString.length);
+			out.writeInt(nStringBytes);
+			out.writeInt(nDerSize);
+			out.writeInt(nIccid);
+			int nPos = 0;
+			for(byte[] str : arrString) {
+				out.writeInt(nPos);
+				nPos += str.length;
+			}
+			out.writeInt(nPos);
+			for(int nValue : arrRecord) {
+				out.writeInt(nValue);
+			}
+			for(byte[] str : arrString) {
+				out.write(str);
+			}
+			for(byte[] der : arrDer) {
+				out.write(der);
+			}
+			out.close();
+			out = null;
+			if(!tmpFile.renameTo(file)) {
+				LogUtil.w("UsimWarmCatalog", "warm catalog rename failed");
+				tmpFile.delete();
+			}
+		} catch(IOException e) {
+			LogUtil.w("UsimWarmCatalog", "warm catalog write failed : {}", e.getMessage());
+			close(out);
+			tmpFile.delete();
+		}
+	}
+
+	/**
+	 * 저장된 인증서 수
+	 */
+	int size() {
+		return m_nCount;
+	}
+
+	/**
+	 * 카탈로그와 같은 인증서 목록인지 확인(USIM 인증서 index 및 DER 비교)
+	 * @param catalog - 카탈로그
+	 * @return boolean - 동일 여부
+	 */
+	boolean sameAs(UsimCertStore.Catalog catalog) {
+		if(catalog.size() != m_nCount) {
+			return false;
+		}
+		try {
+			for(int i = 0; i < m_nCount; i++) {
+				UsimCertificate usimCert = catalog.m_arrCert[i];
+				if(usimCert.getCertIdx() != getCertIdx(i) || usimCert.getCert() == null) {
+					return false;
+				}
+				byte[] der = usimCert.getCert().getEncoded();
+				int nOff = m_nDerPos + record(i, REC_DER_OFFSET);
+				if(der.length != record(i, REC_DER_LENGTH)) {
+					return false;
+				}
+				for(int j = 0; j < der.length; j++) {
+					if(m_buffer.get(nOff + j) != der[j]) {
+						return false;
+					}
+				}
+			}
+		} catch(CertificateEncodingException e) {
+			return false;
+		}
+		return true;
+	}
+
+	int getCertIdx(int nPos) {
+		return record(nPos, REC_CERT_IDX);
+	}
+
+	String getOID(int nPos) {
+		return getString(record(nPos, REC_OID));
+	}
+
+	String getType(int nPos) {
+		return getString(record(nPos, REC_TYPE));
+	}
+
+	String getSubjectDN(int nPos) {
+		return getString(record(nPos, REC_SUBJECT));
+	}
+
+	String getIssuerDN(int nPos) {
+		return getString(record(nPos, REC_ISSUER));
+	}
+
+	String getSerialNumber(int nPos) {
+		return getString(record(nPos, REC_SERIAL));
+	}
+
+	long getNotAfter(int nPos) {
+		return ((long) record(nPos, REC_NOT_AFTER_HI) << 32) | (record(nPos, REC_NOT_AFTER_LO) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * 인증서 DER 변환
+	 * @param nPos - 목록 내 위치
+	 * @return X509Certificate - 인증서(저장된 DER 가 없으면 null)
+	 */
+	X509Certificate getCert(int nPos) {
+		int nLen = record(nPos, REC_DER_LENGTH);
+		if(nLen == 0) {
+			return null;
+		}
+		byte[] der = new byte[nLen];
+		ByteBuffer buffer = m_buffer.duplicate();
+		buffer.position(m_nDerPos + record(nPos, REC_DER_OFFSET));
+		buffer.get(der);
+		try {
+			return (X509Certificate) CertificateFactory.getInstance("X.509").generateCertificate(new ByteArrayInputStream(der));
+		} catch(CertificateException e) {
+			LogUtil.w("UsimWarmCatalog", "invalid certificate : {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private int record(int nPos, int nField) {
+		return m_buffer.getInt(m_nRecordPos + (nPos * RECORD_WIDTH + nField) * 4);
+	}
+
+	private String getString(int nIdx) {
+		if(nIdx < 0) {
+			return null;
+		}
+		if(nIdx >= m_nStringCount) {
+			throw new IllegalStateException("invalid string index : " + nIdx);
+		}
+		int nStart = m_buffer.getInt(HEADER_SIZE + nIdx * 4);
+		int nEnd = m_buffer.getInt(HEADER_SIZE + (nIdx + 1) * 4);
+		byte[] str = new byte[nEnd - nStart];
+		ByteBuffer buffer = m_buffer.duplicate();
+		buffer.position(m_nStringPos + nStart);
+		buffer.get(str);
+		try {
+			return new String(str, "UTF-8");
+		} catch(UnsupportedEncodingException e) {
+			throw new IllegalStateException(e.getMessage());
+		}
+	}
+
+	private static int intern(String str, ArrayList<String> stringList, HashMap<String, Integer> stringIdx) {
+		if(str == null) {
+			return -1;
+		}
+		Integer idx = stringIdx.get(str);
+		if(idx == null) {
+			idx = Integer.valueOf(stringList.size());
+			stringList.add(str);
+			stringIdx.put(str, idx);
+		}
+		return idx.intValue();
+	}
+
+	private static void close(Closeable closeable) {
+		if(closeable != null) {
+			try {
+				closeable.close();
+			} catch(IOException e) {
+				// 무시
+			}
+		}
+	}
+}
@@ -1,22 +1,25 @@
 package com.sumion.usim.util;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 //import com.google.android.gcm.GCMRegistrar;
 
 import android.content.Context;
 import android.os.Build;
 //import android.preference.Preference;
-import android.util.Log;
 
 public class AppClient {
 	
@@ -35,11 +38,36 @@ public class AppClient {
 	private static final String mServerURL = "https://relay.mobileusim.com/usim/app/";
 	//private static final String mServerURL = "https://dev.mobileusim.com/usim/app/";
 	//private static final String mServerURL = "http://192.168.40.15:8080/usim/app/";
+	/** 중계 서버 목록(기본값 mServerURL) - 요청마다 응답 시간이 가장 짧은 정상 서버를 선택 */
+	private static final RelayEndpoints sEndpoints = new RelayEndpoints(new String[] { mServerURL });
 	/** HTTP 통신 time out */
 	public static int HTTP_TIME_OUT_MS	= 60000;	
+
+	/** 일괄 요청 command(URL) */
+	private static final String BATCH_CMD = "BATCH";
+	/** 일괄 요청 command 수 header */
+	public static final String HEADER_BATCH_COUNT = "BATCH_COUNT";
+	/** 요청 buffer 초기 크기(command 당) - buffer 확장 시 이전 buffer 에 요청 값이 남지 않도록 여유 있게 할당 */
+	private static final int BATCH_FRAME_SIZE = 512;
+	/** 일괄 요청 body Content-Type */
+	private static final String BATCH_CONTENT_TYPE = "application/x-sumion-batch";
+	/** 일괄 요청 미지원 중계 서버 목록(값은 만료 시각) - 일괄 요청은 다른 중계 서버로 보내고, 모두 미지원이면 command 별로 요청 */
+	private static final ConcurrentHashMap<String, Long> sNoBatch = new ConcurrentHashMap<String, Long>();
+	/** 일괄 요청 미지원 기록 유지 시간(ms) - 이후 중계 서버 갱신 여부를 다시 확인 */
+	private static final long NO_BATCH_TTL_MS = 30 * 60 * 1000L;
+	/** 해석할 수 없는 일괄 응답 frame 이후 command 의 response code(ERR_CODE 는 GlobalError.code.SYSTEM) */
+	public static final int RESPONSE_INVALID_FRAME = HttpURLConnection.HTTP_BAD_GATEWAY;
+	/** 로그에 값을 출력하지 않는 header(세션/사용자 정보) */
+	private static final String[] REDACTED_HEADERS = { SumionMessage.HEADER_COOKIE, SumionMessage.HEADER_CONNECT_ID, SumionMessage.HEADER_USER_INFO };
+	/** 로그 출력 시 대체 값 */
+	private static final String REDACTED = "***";
+	/** command 요청 body Content-Type */
+	private static final String BODY_CONTENT_TYPE = "text/plain; charset=utf-8";
+	/** 중계 서버별 요청 body 압축 방식(응답 Accept-Encoding 으로 확인, 확인 전이면 압축하지 않음) */
+	private static final ConcurrentHashMap<String, String> sRequestEncoding = new ConcurrentHashMap<String, String>();
 	
 	public AppClient(Context context, String userInfo) {
-		LogUtil.d("AppClient", "AppClient function start = ["+userInfo+"]");
+		LogUtil.d("AppClient", "AppClient function start = [{}]", redact(SumionMessage.HEADER_USER_INFO, userInfo));
 		mContext = context;
 		mUserInfo = userInfo;
 		/*
@@ -51,6 +79,24 @@ public class AppClient {
 		if (GlobalConst.logging) Toast.makeText(context, "USER INFO : " + mUserInfo, Toast.LENGTH_SHORT).show();
 		*/
 	}	
+
+	/**
+	 * 중계 서버 목록 설정(모든 AppClient 공통) - 2개 이상이면 background probe 로 응답 시간을 측정하여
+	 * 가장 빠른 정상 서버로 요청하며, 요청 전송 전 연결/전송 오류 시 다른 서버로 다시 요청함<br>
+	 * 요청 전송 후에는 중계 서버가 이미 처리했을 수 있으므로 응답 대기 중 오류나 5xx 응답도 다시 요청하지 않음(5xx 는 서버 선택에만 반영)
+	 * @param arrUrl - 중계 서버 URL 목록(우선 순위 순, ex : "https://relay.mobileusim.com/usim/app/")
+	 */
+	public static void setServerURLs(String[] arrUrl) {
+		sEndpoints.setEndpoints(arrUrl);
+	}
+
+	/**
+	 * 중계 서버 목록 반환(상태 조회 및 probe 제어)
+	 * @return RelayEndpoints - 중계 서버 목록
+	 */
+	public static RelayEndpoints getEndpoints() {
+		return sEndpoints;
+	}
 	
 	/**
 	 * HTTP 요청 - 동기처리
@@ -61,13 +107,13 @@ public class AppClient {
 	public SumionMessage sendSyncRequest(String strCmd, String strBody) {
 		LogUtil.d("AppClient", "sendSyncRequest function start");
 		if(m_bWait) {  // Waiting status
-			Log.d("AppClient", "sendSyncRequest function m_bWait is true");
+			LogUtil.d("AppClient", "sendSyncRequest function m_bWait is true");
 			return null;
 		}
 
-		m_syncMsg = new SumionMessage();
+		m_syncMsg = SumionMessage.obtain();
 		getMessage(strCmd, m_syncMsg, strBody);
-		LogUtil.d("AppClient", "getMessage : strCmd = ["+strCmd +"], m_syncMsg = ["+m_syncMsg.getBody()+"], strBody = ["+strBody+"]");
+		LogUtil.d("AppClient", "getMessage : strCmd = [{}], m_syncMsg = [{}], strBody = [{}]", strCmd, m_syncMsg.getBody(), strBody);
 		m_bWait = true;
 		new Thread(new Runnable() {
 			
@@ -82,12 +128,13 @@ public class AppClient {
 			try {
 				Thread.sleep(100);
 			} catch (InterruptedException e) {
-				e.printStackTrace();
+				LogUtil.w("AppClient", "sendSyncRequest interrupted : {}", strCmd);
+				Thread.currentThread().interrupt();
 				m_syncMsg = null;
 				m_bWait = false;
 			}
 		}
-		LogUtil.d("AppClient", "sendSyncRequest function start, m_syncMsg = ["+m_syncMsg.getBody()+"]");
+		LogUtil.d("AppClient", "sendSyncRequest function start, m_syncMsg = [{}]", m_syncMsg != null ? m_syncMsg.getBody() : null);
 		return m_syncMsg;
 	}	
 
@@ -125,74 +172,134 @@ public class AppClient {
 		LogUtil.d(TAG, "<<<<<<-----CMD " + strCmd + " Http Connect Start-----");
 		LogUtil.d(TAG, "Connect serverURL : " + GlobalConst.SERVER_URL + strCmd);
 		*/
-		try {
-			
-			HttpURLConnection con = (HttpURLConnection) new URL(mServerURL + strCmd).openConnection();
-			con.setConnectTimeout(HTTP_TIME_OUT_MS);
-			con.setReadTimeout(HTTP_TIME_OUT_MS);
-			con.setDoOutput(true);
-			con.setDoInput(true);
-			con.setRequestMethod("POST");
-			con.setRequestProperty("Cache-Control", "no-cache");
-			con.setRequestProperty("Pragma", "no-cache");
-			con.setRequestProperty("Connection", "keep-alive");
-			con.setRequestProperty("Content-type", "charset=utf-8");
-
-			Iterator iterator = msg.getHeader().entrySet().iterator();
-
-			while (iterator.hasNext()) {
-				Entry entry = (Entry) iterator.next();
-				if(entry.getValue() != null) {
-					con.setRequestProperty(entry.getKey().toString(), entry.getValue().toString());
-					LogUtil.d("AppClient", "INPUT Parm Key: " + entry.getKey() + ", Value: " + entry.getValue());
+		// 다른 중계 서버로 다시 요청하는 경우 요청 header 의 세션 정보를 해당 서버 값으로 설정하기 위해 보관
+		String strCookie = msg.getHeader(SumionMessage.HEADER_COOKIE);
+		String strConnectId = msg.getHeader(SumionMessage.HEADER_CONNECT_ID);
+		List<String> tried = new ArrayList<String>();
+		// 압축 요청 미지원(415) 시 같은 중계 서버로 압축하지 않고 한 번만 다시 요청(다시 요청한 중계 서버 URL)
+		String strIdentityRetry = null;
+		String strEndpoint = sEndpoints.select(null);
+		while (strEndpoint != null) {
+			tried.add(strEndpoint);
+			RelaySessionStore sessionStore = RelaySessionStore.get(strEndpoint, mUserInfo);
+			boolean bSent = false;
+			boolean bResponse = false;
+			String strEncoding = null;
+			try {
+				HttpURLConnection con = openConnection(strEndpoint, strCmd);
+				con.setRequestProperty("Content-Type", BODY_CONTENT_TYPE);
+				msg.setHeader(SumionMessage.HEADER_COOKIE, strCookie);
+				msg.setHeader(SumionMessage.HEADER_CONNECT_ID, strConnectId);
+				sessionStore.attach(msg);
+
+				for (int i = 0; i < msg.getHeaderCount(); i++) {
+					String strValue = msg.getHeaderValue(i);
+					if(strValue != null) {
+						con.setRequestProperty(msg.getHeaderName(i), strValue);
+						LogUtil.d("AppClient", "INPUT Parm Key: {}, Value: {}", msg.getHeaderName(i), redact(msg.getHeaderName(i), strValue));
+					}
 				}
-			}
 
-			if (msg.getBody() != null) {
-				BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(con.getOutputStream(), "UTF-8"));
-				bw.write(msg.getBody());
-				bw.flush();
-				bw.close();
-				//LogUtil.d(TAG, "INPUT Body() : " + msg.getBody());
-			}
+				// 요청 전송 완료 시점을 알 수 있도록 전송 길이를 정하여 바로 전송(압축하는 경우 먼저 압축)
+				WipeableByteArrayOutputStream body = new WipeableByteArrayOutputStream(BATCH_FRAME_SIZE);
+				long lRequestBytes = 0;
+				try {
+					byte[] raw = msg.getRawBody() != null ? msg.getRawBody() : msg.getBody() != null ? msg.getBody().getBytes("UTF-8") : null;
+					if (raw != null) {
+						strEncoding = strEndpoint.equals(strIdentityRetry) ? null : requestEncoding(strEndpoint, raw.length);
+						if (strEncoding != null) {
+							con.setRequestProperty("Content-Encoding", strEncoding);
+						}
+						BodyCodec.Encoder encoder = BodyCodec.encoder(body, strEncoding);
+						try {
+							encoder.write(raw);
+						} finally {
+							encoder.close();
+						}
+						lRequestBytes = raw.length;
+						//LogUtil.d(TAG, "INPUT Body() : " + msg.getBody());
+					}
+					con.setFixedLengthStreamingMode(body.size());
+					OutputStream out = con.getOutputStream();
+					body.writeTo(out);
+					out.close();
+				} finally {
+					body.wipe();  // PIN 등 요청 값이 남지 않도록 전송 buffer 를 0 으로 채움
+				}
+				long lRequestWireBytes = body.getWrittenCount();
+				// 이후 오류(응답 대기 time out 등)는 중계 서버가 이미 처리했을 수 있으므로 다시 요청하지 않음
+				bSent = true;
 
-			msg.clearMessage();
-			msg.setResponseCode(con.getResponseCode());
+				int nResponseCode = con.getResponseCode();
+				if (nResponseCode == HttpURLConnection.HTTP_UNSUPPORTED_TYPE && strEncoding != null && !strEndpoint.equals(strIdentityRetry)) {
+					// 압축 요청 미지원 - 요청을 처리하지 않은 응답이므로 같은 중계 서버로 압축하지 않고 다시 요청
+					LogUtil.w("AppClient", "compressed request not supported : {}", strEndpoint);
+					sRequestEncoding.put(strEndpoint, BodyCodec.IDENTITY);
+					con.disconnect();
+					strIdentityRetry = strEndpoint;
+					continue;
+				}
+				if (nResponseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+					// 요청 전송 후이므로 다른 중계 서버로 다시 요청하지 않고 응답을 그대로 전달
+					sEndpoints.reportFailure(strEndpoint);
+					LogUtil.w("AppClient", "relay response {}, no retry : {}", nResponseCode, strEndpoint);
+				} else {
+					sEndpoints.reportSuccess(strEndpoint);
+				}
+				bResponse = true;
 
-			StringBuffer response = new StringBuffer();
-			BufferedReader in = new BufferedReader(new InputStreamReader(con.getInputStream(), "UTF-8"));
-			String inputLine;
-			while ((inputLine = in.readLine()) != null)
-				response.append(inputLine);
-			msg.setBody(response.toString());
-			in.close();
-			//LogUtil.d(TAG, "OUTPUT Body : " + msg.getBody());
-
-			Map<String, List<String>> map = con.getHeaderFields();
-			Iterator key = map.entrySet().iterator();
-			while (key.hasNext()) {
-				Map.Entry entry = (Map.Entry) key.next();
-				String strKey = (String)entry.getKey();
-				if (strKey != null) {
-					//LogUtil.d(TAG, "OUTPUT Parm key : " + strKey + "[" + con.getHeaderField(strKey) + "]");
-					msg.getHeader().put(strKey, con.getHeaderField(strKey));
-					if (strKey.equals("Set-Cookie"))
-						setCookie(con, msg.getCmd());
-					else if (strKey.equals("ERR_CODE"))
-						msg.setErrorCode(con.getHeaderField(strKey));
-					else if(strKey != null && strKey.equals("STANDBY_CMD"))
-						msg.setCmd(con.getHeaderField(strKey));
-					else if(strKey != null && strKey.endsWith("CONNECT_ID")) {
-						msg.setExtraInfo(con.getHeaderField(strKey));
+				msg.clearMessage();
+				msg.setResponseCode(nResponseCode);
+				sessionStore.check(msg.getResponseCode(), null);
+
+				StringBuffer response = new StringBuffer();
+				BodyCodec.Decoder decoder = BodyCodec.decoder(con.getInputStream(), con.getContentEncoding());
+				BufferedReader in = new BufferedReader(new InputStreamReader(decoder, "UTF-8"));
+				try {
+					String inputLine;
+					while ((inputLine = in.readLine()) != null)
+						response.append(inputLine);
+				} finally {
+					in.close();
+				}
+				msg.setBody(response.toString());
+				RelayByteStats.record(strCmd, lRequestBytes, lRequestWireBytes, decoder.getRawCount(), decoder.getWireCount());
+				learnEncoding(con, strEndpoint);
+				//LogUtil.d(TAG, "OUTPUT Body : " + msg.getBody());
+
+				Map<String, List<String>> map = con.getHeaderFields();
+				for (String strKey : map.keySet()) {
+					if (strKey != null) {
+						//LogUtil.d(TAG, "OUTPUT Parm key : " + strKey + "[" + con.getHeaderField(strKey) + "]");
+						applyHeader(msg, strKey, con.getHeaderField(strKey));
+						if (strKey.equals("Set-Cookie"))
+							setCookie(con, strEndpoint);
 					}
 				}
+				sessionStore.captureConnectId(msg.getHeader(SumionMessage.HEADER_CONNECT_ID));
+				sessionStore.check(msg.getResponseCode(), msg.getErrorCode());
+				return;
+			}
+			catch(Exception e)
+			{
+				if (e instanceof IOException) {
+					LogUtil.w("AppClient", "request failed : {} {}", strCmd, e.toString());
+				} else {  // 예상하지 못한 오류는 stack trace 도 출력
+					LogUtil.e("AppClient", "request failed : {}", strCmd, e);
+				}
+				//msg.setBody(mContext.getResources().getString(R.string.popup_body_error_16));
+				//msg.setErrorCode("999");
+				if (bResponse) {  // 응답 수신 후 오류는 다시 요청하지 않음
+					return;
+				}
+				sEndpoints.reportFailure(strEndpoint);
+				if (bSent) {  // 요청 전송 후 응답 대기 중 오류 - 중복 처리될 수 있으므로 다시 요청하지 않음
+					LogUtil.w("AppClient", "relay response not received, no retry : {}", strEndpoint);
+					return;
+				}
+				// 연결/전송 오류 - 다른 중계 서버로 다시 요청
+				strEndpoint = sEndpoints.select(tried);
 			}
-		}
-		catch(Exception e)
-		{
-			e.printStackTrace();
-			//msg.setBody(mContext.getResources().getString(R.string.popup_body_error_16));
-			//msg.setErrorCode("999");
 		}
 
 		//LogUtil.d(TAG, "-----CMD " + strCmd + " Http Connect End----->>>>>>");
@@ -200,21 +307,451 @@ public class AppClient {
 	}
 	
 	
-	private void setCookie(HttpURLConnection con, String strCmd) {
-		/*
-		String cookieStr = con.getHeaderField("Set-Cookie");
-		System.out.println("cookieStr : " + cookieStr);
-		if(cookieStr != null) {
-			String[] cookieArr = cookieStr.split(";");
-			for(String cookie : cookieArr) {
-				if(cookie.startsWith("JSESSIONID")) {
-					GlobalConst.SET_COOKIE = cookie;
+	/**
+	 * 중계 서버 연결 생성(공통 요청 header 설정)
+	 * @param strEndpoint - 중계 서버 URL
+	 * @param strCmd - command
+	 * @return HttpURLConnection
+	 * @throws IOException
+	 */
+	private HttpURLConnection openConnection(String strEndpoint, String strCmd) throws IOException {
+		HttpURLConnection con = (HttpURLConnection) new URL(strEndpoint + strCmd).openConnection();
+		con.setConnectTimeout(HTTP_TIME_OUT_MS);
+		con.setReadTimeout(HTTP_TIME_OUT_MS);
+		con.setDoOutput(true);
+		con.setDoInput(true);
+		con.setRequestMethod("POST");
+		con.setRequestProperty("Cache-Control", "no-cache");
+		con.setRequestProperty("Pragma", "no-cache");
+		con.setRequestProperty("Connection", "keep-alive");
+		// 직접 설정하면 HttpURLConnection 이 응답을 자동으로 복호화하지 않으므로 BodyCodec 으로 처리
+		con.setRequestProperty("Accept-Encoding", BodyCodec.ACCEPT_ENCODING);
+		return con;
+	}
+
+	/**
+	 * 요청 body 압축 방식 반환
+	 * @param strEndpoint - 중계 서버 URL
+	 * @param nLength - 요청 body 크기(byte)
+	 * @return String - 압축 방식(압축하지 않으면 null)
+	 */
+	private static String requestEncoding(String strEndpoint, int nLength) {
+		String strEncoding = sRequestEncoding.get(strEndpoint);
+		return nLength >= BodyCodec.COMPRESS_MIN_BYTES && BodyCodec.isCompressed(strEncoding) ? strEncoding : null;
+	}
+
+	/**
+	 * 로그 출력용 header 값 - 세션/사용자 정보(Cookie, CONNECT_ID, USER_INFO)는 값 대신 REDACTED
+	 * @param strName - header 명
+	 * @param strValue - header 값
+	 * @return String - 로그 출력 값
+	 */
+	private static String redact(String strName, String strValue) {
+		if (strValue == null) {
+			return null;
+		}
+		for (String strRedacted : REDACTED_HEADERS) {
+			if (strRedacted.equalsIgnoreCase(strName)) {
+				return REDACTED;
+			}
+		}
+		return strValue;
+	}
+
+	/**
+	 * 응답 Accept-Encoding 으로 중계 서버가 받을 수 있는 요청 압축 방식 저장(최초 1회)
+	 * @param con - 연결
+	 * @param strEndpoint - 중계 서버 URL
+	 */
+	private static void learnEncoding(HttpURLConnection con, String strEndpoint) {
+		String strAcceptEncoding = con.getHeaderField("Accept-Encoding");
+		if (strAcceptEncoding != null && !sRequestEncoding.containsKey(strEndpoint)) {
+			sRequestEncoding.putIfAbsent(strEndpoint, BodyCodec.select(strAcceptEncoding));
+		}
+	}
+
+	/**
+	 * 응답 header 저장 및 프로토콜에서 사용하는 header 값 설정
+	 * @param msg - 응답 message
+	 * @param strKey - header 명
+	 * @param strValue - header 값
+	 */
+	private static void applyHeader(SumionMessage msg, String strKey, String strValue) {
+		msg.setHeader(strKey, strValue);
+		if (strKey.equals(SumionMessage.HEADER_ERR_CODE)) {
+			msg.setErrorCode(strValue);
+		}
+		else if(strKey.equals(SumionMessage.HEADER_STANDBY_CMD)) {
+			msg.setCmd(strValue);
+		}
+		else if(strKey.endsWith(SumionMessage.HEADER_CONNECT_ID)) {
+			msg.setHeader(SumionMessage.HEADER_CONNECT_ID, strValue);
+			msg.setExtraInfo(strValue);
+		}
+	}
+
+	/**
+	 * HTTP 일괄 요청 - 여러 command 를 한 번의 HTTP 요청으로 전송하고 응답을 command 별 message 로 분리(동기처리)<br>
+	 * 응답 message 별로 처리 결과(response code, ERR_CODE)가 따로 설정되며, 응답을 받지 못한 command 의 response code 는 0,
+	 * 응답 frame 을 해석할 수 없는 command(이후 command 포함)는 RESPONSE_INVALID_FRAME 과 ERR_CODE SYSTEM(중계 서버에서 처리되었을 수 있으므로 다시 요청하지 않음).
+	 * 일괄 요청을 지원하지 않는 중계 서버는 일정 시간(NO_BATCH_TTL_MS) 제외하고 요청하며, 지원하는 중계 서버가 없으면 command 별로 순서대로 요청함<br>
+	 * <pre>
+	 * 요청 frame : cmd TAB header 수 TAB body 길이(byte) LF, (header 명:값 LF) * header 수, body(UTF-8)
+	 * 응답 frame : cmd TAB HTTP status TAB header 수 TAB body 길이(byte) LF, (header 명:값 LF) * header 수, body(UTF-8)
+	 * </pre>
+	 * @param arrCmd - command 목록
+	 * @param arrBody - command 별 요청 body(null 이면 모두 body 없음)
+	 * @return SumionMessage[] - command 순서의 응답 message(사용 후 recycle)
+	 */
+	public SumionMessage[] sendBatchRequest(String[] arrCmd, String[] arrBody) {
+		SumionMessage[] arrMsg = new SumionMessage[arrCmd.length];
+		for (int i = 0; i < arrCmd.length; i++) {
+			arrMsg[i] = obtainMessage(arrCmd[i], arrBody != null ? arrBody[i] : null);
+		}
+		return sendBatchRequest(arrMsg);
+	}
+
+	/**
+	 * HTTP 일괄 요청 - 생성된 요청 message 전송(header 를 추가로 설정해야 하는 경우 사용)
+	 * @param arrMsg - obtainMessage() 로 생성한 요청 message(응답으로 교체됨)
+	 * @return SumionMessage[] - arrMsg
+	 */
+	public SumionMessage[] sendBatchRequest(SumionMessage[] arrMsg) {
+		if (arrMsg.length > 1 && doHttpBatch(arrMsg)) {
+			return arrMsg;
+		}
+		for (SumionMessage msg : arrMsg) {
+			doHttpCmd(msg.getCmd(), msg);
+		}
+		return arrMsg;
+	}
+
+	/**
+	 * HTTP 일괄 요청 처리
+	 * @param arrMsg - 요청 message(응답으로 교체됨)
+	 * @return boolean - false 이면 일괄 요청을 지원하는 중계 서버가 없음(요청은 처리되지 않음)
+	 */
+	private boolean doHttpBatch(SumionMessage[] arrMsg) {
+		// 다른 중계 서버로 다시 요청하는 경우 요청 header 의 세션 정보를 해당 서버 값으로 설정하기 위해 보관
+		String[] arrCookie = new String[arrMsg.length];
+		String[] arrConnectId = new String[arrMsg.length];
+		for (int i = 0; i < arrMsg.length; i++) {
+			arrCookie[i] = arrMsg[i].getHeader(SumionMessage.HEADER_COOKIE);
+			arrConnectId[i] = arrMsg[i].getHeader(SumionMessage.HEADER_CONNECT_ID);
+		}
+		List<String> tried = new ArrayList<String>();
+		String strEndpoint = selectBatchEndpoint(tried);
+		if (strEndpoint == null) {
+			return false;
+		}
+		// 압축 요청 미지원(415) 시 같은 중계 서버로 압축하지 않고 한 번만 다시 요청(다시 요청한 중계 서버 URL)
+		String strIdentityRetry = null;
+		while (strEndpoint != null) {
+			tried.add(strEndpoint);
+			RelaySessionStore sessionStore = RelaySessionStore.get(strEndpoint, mUserInfo);
+			boolean bSent = false;
+			boolean bResponse = false;
+			String strEncoding;
+			WipeableByteArrayOutputStream frames = new WipeableByteArrayOutputStream(BATCH_FRAME_SIZE * arrMsg.length);
+			WipeableByteArrayOutputStream body = frames;
+			try {
+				// 세션을 새로 만드는 command 이후의 command 는 새 세션을 사용하므로 저장된 CONNECT_ID 를 설정하지 않음
+				boolean bConnectId = true;
+				for (int i = 0; i < arrMsg.length; i++) {
+					arrMsg[i].setHeader(SumionMessage.HEADER_COOKIE, arrCookie[i]);
+					arrMsg[i].setHeader(SumionMessage.HEADER_CONNECT_ID, arrConnectId[i]);
+					bConnectId = bConnectId && !RelaySessionStore.isSessionStart(arrMsg[i].getCmd());
+					sessionStore.attach(arrMsg[i], bConnectId);
+					writeFrame(frames, arrMsg[i]);
+				}
+
+				// 압축하는 경우 전송 길이를 알기 위해 먼저 압축
+				strEncoding = strEndpoint.equals(strIdentityRetry) ? null : requestEncoding(strEndpoint, frames.size());
+				if (strEncoding != null) {
+					body = new WipeableByteArrayOutputStream(frames.size() / 2);
+					BodyCodec.Encoder encoder = BodyCodec.encoder(body, strEncoding);
+					try {
+						frames.writeTo(encoder);
+					} finally {
+						encoder.close();
+					}
+				}
+
+				HttpURLConnection con = openConnection(strEndpoint, BATCH_CMD);
+				con.setRequestProperty("Content-Type", BATCH_CONTENT_TYPE);
+				if (strEncoding != null) {
+					con.setRequestProperty("Content-Encoding", strEncoding);
+				}
+				if (sessionStore.getCookie() != null) {
+					con.setRequestProperty(SumionMessage.HEADER_COOKIE, sessionStore.getCookie());
+				}
+				con.setRequestProperty(HEADER_BATCH_COUNT, String.valueOf(arrMsg.length));
+				con.setFixedLengthStreamingMode(body.size());
+				OutputStream out = con.getOutputStream();
+				body.writeTo(out);
+				out.close();
+				// 이후 오류(응답 대기 time out 등)는 중계 서버가 이미 처리했을 수 있으므로 다시 요청하지 않음
+				bSent = true;
+				frames.wipe();
+				body.wipe();
+
+				int nResponseCode = con.getResponseCode();
+				if (nResponseCode == HttpURLConnection.HTTP_UNSUPPORTED_TYPE && strEncoding != null && !strEndpoint.equals(strIdentityRetry)) {
+					// 압축 요청 미지원 - 요청을 처리하지 않은 응답이므로 같은 중계 서버로 압축하지 않고 다시 요청
+					LogUtil.w("AppClient", "compressed request not supported : {}", strEndpoint);
+					sRequestEncoding.put(strEndpoint, BodyCodec.IDENTITY);
+					con.disconnect();
+					strIdentityRetry = strEndpoint;
+					continue;
 				}
+				if (nResponseCode == HttpURLConnection.HTTP_NOT_FOUND || nResponseCode == HttpURLConnection.HTTP_NOT_IMPLEMENTED) {
+					LogUtil.w("AppClient", "batch request not supported : {} {}", strEndpoint, nResponseCode);
+					sEndpoints.reportSuccess(strEndpoint);
+					sNoBatch.put(strEndpoint, System.currentTimeMillis() + NO_BATCH_TTL_MS);
+					con.disconnect();
+					strEndpoint = selectBatchEndpoint(tried);
+					if (strEndpoint != null) {  // 일괄 요청을 지원하는 다른 중계 서버로 요청
+						continue;
+					}
+					for (int i = 0; i < arrMsg.length; i++) {
+						arrMsg[i].setHeader(SumionMessage.HEADER_COOKIE, arrCookie[i]);
+						arrMsg[i].setHeader(SumionMessage.HEADER_CONNECT_ID, arrConnectId[i]);
+					}
+					return false;
+				}
+				if (nResponseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+					// 요청 전송 후이므로 다른 중계 서버로 다시 요청하지 않고 응답을 그대로 전달
+					sEndpoints.reportFailure(strEndpoint);
+					LogUtil.w("AppClient", "relay batch response {}, no retry : {}", nResponseCode, strEndpoint);
+				} else {
+					sEndpoints.reportSuccess(strEndpoint);
+				}
+				bResponse = true;
+
+				for (SumionMessage msg : arrMsg) {
+					msg.clearMessage();
+				}
+				sessionStore.check(nResponseCode, null);
+				if (nResponseCode != HttpURLConnection.HTTP_OK) {  // 일괄 요청 전체 실패
+					for (SumionMessage msg : arrMsg) {
+						msg.setResponseCode(nResponseCode);
+					}
+					return true;
+				}
+				sessionStore.captureCookies(con.getHeaderFields().get("Set-Cookie"));
+				BodyCodec.Decoder decoder = BodyCodec.decoder(con.getInputStream(), con.getContentEncoding());
+				readFrames(readAll(decoder), arrMsg);
+				RelayByteStats.record(BATCH_CMD, frames.getWrittenCount(), body.getWrittenCount(), decoder.getRawCount(), decoder.getWireCount());
+				learnEncoding(con, strEndpoint);
+				for (SumionMessage msg : arrMsg) {
+					sessionStore.captureConnectId(msg.getHeader(SumionMessage.HEADER_CONNECT_ID));
+					sessionStore.check(msg.getResponseCode(), msg.getErrorCode());
+				}
+				return true;
+			}
+			catch (IOException e) {
+				// 응답을 받지 못한 command 는 response code 0
+				LogUtil.w("AppClient", "batch request failed : {}", e.getMessage());
+				if (bResponse) {  // 응답 수신 후 오류는 다시 요청하지 않음
+					return true;
+				}
+				sEndpoints.reportFailure(strEndpoint);
+				if (bSent) {  // 요청 전송 후 응답 대기 중 오류 - 중복 처리될 수 있으므로 다시 요청하지 않음
+					LogUtil.w("AppClient", "relay batch response not received, no retry : {}", strEndpoint);
+					return true;
+				}
+				// 연결/전송 오류 - 다른 중계 서버로 다시 요청
+				strEndpoint = selectBatchEndpoint(tried);
+			}
+			finally {
+				// PIN 등 요청 값이 남지 않도록 전송 buffer 를 0 으로 채움
+				frames.wipe();
+				body.wipe();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 일괄 요청할 중계 서버 선택(일괄 요청 미지원 중계 서버 제외)
+	 * @param tried - 이미 요청한 중계 서버 URL
+	 * @return String - 중계 서버 URL(없으면 null)
+	 */
+	private static String selectBatchEndpoint(List<String> tried) {
+		if (sNoBatch.isEmpty()) {
+			return sEndpoints.select(tried);
+		}
+		List<String> excluded = new ArrayList<String>(tried);
+		long lNow = System.currentTimeMillis();
+		for (Map.Entry<String, Long> entry : sNoBatch.entrySet()) {
+			if (entry.getValue() > lNow) {
+				excluded.add(entry.getKey());
+			} else {  // 기록 만료 - 다시 일괄 요청
+				sNoBatch.remove(entry.getKey(), entry.getValue());
+			}
+		}
+		return sEndpoints.select(excluded);
+	}
+
+	/**
+	 * 요청 frame 기록
+	 */
+	private static void writeFrame(ByteArrayOutputStream frames, SumionMessage msg) throws UnsupportedEncodingException {
+		StringBuilder head = new StringBuilder();
+		int nHeaderCnt = 0;
+		for (int i = 0; i < msg.getHeaderCount(); i++) {
+			// Cookie 는 HTTP header 로 한 번만 전송
+			if (msg.getHeaderValue(i) != null && !msg.getHeaderName(i).equals(SumionMessage.HEADER_COOKIE)) {
+				head.append(msg.getHeaderName(i)).append(':').append(msg.getHeaderValue(i)).append('\n');
+				nHeaderCnt++;
+			}
+		}
+		byte[] body = msg.getRawBody() != null ? msg.getRawBody() : msg.getBody() != null ? msg.getBody().getBytes("UTF-8") : new byte[0];
+		byte[] line = (msg.getCmd() + '\t' + nHeaderCnt + '\t' + body.length + '\n').getBytes("UTF-8");
+		byte[] headers = head.toString().getBytes("UTF-8");
+		frames.write(line, 0, line.length);
+		frames.write(headers, 0, headers.length);
+		frames.write(body, 0, body.length);
+	}
+
+	/**
+	 * 응답 frame 을 요청 순서대로 message 에 저장 - 형식 오류 또는 순서 불일치 frame 부터는 해석할 수 없으므로 이후 command 는 실패로 처리
+	 */
+	private static void readFrames(byte[] data, SumionMessage[] arrMsg) {
+		int[] arrPos = { 0 };
+		for (int i = 0; i < arrMsg.length; i++) {
+			if (!readFrame(data, arrPos, arrMsg[i])) {
+				LogUtil.w("AppClient", "invalid batch frame : {}/{}", i, arrMsg.length);
+				for (int j = i; j < arrMsg.length; j++) {
+					arrMsg[j].clearMessage();
+					arrMsg[j].setResponseCode(RESPONSE_INVALID_FRAME);
+					arrMsg[j].setErrorCode(GlobalError.code.SYSTEM);
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 응답 frame 하나를 message 에 저장
+	 * @return boolean - 형식 오류 또는 순서 불일치이면 false
+	 */
+	private static boolean readFrame(byte[] data, int[] arrPos, SumionMessage msg) {
+		try {
+			String strLine = readLine(data, arrPos);
+			if (strLine == null) {
+				return false;
+			}
+			String[] arrField = strLine.split("\t");
+			if (arrField.length != 4 || !arrField[0].equals(msg.getCmd())) {
+				LogUtil.w("AppClient", "unexpected batch frame : {}", strLine);
+				return false;
 			}
-		}*/
+			int nResponseCode = Integer.parseInt(arrField[1]);
+			int nHeaderCnt = Integer.parseInt(arrField[2]);
+			int nBodyLen = Integer.parseInt(arrField[3]);
+			for (int i = 0; i < nHeaderCnt; i++) {
+				String strHeader = readLine(data, arrPos);
+				int nColon = strHeader != null ? strHeader.indexOf(':') : -1;
+				if (nColon <= 0) {
+					return false;
+				}
+				applyHeader(msg, strHeader.substring(0, nColon), strHeader.substring(nColon + 1));
+			}
+			if (nBodyLen < 0 || nBodyLen > data.length - arrPos[0]) {
+				return false;
+			}
+			msg.setBody(new String(data, arrPos[0], nBodyLen, "UTF-8"));
+			arrPos[0] += nBodyLen;
+			msg.setResponseCode(nResponseCode);
+			return true;
+		}
+		catch (NumberFormatException e) {
+			LogUtil.w("AppClient", "invalid batch frame : {}", e.getMessage());
+			return false;
+		}
+		catch (UnsupportedEncodingException e) {
+			// UTF-8 은 항상 지원
+			return false;
+		}
+	}
+
+	/**
+	 * 전송 후 0 으로 채울 수 있는 요청 buffer
+	 */
+	private static final class WipeableByteArrayOutputStream extends ByteArrayOutputStream {
+		/** wipe() 전까지 기록한 크기 */
+		private int mWrittenCount;
+
+		WipeableByteArrayOutputStream(int nSize) {
+			super(nSize);
+		}
+
+		/**
+		 * 기록한 크기 반환(wipe() 후에도 유지)
+		 * @return int - 기록한 크기(byte)
+		 */
+		synchronized int getWrittenCount() {
+			return Math.max(mWrittenCount, count);
+		}
+
+		/**
+		 * buffer 를 0 으로 채우고 비움
+		 */
+		synchronized void wipe() {
+			mWrittenCount = Math.max(mWrittenCount, count);
+			Arrays.fill(buf, (byte) 0);
+			count = 0;
+		}
+	}
+
+	private static String readLine(byte[] data, int[] arrPos) throws UnsupportedEncodingException {
+		for (int i = arrPos[0]; i < data.length; i++) {
+			if (data[i] == '\n') {
+				String strLine = new String(data, arrPos[0], i - arrPos[0], "UTF-8");
+				arrPos[0] = i + 1;
+				return strLine;
+			}
+		}
+		return null;
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buf = new byte[4096];
+		int nRead;
+		try {
+			while ((nRead = in.read(buf)) > 0) {
+				out.write(buf, 0, nRead);
+			}
+		} finally {
+			in.close();
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * 응답 Set-Cookie 를 중계 서버 세션 저장소에 저장
+	 * @param con - 연결
+	 * @param strEndpoint - 중계 서버 URL
+	 */
+	private void setCookie(HttpURLConnection con, String strEndpoint) {
+		RelaySessionStore.get(strEndpoint, mUserInfo).captureCookies(con.getHeaderFields().get("Set-Cookie"));
 	}
 	
 	
+	/**
+	 * 요청 message 생성
+	 * @param strCmd - command
+	 * @param strBody - 요청 body
+	 * @return SumionMessage - 요청 message(사용 후 recycle)
+	 */
+	public SumionMessage obtainMessage(String strCmd, String strBody) {
+		SumionMessage msg = SumionMessage.obtain();
+		getMessage(strCmd, msg, strBody);
+		return msg;
+	}
+
 	private void getMessage(String cmd, SumionMessage msg, String body) {
 		//LogUtil.w(TAG, "getMessage cmd : " + cmd);
 		/*if(cmd.equals(GlobalConst.A102))
@@ -288,6 +825,10 @@ public class AppClient {
 		else if(cmd.equals(GlobalConst.C_GenerateRandom))
 			getC_GenerateRandom(msg, body);
 		*/
+		else if(cmd.startsWith("C_"))
+			getPkcs11S(msg, body);
+		else if(msg != null)  // 전용 생성 함수가 없는 command 는 body 만 설정
+			msg.setBody(body);
 		if(msg != null) {
 			msg.setCmd(cmd);
 		}
@@ -295,14 +836,24 @@ public class AppClient {
 
 	private void getA100S(SumionMessage msg, String body) {
 		msg.clearMessage();
-		msg.getHeader().put("Cookie", null);
-		//msg.getHeader().put("CONNECT_ID", "site.skip.domain");
-		msg.getHeader().put("USER_INFO", mUserInfo);
-		//msg.getHeader().put("USER_INFO", "01027123769SKT");
-		msg.getHeader().put("PKG_NAME", mContext.getPackageName());
+		msg.setHeader(SumionMessage.HEADER_COOKIE, null);
+		//msg.setHeader(SumionMessage.HEADER_CONNECT_ID, "site.skip.domain");
+		msg.setHeader(SumionMessage.HEADER_USER_INFO, mUserInfo);
+		//msg.setHeader(SumionMessage.HEADER_USER_INFO, "01027123769SKT");
+		msg.setHeader(SumionMessage.HEADER_PKG_NAME, mContext.getPackageName());
 		msg.setBody("|" + Build.MODEL);
 
 		//msg.setBody(Utils.getRegistrationId(this.mContext) + "|IM-A890S"/* + Build.MODEL*/);
 	}	
+
+	/**
+	 * 원격 PKCS#11(C_XXX) command 요청 - 세션 식별(CONNECT_ID)은 호출 측에서 설정
+	 */
+	private void getPkcs11S(SumionMessage msg, String body) {
+		msg.clearMessage();
+		msg.setHeader(SumionMessage.HEADER_USER_INFO, mUserInfo);
+		msg.setHeader(SumionMessage.HEADER_PKG_NAME, mContext.getPackageName());
+		msg.setBody(body);
+	}
 	
 }
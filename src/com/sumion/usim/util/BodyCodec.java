@@ -0,0 +1,463 @@
+package com.sumion.usim.util;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * 중계 서버 요청/응답 body 압축(Content-Encoding) class<br>
+ * gzip(RFC 1952), deflate(RFC 1950, 응답은 zlib header 가 없는 raw deflate 도 허용)를 stream 으로 처리하며,
+ * Deflater/Inflater 와 작업 buffer 는 최대 POOL_SIZE 개까지 보관하여 재사용함(stream 을 close() 하면 반환)<br>
+ * 부호화/복호화 stream 은 압축 전(raw)/후(wire) byte 수를 제공함
+ */
+public final class BodyCodec {
+	public static final String GZIP		= "gzip";
+	public static final String DEFLATE	= "deflate";
+	/** 압축하지 않음(압축 요청을 지원하지 않는 중계 서버) */
+	public static final String IDENTITY	= "identity";
+	/** 요청 Accept-Encoding header 값 */
+	public static final String ACCEPT_ENCODING = GZIP + ", " + DEFLATE;
+
+	/** 요청 body 압축 최소 크기(byte) - 이보다 작으면 압축하지 않음 */
+	public static int COMPRESS_MIN_BYTES = 1024;
+
+	/** 재사용을 위해 보관하는 압축 객체 최대 수 */
+	private static final int POOL_SIZE = 4;
+	/** 작업 buffer 크기 */
+	private static final int BUFFER_SIZE = 8192;
+	/** gzip header(압축 방식 deflate, flag/시간 없음, OS unknown) */
+	private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+	/** zlib header(deflate, 32K window, 기본 압축) */
+	private static final byte[] ZLIB_HEADER = { 0x78, (byte) 0x9c };
+
+	/** 반환된 압축 객체(최대 POOL_SIZE 개) */
+	private static final ArrayList<Codec> sPool = new ArrayList<Codec>(POOL_SIZE);
+
+	private BodyCodec() {
+	}
+
+	/**
+	 * 압축 여부 확인
+	 * @param strEncoding - Content-Encoding
+	 * @return boolean - gzip 또는 deflate 이면 true
+	 */
+	public static boolean isCompressed(String strEncoding) {
+		return GZIP.equalsIgnoreCase(strEncoding) || DEFLATE.equalsIgnoreCase(strEncoding);
+	}
+
+	/**
+	 * 중계 서버가 받을 수 있는 요청 압축 방식 선택
+	 * @param strAcceptEncoding - 응답 Accept-Encoding header 값
+	 * @return String - GZIP, DEFLATE(gzip 우선) 또는 IDENTITY
+	 */
+	public static String select(String strAcceptEncoding) {
+		String strGzip = null;
+		String strDeflate = null;
+		for (String strPart : strAcceptEncoding.split(",")) {
+			String[] arrField = strPart.split(";");
+			String strName = arrField[0].trim();
+			// q=0 은 지원하지 않음
+			if (arrField.length > 1 && arrField[1].trim().matches("q=0(\\.0*)?")) {
+				continue;
+			}
+			if (strName.equalsIgnoreCase(GZIP)) {
+				strGzip = GZIP;
+			} else if (strName.equalsIgnoreCase(DEFLATE)) {
+				strDeflate = DEFLATE;
+			}
+		}
+		return strGzip != null ? strGzip : (strDeflate != null ? strDeflate : IDENTITY);
+	}
+
+	/**
+	 * 부호화 stream 생성 - close() 시 압축을 마치고 out 도 닫음(압축 객체 반환을 위해 오류 시에도 close() 해야 함)
+	 * @param out - 출력 stream
+	 * @param strEncoding - GZIP, DEFLATE(그 외는 압축하지 않음)
+	 * @return Encoder
+	 * @throws IOException
+	 */
+	public static Encoder encoder(OutputStream out, String strEncoding) throws IOException {
+		return new Encoder(out, strEncoding);
+	}
+
+	/**
+	 * 복호화 stream 생성 - 압축된 경우 header 를 읽어 확인함(압축 객체 반환을 위해 오류 시에도 close() 해야 함)
+	 * @param in - 입력 stream
+	 * @param strEncoding - 응답 Content-Encoding(GZIP, DEFLATE 외에는 그대로 읽음)
+	 * @return Decoder
+	 * @throws IOException - 형식 오류(ZipException) 또는 입력 오류
+	 */
+	public static Decoder decoder(InputStream in, String strEncoding) throws IOException {
+		return new Decoder(in, strEncoding);
+	}
+
+	/**
+	 * 압축 객체 반환(보관된 객체가 없으면 새로 생성)
+	 */
+	private static Codec obtain() {
+		synchronized (sPool) {
+			if (!sPool.isEmpty()) {
+				return sPool.remove(sPool.size() - 1);
+			}
+		}
+		return new Codec();
+	}
+
+	/**
+	 * 압축 객체 반환 - 초기화하여 보관하고, 보관 수가 POOL_SIZE 이면 native 자원 해제
+	 */
+	private static void release(Codec codec) {
+		codec.mDeflater.reset();
+		codec.mInflater.reset();
+		synchronized (sPool) {
+			if (sPool.size() < POOL_SIZE) {
+				sPool.add(codec);
+				return;
+			}
+		}
+		codec.mDeflater.end();
+		codec.mInflater.end();
+	}
+
+	/**
+	 * Deflater/Inflater 와 작업 buffer
+	 */
+	private static final class Codec {
+		private final Deflater mDeflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		private final Inflater mInflater = new Inflater(true);
+		private final byte[] mBuf = new byte[BUFFER_SIZE];
+	}
+
+	/**
+	 * 부호화 stream
+	 */
+	public static final class Encoder extends OutputStream {
+		private final OutputStream mOut;
+		/** 압축하지 않으면 null */
+		private Codec mCodec;
+		private Checksum mChecksum;
+		private boolean mGzip;
+		private long mRawCount;
+		private long mWireCount;
+		private boolean mClosed;
+
+		private Encoder(OutputStream out, String strEncoding) throws IOException {
+			mOut = out;
+			if (!isCompressed(strEncoding)) {
+				return;
+			}
+			mGzip = GZIP.equalsIgnoreCase(strEncoding);
+			mChecksum = mGzip ? new CRC32() : new Adler32();
+			mCodec = obtain();
+			try {
+				writeWire(mGzip ? GZIP_HEADER : ZLIB_HEADER, 0, mGzip ? GZIP_HEADER.length : ZLIB_HEADER.length);
+			} catch (IOException e) {
+				release(mCodec);
+				mCodec = null;
+				throw e;
+			}
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (mClosed) {  // 압축 객체는 이미 반환됨
+				throw new IOException("stream closed");
+			}
+			mRawCount += len;
+			if (mCodec == null) {
+				writeWire(b, off, len);
+				return;
+			}
+			mChecksum.update(b, off, len);
+			mCodec.mDeflater.setInput(b, off, len);
+			while (!mCodec.mDeflater.needsInput()) {
+				drain();
+			}
+		}
+
+		/**
+		 * 압축을 마치고(trailer 기록) 출력 stream 닫음
+		 */
+		@Override
+		public void close() throws IOException {
+			if (mClosed) {
+				return;
+			}
+			mClosed = true;
+			try {
+				if (mCodec != null) {
+					mCodec.mDeflater.finish();
+					while (!mCodec.mDeflater.finished()) {
+						drain();
+					}
+					long lCheck = mChecksum.getValue();
+					byte[] trailer = mGzip
+							? new byte[] { (byte) lCheck, (byte) (lCheck >> 8), (byte) (lCheck >> 16), (byte) (lCheck >> 24),
+									(byte) mRawCount, (byte) (mRawCount >> 8), (byte) (mRawCount >> 16), (byte) (mRawCount >> 24) }
+							: new byte[] { (byte) (lCheck >> 24), (byte) (lCheck >> 16), (byte) (lCheck >> 8), (byte) lCheck };
+					writeWire(trailer, 0, trailer.length);
+				}
+			} finally {
+				if (mCodec != null) {
+					release(mCodec);
+				}
+				mOut.close();
+			}
+		}
+
+		/**
+		 * 압축 전 byte 수 반환
+		 * @return long - byte 수
+		 */
+		public long getRawCount() {
+			return mRawCount;
+		}
+
+		/**
+		 * 전송 byte 수 반환
+		 * @return long - byte 수(압축하지 않으면 getRawCount() 와 같음)
+		 */
+		public long getWireCount() {
+			return mWireCount;
+		}
+
+		private void drain() throws IOException {
+			int nLen = mCodec.mDeflater.deflate(mCodec.mBuf, 0, mCodec.mBuf.length);
+			if (nLen > 0) {
+				writeWire(mCodec.mBuf, 0, nLen);
+			}
+		}
+
+		private void writeWire(byte[] b, int off, int len) throws IOException {
+			mOut.write(b, off, len);
+			mWireCount += len;
+		}
+	}
+
+	/**
+	 * 복호화 stream
+	 */
+	public static final class Decoder extends InputStream {
+		private final InputStream mIn;
+		/** 압축되지 않았으면 null */
+		private Codec mCodec;
+		private Checksum mChecksum;
+		/** trailer 형식 - gzip, zlib(raw deflate 이면 둘 다 false) */
+		private boolean mGzip;
+		private boolean mZlib;
+		/** 작업 buffer 에 읽은 byte 수 */
+		private int mFilled;
+		private long mRawCount;
+		private long mWireCount;
+		private boolean mEof;
+		private boolean mClosed;
+
+		private Decoder(InputStream in, String strEncoding) throws IOException {
+			mIn = in;
+			if (!isCompressed(strEncoding)) {
+				return;
+			}
+			mCodec = obtain();
+			try {
+				if (GZIP.equalsIgnoreCase(strEncoding)) {
+					mGzip = true;
+					mChecksum = new CRC32();
+					readGzipHeader();
+				} else {
+					// zlib header 가 없으면 raw deflate 로 처리
+					int nCmf = readWire();
+					int nFlg = readWire();
+					if ((nCmf & 0x0f) == 8 && ((nCmf << 8) | nFlg) % 31 == 0) {
+						if ((nFlg & 0x20) != 0) {
+							throw new ZipException("zlib preset dictionary");
+						}
+						mZlib = true;
+						mChecksum = new Adler32();
+					} else {
+						mCodec.mBuf[0] = (byte) nCmf;
+						mCodec.mBuf[1] = (byte) nFlg;
+						mFilled = 2;
+						mCodec.mInflater.setInput(mCodec.mBuf, 0, mFilled);
+					}
+				}
+			} catch (IOException e) {
+				release(mCodec);
+				mCodec = null;
+				throw e;
+			}
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) > 0 ? b[0] & 0xff : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (mClosed) {  // 압축 객체는 이미 반환됨
+				throw new IOException("stream closed");
+			}
+			if (mCodec == null) {
+				int nRead = mIn.read(b, off, len);
+				if (nRead > 0) {
+					mRawCount += nRead;
+					mWireCount += nRead;
+				}
+				return nRead;
+			}
+			if (mEof) {
+				return -1;
+			}
+			if (len == 0) {
+				return 0;
+			}
+			Inflater inflater = mCodec.mInflater;
+			try {
+				while (true) {
+					int nLen = inflater.inflate(b, off, len);
+					if (nLen > 0) {
+						if (mChecksum != null) {
+							mChecksum.update(b, off, nLen);
+						}
+						mRawCount += nLen;
+						return nLen;
+					}
+					if (inflater.finished()) {
+						readTrailer();
+						mEof = true;
+						return -1;
+					}
+					if (inflater.needsDictionary()) {
+						throw new ZipException("deflate preset dictionary");
+					}
+					if (inflater.needsInput()) {
+						mFilled = mIn.read(mCodec.mBuf, 0, mCodec.mBuf.length);
+						if (mFilled < 0) {
+							throw new EOFException("unexpected end of compressed body");
+						}
+						mWireCount += mFilled;
+						inflater.setInput(mCodec.mBuf, 0, mFilled);
+					}
+				}
+			} catch (DataFormatException e) {
+				throw new ZipException(e.getMessage());
+			}
+		}
+
+		/**
+		 * 입력 stream 닫음
+		 */
+		@Override
+		public void close() throws IOException {
+			if (mClosed) {
+				return;
+			}
+			mClosed = true;
+			if (mCodec != null) {
+				release(mCodec);
+			}
+			mIn.close();
+		}
+
+		/**
+		 * 복호화된 byte 수 반환
+		 * @return long - byte 수
+		 */
+		public long getRawCount() {
+			return mRawCount;
+		}
+
+		/**
+		 * 수신 byte 수 반환
+		 * @return long - byte 수(압축되지 않았으면 getRawCount() 와 같음)
+		 */
+		public long getWireCount() {
+			return mWireCount;
+		}
+
+		/**
+		 * gzip header 확인(FEXTRA, FNAME, FCOMMENT, FHCRC 는 건너뜀)
+		 */
+		private void readGzipHeader() throws IOException {
+			if (readWire() != 0x1f || readWire() != 0x8b || readWire() != 8) {
+				throw new ZipException("not in gzip format");
+			}
+			int nFlag = readWire();
+			for (int i = 0; i < 6; i++) {  // MTIME, XFL, OS
+				readWire();
+			}
+			if ((nFlag & 0x04) != 0) {
+				int nExtra = readWire() | (readWire() << 8);
+				for (int i = 0; i < nExtra; i++) {
+					readWire();
+				}
+			}
+			for (int nMask = 0x08; nMask <= 0x10; nMask <<= 1) {
+				if ((nFlag & nMask) != 0) {
+					while (readWire() != 0) {
+						// 0 으로 끝나는 문자열
+					}
+				}
+			}
+			if ((nFlag & 0x02) != 0) {
+				readWire();
+				readWire();
+			}
+		}
+
+		/**
+		 * trailer 확인 - gzip(CRC32, 길이), zlib(Adler32)
+		 */
+		private void readTrailer() throws IOException {
+			int nLen = mGzip ? 8 : (mZlib ? 4 : 0);
+			byte[] trailer = new byte[nLen];
+			int nRemain = Math.min(mCodec.mInflater.getRemaining(), nLen);
+			System.arraycopy(mCodec.mBuf, mFilled - mCodec.mInflater.getRemaining(), trailer, 0, nRemain);
+			for (int i = nRemain; i < nLen; i++) {
+				trailer[i] = (byte) readWire();
+			}
+			if (mGzip) {
+				long lCrc = readInt(trailer, 0, false);
+				long lSize = readInt(trailer, 4, false);
+				if (lCrc != mChecksum.getValue() || lSize != (mRawCount & 0xffffffffL)) {
+					throw new ZipException("corrupt gzip trailer");
+				}
+			} else if (mZlib && readInt(trailer, 0, true) != mChecksum.getValue()) {
+				throw new ZipException("corrupt zlib trailer");
+			}
+		}
+
+		private int readWire() throws IOException {
+			int nByte = mIn.read();
+			if (nByte < 0) {
+				throw new EOFException("unexpected end of compressed body");
+			}
+			mWireCount++;
+			return nByte;
+		}
+
+		private static long readInt(byte[] data, int nOff, boolean bBigEndian) {
+			long lValue = 0;
+			for (int i = 0; i < 4; i++) {
+				int nByte = data[nOff + (bBigEndian ? i : 3 - i)] & 0xff;
+				lValue = (lValue << 8) | nByte;
+			}
+			return lValue;
+		}
+	}
+}
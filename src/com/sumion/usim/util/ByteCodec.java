@@ -0,0 +1,424 @@
+package com.sumion.usim.util;
+
+/**
+ * byte 배열 변환(hex, Base64, DER tag/length) 처리 class<br>
+ * 모든 변환은 lookup table 로 처리하며, 호출자가 전달한 buffer 에 결과를 기록하는 메소드는 내부에서 객체를 할당하지 않음
+ */
+public final class ByteCodec {
+	/** hex 소문자 table */
+	static final char[] HEX_LOWER = "0123456789abcdef".toCharArray();
+	/** hex 대문자 table */
+	static final char[] HEX_UPPER = "0123456789ABCDEF".toCharArray();
+	/** hex 문자 -> 값 table(유효하지 않은 문자는 -1) */
+	private static final byte[] HEX_VALUE = new byte[128];
+
+	/** Base64 문자 table */
+	private static final byte[] BASE64_CHAR = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes();
+	/** Base64 문자 -> 값 table(유효하지 않은 문자는 -1, 공백은 -2, '=' 은 -3) */
+	private static final byte[] BASE64_VALUE = new byte[128];
+	private static final byte BASE64_SKIP = -2;
+	private static final byte BASE64_PAD = -3;
+
+	////////////////////////////// DER tag ///////////////////////////////////////
+	public static final int DER_BOOLEAN				= 0x01;
+	public static final int DER_INTEGER				= 0x02;
+	public static final int DER_BIT_STRING			= 0x03;
+	public static final int DER_OCTET_STRING		= 0x04;
+	public static final int DER_NULL				= 0x05;
+	public static final int DER_OID					= 0x06;
+	public static final int DER_UTF8_STRING			= 0x0C;
+	public static final int DER_PRINTABLE_STRING	= 0x13;
+	public static final int DER_UTC_TIME			= 0x17;
+	public static final int DER_GENERALIZED_TIME	= 0x18;
+	public static final int DER_SEQUENCE			= 0x30;
+	public static final int DER_SET					= 0x31;
+	/** [0] constructed context specific tag */
+	public static final int DER_CONTEXT_0			= 0xA0;
+	/** [1] constructed context specific tag */
+	public static final int DER_CONTEXT_1			= 0xA1;
+
+	static {
+		for(int i = 0; i < HEX_VALUE.length; i++) {
+			HEX_VALUE[i] = -1;
+			BASE64_VALUE[i] = -1;
+		}
+		for(int i = 0; i < 16; i++) {
+			HEX_VALUE[HEX_LOWER[i]] = (byte) i;
+			HEX_VALUE[HEX_UPPER[i]] = (byte) i;
+		}
+		for(int i = 0; i < BASE64_CHAR.length; i++) {
+			BASE64_VALUE[BASE64_CHAR[i]] = (byte) i;
+		}
+		BASE64_VALUE['\r'] = BASE64_SKIP;
+		BASE64_VALUE['\n'] = BASE64_SKIP;
+		BASE64_VALUE[' '] = BASE64_SKIP;
+		BASE64_VALUE['\t'] = BASE64_SKIP;
+		BASE64_VALUE['='] = BASE64_PAD;
+	}
+
+	private ByteCodec() {
+	}
+
+	////////////////////////////// hex ///////////////////////////////////////
+
+	/**
+	 * hex 문자열 변환
+	 * @param src - 원본
+	 * @param nOff - 원본 시작 위치
+	 * @param nLen - 변환할 길이
+	 * @param dst - 결과 buffer(nLen * 2 이상)
+	 * @param nDstOff - 결과 시작 위치
+	 * @param bUpperCase - 대문자 사용 여부
+	 * @return int - 기록한 문자 수
+	 */
+	public static int hexEncode(byte[] src, int nOff, int nLen, char[] dst, int nDstOff, boolean bUpperCase) {
+		char[] table = bUpperCase ? HEX_UPPER : HEX_LOWER;
+		int nPos = nDstOff;
+		for(int i = nOff; i < nOff + nLen; i++) {
+			int b = src[i] & 0xFF;
+			dst[nPos++] = table[b >>> 4];
+			dst[nPos++] = table[b & 0x0F];
+		}
+		return nPos - nDstOff;
+	}
+
+	/**
+	 * hex 문자열 변환(소문자)
+	 * @param src - 원본
+	 * @return String - hex 문자열
+	 */
+	public static String toHex(byte[] src) {
+		char[] dst = new char[src.length * 2];
+		hexEncode(src, 0, src.length, dst, 0, false);
+		return new String(dst);
+	}
+
+	/**
+	 * hex 문자열을 byte 로 변환
+	 * @param src - hex 문자열
+	 * @param nOff - 시작 위치
+	 * @param nLen - 문자 수(짝수)
+	 * @param dst - 결과 buffer(nLen / 2 이상)
+	 * @param nDstOff - 결과 시작 위치
+	 * @return int - 기록한 byte 수
+	 * @throws IllegalArgumentException - 길이가 홀수이거나 hex 문자가 아닌 경우
+	 */
+	public static int hexDecode(CharSequence src, int nOff, int nLen, byte[] dst, int nDstOff) {
+		if((nLen & 1) != 0) {
+			throw new IllegalArgumentException("odd hex length : " + nLen);
+		}
+		int nPos = nDstOff;
+		for(int i = nOff; i < nOff + nLen; i += 2) {
+			int nHigh = hexValue(src.charAt(i));
+			int nLow = hexValue(src.charAt(i + 1));
+			dst[nPos++] = (byte) ((nHigh << 4) | nLow);
+		}
+		return nPos - nDstOff;
+	}
+
+	/**
+	 * hex 문자열을 byte 배열로 변환
+	 * @param src - hex 문자열
+	 * @return byte[] - 변환 결과
+	 * @throws IllegalArgumentException - 길이가 홀수이거나 hex 문자가 아닌 경우
+	 */
+	public static byte[] fromHex(String src) {
+		byte[] dst = new byte[src.length() / 2];
+		hexDecode(src, 0, src.length(), dst, 0);
+		return dst;
+	}
+
+	private static int hexValue(char c) {
+		int nValue = c < 128 ? HEX_VALUE[c] : -1;
+		if(nValue < 0) {
+			throw new IllegalArgumentException("invalid hex character : " + c);
+		}
+		return nValue;
+	}
+
+	////////////////////////////// Base64 ///////////////////////////////////////
+
+	/**
+	 * Base64 변환 결과 길이(padding 포함, 줄바꿈 없음)
+	 * @param nLen - 원본 길이
+	 * @return int - 변환 결과 길이
+	 */
+	public static int base64EncodedLength(int nLen) {
+		return ((nLen + 2) / 3) * 4;
+	}
+
+	/**
+	 * Base64 변환(ASCII byte 로 기록, 줄바꿈 없음)
+	 * @param src - 원본
+	 * @param nOff - 원본 시작 위치
+	 * @param nLen - 변환할 길이
+	 * @param dst - 결과 buffer(base64EncodedLength(nLen) 이상)
+	 * @param nDstOff - 결과 시작 위치
+	 * @return int - 기록한 byte 수
+	 */
+	public static int base64Encode(byte[] src, int nOff, int nLen, byte[] dst, int nDstOff) {
+		int nPos = nDstOff;
+		int nEnd = nOff + nLen - nLen % 3;
+		int i = nOff;
+		for(; i < nEnd; i += 3) {
+			int nBits = ((src[i] & 0xFF) << 16) | ((src[i + 1] & 0xFF) << 8) | (src[i + 2] & 0xFF);
+			dst[nPos++] = BASE64_CHAR[nBits >>> 18];
+			dst[nPos++] = BASE64_CHAR[(nBits >>> 12) & 0x3F];
+			dst[nPos++] = BASE64_CHAR[(nBits >>> 6) & 0x3F];
+			dst[nPos++] = BASE64_CHAR[nBits & 0x3F];
+		}
+		int nRemain = nOff + nLen - i;
+		if(nRemain > 0) {
+			int nBits = (src[i] & 0xFF) << 16;
+			if(nRemain == 2) {
+				nBits |= (src[i + 1] & 0xFF) << 8;
+			}
+			dst[nPos++] = BASE64_CHAR[nBits >>> 18];
+			dst[nPos++] = BASE64_CHAR[(nBits >>> 12) & 0x3F];
+			dst[nPos++] = nRemain == 2 ? BASE64_CHAR[(nBits >>> 6) & 0x3F] : (byte) '=';
+			dst[nPos++] = (byte) '=';
+		}
+		return nPos - nDstOff;
+	}
+
+	/**
+	 * Base64 문자열 변환
+	 * @param src - 원본
+	 * @return String - Base64 문자열
+	 */
+	public static String toBase64(byte[] src) {
+		byte[] dst = new byte[base64EncodedLength(src.length)];
+		int nLen = base64Encode(src, 0, src.length, dst, 0);
+		char[] chars = new char[nLen];
+		for(int i = 0; i < nLen; i++) {
+			chars[i] = (char) dst[i];
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Base64 복원 결과 최대 길이
+	 * @param nLen - Base64 데이터 길이
+	 * @return int - 복원 결과 최대 길이
+	 */
+	public static int base64DecodedMaxLength(int nLen) {
+		return (nLen / 4) * 3 + 3;
+	}
+
+	/**
+	 * Base64 복원(공백/줄바꿈 무시)<br>
+	 * padding('=')은 마지막 4 문자 단위의 3, 4 번째 위치에만 허용하며, padding 이후에는 공백/줄바꿈만 허용함
+	 * @param src - Base64 데이터(ASCII)
+	 * @param nOff - 시작 위치
+	 * @param nLen - 길이
+	 * @param dst - 결과 buffer(base64DecodedMaxLength(nLen) 이상)
+	 * @param nDstOff - 결과 시작 위치
+	 * @return int - 기록한 byte 수
+	 * @throws IllegalArgumentException - Base64 문자가 아니거나 padding 위치가 잘못되었거나 padding 이후에 데이터가 있는 경우
+	 */
+	public static int base64Decode(byte[] src, int nOff, int nLen, byte[] dst, int nDstOff) {
+		int nPos = nDstOff;
+		int nBits = 0;
+		int nCount = 0;
+		for(int i = nOff; i < nOff + nLen; i++) {
+			int c = src[i] & 0xFF;
+			int nValue = c < 128 ? BASE64_VALUE[c] : -1;
+			if(nValue == BASE64_SKIP) {
+				continue;
+			}
+			if(nValue == BASE64_PAD) {
+				checkBase64Padding(src, i, nOff + nLen, nCount);
+				break;
+			}
+			if(nValue < 0) {
+				throw new IllegalArgumentException("invalid base64 character : " + (char) c);
+			}
+			nBits = (nBits << 6) | nValue;
+			if(++nCount == 4) {
+				dst[nPos++] = (byte) (nBits >>> 16);
+				dst[nPos++] = (byte) (nBits >>> 8);
+				dst[nPos++] = (byte) nBits;
+				nBits = 0;
+				nCount = 0;
+			}
+		}
+		if(nCount == 3) {
+			dst[nPos++] = (byte) (nBits >>> 10);
+			dst[nPos++] = (byte) (nBits >>> 2);
+		} else if(nCount == 2) {
+			dst[nPos++] = (byte) (nBits >>> 4);
+		} else if(nCount == 1) {
+			throw new IllegalArgumentException("truncated base64 data");
+		}
+		return nPos - nDstOff;
+	}
+
+	/**
+	 * padding 검증 - 남은 문자 단위를 채우는 개수를 넘는 '=' 또는 '=' 이후의 Base64 문자는 허용하지 않음
+	 * @param src - Base64 데이터(ASCII)
+	 * @param nPad - 첫 '=' 위치
+	 * @param nEnd - 데이터 끝 위치
+	 * @param nCount - '=' 앞의 마지막 단위 문자 수
+	 * @throws IllegalArgumentException - padding 이 잘못된 경우
+	 */
+	private static void checkBase64Padding(byte[] src, int nPad, int nEnd, int nCount) {
+		if(nCount < 2) {
+			throw new IllegalArgumentException("unexpected base64 padding at " + nPad);
+		}
+		int nPadCount = 0;
+		for(int i = nPad; i < nEnd; i++) {
+			int c = src[i] & 0xFF;
+			int nValue = c < 128 ? BASE64_VALUE[c] : -1;
+			if(nValue == BASE64_PAD) {
+				if(++nPadCount > 4 - nCount) {
+					throw new IllegalArgumentException("extra base64 padding at " + i);
+				}
+			} else if(nValue != BASE64_SKIP) {
+				throw new IllegalArgumentException("base64 data after padding at " + i);
+			}
+		}
+	}
+
+	/**
+	 * Base64 문자열 복원
+	 * @param src - Base64 문자열
+	 * @return byte[] - 복원 결과
+	 * @throws IllegalArgumentException - Base64 문자가 아닌 경우
+	 */
+	public static byte[] fromBase64(String src) {
+		byte[] ascii = new byte[src.length()];
+		for(int i = 0; i < ascii.length; i++) {
+			char c = src.charAt(i);
+			ascii[i] = c < 128 ? (byte) c : (byte) 0xFF;
+		}
+		byte[] dst = new byte[base64DecodedMaxLength(ascii.length)];
+		int nLen = base64Decode(ascii, 0, ascii.length, dst, 0);
+		if(nLen == dst.length) {
+			return dst;
+		}
+		byte[] result = new byte[nLen];
+		System.arraycopy(dst, 0, result, 0, nLen);
+		return result;
+	}
+
+	////////////////////////////// DER ///////////////////////////////////////
+
+	/**
+	 * DER length 필드 크기
+	 * @param nLen - 값 길이
+	 * @return int - length 필드 byte 수
+	 */
+	public static int derLengthSize(int nLen) {
+		if(nLen < 0x80) {
+			return 1;
+		} else if(nLen < 0x100) {
+			return 2;
+		} else if(nLen < 0x10000) {
+			return 3;
+		} else if(nLen < 0x1000000) {
+			return 4;
+		}
+		return 5;
+	}
+
+	/**
+	 * DER length 필드 기록
+	 * @param nLen - 값 길이
+	 * @param dst - 결과 buffer
+	 * @param nOff - 기록 위치
+	 * @return int - 기록한 byte 수
+	 */
+	public static int derWriteLength(int nLen, byte[] dst, int nOff) {
+		int nSize = derLengthSize(nLen);
+		if(nSize == 1) {
+			dst[nOff] = (byte) nLen;
+			return 1;
+		}
+		dst[nOff] = (byte) (0x80 | (nSize - 1));
+		for(int i = nSize - 1; i > 0; i--) {
+			dst[nOff + i] = (byte) nLen;
+			nLen >>>= 8;
+		}
+		return nSize;
+	}
+
+	/**
+	 * DER tag + length 기록
+	 * @param nTag - tag
+	 * @param nLen - 값 길이
+	 * @param dst - 결과 buffer
+	 * @param nOff - 기록 위치
+	 * @return int - 기록한 byte 수
+	 */
+	public static int derWriteHeader(int nTag, int nLen, byte[] dst, int nOff) {
+		dst[nOff] = (byte) nTag;
+		return 1 + derWriteLength(nLen, dst, nOff + 1);
+	}
+
+	/**
+	 * DER tag 반환(단일 byte tag)
+	 * @param src - DER 데이터
+	 * @param nOff - TLV 시작 위치
+	 * @return int - tag
+	 */
+	public static int derTag(byte[] src, int nOff) {
+		return src[nOff] & 0xFF;
+	}
+
+	/**
+	 * DER length 필드 크기 반환
+	 * @param src - DER 데이터
+	 * @param nOff - TLV 시작 위치
+	 * @return int - length 필드 byte 수
+	 */
+	public static int derReadLengthSize(byte[] src, int nOff) {
+		int b = src[nOff + 1] & 0xFF;
+		return b < 0x80 ? 1 : 1 + (b & 0x7F);
+	}
+
+	/**
+	 * DER 값 길이 반환
+	 * @param src - DER 데이터
+	 * @param nOff - TLV 시작 위치
+	 * @return int - 값 길이
+	 * @throws IllegalArgumentException - 지원하지 않는 length 형식(indefinite, 4 byte 초과)
+	 */
+	public static int derReadLength(byte[] src, int nOff) {
+		int b = src[nOff + 1] & 0xFF;
+		if(b < 0x80) {
+			return b;
+		}
+		int nCount = b & 0x7F;
+		if(nCount == 0 || nCount > 4) {
+			throw new IllegalArgumentException("unsupported DER length at " + nOff);
+		}
+		int nLen = 0;
+		for(int i = 0; i < nCount; i++) {
+			nLen = (nLen << 8) | (src[nOff + 2 + i] & 0xFF);
+		}
+		if(nLen < 0) {
+			throw new IllegalArgumentException("unsupported DER length at " + nOff);
+		}
+		return nLen;
+	}
+
+	/**
+	 * DER tag + length 크기 반환
+	 * @param src - DER 데이터
+	 * @param nOff - TLV 시작 위치
+	 * @return int - header byte 수(값 시작 위치 = nOff + header 크기)
+	 */
+	public static int derHeaderSize(byte[] src, int nOff) {
+		return 1 + derReadLengthSize(src, nOff);
+	}
+
+	/**
+	 * DER TLV 전체 크기 반환
+	 * @param src - DER 데이터
+	 * @param nOff - TLV 시작 위치
+	 * @return int - TLV 전체 byte 수
+	 */
+	public static int derTotalSize(byte[] src, int nOff) {
+		return derHeaderSize(src, nOff) + derReadLength(src, nOff);
+	}
+}
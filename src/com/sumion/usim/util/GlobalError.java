@@ -82,6 +82,10 @@ public final class GlobalError {
 		public static final String SERVICE_CONNECT = "901";
 		/** 선행 작업 진행 중인 경우 */
 		public static final String IN_USE = "902";
+		/** 요청 처리 기한 초과 */
+		public static final String REQUEST_TIMEOUT = "903";
+		/** 요청 취소 */
+		public static final String REQUEST_CANCELLED = "904";
 		/** 시스템 오류 */
 		public static final String SYSTEM = "950";
 	}
@@ -160,6 +164,10 @@ public final class GlobalError {
 		public static final String SERVICE_CONNECT	= "서비스 연결에 문제가 발생되었습니다.";
 		/** 선행 작업 진행 중인 경우 */
 		public static final String IN_USE = "서비스가 이미 사용 중 입니다.";
+		/** 요청 처리 기한 초과 */
+		public static final String REQUEST_TIMEOUT = "요청 처리 시간이 초과되었습니다.";
+		/** 요청 취소 */
+		public static final String REQUEST_CANCELLED = "요청이 취소되었습니다.";
 		/** 시스템 오류 */
 		public static final String SYSTEM = "시스템 오류가 발생되었습니다.";
 	}
@@ -1,63 +1,406 @@
 package com.sumion.usim.util;
 
+import java.util.Arrays;
+import java.util.HashMap;
+
+import android.util.Log;
+
+/**
+ * 로그 출력 class<br>
+ * 출력 level 및 tag 별 level 을 실행 중에 변경할 수 있으며, 로그는 미리 할당된 ring buffer 에 기록된 후
+ * background thread 에서 문자열로 변환되어 출력됨<br>
+ * message 의 "{}" 는 전달된 인자로 출력 시점에 치환되므로 호출부에서 문자열을 미리 만들지 않아야 함<br>
+ * 변경되지 않는 인자(String, Integer, Long, Boolean)만 참조를 보관하고, 그 외 인자(byte[] 등)는 기록 시점에 문자열로 변환하므로
+ * 호출부에서 인자를 지운(Arrays.fill) 이후에는 buffer 에 원본이 남지 않음
+ */
 public class LogUtil {
 
-	static LogConsole li;
-	static boolean logging = false;
+	/** 로그 출력 안함 */
+	public static final int LEVEL_NONE = Log.ASSERT + 1;
+
+	/** ring buffer 크기(2의 거듭제곱) */
+	private static final int BUFFER_SIZE = 256;
+	/** hex 출력 시 한 줄에 출력할 byte 수 */
+	private static final int HEX_BYTES_PER_LINE = 8;
+
+	static LogConsole li = new LogConsole();
+
+	/** 기본 출력 level(Log.VERBOSE ~ Log.ERROR, LEVEL_NONE) */
+	private static volatile int sLevel = LEVEL_NONE;
+	/** tag 별 출력 level - 변경 시 새 map 으로 교체 */
+	private static volatile HashMap<String, Integer> sTagLevel = new HashMap<String, Integer>();
+
+	/** 로그 event buffer */
+	private static final Event[] sEvents = new Event[BUFFER_SIZE];
+	/** 다음 기록 위치 */
+	private static long sHead;
+	/** 다음 출력 위치 */
+	private static long sTail;
+	/** buffer 가 가득 차서 버려진 로그 수 */
+	private static long sDropped;
+	/** 출력 thread */
+	private static Thread sDrainThread;
 
 	static {
-		if (logging)
-			li = new LogConsole();
+		for(int i = 0; i < BUFFER_SIZE; i++) {
+			sEvents[i] = new Event();
+		}
+	}
+
+	/**
+	 * 기본 출력 level 설정
+	 * @param nLevel - Log.VERBOSE ~ Log.ERROR, 출력하지 않을 경우 LEVEL_NONE
+	 */
+	public static void setLevel(int nLevel) {
+		sLevel = nLevel;
+	}
+
+	/**
+	 * 기본 출력 level 반환
+	 * @return int - 출력 level
+	 */
+	public static int getLevel() {
+		return sLevel;
+	}
+
+	/**
+	 * tag 별 출력 level 설정
+	 * @param tag - tag
+	 * @param nLevel - 출력 level, 기본 level 을 따를 경우 -1
+	 */
+	public static synchronized void setTagLevel(String tag, int nLevel) {
+		HashMap<String, Integer> tagLevel = new HashMap<String, Integer>(sTagLevel);
+		if(nLevel < 0) {
+			tagLevel.remove(tag);
+		} else {
+			tagLevel.put(tag, nLevel);
+		}
+		sTagLevel = tagLevel;
+	}
+
+	/**
+	 * 출력 대상 여부 반환
+	 * @param nLevel - 로그 level
+	 * @param tag - tag
+	 * @return boolean - 출력 대상 여부
+	 */
+	public static boolean isLoggable(int nLevel, String tag) {
+		HashMap<String, Integer> tagLevel = sTagLevel;
+		if(!tagLevel.isEmpty()) {
+			Integer level = tagLevel.get(tag);
+			if(level != null) {
+				return nLevel >= level;
+			}
+		}
+		return nLevel >= sLevel;
 	}
 
 	public static void v(String tag, String msg) {
-		if (logging)
-			li.logv(tag, msg);
+		if (isLoggable(Log.VERBOSE, tag))
+			record(Log.VERBOSE, tag, msg, null, null, null, null, null);
+	}
+
+	public static void v(String tag, String msg, Object arg1) {
+		if (isLoggable(Log.VERBOSE, tag))
+			record(Log.VERBOSE, tag, msg, arg1, null, null, null, null);
+	}
+
+	public static void v(String tag, String msg, Object arg1, Object arg2) {
+		if (isLoggable(Log.VERBOSE, tag))
+			record(Log.VERBOSE, tag, msg, arg1, arg2, null, null, null);
 	}
 
 	public static void i(String tag, String msg) {
-		if (logging)
-			li.logi(tag, msg);
+		if (isLoggable(Log.INFO, tag))
+			record(Log.INFO, tag, msg, null, null, null, null, null);
+	}
+
+	public static void i(String tag, String msg, Object arg1) {
+		if (isLoggable(Log.INFO, tag))
+			record(Log.INFO, tag, msg, arg1, null, null, null, null);
+	}
+
+	public static void i(String tag, String msg, Object arg1, Object arg2) {
+		if (isLoggable(Log.INFO, tag))
+			record(Log.INFO, tag, msg, arg1, arg2, null, null, null);
 	}
 
 	public static void w(String tag, String msg) {
-		if (logging)
-			li.logw(tag, msg);
+		if (isLoggable(Log.WARN, tag))
+			record(Log.WARN, tag, msg, null, null, null, null, null);
+	}
+
+	public static void w(String tag, String msg, Object arg1) {
+		if (isLoggable(Log.WARN, tag))
+			record(Log.WARN, tag, msg, arg1, null, null, null, null);
+	}
+
+	public static void w(String tag, String msg, Object arg1, Object arg2) {
+		if (isLoggable(Log.WARN, tag))
+			record(Log.WARN, tag, msg, arg1, arg2, null, null, null);
 	}
 
 	public static void e(String tag, String msg) {
-		if (logging)
-			li.loge(tag, msg);
+		if (isLoggable(Log.ERROR, tag))
+			record(Log.ERROR, tag, msg, null, null, null, null, null);
 	}
 
 	public static void e(String tag, String msg, Throwable tr) {
-		if (logging)
-			li.loge(tag, msg, tr);
+		if (isLoggable(Log.ERROR, tag))
+			record(Log.ERROR, tag, msg, null, null, null, tr, null);
+	}
+
+	public static void e(String tag, String msg, Object arg1, Throwable tr) {
+		if (isLoggable(Log.ERROR, tag))
+			record(Log.ERROR, tag, msg, arg1, null, null, tr, null);
 	}
 
 	public static void d(String tag, String msg) {
-		if (logging)
-			li.logd(tag, msg);
+		if (isLoggable(Log.DEBUG, tag))
+			record(Log.DEBUG, tag, msg, null, null, null, null, null);
+	}
+
+	public static void d(String tag, String msg, Object arg1) {
+		if (isLoggable(Log.DEBUG, tag))
+			record(Log.DEBUG, tag, msg, arg1, null, null, null, null);
+	}
+
+	public static void d(String tag, String msg, Object arg1, Object arg2) {
+		if (isLoggable(Log.DEBUG, tag))
+			record(Log.DEBUG, tag, msg, arg1, arg2, null, null, null);
+	}
+
+	public static void d(String tag, String msg, Object arg1, Object arg2, Object arg3) {
+		if (isLoggable(Log.DEBUG, tag))
+			record(Log.DEBUG, tag, msg, arg1, arg2, arg3, null, null);
 	}
 
 	public static void hex(String tag, byte[] bArr) {
-		if (logging) {
-			String msg = "";
+		if (isLoggable(Log.DEBUG, tag)) {
 			if(bArr != null) {
-				for(int i = 0; i < bArr.length; i++) {
-					msg += String.format("0x%02X ", bArr[i]);
-					if((i + 1) % 8 == 0) {
-						li.logd(tag, msg);
-						msg = "";
+				record(Log.DEBUG, tag, null, null, null, null, null, bArr);
+			}
+			else {
+				record(Log.DEBUG, tag, "array is null!!!", null, null, null, null, null);
+			}
+		}
+	}
+
+	/**
+	 * 버려진 로그 수 반환(buffer 가 가득 찬 경우)
+	 * @return long - 버려진 로그 수
+	 */
+	public static long getDroppedCount() {
+		synchronized(sEvents) {
+			return sDropped;
+		}
+	}
+
+	/**
+	 * 로그 event 를 buffer 에 기록(문자열 변환은 출력 thread 에서 수행)
+	 */
+	private static void record(int nLevel, String tag, String msg, Object arg1, Object arg2, Object arg3, Throwable tr, byte[] data) {
+		arg1 = snapshot(arg1);
+		arg2 = snapshot(arg2);
+		arg3 = snapshot(arg3);
+		synchronized(sEvents) {
+			if(sHead - sTail >= BUFFER_SIZE) {
+				sDropped++;
+				return;
+			}
+			Event event = sEvents[(int) (sHead & (BUFFER_SIZE - 1))];
+			event.m_nLevel = nLevel;
+			event.m_tag = tag;
+			event.m_msg = msg;
+			event.m_arg1 = arg1;
+			event.m_arg2 = arg2;
+			event.m_arg3 = arg3;
+			event.m_tr = tr;
+			event.setData(data);
+			sHead++;
+
+			if(sDrainThread == null) {
+				sDrainThread = new Thread(new Runnable() {
+
+					@Override
+					public void run() {
+						drain();
+					}
+				}, "LogUtil");
+				sDrainThread.setDaemon(true);
+				sDrainThread.start();
+			}
+			else if(sHead - sTail == 1) {
+				sEvents.notify();
+			}
+		}
+	}
+
+	/**
+	 * 기록 시점 인자 값 - 변경되지 않는 값은 그대로, 그 외는 문자열로 변환(호출부의 객체를 buffer 에 보관하지 않음)
+	 */
+	private static Object snapshot(Object arg) {
+		if(arg == null || arg instanceof String || arg instanceof Integer || arg instanceof Long || arg instanceof Boolean) {
+			return arg;
+		}
+		return String.valueOf(arg);
+	}
+
+	/**
+	 * buffer 의 로그를 순서대로 출력(출력 thread)
+	 */
+	private static void drain() {
+		Event current = new Event();
+		StringBuilder sb = new StringBuilder(128);
+		while(true) {
+			synchronized(sEvents) {
+				while(sHead == sTail) {
+					try {
+						sEvents.wait();
+					} catch (InterruptedException e) {
+						return;
 					}
 				}
-				if(msg.length() > 0) {
-					li.logd(tag, msg);
+				current.copyFrom(sEvents[(int) (sTail & (BUFFER_SIZE - 1))]);
+				sTail++;
+			}
+			write(current, sb);
+			current.clear();
+		}
+	}
+
+	/**
+	 * 로그 event 출력
+	 */
+	private static void write(Event event, StringBuilder sb) {
+		if(event.m_nDataLen >= 0) {
+			writeHex(event, sb);
+			return;
+		}
+
+		sb.setLength(0);
+		format(sb, event.m_msg, event.m_arg1, event.m_arg2, event.m_arg3);
+		String msg = sb.toString();
+		switch(event.m_nLevel) {
+		case Log.VERBOSE:
+			li.logv(event.m_tag, msg);
+			break;
+		case Log.DEBUG:
+			li.logd(event.m_tag, msg);
+			break;
+		case Log.INFO:
+			li.logi(event.m_tag, msg);
+			break;
+		case Log.WARN:
+			li.logw(event.m_tag, msg);
+			break;
+		default:
+			if(event.m_tr != null) {
+				li.loge(event.m_tag, msg, event.m_tr);
+			} else {
+				li.loge(event.m_tag, msg);
+			}
+			break;
+		}
+	}
+
+	/**
+	 * hex dump 출력("0xXX " 형식, 한 줄에 8 byte)
+	 */
+	private static void writeHex(Event event, StringBuilder sb) {
+		byte[] data = event.m_data;
+		int nLen = event.m_nDataLen;
+		char[] hex = ByteCodec.HEX_UPPER;
+		sb.setLength(0);
+		for(int i = 0; i < nLen; i++) {
+			int b = data[i] & 0xFF;
+			sb.append('0').append('x').append(hex[b >>> 4]).append(hex[b & 0x0F]).append(' ');
+			if((i + 1) % HEX_BYTES_PER_LINE == 0) {
+				li.logd(event.m_tag, sb.toString());
+				sb.setLength(0);
+			}
+		}
+		if(sb.length() > 0) {
+			li.logd(event.m_tag, sb.toString());
+		}
+	}
+
+	/**
+	 * message 의 "{}" 를 인자로 치환
+	 */
+	private static void format(StringBuilder sb, String msg, Object arg1, Object arg2, Object arg3) {
+		if(msg == null) {
+			return;
+		}
+		int nArg = 0;
+		int nStart = 0;
+		int nPos;
+		while(nArg < 3 && (nPos = msg.indexOf("{}", nStart)) >= 0) {
+			sb.append(msg, nStart, nPos);
+			sb.append(nArg == 0 ? arg1 : (nArg == 1 ? arg2 : arg3));
+			nArg++;
+			nStart = nPos + 2;
+		}
+		sb.append(msg, nStart, msg.length());
+	}
+
+	/**
+	 * ring buffer 항목
+	 */
+	private static final class Event {
+		int m_nLevel;
+		String m_tag;
+		String m_msg;
+		Object m_arg1;
+		Object m_arg2;
+		Object m_arg3;
+		Throwable m_tr;
+		/** hex dump 데이터 복사본(항목 별로 재사용) */
+		byte[] m_data;
+		/** hex dump 데이터 길이, hex dump 가 아니면 -1 */
+		int m_nDataLen = -1;
+
+		void setData(byte[] data) {
+			if(data == null) {
+				m_nDataLen = -1;
+				return;
+			}
+			if(m_data == null || m_data.length < data.length) {
+				m_data = new byte[data.length];
+			}
+			System.arraycopy(data, 0, m_data, 0, data.length);
+			m_nDataLen = data.length;
+		}
+
+		void copyFrom(Event event) {
+			m_nLevel = event.m_nLevel;
+			m_tag = event.m_tag;
+			m_msg = event.m_msg;
+			m_arg1 = event.m_arg1;
+			m_arg2 = event.m_arg2;
+			m_arg3 = event.m_arg3;
+			m_tr = event.m_tr;
+			m_nDataLen = event.m_nDataLen;
+			if(m_nDataLen >= 0) {
+				if(m_data == null || m_data.length < m_nDataLen) {
+					m_data = new byte[m_nDataLen];
 				}
+				System.arraycopy(event.m_data, 0, m_data, 0, m_nDataLen);
 			}
-			else {
-				li.logd(tag, "array is null!!!");
+			event.clear();
+		}
+
+		void clear() {
+			if(m_nDataLen > 0) {
+				Arrays.fill(m_data, 0, m_nDataLen, (byte) 0);
 			}
+			m_tag = null;
+			m_msg = null;
+			m_arg1 = null;
+			m_arg2 = null;
+			m_arg3 = null;
+			m_tr = null;
+			m_nDataLen = -1;
 		}
 	}
-}
\ No newline at end of file
+}
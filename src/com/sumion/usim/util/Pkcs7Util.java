@@ -0,0 +1,389 @@
+package com.sumion.usim.util;
+
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * PKCS#7(CMS) SignedData 편집 class<br>
+ * 서명 데이터를 다시 구성하지 않고 변경 위치를 포함하는 상위 TLV 의 length header 만 다시 기록하므로,
+ * 서비스에 서명 데이터를 전달하지 않고 비인증 속성 추가, 원문 포함/분리, 서명자 정보 조회를 처리할 수 있음<br>
+ * 서명자가 여럿인 경우 첫 번째 SignerInfo 를 대상으로 하며, 잘못된 형식의 데이터는 IllegalArgumentException 발생
+ */
+public final class Pkcs7Util {
+	////////////////////////////// OID ///////////////////////////////////////
+	public static final String OID_DATA				= "1.2.840.113549.1.7.1";
+	public static final String OID_SIGNED_DATA		= "1.2.840.113549.1.7.2";
+	public static final String OID_SIGNING_TIME		= "1.2.840.113549.1.9.5";
+	public static final String OID_RSA_ENCRYPTION	= "1.2.840.113549.1.1.1";
+	public static final String OID_SHA1				= "1.3.14.3.2.26";
+	public static final String OID_SHA256			= "2.16.840.1.101.3.4.2.1";
+	/** 본인확인용 개인키 랜덤 값(VID R) 속성 */
+	public static final String OID_VID_RANDOM		= "1.2.410.200004.10.1.1.3";
+
+	private static final byte[] SIGNED_DATA_OID = encodeOid(OID_SIGNED_DATA);
+	private static final byte[] SIGNING_TIME_OID = encodeOid(OID_SIGNING_TIME);
+
+	private Pkcs7Util() {
+	}
+
+	/**
+	 * 첫 번째 SignerInfo 에 비인증 속성(unsignedAttrs) 추가
+	 * @param signedData - PKCS#7 서명 데이터(ContentInfo)
+	 * @param strOid - 속성 OID
+	 * @param attrValue - DER 로 인코딩된 속성 값
+	 * @return byte[] - 속성이 추가된 서명 데이터
+	 */
+	public static byte[] addUnauthAttr(byte[] signedData, String strOid, byte[] attrValue) {
+		Layout layout = new Layout(signedData);
+		byte[] attr = der(ByteCodec.DER_SEQUENCE, encodeOid(strOid), der(ByteCodec.DER_SET, attrValue));
+
+		int nUnsigned = -1;
+		for(int nPos = firstChild(signedData, layout.m_nSignerInfo); nPos < end(signedData, layout.m_nSignerInfo); nPos = next(signedData, nPos)) {
+			if(ByteCodec.derTag(signedData, nPos) == ByteCodec.DER_CONTEXT_1) {
+				nUnsigned = nPos;
+			}
+		}
+		if(nUnsigned >= 0) {  // 기존 속성 뒤에 추가
+			return splice(signedData, layout.path(layout.m_nSignerInfo, nUnsigned), end(signedData, nUnsigned), 0, attr);
+		}
+		return splice(signedData, layout.path(layout.m_nSignerInfo), end(signedData, layout.m_nSignerInfo), 0, der(ByteCodec.DER_CONTEXT_1, attr));
+	}
+
+	/**
+	 * 본인확인용 랜덤 값(VID R) 속성 추가 - 값은 BIT STRING 으로 인코딩
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @param random - getVIDRandom() 으로 조회한 R 값
+	 * @return byte[] - 속성이 추가된 서명 데이터
+	 */
+	public static byte[] addVidRandom(byte[] signedData, byte[] random) {
+		return addUnauthAttr(signedData, OID_VID_RANDOM, bitString(random));
+	}
+
+	/**
+	 * 서명 원문 포함 여부 반환
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @return boolean - 원문 포함(attached) 여부
+	 */
+	public static boolean isAttached(byte[] signedData) {
+		return new Layout(signedData).m_nEContent >= 0;
+	}
+
+	/**
+	 * 포함된 서명 원문 반환
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @return byte[] - 서명 원문(분리된 서명은 null)
+	 */
+	public static byte[] getContent(byte[] signedData) {
+		Layout layout = new Layout(signedData);
+		if(layout.m_nEContent < 0) {
+			return null;
+		}
+		int nOctet = firstChild(signedData, layout.m_nEContent);
+		int nStart = firstChild(signedData, nOctet);
+		return Arrays.copyOfRange(signedData, nStart, end(signedData, nOctet));
+	}
+
+	/**
+	 * 서명 원문 분리(detached 형식으로 변환)
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @return byte[] - 원문이 제거된 서명 데이터(이미 분리된 경우 그대로 반환)
+	 */
+	public static byte[] detach(byte[] signedData) {
+		Layout layout = new Layout(signedData);
+		if(layout.m_nEContent < 0) {
+			return signedData;
+		}
+		return splice(signedData, layout.path(layout.m_nEncap), layout.m_nEContent, ByteCodec.derTotalSize(signedData, layout.m_nEContent), new byte[0]);
+	}
+
+	/**
+	 * 서명 원문 포함(attached 형식으로 변환) - 이미 포함된 원문은 교체
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @param content - 서명 원문
+	 * @return byte[] - 원문이 포함된 서명 데이터
+	 */
+	public static byte[] attach(byte[] signedData, byte[] content) {
+		Layout layout = new Layout(signedData);
+		byte[] eContent = der(ByteCodec.DER_CONTEXT_0, der(ByteCodec.DER_OCTET_STRING, content));
+		if(layout.m_nEContent >= 0) {
+			return splice(signedData, layout.path(layout.m_nEncap), layout.m_nEContent, ByteCodec.derTotalSize(signedData, layout.m_nEContent), eContent);
+		}
+		return splice(signedData, layout.path(layout.m_nEncap), end(signedData, layout.m_nEncap), 0, eContent);
+	}
+
+	/**
+	 * 첫 번째 SignerInfo 반환
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @return byte[] - SignerInfo DER
+	 */
+	public static byte[] getSignerInfo(byte[] signedData) {
+		Layout layout = new Layout(signedData);
+		return Arrays.copyOfRange(signedData, layout.m_nSignerInfo, next(signedData, layout.m_nSignerInfo));
+	}
+
+	/**
+	 * 서명 시간(signingTime 인증 속성) 반환
+	 * @param signedData - PKCS#7 서명 데이터
+	 * @return Date - 서명 시간(속성이 없으면 null)
+	 */
+	public static Date getSigningTime(byte[] signedData) {
+		Layout layout = new Layout(signedData);
+		int nSigned = -1;
+		for(int nPos = firstChild(signedData, layout.m_nSignerInfo); nPos < end(signedData, layout.m_nSignerInfo); nPos = next(signedData, nPos)) {
+			if(ByteCodec.derTag(signedData, nPos) == ByteCodec.DER_CONTEXT_0) {
+				nSigned = nPos;
+				break;
+			}
+		}
+		if(nSigned < 0) {
+			return null;
+		}
+
+		for(int nAttr = firstChild(signedData, nSigned); nAttr < end(signedData, nSigned); nAttr = next(signedData, nAttr)) {
+			int nOid = firstChild(signedData, nAttr);
+			if(!equalsTlv(signedData, nOid, SIGNING_TIME_OID)) {
+				continue;
+			}
+			int nTime = firstChild(signedData, next(signedData, nOid));
+			String strTime = new String(signedData, firstChild(signedData, nTime), ByteCodec.derReadLength(signedData, nTime));
+			return parseTime(ByteCodec.derTag(signedData, nTime), strTime);
+		}
+		return null;
+	}
+
+	/**
+	 * PKCS#1 서명 값(getUsimSign 결과)으로 SignedData 생성(인증 속성 없음)
+	 * @param signature - PKCS#1 서명 값
+	 * @param cert - 서명 인증서
+	 * @param strDigestOid - 서명 시 사용한 hash 알고리즘 OID(OID_SHA256 등)
+	 * @param content - 서명 원문(null 이면 원문 분리 형식)
+	 * @return byte[] - PKCS#7 서명 데이터(ContentInfo)
+	 * @throws CertificateEncodingException - 인증서 DER 변환 실패
+	 */
+	public static byte[] wrapSignature(byte[] signature, X509Certificate cert, String strDigestOid, byte[] content) throws CertificateEncodingException {
+		byte[] digestAlg = der(ByteCodec.DER_SEQUENCE, encodeOid(strDigestOid), der(ByteCodec.DER_NULL));
+		byte[] version = der(ByteCodec.DER_INTEGER, new byte[] { 1 });
+
+		byte[] signerInfo = der(ByteCodec.DER_SEQUENCE,
+				version,
+				der(ByteCodec.DER_SEQUENCE, cert.getIssuerX500Principal().getEncoded(), der(ByteCodec.DER_INTEGER, cert.getSerialNumber().toByteArray())),
+				digestAlg,
+				der(ByteCodec.DER_SEQUENCE, encodeOid(OID_RSA_ENCRYPTION), der(ByteCodec.DER_NULL)),
+				der(ByteCodec.DER_OCTET_STRING, signature));
+
+		byte[] encap = content != null
+				? der(ByteCodec.DER_SEQUENCE, encodeOid(OID_DATA), der(ByteCodec.DER_CONTEXT_0, der(ByteCodec.DER_OCTET_STRING, content)))
+				: der(ByteCodec.DER_SEQUENCE, encodeOid(OID_DATA));
+
+		byte[] sd = der(ByteCodec.DER_SEQUENCE,
+				version,
+				der(ByteCodec.DER_SET, digestAlg),
+				encap,
+				der(ByteCodec.DER_CONTEXT_0, cert.getEncoded()),
+				der(ByteCodec.DER_SET, signerInfo));
+
+		return der(ByteCodec.DER_SEQUENCE, SIGNED_DATA_OID, der(ByteCodec.DER_CONTEXT_0, sd));
+	}
+
+	/**
+	 * OID DER 인코딩(tag 포함)
+	 * @param strOid - 점으로 구분된 OID
+	 * @return byte[] - OID TLV
+	 */
+	public static byte[] encodeOid(String strOid) {
+		String[] arrArc = strOid.split("\\.");
+		if(arrArc.length < 2) {
+			throw new IllegalArgumentException("invalid OID : " + strOid);
+		}
+		byte[] buf = new byte[arrArc.length * 10];
+		int nLen = writeArc(Long.parseLong(arrArc[0]) * 40 + Long.parseLong(arrArc[1]), buf, 0);
+		for(int i = 2; i < arrArc.length; i++) {
+			nLen += writeArc(Long.parseLong(arrArc[i]), buf, nLen);
+		}
+		return der(ByteCodec.DER_OID, Arrays.copyOf(buf, nLen));
+	}
+
+	/**
+	 * BIT STRING 인코딩(사용하지 않는 bit 없음)
+	 * @param value - 값
+	 * @return byte[] - BIT STRING TLV
+	 */
+	public static byte[] bitString(byte[] value) {
+		byte[] content = new byte[value.length + 1];
+		System.arraycopy(value, 0, content, 1, value.length);
+		return der(ByteCodec.DER_BIT_STRING, content);
+	}
+
+	/**
+	 * TLV 생성
+	 * @param nTag - tag
+	 * @param arrPart - 값(순서대로 이어 붙임)
+	 * @return byte[] - TLV
+	 */
+	public static byte[] der(int nTag, byte[]... arrPart) {
+		int nLen = 0;
+		for(byte[] part : arrPart) {
+			nLen += part.length;
+		}
+		byte[] result = new byte[1 + ByteCodec.derLengthSize(nLen) + nLen];
+		int nPos = ByteCodec.derWriteHeader(nTag, nLen, result, 0);
+		for(byte[] part : arrPart) {
+			System.arraycopy(part, 0, result, nPos, part.length);
+			nPos += part.length;
+		}
+		return result;
+	}
+
+	/**
+	 * 데이터 일부를 교체하고 교체 위치를 포함하는 상위 TLV 의 length 만 다시 기록
+	 * @param src - 원본
+	 * @param arrAncestor - 교체 위치를 포함하는 TLV 시작 위치(바깥쪽부터)
+	 * @param nPos - 교체 시작 위치
+	 * @param nRemove - 제거할 byte 수
+	 * @param insert - 삽입할 데이터
+	 * @return byte[] - 결과
+	 */
+	private static byte[] splice(byte[] src, int[] arrAncestor, int nPos, int nRemove, byte[] insert) {
+		// 안쪽 TLV 부터 계산 - 상위 TLV 는 하위 length header 크기 변화도 포함
+		int nDelta = insert.length - nRemove;
+		int[] arrNewLen = new int[arrAncestor.length];
+		for(int i = arrAncestor.length - 1; i >= 0; i--) {
+			arrNewLen[i] = ByteCodec.derReadLength(src, arrAncestor[i]) + nDelta;
+			nDelta += ByteCodec.derLengthSize(arrNewLen[i]) - ByteCodec.derReadLengthSize(src, arrAncestor[i]);
+		}
+
+		byte[] dst = new byte[src.length + nDelta];
+		int nSrc = 0;
+		int nDst = 0;
+		for(int i = 0; i < arrAncestor.length; i++) {
+			int nCopy = arrAncestor[i] - nSrc;
+			System.arraycopy(src, nSrc, dst, nDst, nCopy);
+			nDst += nCopy;
+			nDst += ByteCodec.derWriteHeader(ByteCodec.derTag(src, arrAncestor[i]), arrNewLen[i], dst, nDst);
+			nSrc = arrAncestor[i] + ByteCodec.derHeaderSize(src, arrAncestor[i]);
+		}
+		System.arraycopy(src, nSrc, dst, nDst, nPos - nSrc);
+		nDst += nPos - nSrc;
+		System.arraycopy(insert, 0, dst, nDst, insert.length);
+		nDst += insert.length;
+		System.arraycopy(src, nPos + nRemove, dst, nDst, src.length - nPos - nRemove);
+		return dst;
+	}
+
+	private static int writeArc(long lArc, byte[] dst, int nOff) {
+		int nCount = 1;
+		for(long l = lArc >>> 7; l != 0; l >>>= 7) {
+			nCount++;
+		}
+		for(int i = nCount - 1; i >= 0; i--) {
+			dst[nOff + i] = (byte) ((lArc & 0x7F) | (i == nCount - 1 ? 0 : 0x80));
+			lArc >>>= 7;
+		}
+		return nCount;
+	}
+
+	private static Date parseTime(int nTag, String strTime) {
+		SimpleDateFormat format = new SimpleDateFormat(nTag == ByteCodec.DER_UTC_TIME ? "yyMMddHHmmss'Z'" : "yyyyMMddHHmmss'Z'", Locale.US);
+		format.setTimeZone(TimeZone.getTimeZone("UTC"));
+		if(nTag == ByteCodec.DER_UTC_TIME) {  // RFC 5280 - 50 이상은 19xx(1950 년 기준)
+			format.set2DigitYearStart(new Date(-631152000000L));
+		}
+		try {
+			return format.parse(strTime);
+		} catch(ParseException e) {
+			throw new IllegalArgumentException("invalid signing time : " + strTime);
+		}
+	}
+
+	static boolean equalsTlv(byte[] src, int nOff, byte[] tlv) {
+		if(nOff + tlv.length > src.length) {
+			return false;
+		}
+		for(int i = 0; i < tlv.length; i++) {
+			if(src[nOff + i] != tlv[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static int firstChild(byte[] src, int nOff) {
+		return nOff + ByteCodec.derHeaderSize(src, nOff);
+	}
+
+	private static int next(byte[] src, int nOff) {
+		return nOff + ByteCodec.derTotalSize(src, nOff);
+	}
+
+	static int end(byte[] src, int nOff) {
+		return next(src, nOff);
+	}
+
+	private static int expect(byte[] src, int nOff, int nLimit, int nTag, String strName) {
+		if(nOff >= nLimit || ByteCodec.derTag(src, nOff) != nTag || next(src, nOff) > nLimit) {
+			throw new IllegalArgumentException("invalid PKCS#7 " + strName + " at " + nOff);
+		}
+		return nOff;
+	}
+
+	/**
+	 * SignedData 주요 TLV 위치
+	 */
+	private static final class Layout {
+		final int m_nContentInfo;
+		final int m_nExplicit;
+		final int m_nSignedData;
+		final int m_nEncap;
+		/** encapContentInfo 의 [0] eContent(없으면 -1) */
+		final int m_nEContent;
+		final int m_nSignerInfos;
+		/** 첫 번째 SignerInfo */
+		final int m_nSignerInfo;
+
+		Layout(byte[] src) {
+			m_nContentInfo = expect(src, 0, src.length, ByteCodec.DER_SEQUENCE, "ContentInfo");
+			int nLimit = end(src, m_nContentInfo);
+			int nOid = expect(src, firstChild(src, m_nContentInfo), nLimit, ByteCodec.DER_OID, "contentType");
+			if(!equalsTlv(src, nOid, SIGNED_DATA_OID)) {
+				throw new IllegalArgumentException("not a PKCS#7 SignedData");
+			}
+			m_nExplicit = expect(src, next(src, nOid), nLimit, ByteCodec.DER_CONTEXT_0, "content");
+			m_nSignedData = expect(src, firstChild(src, m_nExplicit), end(src, m_nExplicit), ByteCodec.DER_SEQUENCE, "SignedData");
+
+			nLimit = end(src, m_nSignedData);
+			int nVersion = expect(src, firstChild(src, m_nSignedData), nLimit, ByteCodec.DER_INTEGER, "version");
+			int nDigestAlgs = expect(src, next(src, nVersion), nLimit, ByteCodec.DER_SET, "digestAlgorithms");
+			m_nEncap = expect(src, next(src, nDigestAlgs), nLimit, ByteCodec.DER_SEQUENCE, "encapContentInfo");
+			int nEType = expect(src, firstChild(src, m_nEncap), end(src, m_nEncap), ByteCodec.DER_OID, "eContentType");
+			m_nEContent = next(src, nEType) < end(src, m_nEncap) ? expect(src, next(src, nEType), end(src, m_nEncap), ByteCodec.DER_CONTEXT_0, "eContent") : -1;
+
+			// certificates [0], crls [1] 생략 가능 - 마지막 요소가 signerInfos
+			int nSignerInfos = next(src, m_nEncap);
+			while(nSignerInfos < nLimit && next(src, nSignerInfos) < nLimit) {
+				nSignerInfos = next(src, nSignerInfos);
+			}
+			m_nSignerInfos = expect(src, nSignerInfos, nLimit, ByteCodec.DER_SET, "signerInfos");
+			m_nSignerInfo = expect(src, firstChild(src, m_nSignerInfos), end(src, m_nSignerInfos), ByteCodec.DER_SEQUENCE, "SignerInfo");
+		}
+
+		/**
+		 * ContentInfo 부터 지정 TLV 까지의 상위 TLV 위치 목록
+		 */
+		int[] path(int nTarget) {
+			if(nTarget == m_nEncap) {
+				return new int[] { m_nContentInfo, m_nExplicit, m_nSignedData, m_nEncap };
+			}
+			return new int[] { m_nContentInfo, m_nExplicit, m_nSignedData, m_nSignerInfos, m_nSignerInfo };
+		}
+
+		int[] path(int nSignerInfo, int nChild) {
+			return new int[] { m_nContentInfo, m_nExplicit, m_nSignedData, m_nSignerInfos, nSignerInfo, nChild };
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package com.sumion.usim.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * 중계 서버 command 별 전송량 통계 class<br>
+ * 요청/응답 body 의 압축 전(raw)/후(wire) byte 수를 누적함. 일괄 요청은 전체 body 를 AppClient 일괄 요청 command(BATCH)로 기록함
+ */
+public final class RelayByteStats {
+	/** command 별 통계(최초 요청 순서) */
+	private static final LinkedHashMap<String, RelayByteStats> sStats = new LinkedHashMap<String, RelayByteStats>();
+
+	private final String mCmd;
+	private int mCount;
+	private long mRequestBytes;
+	private long mRequestWireBytes;
+	private long mResponseBytes;
+	private long mResponseWireBytes;
+
+	private RelayByteStats(String strCmd) {
+		mCmd = strCmd;
+	}
+
+	/**
+	 * 전송량 기록
+	 * @param strCmd - command
+	 * @param lRequestBytes - 요청 body 크기
+	 * @param lRequestWireBytes - 요청 body 전송 크기(압축 후)
+	 * @param lResponseBytes - 응답 body 크기
+	 * @param lResponseWireBytes - 응답 body 수신 크기(압축 해제 전)
+	 */
+	public static void record(String strCmd, long lRequestBytes, long lRequestWireBytes, long lResponseBytes, long lResponseWireBytes) {
+		synchronized (sStats) {
+			RelayByteStats stats = sStats.get(strCmd);
+			if (stats == null) {
+				stats = new RelayByteStats(strCmd);
+				sStats.put(strCmd, stats);
+			}
+			stats.mCount++;
+			stats.mRequestBytes += lRequestBytes;
+			stats.mRequestWireBytes += lRequestWireBytes;
+			stats.mResponseBytes += lResponseBytes;
+			stats.mResponseWireBytes += lResponseWireBytes;
+		}
+	}
+
+	/**
+	 * command 별 통계 반환
+	 * @return List&lt;RelayByteStats&gt; - 호출 시점 값
+	 */
+	public static List<RelayByteStats> getAll() {
+		synchronized (sStats) {
+			ArrayList<RelayByteStats> list = new ArrayList<RelayByteStats>(sStats.size());
+			for (RelayByteStats stats : sStats.values()) {
+				RelayByteStats copy = new RelayByteStats(stats.mCmd);
+				copy.mCount = stats.mCount;
+				copy.mRequestBytes = stats.mRequestBytes;
+				copy.mRequestWireBytes = stats.mRequestWireBytes;
+				copy.mResponseBytes = stats.mResponseBytes;
+				copy.mResponseWireBytes = stats.mResponseWireBytes;
+				list.add(copy);
+			}
+			return list;
+		}
+	}
+
+	/**
+	 * 통계 초기화
+	 */
+	public static void reset() {
+		synchronized (sStats) {
+			sStats.clear();
+		}
+	}
+
+	public String getCmd() {
+		return mCmd;
+	}
+
+	/**
+	 * 요청 횟수 반환
+	 * @return int - 요청 횟수
+	 */
+	public int getCount() {
+		return mCount;
+	}
+
+	public long getRequestBytes() {
+		return mRequestBytes;
+	}
+
+	public long getRequestWireBytes() {
+		return mRequestWireBytes;
+	}
+
+	public long getResponseBytes() {
+		return mResponseBytes;
+	}
+
+	public long getResponseWireBytes() {
+		return mResponseWireBytes;
+	}
+
+	@Override
+	public String toString() {
+		return mCmd + " x" + mCount + " req " + mRequestBytes + "->" + mRequestWireBytes + " resp " + mResponseWireBytes + "->" + mResponseBytes;
+	}
+}
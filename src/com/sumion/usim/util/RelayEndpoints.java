@@ -0,0 +1,324 @@
+package com.sumion.usim.util;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+
+/**
+ * 중계 서버 목록 및 선택 class<br>
+ * 중계 서버별 응답 시간(background probe 의 이동 평균)과 상태(연속 실패 수)를 관리하며,
+ * 정상 상태인 중계 서버 중 응답 시간이 가장 짧은 서버를 선택함<br>
+ * 요청 실패(연결 오류, 5xx 응답)한 중계 서버는 실패 횟수에 따라 일정 시간(PROBE_BACKOFF_MS ~ PROBE_MAX_BACKOFF_MS) 제외되며,
+ * probe 또는 요청이 성공하면 다시 정상 상태가 됨.
+ * 서버 전환이 잦지 않도록 현재 서버보다 SWITCH_MARGIN_PERCENT 이상 빠른 경우에만 전환함
+ */
+public final class RelayEndpoints {
+	/** probe 주기 */
+	public static long PROBE_INTERVAL_MS		= 60000;
+	/** probe time out */
+	public static int PROBE_TIME_OUT_MS			= 5000;
+	/** 실패 후 제외 시간(연속 실패 시 2배씩 증가) */
+	public static long PROBE_BACKOFF_MS			= 5000;
+	/** 실패 후 최대 제외 시간 */
+	public static long PROBE_MAX_BACKOFF_MS		= 60000;
+	/** 서버 전환 기준(현재 서버 응답 시간 대비 %) */
+	public static int SWITCH_MARGIN_PERCENT		= 30;
+
+	/** 중계 서버 목록(설정 순서) */
+	private final ArrayList<Endpoint> mEndpoints = new ArrayList<Endpoint>();
+	/** 현재 선택된 중계 서버 */
+	private Endpoint mCurrent;
+	/** probe timer(중계 서버가 2개 이상인 경우에만 동작) */
+	private Timer mProbeTimer;
+
+	/**
+	 * @param arrUrl - 중계 서버 URL 목록(우선 순위 순)
+	 */
+	public RelayEndpoints(String[] arrUrl) {
+		setEndpoints(arrUrl);
+	}
+
+	/**
+	 * 중계 서버 목록 설정 - 이전 목록에 있던 서버의 상태는 유지하며, 서버가 2개 이상이면 probe 시작
+	 * @param arrUrl - 중계 서버 URL 목록(우선 순위 순, '/' 로 끝나지 않으면 추가)
+	 */
+	public synchronized void setEndpoints(String[] arrUrl) {
+		ArrayList<Endpoint> endpoints = new ArrayList<Endpoint>(arrUrl.length);
+		for (String strUrl : arrUrl) {
+			if (!strUrl.endsWith("/")) {
+				strUrl += "/";
+			}
+			Endpoint endpoint = find(strUrl);
+			endpoints.add(endpoint != null ? endpoint : new Endpoint(strUrl));
+		}
+		mEndpoints.clear();
+		mEndpoints.addAll(endpoints);
+		if (mCurrent != null && !mEndpoints.contains(mCurrent)) {
+			mCurrent = null;
+		}
+
+		if (mEndpoints.size() > 1) {
+			startProbe();
+		} else {
+			stopProbe();
+		}
+	}
+
+	/**
+	 * 요청할 중계 서버 선택
+	 * @param excluded - 제외할 중계 서버 URL(이미 요청에 실패한 서버, null 이면 제외 없음)
+	 * @return String - 중계 서버 URL(모두 제외되면 null). 정상 상태인 서버가 없으면 제외 시간이 가장 먼저 끝나는 서버
+	 */
+	public synchronized String select(Collection<String> excluded) {
+		long lNow = System.currentTimeMillis();
+		Endpoint best = null;
+		for (Endpoint endpoint : mEndpoints) {
+			if (excluded != null && excluded.contains(endpoint.mUrl)) {
+				continue;
+			}
+			if (best == null || endpoint.compareTo(best, lNow) < 0) {
+				best = endpoint;
+			}
+		}
+		if (best == null) {
+			return null;
+		}
+
+		// 현재 서버가 정상이면 충분히 빠른 서버가 있는 경우에만 전환(다시 요청하는 경우는 제외)
+		if ((excluded == null || excluded.isEmpty()) && mCurrent != null && best != mCurrent && mCurrent.isHealthy(lNow)
+				&& best.mLatency >= 0 && mCurrent.mLatency >= 0
+				&& best.mLatency * 100 > mCurrent.mLatency * (100 - SWITCH_MARGIN_PERCENT)) {
+			best = mCurrent;
+		}
+		if (best != mCurrent) {
+			LogUtil.d("RelayEndpoints", "relay endpoint selected : {} ({}ms)", best.mUrl, best.mLatency);
+			mCurrent = best;
+		}
+		return best.mUrl;
+	}
+
+	/**
+	 * 요청 성공 - 실패 상태 초기화
+	 * @param strUrl - 중계 서버 URL
+	 */
+	public synchronized void reportSuccess(String strUrl) {
+		Endpoint endpoint = find(strUrl);
+		if (endpoint != null) {
+			endpoint.mFailCount = 0;
+			endpoint.mRetryAt = 0;
+		}
+	}
+
+	/**
+	 * 응답 시간 측정 결과 반영(이동 평균)
+	 * @param strUrl - 중계 서버 URL
+	 * @param lLatencyMs - 응답 시간(ms)
+	 */
+	public synchronized void reportLatency(String strUrl, long lLatencyMs) {
+		Endpoint endpoint = find(strUrl);
+		if (endpoint != null) {
+			endpoint.mLatency = endpoint.mLatency < 0 ? lLatencyMs : (endpoint.mLatency * 3 + lLatencyMs) / 4;
+			endpoint.mFailCount = 0;
+			endpoint.mRetryAt = 0;
+		}
+	}
+
+	/**
+	 * 요청 실패(연결 오류, 5xx 응답) - 연속 실패 수에 따라 일정 시간 선택에서 제외
+	 * @param strUrl - 중계 서버 URL
+	 */
+	public synchronized void reportFailure(String strUrl) {
+		Endpoint endpoint = find(strUrl);
+		if (endpoint != null) {
+			long lBackoff = PROBE_BACKOFF_MS << Math.min(endpoint.mFailCount, 16);
+			endpoint.mFailCount++;
+			endpoint.mRetryAt = System.currentTimeMillis() + Math.min(lBackoff, PROBE_MAX_BACKOFF_MS);
+			LogUtil.w("RelayEndpoints", "relay endpoint failed : {} ({})", strUrl, endpoint.mFailCount);
+		}
+	}
+
+	/**
+	 * 중계 서버별 현재 상태 반환
+	 * @return List&lt;Score&gt; - 설정 순서의 상태 목록(호출 시점 값)
+	 */
+	public synchronized List<Score> getScores() {
+		long lNow = System.currentTimeMillis();
+		ArrayList<Score> scores = new ArrayList<Score>(mEndpoints.size());
+		for (Endpoint endpoint : mEndpoints) {
+			scores.add(new Score(endpoint.mUrl, endpoint.mLatency, endpoint.mFailCount, endpoint.isHealthy(lNow), endpoint == mCurrent));
+		}
+		return scores;
+	}
+
+	/**
+	 * 모든 중계 서버 응답 시간 측정(동기처리) - HEAD 요청의 응답 수신까지 시간, 5xx 응답 또는 연결 오류는 실패
+	 */
+	public void probe() {
+		List<String> urls = new ArrayList<String>();
+		synchronized (this) {
+			for (Endpoint endpoint : mEndpoints) {
+				urls.add(endpoint.mUrl);
+			}
+		}
+		for (String strUrl : urls) {
+			long lStart = System.nanoTime();
+			try {
+				HttpURLConnection con = (HttpURLConnection) new URL(strUrl).openConnection();
+				con.setConnectTimeout(PROBE_TIME_OUT_MS);
+				con.setReadTimeout(PROBE_TIME_OUT_MS);
+				con.setRequestMethod("HEAD");
+				con.setRequestProperty("Cache-Control", "no-cache");
+				int nResponseCode = con.getResponseCode();
+				con.disconnect();
+				if (nResponseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+					reportFailure(strUrl);
+				} else {
+					reportLatency(strUrl, (System.nanoTime() - lStart) / 1000000);
+				}
+			}
+			catch (IOException e) {
+				reportFailure(strUrl);
+			}
+		}
+	}
+
+	/**
+	 * background probe 시작(PROBE_INTERVAL_MS 주기, 이미 동작 중이면 무시)
+	 */
+	public synchronized void startProbe() {
+		if (mProbeTimer != null) {
+			return;
+		}
+		mProbeTimer = new Timer("RelayEndpoints-probe", true);
+		mProbeTimer.schedule(new TimerTask() {
+
+			@Override
+			public void run() {
+				probe();
+			}
+		}, 0, PROBE_INTERVAL_MS);
+	}
+
+	/**
+	 * background probe 중지
+	 */
+	public synchronized void stopProbe() {
+		if (mProbeTimer != null) {
+			mProbeTimer.cancel();
+			mProbeTimer = null;
+		}
+	}
+
+	private Endpoint find(String strUrl) {
+		for (Endpoint endpoint : mEndpoints) {
+			if (endpoint.mUrl.equals(strUrl)) {
+				return endpoint;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 중계 서버 상태
+	 */
+	private static final class Endpoint {
+		private final String mUrl;
+		/** 응답 시간 이동 평균(ms, 측정 전이면 -1) */
+		private long mLatency = -1;
+		/** 연속 실패 수 */
+		private int mFailCount;
+		/** 제외 종료 시각(ms) */
+		private long mRetryAt;
+
+		private Endpoint(String strUrl) {
+			mUrl = strUrl;
+		}
+
+		private boolean isHealthy(long lNow) {
+			return lNow >= mRetryAt;
+		}
+
+		/**
+		 * 선택 우선 순위 비교 - 정상 상태, 응답 시간(측정 전이면 후순위) 순. 같으면 설정 순서
+		 */
+		private int compareTo(Endpoint other, long lNow) {
+			boolean bHealthy = isHealthy(lNow);
+			if (bHealthy != other.isHealthy(lNow)) {
+				return bHealthy ? -1 : 1;
+			}
+			if (!bHealthy) {
+				return compare(mRetryAt, other.mRetryAt);
+			}
+			return compare(mLatency < 0 ? Long.MAX_VALUE : mLatency, other.mLatency < 0 ? Long.MAX_VALUE : other.mLatency);
+		}
+
+		private static int compare(long lX, long lY) {
+			return lX < lY ? -1 : (lX == lY ? 0 : 1);
+		}
+	}
+
+	/**
+	 * 중계 서버 상태(getScores() 호출 시점 값)
+	 */
+	public static final class Score {
+		private final String mUrl;
+		private final long mLatency;
+		private final int mFailCount;
+		private final boolean mHealthy;
+		private final boolean mSelected;
+
+		private Score(String strUrl, long lLatency, int nFailCount, boolean bHealthy, boolean bSelected) {
+			mUrl = strUrl;
+			mLatency = lLatency;
+			mFailCount = nFailCount;
+			mHealthy = bHealthy;
+			mSelected = bSelected;
+		}
+
+		public String getUrl() {
+			return mUrl;
+		}
+
+		/**
+		 * 응답 시간 반환
+		 * @return long - 응답 시간 이동 평균(ms, 측정 전이면 -1)
+		 */
+		public long getLatencyMs() {
+			return mLatency;
+		}
+
+		/**
+		 * 연속 실패 수 반환
+		 * @return int - 연속 실패 수
+		 */
+		public int getFailCount() {
+			return mFailCount;
+		}
+
+		/**
+		 * 정상 상태 여부(실패 후 제외 시간이 지났으면 true)
+		 * @return boolean - 정상 상태
+		 */
+		public boolean isHealthy() {
+			return mHealthy;
+		}
+
+		/**
+		 * 현재 선택된 중계 서버 여부
+		 * @return boolean - 선택 여부
+		 */
+		public boolean isSelected() {
+			return mSelected;
+		}
+
+		@Override
+		public String toString() {
+			return mUrl + " " + mLatency + "ms fail=" + mFailCount + (mHealthy ? "" : " down") + (mSelected ? " *" : "");
+		}
+	}
+}
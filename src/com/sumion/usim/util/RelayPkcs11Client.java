@@ -0,0 +1,261 @@
+package com.sumion.usim.util;
+
+import java.net.HttpURLConnection;
+import java.util.Arrays;
+
+import android.content.Context;
+
+/**
+ * 중계 서버 원격 PKCS#11(C_XXX command) client<br>
+ * 토큰(사용자 정보)별로 로그인된 세션 하나를 유지하며(중계 서버 CONNECT_ID), 앞 command 의 응답 값이 필요하지 않은
+ * 연속 command(초기화-세션 열기-로그인, 키 검색-서명 등)는 AppClient 일괄 요청으로 한 번에 전송함<br>
+ * command 별로 결과를 확인하여 처음 실패한 command 의 ERR_CODE 를 getErrorCode() 로 제공하며, 실패(통신 오류/time out 포함)하면
+ * 중계 서버 세션 상태를 알 수 없으므로 세션을 닫음<br>
+ * 요청 body 는 인자를 '|' 로 구분하고 binary 값은 Base64 로 전달하며, 결과 값이 있는 command 의 응답 body 는 Base64
+ */
+public final class RelayPkcs11Client {
+	////////////////////////////// command ///////////////////////////////////////
+	public static final String C_INITIALIZE			= "C_Initialize";
+	public static final String C_FINALIZE			= "C_Finalize";
+	public static final String C_OPEN_SESSION		= "C_OpenSession";
+	public static final String C_CLOSE_SESSION		= "C_CloseSession";
+	public static final String C_LOGIN				= "C_Login";
+	public static final String C_LOGOUT				= "C_Logout";
+	public static final String C_FIND_OBJECTS_INIT	= "C_FindObjectsInit";
+	public static final String C_SIGN				= "C_Sign";
+	public static final String C_DECRYPT			= "C_Decrypt";
+	public static final String C_GENERATE_KEY_PAIR	= "C_GenerateKeyPair";
+	public static final String C_GENERATE_RANDOM	= "C_GenerateRandom";
+
+	private final AppClient mClient;
+	/** 현재 토큰 세션(없으면 null) */
+	private Session mSession;
+
+	/**
+	 * @param context - Context
+	 * @param strUserInfo - 사용자 정보(전화번호 11자리 + 통신사 3자리)
+	 */
+	public RelayPkcs11Client(Context context, String strUserInfo) {
+		mClient = new AppClient(context, strUserInfo);
+	}
+
+	/**
+	 * 토큰 세션 반환 - 로그인된 세션이 있으면 재사용하고, 없으면 초기화/세션 열기/로그인을 한 번에 요청
+	 * @param pin - 토큰 PIN
+	 * @return Session - 세션(로그인 실패 시 세션은 닫힌 상태이며 getErrorCode() 로 확인)
+	 */
+	public synchronized Session openSession(byte[] pin) {
+		if(mSession != null && mSession.isOpen()) {
+			return mSession;
+		}
+		mSession = new Session();
+		mSession.login(pin);
+		return mSession;
+	}
+
+	/**
+	 * 원격 PKCS#11 세션 - 여러 thread 에서 사용하는 경우 요청은 순서대로 처리됨
+	 */
+	public final class Session {
+		/** 중계 서버 세션 식별자 */
+		private String mConnectId;
+		/** 로그인 상태 */
+		private boolean mOpen;
+		private String mErrorCode = GlobalError.code.NORMAL;
+
+		private Session() {
+		}
+
+		/**
+		 * 로그인 상태 여부
+		 * @return boolean - 로그인 상태
+		 */
+		public synchronized boolean isOpen() {
+			return mOpen;
+		}
+
+		/**
+		 * 마지막 요청의 처리 결과 코드
+		 * @return String - 중계 서버 ERR_CODE(통신 오류는 GlobalError.code.SERVICE_CONNECT)
+		 */
+		public synchronized String getErrorCode() {
+			return mErrorCode;
+		}
+
+		private synchronized void login(byte[] pin) {
+			// PIN 은 String 으로 만들지 않고 byte 로 전송한 후 0 으로 채움
+			byte[] pinBody = new byte[ByteCodec.base64EncodedLength(pin.length)];
+			try {
+				ByteCodec.base64Encode(pin, 0, pin.length, pinBody, 0);
+				String[] arrResult = run(new String[] { C_INITIALIZE, C_OPEN_SESSION, C_LOGIN }, null, new byte[][] { null, null, pinBody });
+				mOpen = arrResult != null;
+			} finally {
+				Arrays.fill(pinBody, (byte) 0);
+			}
+		}
+
+		/**
+		 * 전자서명 - 키 검색과 서명을 한 번에 요청
+		 * @param strKeyLabel - 개인키 label
+		 * @param data - 서명할 데이터
+		 * @return byte[] - 서명 값(실패 시 null)
+		 */
+		public byte[] sign(String strKeyLabel, byte[] data) {
+			byte[][] arrSign = signAll(strKeyLabel, new byte[][] { data });
+			return arrSign != null ? arrSign[0] : null;
+		}
+
+		/**
+		 * 여러 데이터 전자서명 - 키 검색과 모든 서명을 한 번에 요청
+		 * @param strKeyLabel - 개인키 label
+		 * @param arrData - 서명할 데이터 목록
+		 * @return byte[][] - 데이터 순서의 서명 값(하나라도 실패하면 null)
+		 */
+		public synchronized byte[][] signAll(String strKeyLabel, byte[][] arrData) {
+			String[] arrCmd = new String[arrData.length + 1];
+			String[] arrBody = new String[arrData.length + 1];
+			arrCmd[0] = C_FIND_OBJECTS_INIT;
+			arrBody[0] = strKeyLabel;
+			for(int i = 0; i < arrData.length; i++) {
+				arrCmd[i + 1] = C_SIGN;
+				arrBody[i + 1] = ByteCodec.toBase64(arrData[i]);
+			}
+			String[] arrResult = run(arrCmd, arrBody);
+			if(arrResult == null) {
+				return null;
+			}
+			byte[][] arrSign = new byte[arrData.length][];
+			for(int i = 0; i < arrData.length; i++) {
+				arrSign[i] = decode(arrResult[i + 1]);
+				if(arrSign[i] == null) {
+					return null;
+				}
+			}
+			return arrSign;
+		}
+
+		/**
+		 * 복호화 - 키 검색과 복호화를 한 번에 요청
+		 * @param strKeyLabel - 개인키 label
+		 * @param data - 암호문
+		 * @return byte[] - 복호화 결과(실패 시 null)
+		 */
+		public synchronized byte[] decrypt(String strKeyLabel, byte[] data) {
+			String[] arrResult = run(new String[] { C_FIND_OBJECTS_INIT, C_DECRYPT }, new String[] { strKeyLabel, ByteCodec.toBase64(data) });
+			return arrResult != null ? decode(arrResult[1]) : null;
+		}
+
+		/**
+		 * 키 쌍 생성
+		 * @param strKeyLabel - 생성할 키 label
+		 * @param nBits - 키 길이(bit)
+		 * @return byte[] - 공개키(DER, 실패 시 null)
+		 */
+		public synchronized byte[] generateKeyPair(String strKeyLabel, int nBits) {
+			String[] arrResult = run(new String[] { C_GENERATE_KEY_PAIR }, new String[] { strKeyLabel + "|" + nBits });
+			return arrResult != null ? decode(arrResult[0]) : null;
+		}
+
+		/**
+		 * 난수 생성
+		 * @param nLen - 길이(byte)
+		 * @return byte[] - 난수(실패 시 null)
+		 */
+		public synchronized byte[] generateRandom(int nLen) {
+			String[] arrResult = run(new String[] { C_GENERATE_RANDOM }, new String[] { String.valueOf(nLen) });
+			return arrResult != null ? decode(arrResult[0]) : null;
+		}
+
+		/**
+		 * 세션 종료 - 로그아웃/세션 닫기/종료를 한 번에 요청(결과와 관계없이 세션은 닫힘)
+		 */
+		public synchronized void close() {
+			if(!mOpen) {
+				return;
+			}
+			release();
+		}
+
+		/**
+		 * 로그아웃/세션 닫기/종료 요청 후 닫힌 상태로 변경 - 요청 결과는 무시하며 getErrorCode() 는 변경하지 않음
+		 */
+		private void release() {
+			String[] arrCmd = { C_LOGOUT, C_CLOSE_SESSION, C_FINALIZE };
+			SumionMessage[] arrMsg = new SumionMessage[arrCmd.length];
+			for(int i = 0; i < arrCmd.length; i++) {
+				arrMsg[i] = mClient.obtainMessage(arrCmd[i], null);
+				arrMsg[i].setHeader(SumionMessage.HEADER_CONNECT_ID, mConnectId);
+			}
+			mClient.sendBatchRequest(arrMsg);
+			for(SumionMessage msg : arrMsg) {
+				msg.recycle();
+			}
+			mOpen = false;
+			mConnectId = null;
+		}
+
+		/**
+		 * command 목록을 한 번에 요청
+		 * @param arrCmd - command 목록
+		 * @param arrBody - command 별 body(null 이면 모두 body 없음)
+		 * @return String[] - command 별 응답 body(하나라도 실패하면 null)
+		 */
+		private String[] run(String[] arrCmd, String[] arrBody) {
+			return run(arrCmd, arrBody, null);
+		}
+
+		/**
+		 * command 목록을 한 번에 요청 - 실패하면 세션을 닫음
+		 * @param arrCmd - command 목록
+		 * @param arrBody - command 별 body(null 이면 모두 body 없음)
+		 * @param arrRawBody - command 별 byte body(설정된 command 는 arrBody 대신 사용, 호출자가 요청 후 0 으로 채움), 없으면 null
+		 * @return String[] - command 별 응답 body(하나라도 실패하면 null)
+		 */
+		private String[] run(String[] arrCmd, String[] arrBody, byte[][] arrRawBody) {
+			SumionMessage[] arrMsg = new SumionMessage[arrCmd.length];
+			for(int i = 0; i < arrCmd.length; i++) {
+				arrMsg[i] = mClient.obtainMessage(arrCmd[i], arrBody != null ? arrBody[i] : null);
+				arrMsg[i].setHeader(SumionMessage.HEADER_CONNECT_ID, mConnectId);
+				if(arrRawBody != null && arrRawBody[i] != null) {
+					arrMsg[i].setRawBody(arrRawBody[i]);
+				}
+			}
+			mClient.sendBatchRequest(arrMsg);
+
+			String[] arrResult = new String[arrCmd.length];
+			mErrorCode = GlobalError.code.NORMAL;
+			for(int i = 0; i < arrMsg.length; i++) {
+				SumionMessage msg = arrMsg[i];
+				if(msg.getExtraInfo() != null) {
+					mConnectId = msg.getExtraInfo();
+				}
+				if(mErrorCode.equals(GlobalError.code.NORMAL)) {
+					if(msg.getResponseCode() != HttpURLConnection.HTTP_OK) {
+						mErrorCode = GlobalError.code.SERVICE_CONNECT;
+					} else if(msg.getErrorCode() != null && !msg.getErrorCode().equals(GlobalError.code.NORMAL)) {
+						LogUtil.w("RelayPkcs11Client", "{} failed : {}", arrCmd[i], msg.getErrorCode());
+						mErrorCode = msg.getErrorCode();
+					}
+				}
+				arrResult[i] = msg.getBody();
+				msg.recycle();
+			}
+			if(!mErrorCode.equals(GlobalError.code.NORMAL)) {
+				// 토큰 잠김/PIN 오류, 통신 오류/time out 등 - 중계 서버 세션 상태를 알 수 없으므로 닫고 다시 로그인
+				LogUtil.w("RelayPkcs11Client", "session closed after error : {}", mErrorCode);
+				release();
+				return null;
+			}
+			return arrResult;
+		}
+
+		private byte[] decode(String strBody) {
+			try {
+				return strBody != null ? ByteCodec.fromBase64(strBody) : null;
+			} catch(IllegalArgumentException e) {
+				mErrorCode = GlobalError.code.SYSTEM;
+				return null;
+			}
+		}
+	}
+}
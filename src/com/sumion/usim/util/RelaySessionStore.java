@@ -0,0 +1,181 @@
+package com.sumion.usim.util;
+
+import java.net.HttpURLConnection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 중계 서버/사용자별 세션 정보(Cookie, CONNECT_ID) 저장 class<br>
+ * 응답의 Set-Cookie(JSESSIONID 등)와 CONNECT_ID 를 저장하여 이후 요청에 설정하므로, 매 요청마다 세션을 새로 만들지 않음.
+ * 세션은 사용자(토큰) 별로 다르므로 중계 서버 URL 과 사용자 정보를 함께 key 로 사용함<br>
+ * 세션을 새로 만드는 command(가입 확인, C_Initialize)에는 저장된 CONNECT_ID 를 설정하지 않으며,
+ * 중계 서버가 인증/세션 오류를 응답하면 저장된 세션 정보를 삭제함<br>
+ * 저장소는 최근 사용 순으로 MAX_STORES 개까지 유지하며, 제외된 저장소의 세션은 다음 요청에서 새로 만듦
+ */
+public final class RelaySessionStore {
+	/** 세션 만료로 처리하는 중계 서버 ERR_CODE */
+	private static final String[] EXPIRE_ERR_CODES = {
+		GlobalError.code.A102R_TIMEOUT, GlobalError.code.APP_UNREGISTER, GlobalError.code.PACKAGE_PRIVILEGE
+	};
+
+	/** 세션을 새로 만드는 command(저장된 CONNECT_ID 를 설정하지 않음) */
+	private static final String[] SESSION_START_CMDS = { "100", "C_Initialize" };
+
+	/** 최대 저장소 수(중계 서버 URL + 사용자 정보) */
+	private static final int MAX_STORES = 16;
+
+	/** 중계 서버 URL + 사용자 정보 별 저장소(최근 사용 순, MAX_STORES 초과 시 가장 오래 사용하지 않은 저장소 제외) */
+	private static final LinkedHashMap<String, RelaySessionStore> sStores = new LinkedHashMap<String, RelaySessionStore>(MAX_STORES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, RelaySessionStore> eldest) {
+			return size() > MAX_STORES;
+		}
+	};
+
+	/** Cookie 명/값(수신 순서) */
+	private final LinkedHashMap<String, String> mCookies = new LinkedHashMap<String, String>();
+	/** 중계 서버 세션 식별자 */
+	private String mConnectId;
+
+	private RelaySessionStore() {
+	}
+
+	/**
+	 * 중계 서버 세션 저장소 반환
+	 * @param strEndpoint - 중계 서버 URL
+	 * @param strUserInfo - 사용자 정보(전화번호 11자리 + 통신사 3자리, 없으면 null)
+	 * @return RelaySessionStore
+	 */
+	public static RelaySessionStore get(String strEndpoint, String strUserInfo) {
+		String strKey = strEndpoint + '\n' + (strUserInfo != null ? strUserInfo : "");
+		synchronized(sStores) {
+			RelaySessionStore store = sStores.get(strKey);
+			if(store == null) {
+				store = new RelaySessionStore();
+				sStores.put(strKey, store);
+			}
+			return store;
+		}
+	}
+
+	/**
+	 * 세션을 새로 만드는 command 여부
+	 * @param strCmd - command
+	 * @return boolean - 가입 확인(100), C_Initialize 이면 true
+	 */
+	public static boolean isSessionStart(String strCmd) {
+		for(String strStartCmd : SESSION_START_CMDS) {
+			if(strStartCmd.equals(strCmd)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * 요청 message 에 저장된 세션 정보 설정(이미 설정된 값은 유지)<br>
+	 * 세션을 새로 만드는 command 에는 CONNECT_ID 를 설정하지 않음
+	 * @param msg - 요청 message
+	 */
+	public void attach(SumionMessage msg) {
+		attach(msg, !isSessionStart(msg.getCmd()));
+	}
+
+	/**
+	 * 요청 message 에 저장된 세션 정보 설정(이미 설정된 값은 유지)
+	 * @param msg - 요청 message
+	 * @param bConnectId - CONNECT_ID 설정 여부(false 이면 Cookie 만 설정)
+	 */
+	public synchronized void attach(SumionMessage msg, boolean bConnectId) {
+		if(msg.getHeader(SumionMessage.HEADER_COOKIE) == null) {
+			msg.setHeader(SumionMessage.HEADER_COOKIE, getCookie());
+		}
+		if(bConnectId && msg.getHeader(SumionMessage.HEADER_CONNECT_ID) == null) {
+			msg.setHeader(SumionMessage.HEADER_CONNECT_ID, mConnectId);
+		}
+	}
+
+	/**
+	 * 요청 Cookie header 값 반환
+	 * @return String - Cookie header 값(저장된 Cookie 가 없으면 null)
+	 */
+	public synchronized String getCookie() {
+		if(mCookies.isEmpty()) {
+			return null;
+		}
+		StringBuilder cookie = new StringBuilder();
+		for(Map.Entry<String, String> entry : mCookies.entrySet()) {
+			if(cookie.length() > 0) {
+				cookie.append("; ");
+			}
+			cookie.append(entry.getKey()).append('=').append(entry.getValue());
+		}
+		return cookie.toString();
+	}
+
+	/**
+	 * 응답 Set-Cookie 저장(Max-Age=0 은 삭제)
+	 * @param setCookies - Set-Cookie header 값 목록
+	 */
+	public synchronized void captureCookies(List<String> setCookies) {
+		if(setCookies == null) {
+			return;
+		}
+		for(String strSetCookie : setCookies) {
+			String[] arrPart = strSetCookie.split(";");
+			int nEqual = arrPart[0].indexOf('=');
+			if(nEqual <= 0) {
+				continue;
+			}
+			String strName = arrPart[0].substring(0, nEqual).trim();
+			boolean bDelete = false;
+			for(int i = 1; i < arrPart.length; i++) {
+				if(arrPart[i].trim().equalsIgnoreCase("Max-Age=0")) {
+					bDelete = true;
+				}
+			}
+			if(bDelete) {
+				mCookies.remove(strName);
+			} else {
+				mCookies.put(strName, arrPart[0].substring(nEqual + 1).trim());
+			}
+		}
+	}
+
+	/**
+	 * 응답 CONNECT_ID 저장
+	 * @param strConnectId - CONNECT_ID(null 이면 무시)
+	 */
+	public synchronized void captureConnectId(String strConnectId) {
+		if(strConnectId != null) {
+			mConnectId = strConnectId;
+		}
+	}
+
+	/**
+	 * 응답 결과 확인 - 인증/세션 오류이면 저장된 세션 정보 삭제
+	 * @param nResponseCode - HTTP 응답 코드
+	 * @param strErrCode - 중계 서버 ERR_CODE
+	 */
+	public synchronized void check(int nResponseCode, String strErrCode) {
+		boolean bExpire = nResponseCode == HttpURLConnection.HTTP_UNAUTHORIZED || nResponseCode == HttpURLConnection.HTTP_FORBIDDEN;
+		for(int i = 0; !bExpire && strErrCode != null && i < EXPIRE_ERR_CODES.length; i++) {
+			bExpire = EXPIRE_ERR_CODES[i].equals(strErrCode);
+		}
+		if(bExpire) {
+			LogUtil.d("RelaySessionStore", "relay session expired : {}/{}", nResponseCode, strErrCode);
+			clear();
+		}
+	}
+
+	/**
+	 * 저장된 세션 정보 삭제
+	 */
+	public synchronized void clear() {
+		mCookies.clear();
+		mConnectId = null;
+	}
+}
@@ -1,46 +1,245 @@
 package com.sumion.usim.util;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 
+/**
+ * 중계 서버 요청/응답 message class<br>
+ * 프로토콜에서 사용하는 header 는 고정 field 에 저장하고, 그 외 header 는 필요한 경우에만 목록을 생성하여 저장함<br>
+ * obtain()/recycle() 로 요청 간 재사용 가능<br>
+ * getHeader()/setHeader(HashMap) 을 사용하면 clearMessage() 전까지 해당 HashMap 에 header 를 저장함(이전 버전 호환)
+ */
 public class SumionMessage {
-	private HashMap<String, String> mHeader;
+	////////////////////////////// 프로토콜 header 명 ///////////////////////////////////////
+	public static final String HEADER_ERR_CODE		= "ERR_CODE";
+	public static final String HEADER_STANDBY_CMD	= "STANDBY_CMD";
+	public static final String HEADER_CONNECT_ID	= "CONNECT_ID";
+	public static final String HEADER_USER_INFO		= "USER_INFO";
+	public static final String HEADER_PKG_NAME		= "PKG_NAME";
+	public static final String HEADER_COOKIE		= "Cookie";
+
+	/** 고정 field 로 저장하는 header 명(mKnownValue 와 같은 순서) */
+	private static final String[] KNOWN_HEADERS = {
+		HEADER_ERR_CODE, HEADER_STANDBY_CMD, HEADER_CONNECT_ID, HEADER_USER_INFO, HEADER_PKG_NAME, HEADER_COOKIE
+	};
+
+	/** 재사용 pool 최대 크기 */
+	private static final int MAX_POOL_SIZE = 4;
+	/** 재사용 pool */
+	private static final SumionMessage[] sPool = new SumionMessage[MAX_POOL_SIZE];
+	private static int sPoolSize = 0;
+
+	/** 고정 header 값(설정되지 않은 경우 null) */
+	private final String[] mKnownValue = new String[KNOWN_HEADERS.length];
+	/** 기타 header 명(필요 시 생성) */
+	private ArrayList<String> mExtraName;
+	/** 기타 header 값 */
+	private ArrayList<String> mExtraValue;
+	/** getHeader()/setHeader(HashMap) 사용 시 header 저장소(사용하지 않으면 null) */
+	private HashMap<String, String> mHeaderMap;
+	/** mHeaderMap 순회용 header 명(getHeaderCount() 호출 시점) */
+	private String[] mHeaderMapNames;
 	private String mBody;
+	/** 요청 body(UTF-8), 설정되면 mBody 대신 전송 */
+	private byte[] mRawBody;
 	private String mCmd;
 	private int mResponseCode;
 	private String mErrorCode;
 	private String mExtraInfo;
 
 	public SumionMessage() {
-		mHeader = new HashMap<String, String>();
 	}
-	
+
+	/**
+	 * 재사용 pool 에서 message 획득(pool 이 비어 있으면 새로 생성)
+	 * @return SumionMessage - 초기화된 message
+	 */
+	public static SumionMessage obtain() {
+		synchronized(sPool) {
+			if(sPoolSize > 0) {
+				SumionMessage msg = sPool[--sPoolSize];
+				sPool[sPoolSize] = null;
+				return msg;
+			}
+		}
+		return new SumionMessage();
+	}
+
+	/**
+	 * 사용이 끝난 message 를 pool 에 반환(반환 후에는 사용하지 않아야 함)
+	 */
+	public void recycle() {
+		clearMessage();
+		mCmd = null;
+		synchronized(sPool) {
+			if(sPoolSize < MAX_POOL_SIZE) {
+				sPool[sPoolSize++] = this;
+			}
+		}
+	}
+
+	/**
+	 * header 값 설정(null 이면 해당 header 제거)
+	 * @param strName - header 명
+	 * @param strValue - header 값
+	 */
+	public void setHeader(String strName, String strValue) {
+		if(mHeaderMap != null) {
+			if(strValue != null) {
+				mHeaderMap.put(strName, strValue);
+			} else {
+				mHeaderMap.remove(strName);
+			}
+			return;
+		}
+		int nIdx = knownIndex(strName);
+		if(nIdx >= 0) {
+			mKnownValue[nIdx] = strValue;
+			return;
+		}
+
+		int nExtra = mExtraName != null ? mExtraName.indexOf(strName) : -1;
+		if(nExtra >= 0) {
+			if(strValue != null) {
+				mExtraValue.set(nExtra, strValue);
+			} else {
+				mExtraName.remove(nExtra);
+				mExtraValue.remove(nExtra);
+			}
+		}
+		else if(strValue != null) {
+			if(mExtraName == null) {
+				mExtraName = new ArrayList<String>(4);
+				mExtraValue = new ArrayList<String>(4);
+			}
+			mExtraName.add(strName);
+			mExtraValue.add(strValue);
+		}
+	}
+
+	/**
+	 * header 값 반환
+	 * @param strName - header 명
+	 * @return String - header 값(없으면 null)
+	 */
+	public String getHeader(String strName) {
+		if(mHeaderMap != null) {
+			return mHeaderMap.get(strName);
+		}
+		int nIdx = knownIndex(strName);
+		if(nIdx >= 0) {
+			return mKnownValue[nIdx];
+		}
+		int nExtra = mExtraName != null ? mExtraName.indexOf(strName) : -1;
+		return nExtra >= 0 ? mExtraValue.get(nExtra) : null;
+	}
+
+	/**
+	 * header 순회용 개수 반환(고정 header 는 값이 없어도 포함)<br>
+	 * getHeader() 의 HashMap 을 사용하는 경우 호출 시점의 header 명 목록을 순회 대상으로 함
+	 * @return int - header 개수
+	 */
+	public int getHeaderCount() {
+		if(mHeaderMap != null) {
+			mHeaderMapNames = mHeaderMap.keySet().toArray(new String[mHeaderMap.size()]);
+			return mHeaderMapNames.length;
+		}
+		return KNOWN_HEADERS.length + (mExtraName != null ? mExtraName.size() : 0);
+	}
+
+	/**
+	 * header 명 반환
+	 * @param nIdx - 0 ~ getHeaderCount() - 1
+	 * @return String - header 명
+	 */
+	public String getHeaderName(int nIdx) {
+		if(mHeaderMap != null) {
+			return mHeaderMapNames[nIdx];
+		}
+		return nIdx < KNOWN_HEADERS.length ? KNOWN_HEADERS[nIdx] : mExtraName.get(nIdx - KNOWN_HEADERS.length);
+	}
+
+	/**
+	 * header 값 반환
+	 * @param nIdx - 0 ~ getHeaderCount() - 1
+	 * @return String - header 값(없으면 null)
+	 */
+	public String getHeaderValue(int nIdx) {
+		if(mHeaderMap != null) {
+			return mHeaderMap.get(mHeaderMapNames[nIdx]);
+		}
+		return nIdx < KNOWN_HEADERS.length ? mKnownValue[nIdx] : mExtraValue.get(nIdx - KNOWN_HEADERS.length);
+	}
+
+	/**
+	 * header 저장소 반환(이전 버전 호환) - 현재 header 로 HashMap 을 생성하며, 이후 clearMessage() 전까지
+	 * 반환한 HashMap 에 header 를 저장하므로 HashMap 변경이 message 에 반영됨
+	 * @return HashMap - header 명/값
+	 * @deprecated getHeader(String)/setHeader(String, String) 사용
+	 */
+	@Deprecated
 	public HashMap<String, String> getHeader() {
-		return mHeader;
+		if(mHeaderMap == null) {
+			HashMap<String, String> header = new HashMap<String, String>();
+			for(int i = 0; i < getHeaderCount(); i++) {
+				String strValue = getHeaderValue(i);
+				if(strValue != null) {
+					header.put(getHeaderName(i), strValue);
+				}
+			}
+			setHeader(header);
+		}
+		return mHeaderMap;
 	}
+
+	/**
+	 * header 저장소 설정(이전 버전 호환) - 기존 header 를 모두 지우고, 이후 clearMessage() 전까지 전달한 HashMap 에 header 를 저장함
+	 * @param header - header 명/값(null 이면 header 없음)
+	 * @deprecated setHeader(String, String) 사용
+	 */
+	@Deprecated
 	public void setHeader(HashMap<String, String> header) {
-		mHeader = header;
+		clearHeader();
+		mHeaderMap = header != null ? header : new HashMap<String, String>();
 	}
+
 	public String getBody() {
 		return mBody;
 	}
 	public void setBody(String body) {
 		mBody = body;
 	}
-	
+
+	/**
+	 * 요청 body(UTF-8) 반환
+	 * @return byte[] - setRawBody() 로 설정한 body(없으면 null)
+	 */
+	public byte[] getRawBody() {
+		return mRawBody;
+	}
+
+	/**
+	 * 요청 body 를 byte 로 설정(PIN 등 String 으로 만들지 않아야 하는 값) - 복사하지 않으므로 호출자가 전송 후 0 으로 채움
+	 * @param body - 요청 body(UTF-8), 설정되면 setBody() 값 대신 전송
+	 */
+	public void setRawBody(byte[] body) {
+		mRawBody = body;
+	}
+
 	public String getCmd() {
 		return mCmd;
 	}
 	public void setCmd(String cmd) {
 		mCmd = cmd;
 	}
-	
+
 	public int getResponseCode() {
 		return mResponseCode;
 	}
 	public void setResponseCode(int responseCode){
 		mResponseCode = responseCode;
 	}
-	
+
 	public String getErrorCode() {
 		return mErrorCode;
 	}
@@ -57,12 +256,33 @@ public class SumionMessage {
 	}
 
 	public void clearMessage(){
-		mHeader = new HashMap<String, String>();
+		clearHeader();
 		mBody = null;
+		mRawBody = null;
 // command 설정 값은 유지  //		mCmd = null;
 		mResponseCode = 0;
 		mErrorCode = null;
 		mExtraInfo = null;
 	}
 
+	private void clearHeader() {
+		for(int i = 0; i < mKnownValue.length; i++) {
+			mKnownValue[i] = null;
+		}
+		if(mExtraName != null) {
+			mExtraName.clear();
+			mExtraValue.clear();
+		}
+		mHeaderMap = null;
+		mHeaderMapNames = null;
+	}
+
+	private static int knownIndex(String strName) {
+		for(int i = 0; i < KNOWN_HEADERS.length; i++) {
+			if(KNOWN_HEADERS[i].equals(strName)) {
+				return i;
+			}
+		}
+		return -1;
+	}
 }
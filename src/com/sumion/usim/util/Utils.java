@@ -5,11 +5,7 @@ import android.telephony.TelephonyManager;
 
 public class Utils {
     public static String toHexString(byte buf[]){
-        StringBuffer sb = new StringBuffer();
-        for (int i = 0; i < buf.length; i++) {
-            sb.append(Integer.toHexString(0x0100 + (buf[i] & 0x00FF)).substring(1));
-        }
-        return sb.toString();
+        return ByteCodec.toHex(buf);
     }
 
 	public static String getUSIMSerialNumber(Context context) {
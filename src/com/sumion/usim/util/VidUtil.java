@@ -0,0 +1,167 @@
+package com.sumion.usim.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+
+/**
+ * 식별번호(VID) 본인확인 class<br>
+ * 인증서 subjectAltName 의 identifyData(otherName, 1.2.410.200004.10.1.1)에 포함된 VID 와
+ * 주민등록번호(IDN), 개인키 랜덤 값(R)으로 계산한 VID 를 비교함<br>
+ * <pre>
+ * VID = h(h(SEQUENCE { PrintableString IDN, BIT STRING R }))
+ * </pre>
+ * 계산에 사용한 IDN/R 중간 버퍼는 사용 후 0 으로 채움
+ */
+public final class VidUtil {
+	/** identifyData otherName OID */
+	public static final String OID_IDENTIFY_DATA = "1.2.410.200004.10.1.1";
+
+	/** subjectAltName 확장 OID */
+	private static final String OID_SUBJECT_ALT_NAME = "2.5.29.17";
+
+	private static final byte[] IDENTIFY_DATA_OID = Pkcs7Util.encodeOid(OID_IDENTIFY_DATA);
+	private static final byte[] SHA1_OID = Pkcs7Util.encodeOid(Pkcs7Util.OID_SHA1);
+	private static final byte[] SHA256_OID = Pkcs7Util.encodeOid(Pkcs7Util.OID_SHA256);
+
+	private VidUtil() {
+	}
+
+	/**
+	 * 인증서의 VID 정보 반환
+	 * @param cert - 인증서
+	 * @return VirtualId - VID 정보(identifyData 가 없거나 지원하지 않는 hash 알고리즘이면 null)
+	 */
+	public static VirtualId getVirtualId(X509Certificate cert) {
+		byte[] ext = cert.getExtensionValue(OID_SUBJECT_ALT_NAME);
+		if(ext == null) {
+			return null;
+		}
+		try {
+			// 확장 값(OCTET STRING) 안의 GeneralNames
+			int nNames = Pkcs7Util.firstChild(ext, 0);
+			for(int nName = Pkcs7Util.firstChild(ext, nNames); nName < Pkcs7Util.end(ext, nNames); nName = Pkcs7Util.end(ext, nName)) {
+				// otherName [0] { type-id OID, [0] EXPLICIT value }
+				if(ByteCodec.derTag(ext, nName) != ByteCodec.DER_CONTEXT_0 || !Pkcs7Util.equalsTlv(ext, Pkcs7Util.firstChild(ext, nName), IDENTIFY_DATA_OID)) {
+					continue;
+				}
+				int nValue = Pkcs7Util.end(ext, Pkcs7Util.firstChild(ext, nName));
+				return findVid(ext, Pkcs7Util.firstChild(ext, nValue), Pkcs7Util.end(ext, nValue));
+			}
+		} catch(RuntimeException e) {  // 잘못된 DER
+			LogUtil.w("VidUtil", "invalid subjectAltName : {}", e.getMessage());
+		}
+		return null;
+	}
+
+	/**
+	 * VID 계산
+	 * @param strAlgorithm - hash 알고리즘(MessageDigest 이름)
+	 * @param idn - 주민등록번호
+	 * @param random - 개인키 랜덤 값(R)
+	 * @return byte[] - VID
+	 */
+	public static byte[] computeVid(String strAlgorithm, byte[] idn, byte[] random) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(strAlgorithm);
+		} catch(NoSuchAlgorithmException e) {
+			throw new IllegalArgumentException("unsupported VID hash : " + strAlgorithm);
+		}
+
+		int nIdn = 1 + ByteCodec.derLengthSize(idn.length) + idn.length;
+		int nBits = 1 + ByteCodec.derLengthSize(random.length + 1) + random.length + 1;
+		byte[] input = new byte[1 + ByteCodec.derLengthSize(nIdn + nBits) + nIdn + nBits];
+		int nPos = ByteCodec.derWriteHeader(ByteCodec.DER_SEQUENCE, nIdn + nBits, input, 0);
+		nPos += ByteCodec.derWriteHeader(ByteCodec.DER_PRINTABLE_STRING, idn.length, input, nPos);
+		System.arraycopy(idn, 0, input, nPos, idn.length);
+		nPos += idn.length;
+		nPos += ByteCodec.derWriteHeader(ByteCodec.DER_BIT_STRING, random.length + 1, input, nPos);
+		input[nPos++] = 0;  // 사용하지 않는 bit 없음
+		System.arraycopy(random, 0, input, nPos, random.length);
+
+		byte[] inner = digest.digest(input);
+		Arrays.fill(input, (byte) 0);
+		byte[] vid = digest.digest(inner);
+		Arrays.fill(inner, (byte) 0);
+		return vid;
+	}
+
+	/**
+	 * 본인확인 - 인증서 VID 와 계산한 VID 비교
+	 * @param cert - 인증서
+	 * @param idn - 주민등록번호
+	 * @param random - 개인키 랜덤 값(R)
+	 * @return boolean - 일치 여부(인증서에 VID 가 없으면 false)
+	 */
+	public static boolean verify(X509Certificate cert, byte[] idn, byte[] random) {
+		VirtualId virtualId = getVirtualId(cert);
+		return virtualId != null && virtualId.verify(idn, random);
+	}
+
+	/**
+	 * identifyData 에서 VID(SEQUENCE { AlgorithmIdentifier, OCTET STRING }) 탐색
+	 */
+	private static VirtualId findVid(byte[] src, int nStart, int nEnd) {
+		for(int nPos = nStart; nPos < nEnd; nPos = Pkcs7Util.end(src, nPos)) {
+			if(ByteCodec.derTag(src, nPos) != ByteCodec.DER_SEQUENCE) {
+				continue;
+			}
+			int nAlg = Pkcs7Util.firstChild(src, nPos);
+			if(nAlg < Pkcs7Util.end(src, nPos) && ByteCodec.derTag(src, nAlg) == ByteCodec.DER_SEQUENCE
+					&& ByteCodec.derTag(src, Pkcs7Util.firstChild(src, nAlg)) == ByteCodec.DER_OID
+					&& Pkcs7Util.end(src, nAlg) < Pkcs7Util.end(src, nPos) && ByteCodec.derTag(src, Pkcs7Util.end(src, nAlg)) == ByteCodec.DER_OCTET_STRING) {
+				String strAlgorithm = Pkcs7Util.equalsTlv(src, Pkcs7Util.firstChild(src, nAlg), SHA256_OID) ? "SHA-256"
+						: Pkcs7Util.equalsTlv(src, Pkcs7Util.firstChild(src, nAlg), SHA1_OID) ? "SHA-1" : null;
+				if(strAlgorithm == null) {
+					LogUtil.w("VidUtil", "unsupported VID hash algorithm");
+					return null;
+				}
+				int nVid = Pkcs7Util.end(src, nAlg);
+				return new VirtualId(strAlgorithm, Arrays.copyOfRange(src, Pkcs7Util.firstChild(src, nVid), Pkcs7Util.end(src, nVid)));
+			}
+			VirtualId virtualId = findVid(src, nAlg, Pkcs7Util.end(src, nPos));  // UserInfo 등 하위 SEQUENCE
+			if(virtualId != null) {
+				return virtualId;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 인증서에 포함된 VID 정보
+	 */
+	public static final class VirtualId {
+		/** hash 알고리즘(MessageDigest 이름) */
+		private final String m_strAlgorithm;
+		/** VID 값 */
+		private final byte[] m_vid;
+
+		VirtualId(String strAlgorithm, byte[] vid) {
+			m_strAlgorithm = strAlgorithm;
+			m_vid = vid;
+		}
+
+		/**
+		 * hash 알고리즘 반환
+		 * @return String - MessageDigest 이름(SHA-1, SHA-256)
+		 */
+		public String getAlgorithm() {
+			return m_strAlgorithm;
+		}
+
+		/**
+		 * VID 와 계산한 VID 비교(고정 시간 비교)
+		 * @param idn - 주민등록번호
+		 * @param random - 개인키 랜덤 값(R)
+		 * @return boolean - 일치 여부
+		 */
+		public boolean verify(byte[] idn, byte[] random) {
+			byte[] vid = computeVid(m_strAlgorithm, idn, random);
+			boolean bMatch = MessageDigest.isEqual(vid, m_vid);
+			Arrays.fill(vid, (byte) 0);
+			return bMatch;
+		}
+	}
+}
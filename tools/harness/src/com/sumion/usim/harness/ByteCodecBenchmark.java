@@ -0,0 +1,125 @@
+package com.sumion.usim.harness;
+
+import com.sumion.usim.util.ByteCodec;
+
+/**
+ * ByteCodec 변환 비용 측정 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * hex 변환을 변경 전 Utils.toHexString 방식(StringBuffer + Integer.toHexString)과 비교하고,
+ * Base64 변환을 호출자 buffer 사용 여부에 따라 비교함<br>
+ * 단말에서는 run() 을 호출하고, JVM 에서는 main() 을 실행
+ */
+public final class ByteCodecBenchmark {
+	/** ICCID/serial 크기 */
+	private static final int HEX_LENGTH = 20;
+	/** PKCS#7 서명 데이터 크기 */
+	private static final int BASE64_LENGTH = 2048;
+
+	private ByteCodecBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.print(run(args.length > 0 ? Integer.parseInt(args[0]) : 100000));
+	}
+
+	/**
+	 * 측정 실행
+	 * @param nIterations - 회 당 호출 횟수
+	 * @return String - case 별 결과
+	 * @throws Exception - 측정 오류
+	 */
+	public static String run(int nIterations) throws Exception {
+		final byte[] hexSrc = data(HEX_LENGTH);
+		final char[] hexDst = new char[HEX_LENGTH * 2];
+		final byte[] base64Src = data(BASE64_LENGTH);
+		final byte[] base64Dst = new byte[ByteCodec.base64EncodedLength(BASE64_LENGTH)];
+		final int nBase64Len = ByteCodec.base64Encode(base64Src, 0, base64Src.length, base64Dst, 0);
+		final String strBase64 = ByteCodec.toBase64(base64Src);
+		final byte[] decodeDst = new byte[ByteCodec.base64DecodedMaxLength(nBase64Len)];
+
+		if(!toHexStringBaseline(hexSrc).equals(ByteCodec.toHex(hexSrc))) {
+			return "hex mismatch\n";
+		}
+
+		MicroBench.Case[] arrCase = {
+			new MicroBench.Case("baseline toHexString " + HEX_LENGTH + " bytes") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						MicroBench.s_sink = toHexStringBaseline(hexSrc);
+					}
+				}
+			},
+			new MicroBench.Case("toHex " + HEX_LENGTH + " bytes") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						MicroBench.s_sink = ByteCodec.toHex(hexSrc);
+					}
+				}
+			},
+			new MicroBench.Case("hexEncode " + HEX_LENGTH + " bytes, caller buffer") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						ByteCodec.hexEncode(hexSrc, 0, hexSrc.length, hexDst, 0, false);
+					}
+					MicroBench.s_sink = hexDst;
+				}
+			},
+			new MicroBench.Case("toBase64 " + BASE64_LENGTH + " bytes") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						MicroBench.s_sink = ByteCodec.toBase64(base64Src);
+					}
+				}
+			},
+			new MicroBench.Case("base64Encode " + BASE64_LENGTH + " bytes, caller buffer") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						ByteCodec.base64Encode(base64Src, 0, base64Src.length, base64Dst, 0);
+					}
+					MicroBench.s_sink = base64Dst;
+				}
+			},
+			new MicroBench.Case("fromBase64 " + BASE64_LENGTH + " bytes") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						MicroBench.s_sink = ByteCodec.fromBase64(strBase64);
+					}
+				}
+			},
+			new MicroBench.Case("base64Decode " + BASE64_LENGTH + " bytes, caller buffer") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						ByteCodec.base64Decode(base64Dst, 0, nBase64Len, decodeDst, 0);
+					}
+					MicroBench.s_sink = decodeDst;
+				}
+			},
+		};
+		return MicroBench.run(arrCase, nIterations, 5);
+	}
+
+	/**
+	 * 변경 전 Utils.toHexString 구현
+	 */
+	private static String toHexStringBaseline(byte[] bArr) {
+		StringBuffer sb = new StringBuffer();
+		for(byte b : bArr) {
+			sb.append(Integer.toHexString(0x0100 + (b & 0xFF)).substring(1));
+		}
+		return sb.toString();
+	}
+
+	private static byte[] data(int nLen) {
+		byte[] data = new byte[nLen];
+		for(int i = 0; i < nLen; i++) {
+			data[i] = (byte) (i * 31 + 7);
+		}
+		return data;
+	}
+}
@@ -0,0 +1,118 @@
+package com.sumion.usim.harness;
+
+import android.util.Log;
+
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * LogUtil 호출 비용 측정 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * 출력하지 않는 level 에서의 호출 비용을 호출부 문자열 결합(변경 전 호출 방식)과 비교하고,
+ * 출력 level 에서 buffer 기록 비용(출력 thread 의 문자열 변환 제외)을 측정함<br>
+ * 단말에서는 run() 을 호출하고, JVM 에서는 no-op android.util.Log 를 classpath 에 두고 main() 을 실행
+ */
+public final class LogUtilBenchmark {
+	private static final String TAG = "LogUtilBenchmark";
+
+	private static final int HEX_LENGTH = 32;
+
+	private static final String[] KEYS = { "CMD", "CONNECT_ID", "USER_INFO", "SIGN_DATA" };
+	private static final Integer[] VALUES = { 1000, 2000, 3000, 4000 };
+	private static final byte[] DATA = new byte[HEX_LENGTH];
+
+	static {
+		for(int i = 0; i < HEX_LENGTH; i++) {
+			DATA[i] = (byte) (i * 7);
+		}
+	}
+
+	private LogUtilBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.print(run(args.length > 0 ? Integer.parseInt(args[0]) : 200000));
+	}
+
+	/**
+	 * 측정 실행 - 측정 중 LogUtil 출력 level 을 변경하고 종료 시 복원함
+	 * @param nIterations - 회 당 호출 횟수
+	 * @return String - case 별 결과
+	 * @throws Exception - 측정 오류
+	 */
+	public static String run(int nIterations) throws Exception {
+		final int nLevel = LogUtil.getLevel();
+		MicroBench.Case[] arrCase = {
+			new MicroBench.Case("disabled, caller concatenation") {
+				@Override
+				void run(int n) {
+					LogUtil.setLevel(LogUtil.LEVEL_NONE);
+					for(int i = 0; i < n; i++) {
+						LogUtil.d(TAG, "key " + KEYS[i & 3] + " value " + VALUES[i & 3]);
+					}
+				}
+			},
+			new MicroBench.Case("disabled, {} arguments") {
+				@Override
+				void run(int n) {
+					LogUtil.setLevel(LogUtil.LEVEL_NONE);
+					for(int i = 0; i < n; i++) {
+						LogUtil.d(TAG, "key {} value {}", KEYS[i & 3], VALUES[i & 3]);
+					}
+				}
+			},
+			new MicroBench.Case("disabled, hex " + HEX_LENGTH + " bytes") {
+				@Override
+				void run(int n) {
+					LogUtil.setLevel(LogUtil.LEVEL_NONE);
+					for(int i = 0; i < n; i++) {
+						LogUtil.hex(TAG, DATA);
+					}
+				}
+			},
+			new MicroBench.Case("baseline hex (String.format per byte) " + HEX_LENGTH + " bytes") {
+				@Override
+				void run(int n) {
+					LogUtil.setLevel(LogUtil.LEVEL_NONE);
+					for(int i = 0; i < n; i++) {
+						String msg = "";
+						for(byte b : DATA) {
+							msg += String.format("0x%02X ", b);
+						}
+						MicroBench.s_sink = msg;
+					}
+				}
+			},
+			new MicroBench.Case("enabled, record String/Integer arguments") {
+				@Override
+				void run(int n) {
+					LogUtil.setLevel(Log.VERBOSE);
+					for(int i = 0; i < n; i++) {
+						LogUtil.d(TAG, "key {} value {}", KEYS[i & 3], VALUES[i & 3]);
+					}
+				}
+			},
+			new MicroBench.Case("enabled, record byte[] argument") {
+				@Override
+				void run(int n) {
+					LogUtil.setLevel(Log.VERBOSE);
+					for(int i = 0; i < n; i++) {
+						LogUtil.d(TAG, "data {}", DATA);
+					}
+				}
+			},
+			new MicroBench.Case("enabled, record hex " + HEX_LENGTH + " bytes") {
+				@Override
+				void run(int n) {
+					LogUtil.setLevel(Log.VERBOSE);
+					for(int i = 0; i < n; i++) {
+						LogUtil.hex(TAG, DATA);
+					}
+				}
+			},
+		};
+		try {
+			return MicroBench.run(arrCase, nIterations, 5) + "dropped " + LogUtil.getDroppedCount() + "\n";
+		} finally {
+			LogUtil.setLevel(nLevel);
+		}
+	}
+}
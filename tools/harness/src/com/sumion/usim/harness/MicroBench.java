@@ -0,0 +1,86 @@
+package com.sumion.usim.harness;
+
+import java.lang.reflect.Method;
+
+/**
+ * 반복 실행 시간/할당량 측정 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * case 별로 warm-up 후 여러 회 측정하여 가장 빠른 회의 호출 당 시간(ns)과 할당량(byte)을 구함.
+ * 할당량은 JVM(com.sun.management.ThreadMXBean)에서만 측정되며, 단말에서는 n/a 로 표시함
+ */
+final class MicroBench {
+	/** 측정 결과가 최적화로 제거되지 않도록 보관 */
+	static volatile Object s_sink;
+
+	private static final Object s_threadBean;
+	private static final Method s_allocatedBytes;
+
+	static {
+		Object threadBean = null;
+		Method allocatedBytes = null;
+		try {
+			threadBean = Class.forName("java.lang.management.ManagementFactory").getMethod("getThreadMXBean").invoke(null);
+			allocatedBytes = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", long.class);
+		} catch(Exception e) {
+			threadBean = null;
+			allocatedBytes = null;
+		}
+		s_threadBean = threadBean;
+		s_allocatedBytes = allocatedBytes;
+	}
+
+	private MicroBench() {
+	}
+
+	/**
+	 * 측정 case - run() 에서 nIterations 회 반복 실행
+	 */
+	abstract static class Case {
+		final String m_strName;
+
+		Case(String strName) {
+			m_strName = strName;
+		}
+
+		abstract void run(int nIterations) throws Exception;
+	}
+
+	/**
+	 * 측정 실행
+	 * @param arrCase - 측정 case
+	 * @param nIterations - 회 당 반복 횟수
+	 * @param nRounds - 측정 회수(warm-up 제외)
+	 * @return String - case 별 결과(한 줄에 한 case)
+	 * @throws Exception - case 실행 오류
+	 */
+	static String run(Case[] arrCase, int nIterations, int nRounds) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for(Case benchCase : arrCase) {
+			benchCase.run(nIterations);
+			long lBestNs = Long.MAX_VALUE;
+			long lBestBytes = Long.MAX_VALUE;
+			for(int i = 0; i < nRounds; i++) {
+				long lBytes = allocatedBytes();
+				long lStart = System.nanoTime();
+				benchCase.run(nIterations);
+				long lElapsed = System.nanoTime() - lStart;
+				lBytes = lBytes < 0 ? -1 : allocatedBytes() - lBytes;
+				lBestNs = Math.min(lBestNs, lElapsed);
+				lBestBytes = Math.min(lBestBytes, lBytes);
+			}
+			sb.append(benchCase.m_strName).append(" : ").append(lBestNs / nIterations).append(" ns/op, ");
+			sb.append(lBestBytes < 0 ? "n/a" : String.valueOf(lBestBytes / nIterations)).append(" B/op\n");
+		}
+		return sb.toString();
+	}
+
+	private static long allocatedBytes() {
+		if(s_allocatedBytes == null) {
+			return -1;
+		}
+		try {
+			return (Long) s_allocatedBytes.invoke(s_threadBean, Thread.currentThread().getId());
+		} catch(Exception e) {
+			return -1;
+		}
+	}
+}
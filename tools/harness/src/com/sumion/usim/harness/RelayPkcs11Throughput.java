@@ -0,0 +1,88 @@
+package com.sumion.usim.harness;
+
+import java.util.Arrays;
+
+import android.content.Context;
+
+import com.sumion.usim.util.LogUtil;
+import com.sumion.usim.util.RelayByteStats;
+import com.sumion.usim.util.RelayPkcs11Client;
+
+/**
+ * 원격 PKCS#11 서명 처리량 측정 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * 같은 데이터를 command 마다 요청(sign)한 경우와 일괄 요청(signAll)한 경우의 소요 시간을 비교하고 두 결과가 같은지 확인함<br>
+ * 호스트 앱 debug build 에 source 를 추가하여 background thread 에서 호출하며, 중계 서버는 tools/relay/relay_stub.py 를 사용할 수 있음<br>
+ * (예: relay_stub.py -cmddelay 5 실행 후 AppClient.setServerURLs() 로 지정)
+ */
+public final class RelayPkcs11Throughput {
+	private static final String TAG = "RelayPkcs11Throughput";
+
+	private RelayPkcs11Throughput() {
+	}
+
+	/**
+	 * 측정 실행
+	 * @param context - Context
+	 * @param strUserInfo - 사용자 정보(토큰)
+	 * @param pin - 토큰 PIN
+	 * @param strKeyLabel - 서명 키 label
+	 * @param nCount - 서명 횟수
+	 * @param nBatch - 일괄 요청 당 서명 수
+	 * @return String - 결과 요약(소요 시간, 불일치 수, command 별 전송량)
+	 */
+	public static String run(Context context, String strUserInfo, byte[] pin, String strKeyLabel, int nCount, int nBatch) {
+		RelayPkcs11Client.Session session = new RelayPkcs11Client(context, strUserInfo).openSession(pin);
+		if(!session.isOpen()) {
+			return "login failed : " + session.getErrorCode();
+		}
+
+		byte[][] arrData = new byte[nCount][];
+		for(int i = 0; i < nCount; i++) {
+			arrData[i] = ("throughput-" + i).getBytes();
+		}
+		RelayByteStats.reset();
+
+		long lStart = System.nanoTime();
+		byte[][] arrSingle = new byte[nCount][];
+		for(int i = 0; i < nCount; i++) {
+			arrSingle[i] = session.sign(strKeyLabel, arrData[i]);
+		}
+		long lSingleMs = (System.nanoTime() - lStart) / 1000000L;
+
+		lStart = System.nanoTime();
+		byte[][] arrBatch = new byte[nCount][];
+		for(int i = 0; i < nCount; i += nBatch) {
+			byte[][] arrPart = Arrays.copyOfRange(arrData, i, Math.min(nCount, i + nBatch));
+			byte[][] arrSign = session.signAll(strKeyLabel, arrPart);
+			if(arrSign != null) {
+				System.arraycopy(arrSign, 0, arrBatch, i, arrSign.length);
+			}
+		}
+		long lBatchMs = (System.nanoTime() - lStart) / 1000000L;
+		String strErrorCode = session.getErrorCode();
+		session.close();
+
+		int nMismatch = 0;
+		for(int i = 0; i < nCount; i++) {
+			if(arrSingle[i] == null || arrBatch[i] == null || !Arrays.equals(arrSingle[i], arrBatch[i])) {
+				nMismatch++;
+			}
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append("sign x").append(nCount)
+			.append(" : single ").append(lSingleMs).append(" ms (").append(perSecond(nCount, lSingleMs)).append("/s)")
+			.append(", batch ").append(nBatch).append(' ').append(lBatchMs).append(" ms (").append(perSecond(nCount, lBatchMs)).append("/s)")
+			.append(", mismatch ").append(nMismatch)
+			.append(", last error ").append(strErrorCode);
+		for(RelayByteStats stats : RelayByteStats.getAll()) {
+			sb.append('\n').append(stats);
+		}
+		LogUtil.i(TAG, "{}", sb);
+		return sb.toString();
+	}
+
+	private static long perSecond(int nCount, long lMs) {
+		return lMs > 0 ? nCount * 1000L / lMs : nCount * 1000L;
+	}
+}
@@ -0,0 +1,94 @@
+package com.sumion.usim.harness;
+
+import java.util.HashMap;
+
+import com.sumion.usim.util.SumionMessage;
+
+/**
+ * SumionMessage 요청/응답 header 처리 비용 측정 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * 요청 header 설정, 응답 수신 시 초기화(clearMessage) 및 응답 header 저장/조회를 한 요청으로 하여
+ * 변경 전 구현(요청마다 message 와 HashMap 생성)과 고정 field 및 재사용 pool 사용 시를 비교함<br>
+ * 단말에서는 run() 을 호출하고, JVM 에서는 main() 을 실행
+ */
+public final class SumionMessageBenchmark {
+	private static final String COOKIE = "JSESSIONID=0123456789ABCDEF";
+	private static final String CONNECT_ID = "C0000000001";
+	private static final String USER_INFO = "01099991111SKT";
+
+	private SumionMessageBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		System.out.print(run(args.length > 0 ? Integer.parseInt(args[0]) : 200000));
+	}
+
+	/**
+	 * 측정 실행
+	 * @param nIterations - 회 당 요청 수
+	 * @return String - case 별 결과
+	 * @throws Exception - 측정 오류
+	 */
+	public static String run(int nIterations) throws Exception {
+		MicroBench.Case[] arrCase = {
+			new MicroBench.Case("baseline new message, HashMap header") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						BaselineMessage msg = new BaselineMessage();
+						msg.mHeader.put(SumionMessage.HEADER_COOKIE, COOKIE);
+						msg.mHeader.put(SumionMessage.HEADER_CONNECT_ID, CONNECT_ID);
+						msg.mHeader.put(SumionMessage.HEADER_USER_INFO, USER_INFO);
+						msg.mHeader = new HashMap<String, String>();
+						msg.mHeader.put(SumionMessage.HEADER_ERR_CODE, "000");
+						msg.mHeader.put(SumionMessage.HEADER_CONNECT_ID, CONNECT_ID);
+						msg.mHeader.put("Content-Type", "text/plain");
+						MicroBench.s_sink = msg.mHeader.get(SumionMessage.HEADER_ERR_CODE);
+					}
+				}
+			},
+			new MicroBench.Case("obtain/recycle, fixed header field") {
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						SumionMessage msg = SumionMessage.obtain();
+						msg.setHeader(SumionMessage.HEADER_COOKIE, COOKIE);
+						msg.setHeader(SumionMessage.HEADER_CONNECT_ID, CONNECT_ID);
+						msg.setHeader(SumionMessage.HEADER_USER_INFO, USER_INFO);
+						msg.clearMessage();
+						msg.setHeader(SumionMessage.HEADER_ERR_CODE, "000");
+						msg.setHeader(SumionMessage.HEADER_CONNECT_ID, CONNECT_ID);
+						msg.setHeader("Content-Type", "text/plain");
+						MicroBench.s_sink = msg.getHeader(SumionMessage.HEADER_ERR_CODE);
+						msg.recycle();
+					}
+				}
+			},
+			new MicroBench.Case("obtain/recycle, deprecated getHeader() map") {
+				@SuppressWarnings("deprecation")
+				@Override
+				void run(int n) {
+					for(int i = 0; i < n; i++) {
+						SumionMessage msg = SumionMessage.obtain();
+						msg.getHeader().put(SumionMessage.HEADER_COOKIE, COOKIE);
+						msg.getHeader().put(SumionMessage.HEADER_CONNECT_ID, CONNECT_ID);
+						msg.getHeader().put(SumionMessage.HEADER_USER_INFO, USER_INFO);
+						msg.clearMessage();
+						msg.setHeader(SumionMessage.HEADER_ERR_CODE, "000");
+						msg.setHeader(SumionMessage.HEADER_CONNECT_ID, CONNECT_ID);
+						msg.setHeader("Content-Type", "text/plain");
+						MicroBench.s_sink = msg.getHeader(SumionMessage.HEADER_ERR_CODE);
+						msg.recycle();
+					}
+				}
+			},
+		};
+		return MicroBench.run(arrCase, nIterations, 5);
+	}
+
+	/**
+	 * 변경 전 SumionMessage 의 header 저장 방식
+	 */
+	private static final class BaselineMessage {
+		private HashMap<String, String> mHeader = new HashMap<String, String>();
+	}
+}
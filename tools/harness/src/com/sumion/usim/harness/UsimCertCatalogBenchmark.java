@@ -0,0 +1,149 @@
+package com.sumion.usim.harness;
+
+import java.io.FileInputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+
+import android.os.Parcel;
+
+import com.sumion.usim.aidl.UsimCertCatalog;
+import com.sumion.usim.aidl.UsimCertificate;
+
+/**
+ * UsimCertCatalog 전달 비용 측정 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * 같은 인증서 목록을 기존 방식(List&lt;UsimCertificate&gt;, 인증서별 X.509 직렬화)과 UsimCertCatalog 로 Parcel 에 기록/복원하여
+ * Parcel 크기와 호출 당 시간을 비교하고, X.509 가 없는 인증서와 버전이 다른 목록의 복원 결과를 확인함<br>
+ * 단말에서는 서비스에서 조회한 목록으로 run() 을 호출하고, JVM 에서는 Android Parcel 규칙(4 byte 정렬, UTF-16 문자열)을 따르는
+ * android.os.Parcel 을 classpath 에 두고 인증서(DER) 파일 경로를 인자로 main() 을 실행
+ */
+public final class UsimCertCatalogBenchmark {
+	/** 측정 목록의 인증서 수 */
+	private static final int CERT_COUNT = 8;
+
+	private UsimCertCatalogBenchmark() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		CertificateFactory factory = CertificateFactory.getInstance("X.509");
+		ArrayList<UsimCertificate> certList = new ArrayList<UsimCertificate>();
+		for(int i = 0; i < CERT_COUNT; i++) {
+			FileInputStream in = new FileInputStream(args[i % args.length]);
+			try {
+				X509Certificate x509 = (X509Certificate) factory.generateCertificate(in);
+				certList.add(new UsimCertificate(x509, i, "1.2.410.200005.1.1.1", "USIM"));
+			} finally {
+				in.close();
+			}
+		}
+		System.out.print(run(certList, 2000));
+	}
+
+	/**
+	 * 측정 실행
+	 * @param certList - 측정할 인증서 목록
+	 * @param nIterations - 회 당 호출 횟수
+	 * @return String - Parcel 크기, case 별 결과, 복원 확인 결과
+	 * @throws Exception - 측정 오류
+	 */
+	public static String run(final List<UsimCertificate> certList, int nIterations) throws Exception {
+		final UsimCertCatalog catalog = new UsimCertCatalog(certList);
+		final Parcel listParcel = Parcel.obtain();
+		final Parcel catalogParcel = Parcel.obtain();
+		StringBuilder sb = new StringBuilder();
+		try {
+			listParcel.writeTypedList(certList);
+			catalog.writeToParcel(catalogParcel, 0);
+			sb.append("certificates ").append(certList.size()).append(", parcel list ").append(listParcel.dataSize())
+					.append(" B, catalog ").append(catalogParcel.dataSize()).append(" B\n");
+
+			MicroBench.Case[] arrCase = {
+				new MicroBench.Case("write list") {
+					@Override
+					void run(int n) {
+						for(int i = 0; i < n; i++) {
+							Parcel parcel = Parcel.obtain();
+							parcel.writeTypedList(certList);
+							MicroBench.s_sink = parcel;
+							parcel.recycle();
+						}
+					}
+				},
+				new MicroBench.Case("write catalog") {
+					@Override
+					void run(int n) throws Exception {
+						for(int i = 0; i < n; i++) {
+							Parcel parcel = Parcel.obtain();
+							new UsimCertCatalog(certList).writeToParcel(parcel, 0);
+							MicroBench.s_sink = parcel;
+							parcel.recycle();
+						}
+					}
+				},
+				new MicroBench.Case("read list") {
+					@Override
+					void run(int n) {
+						for(int i = 0; i < n; i++) {
+							listParcel.setDataPosition(0);
+							MicroBench.s_sink = listParcel.createTypedArrayList(UsimCertificate.CREATOR);
+						}
+					}
+				},
+				new MicroBench.Case("read catalog") {
+					@Override
+					void run(int n) {
+						for(int i = 0; i < n; i++) {
+							catalogParcel.setDataPosition(0);
+							MicroBench.s_sink = UsimCertCatalog.CREATOR.createFromParcel(catalogParcel).getCertList();
+						}
+					}
+				},
+			};
+			sb.append(MicroBench.run(arrCase, nIterations, 5));
+		} finally {
+			listParcel.recycle();
+			catalogParcel.recycle();
+		}
+		sb.append(checkNoX509(certList)).append(checkVersion());
+		return sb.toString();
+	}
+
+	/**
+	 * X.509 가 없는 인증서는 null 로 복원되어야 함
+	 */
+	private static String checkNoX509(List<UsimCertificate> certList) throws Exception {
+		ArrayList<UsimCertificate> mixed = new ArrayList<UsimCertificate>();
+		mixed.add(new UsimCertificate(null, 100));
+		mixed.add(certList.get(0));
+		Parcel parcel = Parcel.obtain();
+		try {
+			new UsimCertCatalog(mixed).writeToParcel(parcel, 0);
+			parcel.setDataPosition(0);
+			List<UsimCertificate> restored = UsimCertCatalog.CREATOR.createFromParcel(parcel).getCertList();
+			boolean bOk = restored != null && restored.size() == 2 && restored.get(0).getCert() == null && restored.get(0).getCertIdx() == 100
+					&& certList.get(0).getCert().equals(restored.get(1).getCert());
+			return "no X.509 round trip : " + (bOk ? "ok" : "FAILED") + "\n";
+		} finally {
+			parcel.recycle();
+		}
+	}
+
+	/**
+	 * 버전이 다른 목록은 예외 없이 목록 없음(null)으로 복원되어야 함
+	 */
+	private static String checkVersion() {
+		Parcel parcel = Parcel.obtain();
+		try {
+			parcel.writeInt(Integer.MAX_VALUE);
+			parcel.writeInt(-1);
+			parcel.setDataPosition(0);
+			boolean bOk = UsimCertCatalog.CREATOR.createFromParcel(parcel).getCertList() == null;
+			return "unsupported version : " + (bOk ? "no catalog" : "FAILED") + "\n";
+		} catch(RuntimeException e) {
+			return "unsupported version : FAILED " + e + "\n";
+		} finally {
+			parcel.recycle();
+		}
+	}
+}
@@ -0,0 +1,259 @@
+package com.sumion.usim.harness;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sumion.usim.aidl.UsimCertError;
+import com.sumion.usim.aidl.UsimCertMgr;
+import com.sumion.usim.aidl.UsimCertificate;
+import com.sumion.usim.aidl.api.UsimCall;
+import com.sumion.usim.aidl.api.UsimCertFilter;
+import com.sumion.usim.aidl.api.UsimCertService;
+import com.sumion.usim.util.GlobalError;
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * UsimCertService 연결/해제 중 호출 검증 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * 한 thread 가 clearStub()/setStub() 을 반복하는 동안 여러 thread 가 동기/비동기 API 를 호출하여
+ * 예외가 발생하지 않는지, 결과와 에러 코드가 일치하는지(결과가 있으면 NORMAL, 없으면 NORMAL 이 아닌 코드),
+ * 비동기 요청의 결과 처리 리스너가 한 번씩 호출되는지 확인함<br>
+ * PIN 을 사용하는 API 는 호출하지 않으며, 인증서가 1개 이상 저장된 USIM 에서 실행해야 함. 호스트 앱 debug build 에 source 를 추가하고,
+ * 서비스 연결 후 main thread 외의 thread 에서 연결된 stub 과 함께 호출(종료 시 stub 을 다시 설정함)
+ */
+public final class UsimCertServiceConnectStress {
+	private static final String TAG = "UsimCertServiceConnectStress";
+
+	/** 연결/해제 사이 대기 시간(ms) */
+	private static final long TOGGLE_INTERVAL_MS = 2;
+	/** 비동기 요청 결과 대기 시간(ms) */
+	private static final long ASYNC_WAIT_MS = 30 * 1000L;
+	/** 로그로 출력할 최대 불일치 수 */
+	private static final int MAX_LOGGED = 10;
+
+	private final UsimCertService m_service;
+	private final AtomicInteger m_nCalls = new AtomicInteger();
+	private final AtomicInteger m_nExceptions = new AtomicInteger();
+	private final AtomicInteger m_nMismatch = new AtomicInteger();
+	private final AtomicInteger m_nDisconnected = new AtomicInteger();
+	private final AtomicInteger m_nAsyncCalls = new AtomicInteger();
+	private final AtomicInteger m_nAsyncResults = new AtomicInteger();
+
+	private UsimCertServiceConnectStress(UsimCertService service) {
+		m_service = service;
+	}
+
+	/**
+	 * 검증 실행
+	 * @param service - 연결된 UsimCertService
+	 * @param usimCertMgr - 연결된 서비스 stub(연결/해제 반복에 사용)
+	 * @param nThreads - 동시 호출 thread 수
+	 * @param nIterations - thread 별 반복 횟수
+	 * @return String - 결과 요약(호출 수, 예외 수, 불일치 수, 연결 해제로 실패한 호출 수, 비동기 요청/결과 수)
+	 * @throws InterruptedException
+	 */
+	public static String run(final UsimCertService service, final UsimCertMgr usimCertMgr, int nThreads, final int nIterations) throws InterruptedException {
+		if(!service.isReady()) {
+			return "service not ready";
+		}
+		final UsimCertServiceConnectStress stress = new UsimCertServiceConnectStress(service);
+		final CountDownLatch start = new CountDownLatch(1);
+		final AtomicBoolean running = new AtomicBoolean(true);
+		final AtomicInteger nToggles = new AtomicInteger();
+
+		Thread toggler = new Thread(TAG + "-toggle") {
+			@Override
+			public void run() {
+				try {
+					start.await();
+					while(running.get()) {
+						service.clearStub();
+						Thread.sleep(TOGGLE_INTERVAL_MS);
+						service.setStub(usimCertMgr);
+						Thread.sleep(TOGGLE_INTERVAL_MS);
+						nToggles.incrementAndGet();
+					}
+				} catch(InterruptedException e) {
+					// 종료
+				} catch(Throwable t) {
+					stress.exception("toggle", t);
+				}
+			}
+		};
+		Thread[] arrThread = new Thread[nThreads];
+		final ArrayList<CountDownLatch> asyncDone = new ArrayList<CountDownLatch>();
+		final ArrayList<ArrayList<AsyncCheck>> asyncChecks = new ArrayList<ArrayList<AsyncCheck>>();
+		for(int t = 0; t < nThreads; t++) {
+			final CountDownLatch done = new CountDownLatch(nIterations * 2);
+			final ArrayList<AsyncCheck> checks = new ArrayList<AsyncCheck>();
+			asyncDone.add(done);
+			asyncChecks.add(checks);
+			arrThread[t] = new Thread(TAG + "-" + t) {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch(InterruptedException e) {
+						return;
+					}
+					service.setThreadCallbackExecutor(UsimCertService.DIRECT_EXECUTOR);
+					for(int n = 0; n < nIterations; n++) {
+						stress.callSync();
+						stress.callAsync(checks, done);
+					}
+				}
+			};
+		}
+
+		long lStart = System.nanoTime();
+		toggler.start();
+		for(Thread thread : arrThread) {
+			thread.start();
+		}
+		start.countDown();
+		for(Thread thread : arrThread) {
+			thread.join();
+		}
+		for(int t = 0; t < nThreads; t++) {
+			if(!asyncDone.get(t).await(ASYNC_WAIT_MS, TimeUnit.MILLISECONDS)) {
+				stress.mismatch("async", "result not delivered within " + ASYNC_WAIT_MS + " ms");
+			}
+			stress.verify(asyncChecks.get(t));
+		}
+		running.set(false);
+		toggler.interrupt();
+		toggler.join();
+		if(!service.isReady()) {
+			service.setStub(usimCertMgr);
+		}
+		long lElapsedMs = (System.nanoTime() - lStart) / 1000000L;
+
+		String strResult = "threads " + nThreads + ", toggles " + nToggles.get() + ", calls " + stress.m_nCalls.get()
+				+ ", exceptions " + stress.m_nExceptions.get() + ", mismatch " + stress.m_nMismatch.get()
+				+ ", disconnected " + stress.m_nDisconnected.get() + ", async " + stress.m_nAsyncResults.get() + "/" + stress.m_nAsyncCalls.get()
+				+ ", " + lElapsedMs + " ms";
+		LogUtil.i(TAG, "{}", strResult);
+		return strResult;
+	}
+
+	/**
+	 * 동기 API 호출 - 결과가 있으면 NORMAL, 없으면 NORMAL 이 아닌 에러 코드여야 함
+	 */
+	private void callSync() {
+		try {
+			int nCount = m_service.getUsimCertCnt();
+			check("getUsimCertCnt", nCount > 0, m_service.getErrorCode());
+
+			byte[] cert = m_service.getCertificate(0);
+			check("getCertificate", cert != null, m_service.getErrorCode());
+
+			String strSubjectDN = m_service.getSubjectDN(0);
+			check("getSubjectDN", strSubjectDN != null, m_service.getErrorCode());
+
+			ArrayList<UsimCertificate> certList = m_service.getCertList(UsimCertFilter.ALL);
+			check("getCertList", certList != null, m_service.getErrorCode());
+		} catch(Throwable t) {
+			exception("sync", t);
+		}
+	}
+
+	/**
+	 * 비동기 API 호출 - 결과는 모든 요청이 끝난 후 verify() 에서 확인
+	 */
+	private void callAsync(ArrayList<AsyncCheck> checks, final CountDownLatch done) {
+		try {
+			final AsyncCheck cntCheck = new AsyncCheck("getUsimCertCntCall");
+			m_nAsyncCalls.incrementAndGet();
+			cntCheck.m_call = m_service.getUsimCertCntCall(new UsimCertService.OnCertCntResult() {
+				@Override
+				public void onCertCntResult(int nCnt) {
+					cntCheck.onResult(nCnt >= 0);
+					done.countDown();
+				}
+			});
+			checks.add(cntCheck);
+
+			final AsyncCheck listCheck = new AsyncCheck("getUsimCertListCall");
+			m_nAsyncCalls.incrementAndGet();
+			listCheck.m_call = m_service.getUsimCertListCall(new UsimCertService.OnCertListResult() {
+				@Override
+				public void onCertListResult(ArrayList<UsimCertificate> certList) {
+					listCheck.onResult(certList != null);
+					done.countDown();
+				}
+			});
+			checks.add(listCheck);
+		} catch(Throwable t) {
+			exception("async", t);
+		}
+	}
+
+	/**
+	 * 비동기 요청 결과 확인 - 결과 처리 리스너는 한 번만 호출되어야 하며, 결과가 없으면 요청 handle 의 에러 코드가 NORMAL 이 아니어야 함
+	 */
+	private void verify(ArrayList<AsyncCheck> checks) {
+		for(AsyncCheck check : checks) {
+			int nResults = check.m_nResults.get();
+			m_nAsyncResults.addAndGet(nResults);
+			if(nResults != 1) {
+				mismatch(check.m_strApi, "listener called " + nResults + " times");
+				continue;
+			}
+			UsimCertError error = check.m_call.getError();
+			if(error == null) {
+				mismatch(check.m_strApi, "no error after result");
+				continue;
+			}
+			check(check.m_strApi, check.m_bResult, error.getErrorCode());
+		}
+	}
+
+	/**
+	 * 결과와 에러 코드 일치 여부 확인
+	 */
+	private void check(String strApi, boolean bResult, String strErrCode) {
+		m_nCalls.incrementAndGet();
+		boolean bNormal = GlobalError.code.NORMAL.equals(strErrCode);
+		if(bResult != bNormal) {
+			mismatch(strApi, "result " + bResult + " error code " + strErrCode);
+		} else if(!bNormal) {
+			m_nDisconnected.incrementAndGet();
+		}
+	}
+
+	private void mismatch(String strApi, String strDetail) {
+		if(m_nMismatch.incrementAndGet() <= MAX_LOGGED) {
+			LogUtil.w(TAG, "mismatch {} : {}", strApi, strDetail);
+		}
+	}
+
+	private void exception(String strApi, Throwable t) {
+		if(m_nExceptions.incrementAndGet() <= MAX_LOGGED) {
+			LogUtil.w(TAG, "exception {} : {}", strApi, t.toString());
+		}
+	}
+
+	/**
+	 * 비동기 요청별 결과
+	 */
+	private static final class AsyncCheck {
+		private final String m_strApi;
+		/** 리스너 호출 횟수 */
+		private final AtomicInteger m_nResults = new AtomicInteger();
+		/** 요청 handle */
+		private UsimCall m_call;
+		/** 결과 유무 */
+		private volatile boolean m_bResult;
+
+		private AsyncCheck(String strApi) {
+			m_strApi = strApi;
+		}
+
+		private void onResult(boolean bResult) {
+			m_bResult = bResult;
+			m_nResults.incrementAndGet();
+		}
+	}
+}
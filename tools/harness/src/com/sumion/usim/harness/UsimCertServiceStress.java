@@ -0,0 +1,189 @@
+package com.sumion.usim.harness;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sumion.usim.aidl.UsimCertificate;
+import com.sumion.usim.aidl.api.UsimCertFilter;
+import com.sumion.usim.aidl.api.UsimCertService;
+import com.sumion.usim.util.GlobalError;
+import com.sumion.usim.util.LogUtil;
+
+/**
+ * UsimCertService 동시 호출 검증 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * 필터 조건별 getFilterCertCnt()/getCertificate() 결과를 한 thread 에서 먼저 구한 뒤, 여러 thread 가 서로 다른 필터로
+ * 같은 서비스 객체를 외부 lock 없이 동시에 호출하여 개수, 인증서, thread 별 getErrorCode() 가 처음 결과와 같은지 확인함<br>
+ * 호스트 앱 debug build 에 source 를 추가하고, 서비스 연결(isReady()) 후 main thread 외의 thread 에서 호출
+ */
+public final class UsimCertServiceStress {
+	private static final String TAG = "UsimCertServiceStress";
+
+	/** 최대 필터 조건 수 */
+	private static final int MAX_FILTERS = 8;
+	/** 로그로 출력할 최대 불일치 수 */
+	private static final int MAX_LOGGED = 10;
+
+	private final UsimCertService m_service;
+	private final List<Query> m_queries = new ArrayList<Query>();
+	private final AtomicInteger m_nCalls = new AtomicInteger();
+	private final AtomicInteger m_nMismatch = new AtomicInteger();
+
+	private UsimCertServiceStress(UsimCertService service) {
+		m_service = service;
+	}
+
+	/**
+	 * 검증 실행
+	 * @param service - 연결된 UsimCertService
+	 * @param nThreads - 동시 호출 thread 수
+	 * @param nIterations - thread 별 반복 횟수
+	 * @return String - 결과 요약(필터 수, 호출 수, 불일치 수)
+	 * @throws InterruptedException
+	 */
+	public static String run(UsimCertService service, int nThreads, int nIterations) throws InterruptedException {
+		if(!service.isReady()) {
+			return "service not ready";
+		}
+		UsimCertServiceStress stress = new UsimCertServiceStress(service);
+		stress.prepare();
+
+		final CountDownLatch start = new CountDownLatch(1);
+		Thread[] arrThread = new Thread[nThreads];
+		long lStart = System.nanoTime();
+		for(int t = 0; t < nThreads; t++) {
+			arrThread[t] = stress.worker(t, nIterations, start);
+			arrThread[t].start();
+		}
+		start.countDown();
+		for(Thread thread : arrThread) {
+			thread.join();
+		}
+		long lElapsedMs = (System.nanoTime() - lStart) / 1000000L;
+
+		String strResult = "filters " + stress.m_queries.size() + ", threads " + nThreads + ", calls " + stress.m_nCalls.get()
+				+ ", mismatch " + stress.m_nMismatch.get() + ", " + lElapsedMs + " ms";
+		LogUtil.i(TAG, "{}", strResult);
+		return strResult;
+	}
+
+	/**
+	 * 필터 조건 목록을 만들고 조건별 기대 결과 조회(한 thread 에서 순서대로 호출)
+	 */
+	private void prepare() {
+		m_queries.add(new Query(null, null, null, true));
+		LinkedHashSet<String> issuers = new LinkedHashSet<String>();
+		ArrayList<String> serials = new ArrayList<String>();
+		ArrayList<UsimCertificate> certList = m_service.getCertList(UsimCertFilter.ALL);
+		if(certList != null) {
+			for(UsimCertificate cert : certList) {
+				issuers.add(cert.getCert().getIssuerDN().getName());
+				serials.add(cert.getCert().getSerialNumber().toString());
+			}
+		}
+		for(String strIssuer : issuers) {
+			m_queries.add(new Query(null, null, strIssuer, true));
+			m_queries.add(new Query(null, null, strIssuer, false));
+		}
+		for(String strSerial : serials) {
+			m_queries.add(new Query(null, strSerial, null, true));
+		}
+		m_queries.add(new Query(null, "0", null, true));  // 결과 없음
+		// 필터 수 제한 - 마지막 조건(결과 없음)은 유지
+		while(m_queries.size() > MAX_FILTERS) {
+			m_queries.remove(m_queries.size() - 2);
+		}
+
+		for(Query query : m_queries) {
+			query.m_nCount = query.count(m_service);
+			query.m_arrCert = new byte[query.m_nCount][];
+			for(int i = 0; i < query.m_nCount; i++) {
+				query.m_arrCert[i] = m_service.getCertificate(i);
+			}
+		}
+	}
+
+	private Thread worker(final int nThread, final int nIterations, final CountDownLatch start) {
+		return new Thread(TAG + "-" + nThread) {
+			@Override
+			public void run() {
+				try {
+					start.await();
+				} catch(InterruptedException e) {
+					return;
+				}
+				for(int n = 0; n < nIterations; n++) {
+					Query query = m_queries.get((nThread + n) % m_queries.size());
+					int nCount = query.count(m_service);
+					m_nCalls.incrementAndGet();
+					if(nCount != query.m_nCount) {
+						mismatch(query, "count " + nCount + " expected " + query.m_nCount);
+						continue;
+					}
+					for(int i = 0; i < nCount; i++) {
+						byte[] cert = m_service.getCertificate(i);
+						String strErrCode = m_service.getErrorCode();
+						m_nCalls.incrementAndGet();
+						if(!Arrays.equals(cert, query.m_arrCert[i])) {
+							mismatch(query, "certificate " + i);
+						} else if(!GlobalError.code.NORMAL.equals(strErrCode)) {
+							mismatch(query, "certificate " + i + " error code " + strErrCode);
+						}
+					}
+					// 범위를 벗어난 index 는 이 thread 에서만 NO_RESULT
+					byte[] cert = m_service.getCertificate(nCount);
+					String strErrCode = m_service.getErrorCode();
+					m_nCalls.incrementAndGet();
+					if(cert != null || !GlobalError.code.NO_RESULT.equals(strErrCode)) {
+						mismatch(query, "certificate " + nCount + " error code " + strErrCode);
+					}
+				}
+			}
+		};
+	}
+
+	private void mismatch(Query query, String strDetail) {
+		if(m_nMismatch.incrementAndGet() <= MAX_LOGGED) {
+			LogUtil.w(TAG, "mismatch {} : {}", query, strDetail);
+		}
+	}
+
+	/**
+	 * 필터 조건(getFilterCertCnt 인자)과 기대 결과
+	 */
+	private static final class Query {
+		private final String m_strOID;
+		private final String m_strSerialNumber;
+		private final String m_strIssuerDN;
+		private final boolean m_bExpired;
+		/** 기대 개수 */
+		private int m_nCount;
+		/** 기대 인증서(index 순서) */
+		private byte[][] m_arrCert;
+
+		private Query(String strOID, String strSerialNumber, String strIssuerDN, boolean bExpired) {
+			m_strOID = strOID;
+			m_strSerialNumber = strSerialNumber;
+			m_strIssuerDN = strIssuerDN;
+			m_bExpired = bExpired;
+		}
+
+		/**
+		 * 현재 thread 의 필터 설정 및 개수 조회 - 조건이 없으면 getUsimCertCnt()
+		 */
+		private int count(UsimCertService service) {
+			if(m_strOID == null && m_strSerialNumber == null && m_strIssuerDN == null) {
+				return service.getUsimCertCnt();
+			}
+			return service.getFilterCertCnt(m_strOID, m_strSerialNumber, null, m_strIssuerDN, m_bExpired);
+		}
+
+		@Override
+		public String toString() {
+			return "oid=" + m_strOID + " serial=" + m_strSerialNumber + " issuer=" + m_strIssuerDN + " expired=" + m_bExpired;
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.sumion.usim.harness;
+
+import com.sumion.usim.util.ByteCodec;
+import com.sumion.usim.util.VidUtil;
+
+/**
+ * VidUtil VID 계산 검증 class(개발/검증용, 배포 library 에 포함하지 않음)<br>
+ * getVIDRandom() 이 반환하는 R(BIT STRING 의 내용, unused bits octet 제외)으로 계산한 VID 를 고정 값과 비교함.
+ * 기대 값은 openssl asn1parse -genconf 로 SEQUENCE { PrintableString IDN, BIT STRING R } 를 만들고
+ * openssl dgst 를 두 번 적용하여 구함<br>
+ * R 은 앞의 0x00, 최상위 bit 가 1 인 byte, 뒤의 0x00 을 그대로 사용해야 하며(INTEGER 처럼 정규화하지 않음),
+ * 128 byte 이상이면 길이는 long form 으로 기록됨<br>
+ * 단말에서는 run() 을 호출하고, JVM 에서는 main() 을 실행
+ */
+public final class VidUtilVectors {
+	private static final String IDN = "8001011234567";
+
+	/** R, SHA-256 VID, SHA-1 VID */
+	private static final String[][] VECTORS = {
+		{ "0102030405060708090a0b0c0d0e0f1011121314",
+			"522fae1af2c9448b7420c40a48738b489ef7873f63dd7a49389f2995aec1d3d8",
+			"db0e33670788bb87156dc58bae392e0b04b4340d" },
+		{ "0080f0f1f2f3f4f5f6f7f8f9fafbfcfdfeff0000",
+			"458b580e853adca47a8a035f06163c2776acc18ce82416bf07e2059de847c0c8",
+			"68f65d738bdea76bbf9e5ceb6e2989aa4b957358" },
+		{ null,  // 130 byte, (i * 37 + 11) & 0xff
+			"791d195e6ea8b0185464a74cebb685b9a7eb159a1b47529f8dbd9247802901f4",
+			"8fe188c508ee0ddf463638ad33be9af09be8de1b" },
+	};
+
+	private VidUtilVectors() {
+	}
+
+	public static void main(String[] args) {
+		String strResult = run();
+		System.out.print(strResult);
+		if(strResult.contains("FAILED")) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * 검증 실행
+	 * @return String - vector 별 결과(불일치 시 FAILED)
+	 */
+	public static String run() {
+		StringBuilder sb = new StringBuilder();
+		byte[] idn = IDN.getBytes();
+		for(int i = 0; i < VECTORS.length; i++) {
+			byte[] random = VECTORS[i][0] != null ? ByteCodec.fromHex(VECTORS[i][0]) : longRandom(130);
+			check(sb, i, "SHA-256", VidUtil.computeVid("SHA-256", idn, random), VECTORS[i][1]);
+			check(sb, i, "SHA-1", VidUtil.computeVid("SHA-1", idn, random), VECTORS[i][2]);
+		}
+		return sb.toString();
+	}
+
+	private static void check(StringBuilder sb, int nVector, String strAlgorithm, byte[] vid, String strExpected) {
+		String strVid = ByteCodec.toHex(vid);
+		sb.append("vector ").append(nVector).append(' ').append(strAlgorithm).append(" : ");
+		if(strVid.equalsIgnoreCase(strExpected)) {
+			sb.append("ok\n");
+		} else {
+			sb.append("FAILED ").append(strVid).append(" expected ").append(strExpected).append('\n');
+		}
+	}
+
+	private static byte[] longRandom(int nLength) {
+		byte[] random = new byte[nLength];
+		for(int i = 0; i < nLength; i++) {
+			random[i] = (byte) (i * 37 + 11);
+		}
+		return random;
+	}
+}
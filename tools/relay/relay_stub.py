@@ -0,0 +1,419 @@
+#!/usr/bin/env python3
+# -*- coding: utf-8 -*-
+"""중계 서버 stand-in (개발/검증용, 라이브러리에 포함되지 않음)
+
+AppClient 의 command 요청(POST <url>/<cmd>)과 일괄 요청(POST <url>/BATCH) framing 을 처리함.
+Python 3 표준 라이브러리만 사용함. 응답 header 명은 대소문자를 그대로 전송함(AppClient 는 ERR_CODE 등을 대소문자 구분하여 비교).
+
+  python3 tools/relay/relay_stub.py [-port 18081] [-nobatch] [-pin 1234] [-cmddelay 0] [-sessionttl 0]
+                                    [-latency 0] [-failrate 0] [-acceptencoding "gzip, deflate"]
+                                    [-compressmin 256] [-rawdeflate] [-reject415]
+
+단말에서 접속 : adb reverse tcp:18081 tcp:18081 후
+  AppClient.setServerURLs(new String[] { "http://127.0.0.1:18081/usim/app/" });
+
+중계 서버 여러 대(RelayEndpoints 서버 선택/장애 전환 확인) : port 별로 실행하고 모두 adb reverse 후 setServerURLs() 에 모두 지정
+  python3 tools/relay/relay_stub.py -port 18081 -latency 20 &
+  python3 tools/relay/relay_stub.py -port 18082 -latency 150 &
+  python3 tools/relay/relay_stub.py -port 18083 -latency 20 -failrate 0.5 &
+  (stub 마다 세션/토큰 상태가 따로 있으므로 다른 서버로 전환되면 새 세션이 만들어짐)
+  probe(HEAD) 요청에도 -latency, -failrate 가 적용됨
+
+일괄 요청 frame (AppClient.sendBatchRequest 참고)
+  요청 : cmd TAB header 수 TAB body 길이 LF, (header 명:값 LF) * header 수, body
+  응답 : cmd TAB HTTP status TAB header 수 TAB body 길이 LF, (header 명:값 LF) * header 수, body
+
+요청 Cookie 에 유효한 JSESSIONID 가 없으면 새 세션을 만들어 Set-Cookie 로 응답함(세션 생성 수는 종료 시 출력)
+  -sessionttl 이 지나도록 사용하지 않은 세션의 요청은 모든 command 를 처리하지 않고 ERR_CODE 031(세션 만료)로 응답함
+
+body 압축(BodyCodec 참고)
+  요청 Content-Encoding 이 gzip/deflate 이면 압축을 풀어 처리하고, 그 외의 값이면 415 로 응답함
+  응답 body 는 요청 Accept-Encoding 에 따라 gzip(우선) 또는 deflate 로 압축하며, POST 응답에 Accept-Encoding 을 설정하여
+  stub 이 받을 수 있는 요청 압축 방식을 알림(client 는 이 값을 보고 요청 body 를 압축함)
+
+원격 PKCS#11(C_XXX) command 는 가짜 토큰으로 처리함(RelayPkcs11Client 참고)
+  C_Initialize 가 새 CONNECT_ID 를 발급하며, 같은 일괄 요청의 이후 command 는 CONNECT_ID 가 없으면 이 값을 사용함
+  C_Login body 는 Base64 PIN(틀리면 ERR_CODE 002), CONNECT_ID 가 없거나 로그인 전이면 ERR_CODE 003
+  C_Sign 결과는 Base64(SHA-256(key label + 데이터)), C_Decrypt 는 입력을 그대로 반환, 결과 값 body 는 Base64
+
+옵션
+  -nobatch : BATCH 요청에 404 응답(일괄 요청 미지원 중계 서버)
+  -pin : 토큰 PIN
+  -cmddelay : 토큰 command 처리 시간(ms) - 일괄 요청 여부와 관계없이 command 마다 적용
+  -sessionttl : 세션 유지 시간(초, 0 이면 만료 없음)
+  -latency : 요청(일괄 요청은 한 번) 마다 응답 전 대기 시간(ms)
+  -failrate : 503 으로 응답할 요청 비율(0 ~ 1)
+  -acceptencoding : 응답 Accept-Encoding 값(빈 값이면 설정하지 않음 - 요청 압축 안함)
+  -compressmin : 응답 body 를 압축할 최소 크기(byte)
+  -rawdeflate : deflate 응답을 zlib header 없이(raw deflate) 전송
+  -reject415 : 압축된 요청에 415 응답(Accept-Encoding 을 잘못 알린 중계 서버)
+"""
+
+import argparse
+import base64
+import hashlib
+import itertools
+import os
+import random
+import signal
+import sys
+import threading
+import time
+import zlib
+from http.server import BaseHTTPRequestHandler, HTTPServer
+from socketserver import ThreadingMixIn
+
+ERR_NORMAL = '000'
+ERR_WRONG_PASS = '002'
+ERR_TOKEN_STATUS = '003'
+ERR_SESSION_TIMEOUT = '031'
+
+
+class Stats(object):
+    """요청 통계(종료 시 출력)"""
+
+    def __init__(self):
+        self.lock = threading.Lock()
+        self.exchanges = 0
+        self.commands = 0
+        self.sessions = 0
+        self.expired = 0
+        self.probes = 0
+        self.failures = 0
+        self.rejected = 0
+        self.wire_in = 0
+        self.raw_in = 0
+        self.wire_out = 0
+        self.raw_out = 0
+
+    def add(self, commands):
+        with self.lock:
+            self.exchanges += 1
+            self.commands += commands
+
+    def add_session(self, expired):
+        with self.lock:
+            if expired:
+                self.expired += 1
+            else:
+                self.sessions += 1
+
+    def add_probe(self):
+        with self.lock:
+            self.probes += 1
+
+    def add_failure(self):
+        with self.lock:
+            self.failures += 1
+
+    def add_rejected(self):
+        with self.lock:
+            self.rejected += 1
+
+    def add_bytes(self, wire_in, raw_in, wire_out, raw_out):
+        with self.lock:
+            self.wire_in += wire_in
+            self.raw_in += raw_in
+            self.wire_out += wire_out
+            self.raw_out += raw_out
+
+    def __str__(self):
+        return ('exchanges=%d commands=%d sessions=%d expired=%d probes=%d failures=%d rejected=%d '
+                'request %d->%d response %d->%d bytes') % (
+            self.exchanges, self.commands, self.sessions, self.expired, self.probes, self.failures, self.rejected,
+            self.wire_in, self.raw_in, self.raw_out, self.wire_out)
+
+
+class TokenSession(object):
+    """가짜 토큰 세션(CONNECT_ID 별)"""
+
+    def __init__(self):
+        self.opened = False
+        self.logged_in = False
+        self.key_label = None
+
+
+class Relay(object):
+    """command 처리 - (HTTP status, 응답 header 목록, 응답 body) 반환"""
+
+    def __init__(self, options):
+        self.options = options
+        self.stats = Stats()
+        self.lock = threading.Lock()
+        self.tokens = {}
+        self.connect_ids = itertools.count(1)
+        self.sessions = {}
+        self.session_ids = itertools.count(1)
+
+    def session(self, cookie):
+        """요청 Cookie 의 JSESSIONID 확인 - (응답 Set-Cookie 값 또는 None, 세션 만료 여부)"""
+        session_id = None
+        for part in (cookie or '').split(';'):
+            name, _, value = part.strip().partition('=')
+            if name == 'JSESSIONID':
+                session_id = value
+        now = time.time()
+        with self.lock:
+            last = self.sessions.get(session_id)
+            if last is not None and 0 < self.options.sessionttl < now - last:
+                del self.sessions[session_id]
+                self.stats.add_session(True)
+                return None, True
+            if last is None:
+                session_id = 'S%06d' % next(self.session_ids)
+                self.sessions[session_id] = now
+                self.stats.add_session(False)
+                return 'JSESSIONID=%s; Path=/' % session_id, False
+            self.sessions[session_id] = now
+            return None, False
+
+    def command(self, cmd, headers, body, context=None):
+        """context - 같은 일괄 요청 안에서 공유하는 값(C_Initialize 가 발급한 CONNECT_ID)"""
+        if context is None:
+            context = {}
+        connect_id = headers.get('CONNECT_ID') or context.get('CONNECT_ID')
+        if cmd.startswith('C_'):
+            if self.options.cmddelay > 0:
+                time.sleep(self.options.cmddelay / 1000.0)
+            if cmd == 'C_Initialize':
+                connect_id = 'token-%d' % next(self.connect_ids)
+                context['CONNECT_ID'] = connect_id
+            err, body = self.token(cmd, connect_id, body)
+        else:
+            err = ERR_NORMAL
+        reply = [('ERR_CODE', err)]
+        if connect_id:
+            reply.append(('CONNECT_ID', connect_id))
+        return 200, reply, body
+
+    def token(self, cmd, connect_id, body):
+        """가짜 토큰 command 처리 - (ERR_CODE, 응답 body) 반환"""
+        with self.lock:
+            if cmd == 'C_Initialize':
+                self.tokens[connect_id] = TokenSession()
+                return ERR_NORMAL, b''
+            session = self.tokens.get(connect_id)
+            if session is None:
+                return ERR_TOKEN_STATUS, b''
+            if cmd == 'C_OpenSession':
+                session.opened = True
+                return ERR_NORMAL, b''
+            if cmd == 'C_Login':
+                if not session.opened:
+                    return ERR_TOKEN_STATUS, b''
+                if base64.b64decode(body) != self.options.pin.encode('utf-8'):
+                    return ERR_WRONG_PASS, b''
+                session.logged_in = True
+                return ERR_NORMAL, b''
+            if cmd in ('C_Logout', 'C_CloseSession'):
+                session.logged_in = False
+                session.opened = session.opened and cmd == 'C_Logout'
+                return ERR_NORMAL, b''
+            if cmd == 'C_Finalize':
+                del self.tokens[connect_id]
+                return ERR_NORMAL, b''
+            if not session.logged_in:
+                return ERR_TOKEN_STATUS, b''
+            if cmd == 'C_FindObjectsInit':
+                session.key_label = body
+                return ERR_NORMAL, b''
+            if cmd == 'C_Sign':
+                digest = hashlib.sha256(session.key_label + base64.b64decode(body)).digest()
+                return ERR_NORMAL, base64.b64encode(digest)
+            if cmd == 'C_Decrypt':
+                return ERR_NORMAL, body
+            if cmd == 'C_GenerateKeyPair':
+                bits = int(body.decode('utf-8').split('|')[1])
+                return ERR_NORMAL, base64.b64encode(os.urandom(bits // 8))
+            if cmd == 'C_GenerateRandom':
+                return ERR_NORMAL, base64.b64encode(os.urandom(int(body)))
+            return ERR_TOKEN_STATUS, b''
+
+
+def parse_frames(data):
+    """일괄 요청 body 를 (cmd, header dict, body) 목록으로 분리"""
+    frames = []
+    pos = 0
+    while pos < len(data):
+        end = data.index(b'\n', pos)
+        cmd, header_cnt, body_len = data[pos:end].decode('utf-8').split('\t')
+        pos = end + 1
+        headers = {}
+        for _ in range(int(header_cnt)):
+            end = data.index(b'\n', pos)
+            name, value = data[pos:end].decode('utf-8').split(':', 1)
+            headers[name] = value
+            pos = end + 1
+        frames.append((cmd, headers, data[pos:pos + int(body_len)]))
+        pos += int(body_len)
+    return frames
+
+
+def decode_body(encoding, data):
+    """요청 body 압축 해제 - deflate 는 zlib header 가 없는 raw deflate 도 허용"""
+    if encoding == 'gzip':
+        return zlib.decompress(data, 16 + zlib.MAX_WBITS)
+    try:
+        return zlib.decompress(data)
+    except zlib.error:
+        return zlib.decompress(data, -zlib.MAX_WBITS)
+
+
+def encode_body(encoding, data, raw):
+    """응답 body 압축 - raw 이면 deflate 를 zlib header 없이 압축"""
+    if encoding == 'gzip':
+        compressor = zlib.compressobj(6, zlib.DEFLATED, 16 + zlib.MAX_WBITS)
+    else:
+        compressor = zlib.compressobj(6, zlib.DEFLATED, -zlib.MAX_WBITS if raw else zlib.MAX_WBITS)
+    return compressor.compress(data) + compressor.flush()
+
+
+def select_encoding(accept_encoding):
+    """요청 Accept-Encoding 에서 응답 압축 방식 선택(gzip 우선, q=0 제외) - 없으면 None"""
+    accepted = set()
+    for part in (accept_encoding or '').split(','):
+        fields = [field.strip() for field in part.split(';')]
+        if len(fields) > 1 and fields[1].replace(' ', '') in ('q=0', 'q=0.0', 'q=0.00', 'q=0.000'):
+            continue
+        accepted.add(fields[0].lower())
+    for encoding in ('gzip', 'deflate'):
+        if encoding in accepted:
+            return encoding
+    return None
+
+
+def build_frame(cmd, status, headers, body):
+    head = '%s\t%d\t%d\t%d\n' % (cmd, status, len(headers), len(body))
+    head += ''.join('%s:%s\n' % (name, value) for name, value in headers)
+    return head.encode('utf-8') + body
+
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = 'HTTP/1.1'
+    relay = None
+
+    def log_message(self, fmt, *args):
+        pass
+
+    def do_HEAD(self):
+        self.relay.stats.add_probe()
+        if self.fail():
+            return
+        self.send_response(200)
+        self.send_header('Content-Length', '0')
+        self.end_headers()
+
+    def do_POST(self):
+        cmd = self.path.rstrip('/').rsplit('/', 1)[-1]
+        wire = self.rfile.read(int(self.headers.get('Content-Length', 0)))
+        options = self.relay.options
+        if self.fail():
+            return
+        encoding = (self.headers.get('Content-Encoding') or 'identity').strip().lower()
+        if encoding != 'identity':
+            if options.reject415 or encoding not in ('gzip', 'deflate'):
+                self.relay.stats.add_rejected()
+                self.reply(415, [], b'')
+                return
+            try:
+                data = decode_body(encoding, wire)
+            except zlib.error:
+                self.reply(400, [], b'')
+                return
+        else:
+            data = wire
+        if cmd == 'BATCH' and options.nobatch:
+            self.reply(404, [], b'')
+            return
+        set_cookie, expired = self.relay.session(self.headers.get('Cookie'))
+        session_headers = [('Set-Cookie', set_cookie)] if set_cookie else []
+        if cmd == 'BATCH':
+            frames = parse_frames(data)
+            out = b''
+            context = {}
+            for frame_cmd, frame_headers, frame_body in frames:
+                if expired:
+                    status, headers, body = 200, [('ERR_CODE', ERR_SESSION_TIMEOUT)], b''
+                else:
+                    status, headers, body = self.relay.command(frame_cmd, frame_headers, frame_body, context)
+                out += build_frame(frame_cmd, status, headers, body)
+            self.relay.stats.add(len(frames))
+            self.reply(200, session_headers, out, len(wire), len(data))
+        else:
+            if expired:
+                status, reply_headers, body = 200, [('ERR_CODE', ERR_SESSION_TIMEOUT)], b''
+            else:
+                headers = dict((name, value) for name, value in self.headers.items())
+                status, reply_headers, body = self.relay.command(cmd, headers, data)
+            self.relay.stats.add(1)
+            self.reply(status, session_headers + reply_headers, body, len(wire), len(data))
+
+    def fail(self):
+        """-latency 만큼 대기 후 -failrate 비율로 503 응답 - 응답했으면 True"""
+        options = self.relay.options
+        if options.latency > 0:
+            time.sleep(options.latency / 1000.0)
+        if random.random() >= options.failrate:
+            return False
+        self.relay.stats.add_failure()
+        self.reply(503, [], b'')
+        return True
+
+    def reply(self, status, headers, body, wire_in=0, raw_in=0):
+        """응답 전송 - 요청 Accept-Encoding 에 따라 body 압축"""
+        options = self.relay.options
+        raw_out = len(body)
+        encoding = select_encoding(self.headers.get('Accept-Encoding'))
+        if encoding and body and len(body) >= options.compressmin:
+            body = encode_body(encoding, body, options.rawdeflate)
+            headers = headers + [('Content-Encoding', encoding)]
+        if options.acceptencoding and self.command == 'POST':
+            headers = headers + [('Accept-Encoding', options.acceptencoding)]
+        self.relay.stats.add_bytes(wire_in, raw_in, len(body), raw_out)
+        self.send_response(status)
+        for name, value in headers:
+            self.send_header(name, value)
+        self.send_header('Content-Length', str(len(body)))
+        self.end_headers()
+        self.wfile.write(body)
+
+
+class Server(ThreadingMixIn, HTTPServer):
+    daemon_threads = True
+
+
+def stop(signum, frame):
+    raise KeyboardInterrupt()
+
+
+def main():
+    parser = argparse.ArgumentParser(description='relay stand-in server')
+    parser.add_argument('-port', type=int, default=18081)
+    parser.add_argument('-nobatch', action='store_true', help='BATCH 요청에 404 응답')
+    parser.add_argument('-pin', default='1234', help='토큰 PIN')
+    parser.add_argument('-cmddelay', type=int, default=0, help='토큰 command 처리 시간(ms)')
+    parser.add_argument('-sessionttl', type=float, default=0, help='세션 유지 시간(초, 0 이면 만료 없음)')
+    parser.add_argument('-latency', type=int, default=0, help='요청 마다 응답 전 대기 시간(ms)')
+    parser.add_argument('-failrate', type=float, default=0, help='503 으로 응답할 요청 비율(0 ~ 1)')
+    parser.add_argument('-acceptencoding', default='gzip, deflate', help='응답 Accept-Encoding 값(빈 값이면 설정하지 않음)')
+    parser.add_argument('-compressmin', type=int, default=256, help='응답 body 를 압축할 최소 크기(byte)')
+    parser.add_argument('-rawdeflate', action='store_true', help='deflate 응답을 zlib header 없이 전송')
+    parser.add_argument('-reject415', action='store_true', help='압축된 요청에 415 응답')
+    options = parser.parse_args()
+
+    Handler.relay = Relay(options)
+    server = Server(('127.0.0.1', options.port), Handler)
+    print('relay stub listening on http://127.0.0.1:%d/usim/app/' % options.port)
+    sys.stdout.flush()
+    # 종료(kill, Ctrl+C) 시 통계 출력
+    signal.signal(signal.SIGTERM, stop)
+    signal.signal(signal.SIGINT, stop)
+    try:
+        server.serve_forever()
+    except KeyboardInterrupt:
+        pass
+    print(Handler.relay.stats)
+
+
+if __name__ == '__main__':
+    main()